@@ -39,7 +39,9 @@ public class Context {
 
     private final boolean keepIsPrefix;
 
-    Context(Elements elements, Types types, boolean keepIsPrefix) {
+    private final boolean bitmaskStates;
+
+    Context(Elements elements, Types types, boolean keepIsPrefix, boolean bitmaskStates) {
         this.elements = elements;
         this.types = types;
         collectionType = types.erasure(
@@ -60,6 +62,7 @@ public class Context {
                         types.getWildcardType(null, null)
                 );
         this.keepIsPrefix = keepIsPrefix;
+        this.bitmaskStates = bitmaskStates;
     }
 
     public Class<? extends Annotation> getImmutableAnnotationType(TypeElement typeElement) {
@@ -170,4 +173,8 @@ public class Context {
     public boolean keepIsPrefix() {
         return keepIsPrefix;
     }
+
+    public boolean isBitmaskStates() {
+        return bitmaskStates;
+    }
 }
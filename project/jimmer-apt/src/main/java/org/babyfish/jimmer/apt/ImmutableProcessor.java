@@ -56,7 +56,8 @@ public class ImmutableProcessor extends AbstractProcessor {
         context = new Context(
                 processingEnv.getElementUtils(),
                 processingEnv.getTypeUtils(),
-                "true".equals(processingEnv.getOptions().get("jimmer.keepIsPrefix"))
+                "true".equals(processingEnv.getOptions().get("jimmer.keepIsPrefix")),
+                "true".equals(processingEnv.getOptions().get("jimmer.bitmaskStates"))
         );
         filer = processingEnv.getFiler();
     }
@@ -172,6 +173,7 @@ public class ImmutableProcessor extends AbstractProcessor {
     private void generateJimmerTypes(Collection<ImmutableType> immutableTypes, RoundEnvironment roundEnv) {
         for (ImmutableType immutableType : immutableTypes) {
             new DraftGenerator(
+                    context,
                     immutableType,
                     filer
             ).generate();
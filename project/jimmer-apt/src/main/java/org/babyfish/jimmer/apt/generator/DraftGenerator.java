@@ -2,6 +2,7 @@ package org.babyfish.jimmer.apt.generator;
 
 import com.squareup.javapoet.*;
 import org.babyfish.jimmer.Draft;
+import org.babyfish.jimmer.apt.Context;
 import org.babyfish.jimmer.apt.GeneratorException;
 import org.babyfish.jimmer.apt.meta.ImmutableProp;
 import org.babyfish.jimmer.apt.meta.ImmutableType;
@@ -16,6 +17,8 @@ import static org.babyfish.jimmer.apt.generator.Constants.DRAFT_CONSUMER_CLASS_N
 
 public class DraftGenerator {
 
+    private final Context context;
+
     private final ImmutableType type;
 
     private final Filer filer;
@@ -23,9 +26,11 @@ public class DraftGenerator {
     private TypeSpec.Builder typeBuilder;
 
     public DraftGenerator(
+            Context context,
             ImmutableType type,
             Filer filer
     ) {
+        this.context = context;
         this.type = type;
         this.filer = filer;
     }
@@ -74,7 +79,7 @@ public class DraftGenerator {
             addUtilMethod(prop, false);
             addUtilMethod(prop, true);
         }
-        new ProducerGenerator(type).generate(typeBuilder);
+        new ProducerGenerator(context, type).generate(typeBuilder);
         new MapStructGenerator(type).generate(typeBuilder);
     }
 
@@ -24,12 +24,15 @@ public class DraftImplGenerator {
 
     private final ImmutableType type;
 
+    private final StateFields stateFields;
+
     private final ClassName draftSpiClassName;
 
     private TypeSpec.Builder typeBuilder;
 
-    public DraftImplGenerator(ImmutableType type) {
+    public DraftImplGenerator(ImmutableType type, StateFields stateFields) {
         this.type = type;
+        this.stateFields = stateFields;
         draftSpiClassName = ClassName.get(DraftSpi.class);
     }
 
@@ -256,7 +259,7 @@ public class DraftImplGenerator {
                         .addModifiers(Modifier.PUBLIC)
                         .addAnnotation(Override.class)
                         .returns(int.class)
-                        .addStatement("return $L.hashCode()", UNMODIFIED)
+                        .addStatement("return $L.__computeHashCode(false)", UNMODIFIED)
                         .build()
         );
         typeBuilder.addMethod(
@@ -266,7 +269,7 @@ public class DraftImplGenerator {
                         .addAnnotation(Override.class)
                         .addParameter(boolean.class, "shallow")
                         .returns(int.class)
-                        .addStatement("return $L.__hashCode(shallow)", UNMODIFIED)
+                        .addStatement("return $L.__computeHashCode(shallow)", UNMODIFIED)
                         .build()
         );
         typeBuilder.addMethod(
@@ -496,7 +499,7 @@ public class DraftImplGenerator {
                 builder.addStatement("__tmpModified.$L = $L", prop.getName(), prop.getName());
             }
             if (prop.isLoadedStateRequired()) {
-                builder.addStatement("__tmpModified.$L = true", prop.getLoadedStateName());
+                builder.addStatement("$L", stateFields.setLoaded("__tmpModified", prop, true));
             }
         }
         builder.addStatement("return this");
@@ -613,11 +616,19 @@ public class DraftImplGenerator {
         for (ImmutableProp prop : type.getPropsOrderById()) {
             if (prop.isVisibilityControllable()) {
                 appender.addCase(prop);
-                builder.addStatement(
-                        "$L().$L = visible;break",
-                        DRAFT_FIELD_MODIFIED,
-                        prop.getVisibleName()
-                );
+                if (stateFields.isBitmask()) {
+                    builder.addCode("{$>\n");
+                    builder.addStatement("$T __tmpModified = $L()", type.getImplClassName(), DRAFT_FIELD_MODIFIED);
+                    builder.addStatement("$L", stateFields.setVisible("__tmpModified", prop, "visible"));
+                    builder.addStatement("break");
+                    builder.addCode("$<}\n");
+                } else {
+                    builder.addStatement(
+                            "$L().$L = visible;break",
+                            DRAFT_FIELD_MODIFIED,
+                            prop.getVisibleName()
+                    );
+                }
             }
         }
         builder.addStatement(
@@ -651,9 +662,8 @@ public class DraftImplGenerator {
                 builder.addStatement("break");
             } else if (prop.isLoadedStateRequired()) {
                 builder.addStatement(
-                        "$L().$L = false;break",
-                        DRAFT_FIELD_MODIFIED,
-                        prop.getLoadedStateName()
+                        "$L;break",
+                        stateFields.setLoaded(DRAFT_FIELD_MODIFIED + "()", prop, false)
                 );
             } else {
                 builder.addStatement(
@@ -714,6 +724,8 @@ public class DraftImplGenerator {
                 .addStatement("Impl __tmpModified = $L", DRAFT_FIELD_MODIFIED);
 
         if (type.getProps().values().stream().anyMatch(it -> it.isAssociation(false) || it.isList())) {
+            builder.addComment("Draft without context is created by `Internal.build`, its values are not drafts");
+            builder.beginControlFlow("if ($L != null)", DRAFT_FIELD_CTX);
             builder.beginControlFlow("if (__tmpModified == null)");
             for (ImmutableProp prop : type.getProps().values()) {
                 if (prop.isValueRequired() && (prop.isAssociation(false) || prop.isList())) {
@@ -770,6 +782,7 @@ public class DraftImplGenerator {
                 }
             }
             builder.endControlFlow();
+            builder.endControlFlow();
         }
 
         builder
@@ -18,14 +18,21 @@ import static org.babyfish.jimmer.apt.generator.Constants.*;
 
 public class ImplGenerator {
 
+    private static final String HASH_CODE_CACHE = "__hashCodeCache";
+
+    private static final String SHALLOW_HASH_CODE_CACHE = "__shallowHashCodeCache";
+
     private final ImmutableType type;
 
+    private final StateFields stateFields;
+
     private final ClassName unloadedExceptionClassName;
 
     private TypeSpec.Builder typeBuilder;
 
-    public ImplGenerator(ImmutableType type) {
+    public ImplGenerator(ImmutableType type, StateFields stateFields) {
         this.type = type;
+        this.stateFields = stateFields;
         unloadedExceptionClassName = ClassName.get(UnloadedException.class);
     }
 
@@ -43,9 +50,12 @@ public class ImplGenerator {
         addIsLoaded(String.class);
         addIsVisible(int.class);
         addIsVisible(String.class);
+        addCachedHashCode(false);
+        addCachedHashCode(true);
         addHashCode(false);
         addHashCode(true);
         addParameterizedHashCode();
+        addParameterizedComputeHashCode();
         addEquals(false);
         addEquals(true);
         addParameterizedEquals();
@@ -53,8 +63,22 @@ public class ImplGenerator {
     }
 
     private void addFields() {
+        typeBuilder.addField(
+                FieldSpec
+                        .builder(int.class, HASH_CODE_CACHE, Modifier.PRIVATE, Modifier.TRANSIENT)
+                        .build()
+        );
+        typeBuilder.addField(
+                FieldSpec
+                        .builder(int.class, SHALLOW_HASH_CODE_CACHE, Modifier.PRIVATE, Modifier.TRANSIENT)
+                        .build()
+        );
+        boolean bitmask = stateFields.isBitmask();
+        if (bitmask) {
+            stateFields.addMaskFields(typeBuilder);
+        }
         for (ImmutableProp prop : type.getProps().values()) {
-            if (prop.isVisibilityControllable()) {
+            if (!bitmask && prop.isVisibilityControllable()) {
                 FieldSpec.Builder stateBuilder = FieldSpec.builder(
                         boolean.class,
                         prop.getVisibleName()
@@ -75,7 +99,7 @@ public class ImplGenerator {
                 );
                 typeBuilder.addField(valueBuilder.build());
             }
-            if (prop.isLoadedStateRequired()) {
+            if (!bitmask && prop.isLoadedStateRequired()) {
                 FieldSpec.Builder stateBuilder = FieldSpec.builder(
                         boolean.class,
                         prop.getLoadedStateName()
@@ -134,7 +158,7 @@ public class ImplGenerator {
             }
         } else {
             if (prop.isLoadedStateRequired()) {
-                builder.beginControlFlow("if (!$L)", prop.getLoadedStateName());
+                builder.beginControlFlow("if ($L)", stateFields.unloaded(prop));
             } else {
                 builder.beginControlFlow("if ($L == null)", prop.getName());
             }
@@ -158,7 +182,11 @@ public class ImplGenerator {
                 .returns(type.getImplClassName());
         builder
                 .beginControlFlow("try")
-                .addStatement("return ($T)super.clone()", type.getImplClassName())
+                .addStatement("$T clone = ($T)super.clone()", type.getImplClassName(), type.getImplClassName())
+                .addComment("The clone is modified by draft, its hash code must be calculated again")
+                .addStatement("clone.$L = 0", HASH_CODE_CACHE)
+                .addStatement("clone.$L = 0", SHALLOW_HASH_CODE_CACHE)
+                .addStatement("return clone")
                 .nextControlFlow("catch($T ex)", Constants.CLONE_NOT_SUPPORTED_EXCEPTION_CLASS_NAME)
                 .addStatement("throw new AssertionError(ex)")
                 .endControlFlow();
@@ -218,7 +246,7 @@ public class ImplGenerator {
                 }
                 builder.addStatement("$<");
             } else if (prop.isLoadedStateRequired()) {
-                builder.addStatement("return $L", prop.getLoadedStateName());
+                builder.addStatement("return $L", stateFields.loaded(prop));
             } else {
                 builder.addStatement("return $L != null", prop.getName());
             }
@@ -247,7 +275,7 @@ public class ImplGenerator {
             for (ImmutableProp prop : type.getPropsOrderById()) {
                 if (prop.isVisibilityControllable()) {
                     appender.addCase(prop);
-                    builder.addStatement("return $L", prop.getVisibleName());
+                    builder.addStatement("return $L", stateFields.visible(prop));
                 }
             }
             builder.addStatement("default: return true");
@@ -258,25 +286,51 @@ public class ImplGenerator {
         typeBuilder.addMethod(builder.build());
     }
 
-    private void addHashCode(boolean shallow) {
+    private void addCachedHashCode(boolean shallow) {
+        String cacheName = shallow ? SHALLOW_HASH_CODE_CACHE : HASH_CODE_CACHE;
         MethodSpec.Builder builder = MethodSpec
                 .methodBuilder(shallow ? "__shallowHashCode" : "hashCode")
                 .addModifiers(shallow ? Modifier.PRIVATE : Modifier.PUBLIC)
                 .returns(int.class)
-                .addStatement("int hash = 1");
+                .addStatement("int hash = $L", cacheName)
+                .beginControlFlow("if (hash == 0)")
+                .addStatement("hash = $L()", shallow ? "__computeShallowHashCode" : "__computeHashCode")
+                .addStatement("$L = hash", cacheName)
+                .endControlFlow()
+                .addStatement("return hash");
         if (!shallow) {
             builder.addAnnotation(Override.class);
         }
+        typeBuilder.addMethod(builder.build());
+    }
+
+    private void addHashCode(boolean shallow) {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder(shallow ? "__computeShallowHashCode" : "__computeHashCode")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(int.class)
+                .addStatement("int hash = 1");
+        if (stateFields.isBitmask()) {
+            for (String visibleMaskName : stateFields.visibleMaskNames()) {
+                builder.addStatement(
+                        "hash = 31 * hash + $T.hashCode($L)",
+                        stateFields.maskBoxType(),
+                        visibleMaskName
+                );
+            }
+        }
         for (ImmutableProp prop : type.getProps().values()) {
             if (prop.isVisibilityControllable()) {
-                builder.addStatement("hash = 31 * hash + $T.hashCode($L)", Boolean.class, prop.getVisibleName());
+                if (!stateFields.isBitmask()) {
+                    builder.addStatement("hash = 31 * hash + $T.hashCode($L)", Boolean.class, prop.getVisibleName());
+                }
                 if (!prop.isValueRequired()) {
                     continue;
                 }
             }
             Class<?> boxType = prop.getBoxType();
             if (boxType != null) {
-                builder.beginControlFlow("if ($L)", prop.getLoadedStateName());
+                builder.beginControlFlow("if ($L)", stateFields.loaded(prop));
                 builder.addStatement("hash = 31 * hash + $T.hashCode($L)", boxType, prop.getName());
                 if (!shallow) {
                     if (prop.getAnnotation(Id.class) != null) {
@@ -287,7 +341,7 @@ public class ImplGenerator {
                 builder.endControlFlow();
             } else if (shallow) {
                 if (prop.isLoadedStateRequired()) {
-                    builder.beginControlFlow("if ($L)", prop.getLoadedStateName());
+                    builder.beginControlFlow("if ($L)", stateFields.loaded(prop));
                 } else {
                     builder.beginControlFlow("if ($L != null)", prop.getName());
                 }
@@ -297,7 +351,7 @@ public class ImplGenerator {
                 if (prop.isLoadedStateRequired()) {
                     builder.beginControlFlow(
                             "if ($L && $L != null)",
-                            prop.getLoadedStateName(),
+                            stateFields.loaded(prop),
                             prop.getName()
                     );
                 } else {
@@ -332,12 +386,17 @@ public class ImplGenerator {
                 .addStatement("return false")
                 .endControlFlow()
                 .addStatement("$T other = ($T)obj", type.getImplementorClassName(), type.getImplementorClassName());
+        if (stateFields.isBitmask()) {
+            addMaskEquals(builder);
+        }
         for (ImmutableProp prop : type.getProps().values()) {
             if (prop.isVisibilityControllable()) {
                 builder
                         .beginControlFlow(
-                                "if ($L != other.__isVisible($L))",
-                                prop.getVisibleName(),
+                                stateFields.isBitmask() ?
+                                        "if (($L) != other.__isVisible($L))" :
+                                        "if ($L != other.__isVisible($L))",
+                                stateFields.visible(prop),
                                 prop.getId()
                         )
                         .addStatement("return false")
@@ -347,7 +406,7 @@ public class ImplGenerator {
                 }
             }
             if (prop.isLoadedStateRequired()) {
-                builder.addStatement("boolean __$L = $L", prop.getLoadedStateName(), prop.getLoadedStateName());
+                builder.addStatement("boolean __$L = $L", prop.getLoadedStateName(), stateFields.loaded(prop));
             } else {
                 builder.addStatement("boolean __$L = $L != null", prop.getLoadedStateName(true), prop.getName());
             }
@@ -408,6 +467,35 @@ public class ImplGenerator {
         typeBuilder.addMethod(builder.build());
     }
 
+    private void addMaskEquals(MethodSpec.Builder builder) {
+        String[] maskNames = concat(stateFields.visibleMaskNames(), stateFields.loadedMaskNames());
+        if (maskNames.length == 0) {
+            return;
+        }
+        builder.addComment("Different masks of visibility or loaded state, quick rejection");
+        builder.beginControlFlow("if (obj instanceof $T)", type.getImplClassName());
+        builder.addStatement("$T __other = ($T)obj", type.getImplClassName(), type.getImplClassName());
+        StringBuilder cond = new StringBuilder();
+        for (String maskName : maskNames) {
+            if (cond.length() != 0) {
+                cond.append(" || ");
+            }
+            cond.append(maskName).append(" != __other.").append(maskName);
+        }
+        builder
+                .beginControlFlow("if ($L)", cond.toString())
+                .addStatement("return false")
+                .endControlFlow();
+        builder.endControlFlow();
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        String[] arr = new String[a.length + b.length];
+        System.arraycopy(a, 0, arr, 0, a.length);
+        System.arraycopy(b, 0, arr, a.length, b.length);
+        return arr;
+    }
+
     private void addParameterizedHashCode() {
         MethodSpec.Builder builder = MethodSpec
                 .methodBuilder("__hashCode")
@@ -419,6 +507,15 @@ public class ImplGenerator {
         typeBuilder.addMethod(builder.build());
     }
 
+    private void addParameterizedComputeHashCode() {
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder("__computeHashCode")
+                .addParameter(boolean.class, "shallow")
+                .returns(int.class)
+                .addCode("return shallow ? __computeShallowHashCode() : __computeHashCode();");
+        typeBuilder.addMethod(builder.build());
+    }
+
     private void addParameterizedEquals() {
         MethodSpec.Builder builder = MethodSpec
                 .methodBuilder("__equals")
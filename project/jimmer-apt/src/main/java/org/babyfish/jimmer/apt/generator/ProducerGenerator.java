@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.apt.generator;
 
 import com.squareup.javapoet.*;
+import org.babyfish.jimmer.apt.Context;
 import org.babyfish.jimmer.apt.meta.ImmutableProp;
 import org.babyfish.jimmer.apt.meta.ImmutableType;
 import org.babyfish.jimmer.meta.ImmutablePropCategory;
@@ -20,8 +21,11 @@ public class ProducerGenerator {
 
     private TypeSpec.Builder typeBuilder;
 
-    ProducerGenerator(ImmutableType type) {
+    private final StateFields stateFields;
+
+    ProducerGenerator(Context context, ImmutableType type) {
         this.type = type;
+        this.stateFields = new StateFields(type, context.isBitmaskStates());
     }
 
     public void generate(TypeSpec.Builder parentBuilder) {
@@ -35,8 +39,8 @@ public class ProducerGenerator {
         addProduce(false);
         addProduce(true);
         new ImplementorGenerator(type).generate(typeBuilder);
-        new ImplGenerator(type).generate(typeBuilder);
-        new DraftImplGenerator(type).generate(typeBuilder);
+        new ImplGenerator(type, stateFields).generate(typeBuilder);
+        new DraftImplGenerator(type, stateFields).generate(typeBuilder);
         parentBuilder.addType(typeBuilder.build());
     }
 
@@ -0,0 +1,200 @@
+package org.babyfish.jimmer.apt.generator;
+
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.TypeSpec;
+import org.babyfish.jimmer.apt.meta.ImmutableProp;
+import org.babyfish.jimmer.apt.meta.ImmutableType;
+
+/**
+ * Decides how the loaded state and the visibility of properties
+ * are stored in the generated `Impl` class.
+ *
+ * <ul>
+ *     <li>By default, each property has its own boolean fields</li>
+ *     <li>If the annotation processor option `jimmer.bitmaskStates` is true,
+ *     the states of all properties are packed into `int` or `long` masks,
+ *     the bit of property is indexed by its id</li>
+ * </ul>
+ *
+ * All the expressions returned by this class are fragments of java source code
+ * which can be used by the other generators directly.
+ */
+class StateFields {
+
+    static final String LOADED_MASK = "__loadedMask";
+
+    static final String VISIBLE_MASK = "__visibleMask";
+
+    private final ImmutableType type;
+
+    private final boolean bitmask;
+
+    private final boolean longWord;
+
+    private final int bitsPerWord;
+
+    private final int wordCount;
+
+    StateFields(ImmutableType type, boolean bitmask) {
+        this.type = type;
+        this.bitmask = bitmask;
+        // Property ids start from 1
+        int bitCount = type.getProps().size() + 1;
+        this.longWord = bitCount > 32;
+        this.bitsPerWord = longWord ? 64 : 32;
+        this.wordCount = (bitCount + bitsPerWord - 1) / bitsPerWord;
+    }
+
+    boolean isBitmask() {
+        return bitmask;
+    }
+
+    /**
+     * Add the mask fields, only used by bitmask mode.
+     */
+    void addMaskFields(TypeSpec.Builder typeBuilder) {
+        for (int i = 0; i < wordCount; i++) {
+            long visibleInitializer = 0L;
+            boolean hasVisible = false;
+            boolean hasLoaded = false;
+            for (ImmutableProp prop : type.getPropsOrderById()) {
+                if (prop.getId() / bitsPerWord != i) {
+                    continue;
+                }
+                if (prop.isVisibilityControllable()) {
+                    hasVisible = true;
+                    if (prop.isValueRequired()) {
+                        visibleInitializer |= 1L << (prop.getId() % bitsPerWord);
+                    }
+                }
+                if (prop.isLoadedStateRequired()) {
+                    hasLoaded = true;
+                }
+            }
+            if (hasVisible) {
+                typeBuilder.addField(
+                        FieldSpec
+                                .builder(longWord ? long.class : int.class, VISIBLE_MASK + i)
+                                .initializer(literal(visibleInitializer))
+                                .build()
+                );
+            }
+            if (hasLoaded) {
+                typeBuilder.addField(
+                        FieldSpec
+                                .builder(longWord ? long.class : int.class, LOADED_MASK + i)
+                                .build()
+                );
+            }
+        }
+    }
+
+    /**
+     * @return The names of mask fields of the visibility, only used by bitmask mode.
+     */
+    String[] visibleMaskNames() {
+        return maskNames(VISIBLE_MASK, true);
+    }
+
+    /**
+     * @return The names of mask fields of the loaded state, only used by bitmask mode.
+     */
+    String[] loadedMaskNames() {
+        return maskNames(LOADED_MASK, false);
+    }
+
+    Class<?> maskBoxType() {
+        return longWord ? Long.class : Integer.class;
+    }
+
+    /**
+     * The expression to test whether the property with loaded state is loaded
+     */
+    String loaded(ImmutableProp prop) {
+        if (!bitmask) {
+            return prop.getLoadedStateName();
+        }
+        return "(" + LOADED_MASK + word(prop) + " & " + bit(prop) + ") != 0";
+    }
+
+    /**
+     * The expression to test whether the property with loaded state is unloaded
+     */
+    String unloaded(ImmutableProp prop) {
+        if (!bitmask) {
+            return "!" + prop.getLoadedStateName();
+        }
+        return "(" + LOADED_MASK + word(prop) + " & " + bit(prop) + ") == 0";
+    }
+
+    /**
+     * The statement to change the loaded state of the property with loaded state
+     */
+    String setLoaded(String owner, ImmutableProp prop, boolean loaded) {
+        if (!bitmask) {
+            return owner + "." + prop.getLoadedStateName() + " = " + loaded;
+        }
+        if (loaded) {
+            return owner + "." + LOADED_MASK + word(prop) + " |= " + bit(prop);
+        }
+        return owner + "." + LOADED_MASK + word(prop) + " &= ~" + bit(prop);
+    }
+
+    /**
+     * The expression to test whether the property whose visibility is controllable is visible
+     */
+    String visible(ImmutableProp prop) {
+        if (!bitmask) {
+            return prop.getVisibleName();
+        }
+        return "(" + VISIBLE_MASK + word(prop) + " & " + bit(prop) + ") != 0";
+    }
+
+    /**
+     * The statement to change the visibility of the property whose visibility is controllable,
+     * the `owner` is a local variable so that it can be referenced more than once.
+     */
+    String setVisible(String owner, ImmutableProp prop, String visibleExpr) {
+        if (!bitmask) {
+            return owner + "." + prop.getVisibleName() + " = " + visibleExpr;
+        }
+        String field = owner + "." + VISIBLE_MASK + word(prop);
+        return field + " = " + visibleExpr + " ? " + field + " | " + bit(prop) + " : " + field + " & ~" + bit(prop);
+    }
+
+    private String[] maskNames(String prefix, boolean visible) {
+        boolean[] used = new boolean[wordCount];
+        int count = 0;
+        for (ImmutableProp prop : type.getPropsOrderById()) {
+            boolean required = visible ? prop.isVisibilityControllable() : prop.isLoadedStateRequired();
+            int word = prop.getId() / bitsPerWord;
+            if (required && !used[word]) {
+                used[word] = true;
+                count++;
+            }
+        }
+        String[] names = new String[count];
+        int index = 0;
+        for (int i = 0; i < wordCount; i++) {
+            if (used[i]) {
+                names[index++] = prefix + i;
+            }
+        }
+        return names;
+    }
+
+    private int word(ImmutableProp prop) {
+        return prop.getId() / bitsPerWord;
+    }
+
+    private String bit(ImmutableProp prop) {
+        return literal(1L << (prop.getId() % bitsPerWord));
+    }
+
+    private String literal(long value) {
+        if (longWord) {
+            return "0x" + Long.toHexString(value) + "L";
+        }
+        return "0x" + Integer.toHexString((int) value);
+    }
+}
@@ -0,0 +1,50 @@
+plugins {
+    kotlin("jvm") version "1.7.10"
+    id("com.google.devtools.ksp") version "1.7.10-1.0.6"
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+
+    testImplementation(project(":jimmer-core-kotlin"))
+    testImplementation(kotlin("test"))
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.8.2")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine")
+
+    testAnnotationProcessor(project(":jimmer-apt"))
+
+    kspTest(project(":jimmer-ksp"))
+}
+
+kotlin {
+    sourceSets.test {
+        kotlin.srcDir("build/generated/ksp/test/kotlin")
+    }
+}
+
+ksp {
+    arg("jimmer.bitmaskStates", "true")
+    arg("jimmer.source.excludes", "org.babyfish.jimmer.bitmask.java")
+}
+
+java.sourceCompatibility = JavaVersion.VERSION_1_8
+java.targetCompatibility = JavaVersion.VERSION_1_8
+
+tasks.withType(JavaCompile::class) {
+    options.compilerArgs.add("-parameters")
+    options.compilerArgs.add("-Ajimmer.bitmaskStates=true")
+}
+
+tasks.withType<org.jetbrains.kotlin.gradle.tasks.KotlinCompile> {
+    kotlinOptions {
+        freeCompilerArgs = listOf("-Xjsr305=strict")
+        jvmTarget = "1.8"
+    }
+}
+
+tasks.getByName<Test>("test") {
+    useJUnitPlatform()
+}
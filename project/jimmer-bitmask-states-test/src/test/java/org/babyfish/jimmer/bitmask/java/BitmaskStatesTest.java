@@ -0,0 +1,161 @@
+package org.babyfish.jimmer.bitmask.java;
+
+import org.babyfish.jimmer.DraftObjects;
+import org.babyfish.jimmer.UnloadedException;
+import org.babyfish.jimmer.bitmask.java.model.Person;
+import org.babyfish.jimmer.bitmask.java.model.PersonDraft;
+import org.babyfish.jimmer.bitmask.java.model.Wide;
+import org.babyfish.jimmer.bitmask.java.model.WideDraft;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BitmaskStatesTest {
+
+    @Test
+    public void testLoaded() {
+        Person person = PersonDraft.$.produce(draft -> {
+            draft.setFirstName("Jim").setAge(30);
+        });
+        ImmutableSpi spi = (ImmutableSpi) person;
+        Assertions.assertTrue(spi.__isLoaded("firstName"));
+        Assertions.assertFalse(spi.__isLoaded("lastName"));
+        Assertions.assertFalse(spi.__isLoaded("email"));
+        Assertions.assertTrue(spi.__isLoaded("age"));
+        Assertions.assertEquals(30, person.age());
+        Assertions.assertThrows(UnloadedException.class, person::email);
+
+        Person person2 = PersonDraft.$.produce(person, draft -> {
+            draft.setEmail(null);
+        });
+        Assertions.assertTrue(((ImmutableSpi) person2).__isLoaded("email"));
+        Assertions.assertNull(person2.email());
+    }
+
+    @Test
+    public void testUnload() {
+        Person person = newPerson();
+        Person person2 = PersonDraft.$.produce(person, draft -> {
+            ((DraftSpi) draft).__unload("age");
+            ((DraftSpi) draft).__unload("email");
+        });
+        ImmutableSpi spi = (ImmutableSpi) person2;
+        Assertions.assertFalse(spi.__isLoaded("age"));
+        Assertions.assertFalse(spi.__isLoaded("email"));
+        Assertions.assertTrue(spi.__isLoaded("firstName"));
+        Assertions.assertTrue(spi.__isLoaded("lastName"));
+        Assertions.assertThrows(UnloadedException.class, person2::age);
+        Assertions.assertThrows(UnloadedException.class, person2::email);
+        Assertions.assertTrue(((ImmutableSpi) person).__isLoaded("age"));
+        Assertions.assertTrue(((ImmutableSpi) person).__isLoaded("email"));
+    }
+
+    @Test
+    public void testShow() {
+        Person person = newPerson();
+        ImmutableSpi spi = (ImmutableSpi) person;
+        Assertions.assertTrue(spi.__isVisible("firstName"));
+        Assertions.assertTrue(spi.__isVisible("lastName"));
+        Assertions.assertFalse(spi.__isVisible("fullName"));
+        Assertions.assertTrue(spi.__isVisible("email"));
+
+        Person person2 = PersonDraft.$.produce(person, draft -> {
+            ((DraftSpi) draft).__show("firstName", false);
+            ((DraftSpi) draft).__show("fullName", true);
+        });
+        ImmutableSpi spi2 = (ImmutableSpi) person2;
+        Assertions.assertFalse(spi2.__isVisible("firstName"));
+        Assertions.assertTrue(spi2.__isVisible("lastName"));
+        Assertions.assertTrue(spi2.__isVisible("fullName"));
+        Assertions.assertEquals("Jim Green", person2.fullName());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Person person = newPerson();
+        Person same = newPerson();
+        Assertions.assertNotSame(person, same);
+        Assertions.assertEquals(person, same);
+        Assertions.assertEquals(person.hashCode(), same.hashCode());
+
+        Person unloaded = PersonDraft.$.produce(person, draft -> {
+            ((DraftSpi) draft).__unload("email");
+        });
+        Assertions.assertNotEquals(person, unloaded);
+
+        Person hidden = PersonDraft.$.produce(person, draft -> {
+            ((DraftSpi) draft).__show("firstName", false);
+        });
+        Person hidden2 = PersonDraft.$.produce(same, draft -> {
+            ((DraftSpi) draft).__show("firstName", false);
+        });
+        Assertions.assertNotEquals(person, hidden);
+        Assertions.assertEquals(hidden, hidden2);
+        Assertions.assertEquals(hidden.hashCode(), hidden2.hashCode());
+    }
+
+    @Test
+    public void testWideType() {
+        Wide wide = newWide();
+        ImmutableSpi spi = (ImmutableSpi) wide;
+        for (int i = 1; i <= 68; i++) {
+            Assertions.assertTrue(spi.__isLoaded("value" + i), "value" + i);
+        }
+        Assertions.assertTrue(spi.__isVisible("value1"));
+        Assertions.assertTrue(spi.__isVisible("value40"));
+        Assertions.assertTrue(spi.__isVisible("value68"));
+        Assertions.assertFalse(spi.__isVisible("sum"));
+        Assertions.assertEquals(1 + 40 + 68, wide.sum());
+
+        Wide wide2 = WideDraft.$.produce(wide, draft -> {
+            ((DraftSpi) draft).__unload("value40");
+            ((DraftSpi) draft).__unload("value68");
+            ((DraftSpi) draft).__show("value40", false);
+            ((DraftSpi) draft).__show("sum", true);
+        });
+        ImmutableSpi spi2 = (ImmutableSpi) wide2;
+        for (int i = 1; i <= 68; i++) {
+            Assertions.assertEquals(i != 40 && i != 68, spi2.__isLoaded("value" + i), "value" + i);
+        }
+        Assertions.assertThrows(UnloadedException.class, wide2::value40);
+        Assertions.assertThrows(UnloadedException.class, wide2::value68);
+        Assertions.assertTrue(spi2.__isVisible("value1"));
+        Assertions.assertFalse(spi2.__isVisible("value40"));
+        Assertions.assertTrue(spi2.__isVisible("value68"));
+        Assertions.assertTrue(spi2.__isVisible("sum"));
+
+        Wide same = newWide();
+        Assertions.assertEquals(wide, same);
+        Assertions.assertEquals(wide.hashCode(), same.hashCode());
+        Assertions.assertNotEquals(wide, wide2);
+
+        Wide wide3 = WideDraft.$.produce(wide, draft -> {
+            ((DraftSpi) draft).__show("value68", false);
+        });
+        Wide wide4 = WideDraft.$.produce(same, draft -> {
+            ((DraftSpi) draft).__show("value68", false);
+        });
+        Assertions.assertNotEquals(wide, wide3);
+        Assertions.assertEquals(wide3, wide4);
+        Assertions.assertEquals(wide3.hashCode(), wide4.hashCode());
+    }
+
+    private static Person newPerson() {
+        return PersonDraft.$.produce(draft -> {
+            draft
+                    .setFirstName("Jim")
+                    .setLastName("Green")
+                    .setEmail("jim.green@gmail.com")
+                    .setAge(30);
+        });
+    }
+
+    private static Wide newWide() {
+        return WideDraft.$.produce(draft -> {
+            for (int i = 1; i <= 68; i++) {
+                DraftObjects.set(draft, "value" + i, i);
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package org.babyfish.jimmer.bitmask.java.model;
+
+import org.babyfish.jimmer.Formula;
+import org.babyfish.jimmer.Immutable;
+
+import javax.validation.constraints.Null;
+
+@Immutable
+public interface Person {
+
+    String firstName();
+
+    String lastName();
+
+    @Null
+    String email();
+
+    int age();
+
+    @Formula(dependencies = {"firstName", "lastName"})
+    default String fullName() {
+        return firstName() + ' ' + lastName();
+    }
+}
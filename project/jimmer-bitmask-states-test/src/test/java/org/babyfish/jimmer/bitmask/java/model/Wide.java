@@ -0,0 +1,152 @@
+package org.babyfish.jimmer.bitmask.java.model;
+
+import org.babyfish.jimmer.Formula;
+import org.babyfish.jimmer.Immutable;
+
+/**
+ * More than 63 properties, so the states are packed into two `long` masks
+ */
+@Immutable
+public interface Wide {
+
+    int value1();
+
+    int value2();
+
+    int value3();
+
+    int value4();
+
+    int value5();
+
+    int value6();
+
+    int value7();
+
+    int value8();
+
+    int value9();
+
+    int value10();
+
+    int value11();
+
+    int value12();
+
+    int value13();
+
+    int value14();
+
+    int value15();
+
+    int value16();
+
+    int value17();
+
+    int value18();
+
+    int value19();
+
+    int value20();
+
+    int value21();
+
+    int value22();
+
+    int value23();
+
+    int value24();
+
+    int value25();
+
+    int value26();
+
+    int value27();
+
+    int value28();
+
+    int value29();
+
+    int value30();
+
+    int value31();
+
+    int value32();
+
+    int value33();
+
+    int value34();
+
+    int value35();
+
+    int value36();
+
+    int value37();
+
+    int value38();
+
+    int value39();
+
+    int value40();
+
+    int value41();
+
+    int value42();
+
+    int value43();
+
+    int value44();
+
+    int value45();
+
+    int value46();
+
+    int value47();
+
+    int value48();
+
+    int value49();
+
+    int value50();
+
+    int value51();
+
+    int value52();
+
+    int value53();
+
+    int value54();
+
+    int value55();
+
+    int value56();
+
+    int value57();
+
+    int value58();
+
+    int value59();
+
+    int value60();
+
+    int value61();
+
+    int value62();
+
+    int value63();
+
+    int value64();
+
+    int value65();
+
+    int value66();
+
+    int value67();
+
+    int value68();
+
+    @Formula(dependencies = {"value1", "value40", "value68"})
+    default int sum() {
+        return value1() + value40() + value68();
+    }
+}
@@ -0,0 +1,158 @@
+package org.babyfish.jimmer.bitmask.kt
+
+import org.babyfish.jimmer.DraftObjects
+import org.babyfish.jimmer.UnloadedException
+import org.babyfish.jimmer.bitmask.kt.model.Person
+import org.babyfish.jimmer.bitmask.kt.model.Wide
+import org.babyfish.jimmer.bitmask.kt.model.by
+import org.babyfish.jimmer.kt.new
+import org.babyfish.jimmer.runtime.DraftSpi
+import org.babyfish.jimmer.runtime.ImmutableSpi
+import kotlin.test.*
+
+class BitmaskStatesTest {
+
+    @Test
+    fun testLoaded() {
+        val person = new(Person::class).by {
+            firstName = "Jim"
+            age = 30
+        }
+        val spi = person as ImmutableSpi
+        assertTrue(spi.__isLoaded("firstName"))
+        assertFalse(spi.__isLoaded("lastName"))
+        assertFalse(spi.__isLoaded("email"))
+        assertTrue(spi.__isLoaded("age"))
+        expect(30) { person.age }
+        assertFailsWith<UnloadedException> { person.email }
+
+        val person2 = new(Person::class).by(person) {
+            email = null
+        }
+        assertTrue((person2 as ImmutableSpi).__isLoaded("email"))
+        assertNull(person2.email)
+    }
+
+    @Test
+    fun testUnload() {
+        val person = newPerson()
+        val person2 = new(Person::class).by(person) {
+            (this as DraftSpi).__unload("age")
+            (this as DraftSpi).__unload("email")
+        }
+        val spi = person2 as ImmutableSpi
+        assertFalse(spi.__isLoaded("age"))
+        assertFalse(spi.__isLoaded("email"))
+        assertTrue(spi.__isLoaded("firstName"))
+        assertTrue(spi.__isLoaded("lastName"))
+        assertFailsWith<UnloadedException> { person2.age }
+        assertFailsWith<UnloadedException> { person2.email }
+        assertTrue((person as ImmutableSpi).__isLoaded("age"))
+        assertTrue(person.__isLoaded("email"))
+    }
+
+    @Test
+    fun testShow() {
+        val person = newPerson()
+        val spi = person as ImmutableSpi
+        assertTrue(spi.__isVisible("firstName"))
+        assertTrue(spi.__isVisible("lastName"))
+        assertFalse(spi.__isVisible("fullName"))
+        assertTrue(spi.__isVisible("email"))
+
+        val person2 = new(Person::class).by(person) {
+            (this as DraftSpi).__show("firstName", false)
+            (this as DraftSpi).__show("fullName", true)
+        }
+        val spi2 = person2 as ImmutableSpi
+        assertFalse(spi2.__isVisible("firstName"))
+        assertTrue(spi2.__isVisible("lastName"))
+        assertTrue(spi2.__isVisible("fullName"))
+        expect("Jim Green") { person2.fullName }
+    }
+
+    @Test
+    fun testEqualsAndHashCode() {
+        val person = newPerson()
+        val same = newPerson()
+        assertNotSame(person, same)
+        assertEquals(person, same)
+        assertEquals(person.hashCode(), same.hashCode())
+
+        val unloaded = new(Person::class).by(person) {
+            (this as DraftSpi).__unload("email")
+        }
+        assertNotEquals(person, unloaded)
+
+        val hidden = new(Person::class).by(person) {
+            (this as DraftSpi).__show("firstName", false)
+        }
+        val hidden2 = new(Person::class).by(same) {
+            (this as DraftSpi).__show("firstName", false)
+        }
+        assertNotEquals(person, hidden)
+        assertEquals(hidden, hidden2)
+        assertEquals(hidden.hashCode(), hidden2.hashCode())
+    }
+
+    @Test
+    fun testWideType() {
+        val wide = newWide()
+        val spi = wide as ImmutableSpi
+        for (i in 1..68) {
+            assertTrue(spi.__isLoaded("value$i"), "value$i")
+        }
+        assertTrue(spi.__isVisible("value1"))
+        assertTrue(spi.__isVisible("value40"))
+        assertTrue(spi.__isVisible("value68"))
+        assertFalse(spi.__isVisible("sum"))
+        expect(1 + 40 + 68) { wide.sum }
+
+        val wide2 = new(Wide::class).by(wide) {
+            (this as DraftSpi).__unload("value40")
+            (this as DraftSpi).__unload("value68")
+            (this as DraftSpi).__show("value40", false)
+            (this as DraftSpi).__show("sum", true)
+        }
+        val spi2 = wide2 as ImmutableSpi
+        for (i in 1..68) {
+            assertEquals(i != 40 && i != 68, spi2.__isLoaded("value$i"), "value$i")
+        }
+        assertFailsWith<UnloadedException> { wide2.value40 }
+        assertFailsWith<UnloadedException> { wide2.value68 }
+        assertTrue(spi2.__isVisible("value1"))
+        assertFalse(spi2.__isVisible("value40"))
+        assertTrue(spi2.__isVisible("value68"))
+        assertTrue(spi2.__isVisible("sum"))
+
+        val same = newWide()
+        assertEquals(wide, same)
+        assertEquals(wide.hashCode(), same.hashCode())
+        assertNotEquals(wide, wide2)
+
+        val wide3 = new(Wide::class).by(wide) {
+            (this as DraftSpi).__show("value68", false)
+        }
+        val wide4 = new(Wide::class).by(same) {
+            (this as DraftSpi).__show("value68", false)
+        }
+        assertNotEquals(wide, wide3)
+        assertEquals(wide3, wide4)
+        assertEquals(wide3.hashCode(), wide4.hashCode())
+    }
+
+    private fun newPerson(): Person =
+        new(Person::class).by {
+            firstName = "Jim"
+            lastName = "Green"
+            email = "jim.green@gmail.com"
+            age = 30
+        }
+
+    private fun newWide(): Wide =
+        new(Wide::class).by {
+            for (i in 1..68) {
+                DraftObjects.set(this, "value$i", i)
+            }
+        }
+}
@@ -0,0 +1,20 @@
+package org.babyfish.jimmer.bitmask.kt.model
+
+import org.babyfish.jimmer.Formula
+import org.babyfish.jimmer.Immutable
+
+@Immutable
+interface Person {
+
+    val firstName: String
+
+    val lastName: String
+
+    val email: String?
+
+    val age: Int
+
+    @Formula(dependencies = ["firstName", "lastName"])
+    val fullName: String
+        get() = "$firstName $lastName"
+}
@@ -0,0 +1,88 @@
+package org.babyfish.jimmer.kt
+
+import org.babyfish.jimmer.kt.model.Book
+import org.babyfish.jimmer.kt.model.by
+import org.babyfish.jimmer.runtime.ImmutableSpi
+import java.math.BigDecimal
+import kotlin.test.Test
+import kotlin.test.assertNotEquals
+import kotlin.test.expect
+
+class HashCodeTest {
+
+    @Test
+    fun testCachedHashCode() {
+        val book = newBook("SQL in Action", 49, "MANNING")
+        val hash = book.hashCode()
+        val shallowHash = (book as ImmutableSpi).__hashCode(true)
+        expect(hash) { book.hashCode() }
+        expect(shallowHash) { (book as ImmutableSpi).__hashCode(true) }
+
+        // Not cached yet, computed freshly
+        expect(hash) { newBook("SQL in Action", 49, "MANNING").hashCode() }
+        expect(shallowHash) { computedHashCode(book, true) }
+    }
+
+    @Test
+    fun testResolvedDraft() {
+        val book = newBook("SQL in Action", 49, "MANNING")
+        val hash = book.hashCode()
+        val shallowHash = (book as ImmutableSpi).__hashCode(true)
+
+        // The resolved object is a clone of the cached one
+        val book2 = new(Book::class).by(book) {
+            price = BigDecimal(59)
+        }
+        assertNotEquals(hash, book2.hashCode())
+        expect(newBook("SQL in Action", 59, "MANNING").hashCode()) { book2.hashCode() }
+        expect(computedHashCode(book2, true)) { (book2 as ImmutableSpi).__hashCode(true) }
+
+        // Only the child object is changed
+        val book3 = new(Book::class).by(book) {
+            store().name = "OREILLY"
+        }
+        expect(newBook("SQL in Action", 49, "OREILLY").hashCode()) { book3.hashCode() }
+        expect(computedHashCode(book3, true)) { (book3 as ImmutableSpi).__hashCode(true) }
+
+        expect(hash) { book.hashCode() }
+        expect(shallowHash) { (book as ImmutableSpi).__hashCode(true) }
+    }
+
+    @Test
+    fun testDraftHashCode() {
+        val book = newBook("SQL in Action", 49, "MANNING")
+        val hash = book.hashCode()
+        val shallowHash = (book as ImmutableSpi).__hashCode(true)
+        new(Book::class).by(book) {
+            expect(hash) { hashCode() }
+            expect(shallowHash) { (this as ImmutableSpi).__hashCode(true) }
+            price = BigDecimal(59)
+            val draftHash = hashCode()
+            assertNotEquals(hash, draftHash)
+            expect(newBook("SQL in Action", 59, "MANNING").hashCode()) { draftHash }
+            price = BigDecimal(69)
+            assertNotEquals(draftHash, hashCode())
+            expect(newBook("SQL in Action", 69, "MANNING").hashCode()) { hashCode() }
+        }
+    }
+
+    /*
+     * The draft of an unmodified object always computes the hash code of that object,
+     * the shallow hash code uses the identities of the property values,
+     * so it can only be compared with the one of the same object
+     */
+    private fun computedHashCode(book: Book, shallow: Boolean): Int {
+        var hash = 0
+        new(Book::class).by(book) {
+            hash = (this as ImmutableSpi).__hashCode(shallow)
+        }
+        return hash
+    }
+
+    private fun newBook(name: String, price: Int, storeName: String): Book =
+        new(Book::class).by {
+            this.name = name
+            this.price = BigDecimal(price)
+            store().name = storeName
+        }
+}
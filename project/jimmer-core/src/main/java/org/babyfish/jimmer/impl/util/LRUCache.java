@@ -0,0 +1,49 @@
+package org.babyfish.jimmer.impl.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Internal until class, it should not be used by programmer directly.
+ *
+ * <p>Thread-safe cache whose size is bounded, the least recently
+ * used entry is discarded when the cache is full.</p>
+ *
+ * @param <K> Key Type
+ * @param <V> Value Type
+ */
+public class LRUCache<K, V> {
+
+    private final Map<K, V> map;
+
+    public LRUCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("`maxSize` must be greater than 0");
+        }
+        this.map = new LinkedHashMap<K, V>((maxSize * 4 + 2) / 3, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the cached value or create it by the creator,
+     * the creator must be cheap because it is invoked in the lock.
+     */
+    public V get(K key, Function<K, V> creator) {
+        synchronized (map) {
+            V value = map.get(key);
+            if (value == null) {
+                value = creator.apply(key);
+                if (value == null) {
+                    throw new IllegalStateException("The creator of LRU cache cannot return null");
+                }
+                map.put(key, value);
+            }
+            return value;
+        }
+    }
+}
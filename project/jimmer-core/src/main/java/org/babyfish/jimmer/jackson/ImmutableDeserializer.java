@@ -1,16 +1,18 @@
 package org.babyfish.jimmer.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import org.babyfish.jimmer.jackson.meta.BeanProps;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
-import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.Internal;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class ImmutableDeserializer extends StdDeserializer<Object> {
 
@@ -18,10 +20,38 @@ public class ImmutableDeserializer extends StdDeserializer<Object> {
 
     private final PropNameConverter propNameConverter;
 
+    /*
+     * Field names and aliases of mutable properties,
+     * json fields are read as token stream and mapped to properties by it
+     * so that no json tree is created.
+     */
+    private final Map<String, Field> fieldMap;
+
+    private final int propCount;
+
+    private final boolean hasAliases;
+
     public ImmutableDeserializer(ImmutableType immutableType, PropNameConverter propNameConverter) {
         super(immutableType.getJavaClass());
         this.immutableType = immutableType;
         this.propNameConverter = propNameConverter;
+        Map<String, Field> fieldMap = new HashMap<>();
+        int propIndex = 0;
+        boolean hasAliases = false;
+        for (ImmutableProp prop : immutableType.getProps().values()) {
+            if (prop.isMutable()) {
+                fieldMap.put(propNameConverter.fieldName(prop), new Field(prop, propIndex, false));
+                List<String> aliases = propNameConverter.aliases(prop);
+                for (String alias : aliases) {
+                    fieldMap.putIfAbsent(alias, new Field(prop, propIndex, true));
+                    hasAliases = true;
+                }
+                propIndex++;
+            }
+        }
+        this.fieldMap = fieldMap;
+        this.propCount = propIndex;
+        this.hasAliases = hasAliases;
     }
 
     @SuppressWarnings("unchecked")
@@ -30,36 +60,62 @@ public class ImmutableDeserializer extends StdDeserializer<Object> {
             JsonParser jp,
             DeserializationContext ctx
     ) throws IOException {
-        JsonNode node = jp.getCodec().readTree(jp);
-
-        return Internal.produce(immutableType, null, draft -> {
-            for (ImmutableProp prop : immutableType.getProps().values()) {
-                if (prop.isMutable()) {
-                    String fieldName = propNameConverter.fieldName(prop);
-                    String nodeName = null;
-                    if (node.has(fieldName)) {
-                        nodeName = fieldName;
-                    } else {
-                        for (String alias : propNameConverter.aliases(prop)) {
-                            if (node.has(alias)) {
-                                nodeName = alias;
-                                break;
-                            }
-                        }
+        JsonToken token = jp.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return ctx.handleUnexpectedToken(immutableType.getJavaClass(), jp);
+        }
+        JsonToken firstToken = token;
+        return Internal.build(immutableType, draft -> {
+            // Like the field name, the alias is ignored if the field name is specified
+            boolean[] fieldNameSpecified = hasAliases ? new boolean[propCount] : null;
+            for (JsonToken t = firstToken; t == JsonToken.FIELD_NAME; t = jp.nextToken()) {
+                Field field = fieldMap.get(jp.currentName());
+                jp.nextToken();
+                if (field == null) {
+                    jp.skipChildren();
+                    continue;
+                }
+                if (fieldNameSpecified != null) {
+                    if (!field.alias) {
+                        fieldNameSpecified[field.index] = true;
+                    } else if (fieldNameSpecified[field.index]) {
+                        jp.skipChildren();
+                        continue;
                     }
-                    if (nodeName != null) {
-                        Object value = PropDeserializeUtils.readTreeAsValue(
-                                ctx,
-                                node.get(nodeName),
-                                BeanProps.get(ctx.getTypeFactory(), prop)
-                        );
-                        if (value != null && prop.getConverter() != null) {
-                            value = ((Converter<Object>) prop.getConverter()).input(value);
-                        }
-                        ((DraftSpi) draft).__set(prop.getId(), value);
+                }
+                ImmutableProp prop = field.prop;
+                Object value;
+                if (jp.currentToken() == JsonToken.VALUE_NULL) {
+                    value = null;
+                } else {
+                    value = PropDeserializeUtils.readValue(
+                            jp,
+                            BeanProps.get(ctx.getTypeFactory(), prop),
+                            ctx
+                    );
+                    if (value != null && prop.getConverter() != null) {
+                        value = ((Converter<Object>) prop.getConverter()).input(value);
                     }
                 }
+                draft.__set(prop.getId(), value);
             }
         });
     }
-}
\ No newline at end of file
+
+    private static class Field {
+
+        final ImmutableProp prop;
+
+        final int index;
+
+        final boolean alias;
+
+        Field(ImmutableProp prop, int index, boolean alias) {
+            this.prop = prop;
+            this.index = index;
+            this.alias = alias;
+        }
+    }
+}
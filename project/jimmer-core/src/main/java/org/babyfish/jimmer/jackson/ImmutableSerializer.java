@@ -3,7 +3,9 @@ package org.babyfish.jimmer.jackson;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.std.DateSerializer;
@@ -19,13 +21,29 @@ import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 
 import java.io.IOException;
+import java.text.DateFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ImmutableSerializer extends StdSerializer<ImmutableSpi> {
 
+    private static final int MAX_PLAN_COUNT = 32;
+
     private final ImmutableType immutableType;
 
     private final PropNameConverter propNameConverter;
 
+    /*
+     * Writers of the same mapper with different views or features have different
+     * serialization configs, and a new config is created whenever a writer is created,
+     * so plans are shared by the settings which affect the plan rather than by config.
+     */
+    private final ConcurrentMap<PlanKey, Plan> planMap = new ConcurrentHashMap<>();
+
+    // The plan of the last used serialization config, avoid creating key for each object
+    private volatile Plan lastPlan;
+
     @SuppressWarnings("unchecked")
     public ImmutableSerializer(ImmutableType immutableType, PropNameConverter propNameConverter) {
         super((Class<ImmutableSpi>)immutableType.getJavaClass());
@@ -56,69 +74,214 @@ public class ImmutableSerializer extends StdSerializer<ImmutableSpi> {
         gen.writeEndObject();
     }
 
-    @SuppressWarnings("unchecked")
     private void serializeFields(ImmutableSpi immutable, JsonGenerator gen, SerializerProvider provider) throws IOException {
-        for (ImmutableProp prop : immutableType.getProps().values()) {
-            JsonIgnore ignore = prop.getAnnotation(JsonIgnore.class);
-            if (ignore != null && ignore.value()) {
-                continue;
-            }
-            if (immutable.__isLoaded(prop.getId()) && immutable.__isVisible(prop.getId())) {
-                Object value = immutable.__get(prop.getId());
-                if (value != null && prop.getConverter() != null) {
-                    value = ((Converter<Object>)prop.getConverter()).output(value);
+        for (PropPlan propPlan : plan(provider).propPlans) {
+            int propId = propPlan.propId;
+            if (immutable.__isLoaded(propId) && immutable.__isVisible(propId)) {
+                Object value = immutable.__get(propId);
+                if (value != null && propPlan.converter != null) {
+                    value = propPlan.converter.output(value);
                 }
+                gen.writeFieldName(propPlan.fieldName);
                 if (value == null) {
-                    provider.defaultSerializeField(propNameConverter.fieldName(prop), null, gen);
-                } else if (prop.isAssociation(TargetLevel.OBJECT) || prop.isScalarList()) {
-                    TypeSerializer typeSer = null;
-                    gen.writeFieldName(propNameConverter.fieldName(prop));
-                    if (!prop.isReferenceList(TargetLevel.OBJECT) &&
-                            value instanceof ImmutableSpi &&
-                            ((ImmutableSpi)value).__type() != immutableType) {
-                        typeSer = provider.findTypeSerializer(PropUtils.getJacksonType(prop));
-                    }
+                    provider.defaultSerializeNull(gen);
+                } else if (propPlan.isTypedReference &&
+                        value instanceof ImmutableSpi &&
+                        ((ImmutableSpi)value).__type() != immutableType) {
+                    TypeSerializer typeSer = propPlan.typeSerializer;
                     if (typeSer != null) {
                         provider.findValueSerializer(value.getClass()).serializeWithType(value, gen, provider, typeSer);
                     } else {
-                        provider.findValueSerializer(PropUtils.getJacksonType(prop)).serialize(value, gen, provider);
+                        propPlan.serializer(provider).serialize(value, gen, provider);
                     }
                 } else {
-                    gen.writeFieldName(propNameConverter.fieldName(prop));
-                    JsonSerializer<?> serializer = provider.findTypedValueSerializer(
-                            prop.getElementClass(),
-                            true,
-                            BeanProps.get(provider.getTypeFactory(), prop)
-                    );
-                    if (serializer instanceof DateSerializer) {
-                        serializer = ((DateSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof LocalDateSerializer) {
-                        serializer = ((LocalDateSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof LocalDateTimeSerializer) {
-                        serializer = ((LocalDateTimeSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof OffsetDateTimeSerializer) {
-                        serializer = ((OffsetDateTimeSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof ZonedDateTimeSerializer) {
-                        serializer = ((ZonedDateTimeSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    }
-                    ((JsonSerializer<Object>) serializer).serialize(value, gen, provider);
+                    propPlan.serializer(provider).serialize(value, gen, provider);
                 }
             }
         }
     }
+
+    private Plan plan(SerializerProvider provider) throws IOException {
+        SerializationConfig config = provider.getConfig();
+        Plan plan = this.lastPlan;
+        if (plan != null && plan.config == config) {
+            return plan;
+        }
+        PlanKey key = new PlanKey(config);
+        plan = planMap.get(key);
+        if (plan == null) {
+            if (planMap.size() >= MAX_PLAN_COUNT) {
+                planMap.clear();
+            }
+            plan = new Plan(provider, immutableType, propNameConverter);
+            Plan existingPlan = planMap.putIfAbsent(key, plan);
+            if (existingPlan != null) {
+                plan = existingPlan;
+            }
+        }
+        this.lastPlan = plan.config == config ? plan : plan.withConfig(config);
+        return plan;
+    }
+
+    private static class PlanKey {
+
+        private final Class<?> activeView;
+
+        private final int serializationFeatures;
+
+        private final DateFormat dateFormat;
+
+        private final TimeZone timeZone;
+
+        private final Locale locale;
+
+        private final int hash;
+
+        PlanKey(SerializationConfig config) {
+            this.activeView = config.getActiveView();
+            this.serializationFeatures = config.getSerializationFeatures();
+            this.dateFormat = config.getDateFormat();
+            this.timeZone = config.getTimeZone();
+            this.locale = config.getLocale();
+            this.hash = Objects.hash(activeView, serializationFeatures, dateFormat, timeZone, locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey other = (PlanKey) o;
+            return activeView == other.activeView &&
+                    serializationFeatures == other.serializationFeatures &&
+                    Objects.equals(dateFormat, other.dateFormat) &&
+                    Objects.equals(timeZone, other.timeZone) &&
+                    Objects.equals(locale, other.locale);
+        }
+    }
+
+    /*
+     * The properties which can be serialized and their field names
+     * and serializers, it is resolved for the serialization config
+     * so that only the loaded/visible checks and writes are left
+     * for each object.
+     */
+    private static class Plan {
+
+        final SerializationConfig config;
+
+        final PropPlan[] propPlans;
+
+        private Plan(SerializationConfig config, PropPlan[] propPlans) {
+            this.config = config;
+            this.propPlans = propPlans;
+        }
+
+        Plan(
+                SerializerProvider provider,
+                ImmutableType immutableType,
+                PropNameConverter propNameConverter
+        ) throws IOException {
+            this.config = provider.getConfig();
+            List<PropPlan> propPlans = new ArrayList<>();
+            for (ImmutableProp prop : immutableType.getProps().values()) {
+                JsonIgnore ignore = prop.getAnnotation(JsonIgnore.class);
+                if (ignore != null && ignore.value()) {
+                    continue;
+                }
+                propPlans.add(new PropPlan(prop, propNameConverter.fieldName(prop), provider));
+            }
+            this.propPlans = propPlans.toArray(new PropPlan[0]);
+        }
+
+        Plan withConfig(SerializationConfig config) {
+            return new Plan(config, propPlans);
+        }
+    }
+
+    private static class PropPlan {
+
+        final ImmutableProp prop;
+
+        final int propId;
+
+        final SerializedString fieldName;
+
+        final Converter<Object> converter;
+
+        final boolean isTypedReference;
+
+        final TypeSerializer typeSerializer;
+
+        // Resolved when it is used at the first time, it is no problem to resolve it twice
+        private JsonSerializer<Object> serializer;
+
+        @SuppressWarnings("unchecked")
+        PropPlan(ImmutableProp prop, String fieldName, SerializerProvider provider) throws IOException {
+            this.prop = prop;
+            this.propId = prop.getId();
+            this.fieldName = new SerializedString(fieldName);
+            this.converter = (Converter<Object>) prop.getConverter();
+            this.isTypedReference = prop.isAssociation(TargetLevel.OBJECT) &&
+                    !prop.isReferenceList(TargetLevel.OBJECT);
+            this.typeSerializer = isTypedReference ?
+                    provider.findTypeSerializer(PropUtils.getJacksonType(prop)) :
+                    null;
+        }
+
+        JsonSerializer<Object> serializer(SerializerProvider provider) throws IOException {
+            JsonSerializer<Object> serializer = this.serializer;
+            if (serializer == null) {
+                this.serializer = serializer = createSerializer(provider);
+            }
+            return serializer;
+        }
+
+        @SuppressWarnings("unchecked")
+        private JsonSerializer<Object> createSerializer(SerializerProvider provider) throws IOException {
+            if (prop.isAssociation(TargetLevel.OBJECT) || prop.isScalarList()) {
+                return provider.findValueSerializer(PropUtils.getJacksonType(prop));
+            }
+            JsonSerializer<?> serializer = provider.findTypedValueSerializer(
+                    prop.getElementClass(),
+                    true,
+                    BeanProps.get(provider.getTypeFactory(), prop)
+            );
+            if (serializer instanceof DateSerializer) {
+                serializer = ((DateSerializer) serializer).createContextual(
+                        provider,
+                        BeanProps.get(provider.getTypeFactory(), prop)
+                );
+            } else if (serializer instanceof LocalDateSerializer) {
+                serializer = ((LocalDateSerializer) serializer).createContextual(
+                        provider,
+                        BeanProps.get(provider.getTypeFactory(), prop)
+                );
+            } else if (serializer instanceof LocalDateTimeSerializer) {
+                serializer = ((LocalDateTimeSerializer) serializer).createContextual(
+                        provider,
+                        BeanProps.get(provider.getTypeFactory(), prop)
+                );
+            } else if (serializer instanceof OffsetDateTimeSerializer) {
+                serializer = ((OffsetDateTimeSerializer) serializer).createContextual(
+                        provider,
+                        BeanProps.get(provider.getTypeFactory(), prop)
+                );
+            } else if (serializer instanceof ZonedDateTimeSerializer) {
+                serializer = ((ZonedDateTimeSerializer) serializer).createContextual(
+                        provider,
+                        BeanProps.get(provider.getTypeFactory(), prop)
+                );
+            }
+            return (JsonSerializer<Object>) serializer;
+        }
+    }
 }
@@ -43,6 +43,33 @@ public class Internal {
         });
     }
 
+    /**
+     * Fast path of {@code produce(type, null, block)} for the frameworks
+     * which create new objects by setting properties only, such as
+     * the readers of JDBC result set and the deserializers.
+     *
+     * <p>If there is no current draft context, the draft is created
+     * without draft context and resolved directly, so that neither the draft context
+     * nor its identity maps and disposers are created. For this case,
+     * the block can only call {@link DraftSpi#__set(int, Object)},
+     * {@link DraftSpi#__show(int, boolean)} and {@link DraftSpi#__unload(int)},
+     * and the property values must be immutable objects, not drafts.</p>
+     *
+     * <p>Otherwise, it is same as {@code produce(type, null, block)},
+     * the returned object is a draft which will be resolved by the current draft context.</p>
+     */
+    public static Object build(
+            ImmutableType type,
+            DraftConsumer<DraftSpi> block
+    ) {
+        if (DRAFT_CONTEXT_LOCAL.get() != null) {
+            return produce(type, null, block);
+        }
+        DraftSpi draft = (DraftSpi) type.getDraftFactory().apply(null, null);
+        modifyDraft(draft, block);
+        return draft.__resolve();
+    }
+
     public static List<Object> produceList(
             ImmutableType type,
             Collection<?> bases,
@@ -15,4 +15,15 @@ public @interface GeneratedValue {
     Class<? extends IdGenerator> generatorType() default IdGenerator.None.class;
 
     String sequenceName() default "";
+
+    /**
+     * The count of ids allocated by one query of the sequence,
+     * only be used when the strategy is {@link GenerationType#SEQUENCE}.
+     *
+     * <p>If it is greater than 1, the increment of the database sequence
+     * must be this value, the value returned by the sequence is the
+     * lowest id of the allocated block and the other ids are handed out
+     * from memory(pooled-lo).</p>
+     */
+    int allocationSize() default 1;
 }
@@ -1,14 +1,125 @@
 package org.babyfish.jimmer.sql.meta;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 public class SequenceIdGenerator implements IdGenerator {
 
-    private String sequenceName;
+    private final String sequenceName;
+
+    private final int allocationSize;
 
     public SequenceIdGenerator(String sequenceName) {
+        this(sequenceName, 1);
+    }
+
+    /**
+     * @param sequenceName The name of database sequence
+     * @param allocationSize The count of ids allocated by one query of the sequence.
+     *                       If it is greater than 1, the increment of the database sequence
+     *                       must be this value, the value returned by the sequence is the lowest
+     *                       id of the allocated block and the other ids are handed out from memory(pooled-lo).
+     */
+    public SequenceIdGenerator(String sequenceName, int allocationSize) {
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("`allocationSize` cannot be less than 1");
+        }
         this.sequenceName = sequenceName;
+        this.allocationSize = allocationSize;
     }
 
     public String getSequenceName() {
         return sequenceName;
     }
+
+    public int getAllocationSize() {
+        return allocationSize;
+    }
+
+    /**
+     * Get the next id.
+     *
+     * <p>If the allocation size is 1, the value of the sequence is returned directly;
+     * otherwise, the ids of the allocated block are handed out from the pool without lock,
+     * and the sequence is only queried when the current block is exhausted.</p>
+     *
+     * @param pool The allocation state of the sequence, it is owned by the sql client
+     *             because this generator can be shared by several sql clients.
+     *             It is not used if the allocation size is 1.
+     * @param sequenceValueSupplier Queries the next value of the database sequence
+     * @return The next id
+     */
+    public Object next(Pool pool, Supplier<?> sequenceValueSupplier) {
+        if (allocationSize == 1) {
+            return sequenceValueSupplier.get();
+        }
+        return pool.next(this, sequenceValueSupplier);
+    }
+
+    @Override
+    public String toString() {
+        return "SequenceIdGenerator{" +
+                "sequenceName='" + sequenceName + '\'' +
+                ", allocationSize=" + allocationSize +
+                '}';
+    }
+
+    /**
+     * The pooled-lo allocation state of a database sequence,
+     * see {@link #next(Pool, Supplier)}
+     */
+    public static final class Pool {
+
+        private volatile Block block;
+
+        Object next(SequenceIdGenerator generator, Supplier<?> sequenceValueSupplier) {
+            Block block = this.block;
+            if (block != null) {
+                long id = block.next();
+                if (id != Long.MIN_VALUE) {
+                    return id;
+                }
+            }
+            synchronized (this) {
+                block = this.block;
+                if (block != null) {
+                    long id = block.next();
+                    if (id != Long.MIN_VALUE) {
+                        return id;
+                    }
+                }
+                Object value = sequenceValueSupplier.get();
+                if (!(value instanceof Number)) {
+                    throw new IllegalStateException(
+                            "The value of the sequence \"" +
+                                    generator.sequenceName +
+                                    "\" is not number"
+                    );
+                }
+                long lo = ((Number) value).longValue();
+                this.block = new Block(lo + 1, lo + generator.allocationSize);
+                return lo;
+            }
+        }
+    }
+
+    private static class Block {
+
+        private final AtomicLong nextId;
+
+        private final long endId;
+
+        Block(long nextId, long endId) {
+            this.nextId = new AtomicLong(nextId);
+            this.endId = endId;
+        }
+
+        /**
+         * @return The next id or {@code Long.MIN_VALUE} if the block is exhausted
+         */
+        long next() {
+            long id = nextId.getAndIncrement();
+            return id < endId ? id : Long.MIN_VALUE;
+        }
+    }
 }
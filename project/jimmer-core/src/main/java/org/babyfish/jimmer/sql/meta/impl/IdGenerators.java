@@ -102,6 +102,26 @@ public class IdGenerators {
             );
         }
 
+        if (generatedValue.allocationSize() < 1) {
+            throw new ModelException(
+                    "Illegal property \"" +
+                            idProp +
+                            "\", it's decorated by the annotation @" +
+                            GeneratedValue.class.getName() +
+                            " but the 'allocationSize' of that annotation is less than 1"
+            );
+        }
+        if (generatedValue.allocationSize() != 1 && strategy != GenerationType.SEQUENCE) {
+            throw new ModelException(
+                    "Illegal property \"" +
+                            idProp +
+                            "\", it's decorated by the annotation @" +
+                            GeneratedValue.class.getName() +
+                            " but that annotation specifies 'allocationSize' " +
+                            "and the generator strategy is not \"SEQUENCE\""
+            );
+        }
+
         if ((strategy == GenerationType.IDENTITY || strategy == GenerationType.SEQUENCE)) {
             Class<?> returnType = idProp.getElementClass();
             if (!returnType.isPrimitive() && !Number.class.isAssignableFrom(returnType)) {
@@ -178,7 +198,7 @@ public class IdGenerators {
             if (sequenceName.isEmpty()) {
                 sequenceName = databaseNamingStrategy.sequenceName(idProp.getDeclaringType());
             }
-            idGenerator = new SequenceIdGenerator(sequenceName);
+            idGenerator = new SequenceIdGenerator(sequenceName, generatedValue.allocationSize());
         }
         return idGenerator;
     }
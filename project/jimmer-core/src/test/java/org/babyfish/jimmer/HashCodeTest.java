@@ -0,0 +1,84 @@
+package org.babyfish.jimmer;
+
+import org.babyfish.jimmer.model.Book;
+import org.babyfish.jimmer.model.BookDraft;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HashCodeTest {
+
+    @Test
+    public void testCachedHashCode() {
+        Book book = book("SQL in Action", 49, "MANNING");
+        int hash = book.hashCode();
+        int shallowHash = ((ImmutableSpi) book).__hashCode(true);
+        Assertions.assertEquals(hash, book.hashCode());
+        Assertions.assertEquals(shallowHash, ((ImmutableSpi) book).__hashCode(true));
+
+        // Not cached yet, computed freshly
+        Book sameBook = book("SQL in Action", 49, "MANNING");
+        Assertions.assertEquals(sameBook.hashCode(), hash);
+        Assertions.assertEquals(computedHashCode(book, true), shallowHash);
+    }
+
+    @Test
+    public void testResolvedDraft() {
+        Book book = book("SQL in Action", 49, "MANNING");
+        int hash = book.hashCode();
+        int shallowHash = ((ImmutableSpi) book).__hashCode(true);
+
+        // The resolved object is a clone of the cached one
+        Book book2 = BookDraft.$.produce(book, draft -> draft.setPrice(59));
+        Book expectedBook2 = book("SQL in Action", 59, "MANNING");
+        Assertions.assertNotEquals(hash, book2.hashCode());
+        Assertions.assertEquals(expectedBook2.hashCode(), book2.hashCode());
+        Assertions.assertEquals(computedHashCode(book2, true), ((ImmutableSpi) book2).__hashCode(true));
+
+        // Only the child object is changed
+        Book book3 = BookDraft.$.produce(book, draft -> draft.store().setName("O'REILLY"));
+        Assertions.assertEquals(book("SQL in Action", 49, "O'REILLY").hashCode(), book3.hashCode());
+        Assertions.assertEquals(computedHashCode(book3, true), ((ImmutableSpi) book3).__hashCode(true));
+
+        Assertions.assertEquals(hash, book.hashCode());
+        Assertions.assertEquals(shallowHash, ((ImmutableSpi) book).__hashCode(true));
+    }
+
+    @Test
+    public void testDraftHashCode() {
+        Book book = book("SQL in Action", 49, "MANNING");
+        int hash = book.hashCode();
+        int shallowHash = ((ImmutableSpi) book).__hashCode(true);
+        BookDraft.$.produce(book, draft -> {
+            Assertions.assertEquals(hash, draft.hashCode());
+            Assertions.assertEquals(shallowHash, ((ImmutableSpi) draft).__hashCode(true));
+            draft.setPrice(59);
+            int draftHash = draft.hashCode();
+            Assertions.assertNotEquals(hash, draftHash);
+            Assertions.assertEquals(book("SQL in Action", 59, "MANNING").hashCode(), draftHash);
+            draft.setPrice(69);
+            Assertions.assertNotEquals(draftHash, draft.hashCode());
+            Assertions.assertEquals(book("SQL in Action", 69, "MANNING").hashCode(), draft.hashCode());
+        });
+    }
+
+    /*
+     * The draft of an unmodified object always computes the hash code of that object,
+     * the shallow hash code uses the identities of the property values,
+     * so it can only be compared with the one of the same object
+     */
+    private static int computedHashCode(Book book, boolean shallow) {
+        int[] hash = new int[1];
+        BookDraft.$.produce(book, draft -> {
+            hash[0] = ((ImmutableSpi) draft).__hashCode(shallow);
+        });
+        return hash[0];
+    }
+
+    private static Book book(String name, int price, String storeName) {
+        return BookDraft.$.produce(draft -> {
+            draft.setName(name).setPrice(price);
+            draft.applyStore(store -> store.setName(storeName));
+        });
+    }
+}
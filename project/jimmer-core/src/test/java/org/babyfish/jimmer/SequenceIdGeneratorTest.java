@@ -0,0 +1,139 @@
+package org.babyfish.jimmer;
+
+import org.babyfish.jimmer.sql.meta.SequenceIdGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class SequenceIdGeneratorTest {
+
+    @Test
+    public void testAllocationSizeIsOne() {
+        SequenceIdGenerator generator = new SequenceIdGenerator("seq");
+        SequenceIdGenerator.Pool pool = new SequenceIdGenerator.Pool();
+        Sequence sequence = new Sequence(100, 1);
+        Assertions.assertEquals(100L, generator.next(pool, sequence));
+        Assertions.assertEquals(101L, generator.next(pool, sequence));
+        Assertions.assertEquals(102L, generator.next(pool, sequence));
+        Assertions.assertEquals(3, sequence.queryCount.get());
+    }
+
+    @Test
+    public void testBlock() {
+        SequenceIdGenerator generator = new SequenceIdGenerator("seq", 5);
+        SequenceIdGenerator.Pool pool = new SequenceIdGenerator.Pool();
+        Sequence sequence = new Sequence(100, 5);
+        for (long id = 100; id < 105; id++) {
+            Assertions.assertEquals(id, generator.next(pool, sequence));
+        }
+        Assertions.assertEquals(1, sequence.queryCount.get());
+    }
+
+    @Test
+    public void testExhaustionAndRefill() {
+        SequenceIdGenerator generator = new SequenceIdGenerator("seq", 5);
+        SequenceIdGenerator.Pool pool = new SequenceIdGenerator.Pool();
+        Sequence sequence = new Sequence(100, 5);
+        for (long id = 100; id < 112; id++) {
+            Assertions.assertEquals(id, generator.next(pool, sequence));
+        }
+        Assertions.assertEquals(3, sequence.queryCount.get());
+    }
+
+    @Test
+    public void testPools() {
+        SequenceIdGenerator generator = new SequenceIdGenerator("seq", 5);
+        SequenceIdGenerator.Pool pool1 = new SequenceIdGenerator.Pool();
+        SequenceIdGenerator.Pool pool2 = new SequenceIdGenerator.Pool();
+        Sequence sequence = new Sequence(100, 5);
+        Assertions.assertEquals(100L, generator.next(pool1, sequence));
+        Assertions.assertEquals(105L, generator.next(pool2, sequence));
+        Assertions.assertEquals(101L, generator.next(pool1, sequence));
+        Assertions.assertEquals(106L, generator.next(pool2, sequence));
+        Assertions.assertEquals(2, sequence.queryCount.get());
+    }
+
+    @Test
+    public void testNonNumberSequenceValue() {
+        SequenceIdGenerator generator = new SequenceIdGenerator("seq", 5);
+        IllegalStateException ex = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> generator.next(new SequenceIdGenerator.Pool(), () -> "100")
+        );
+        Assertions.assertEquals("The value of the sequence \"seq\" is not number", ex.getMessage());
+    }
+
+    @Test
+    public void testIllegalAllocationSize() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new SequenceIdGenerator("seq", 0)
+        );
+    }
+
+    @Test
+    public void testConcurrency() throws Exception {
+        int threadCount = 8;
+        int idCountPerThread = 10_000;
+        SequenceIdGenerator generator = new SequenceIdGenerator("seq", 50);
+        SequenceIdGenerator.Pool pool = new SequenceIdGenerator.Pool();
+        Sequence sequence = new Sequence(1, 50);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                futures.add(
+                        executorService.submit(() -> {
+                            latch.await();
+                            List<Long> ids = new ArrayList<>(idCountPerThread);
+                            for (int j = 0; j < idCountPerThread; j++) {
+                                ids.add((Long) generator.next(pool, sequence));
+                            }
+                            return ids;
+                        })
+                );
+            }
+            latch.countDown();
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> future : futures) {
+                ids.addAll(future.get(30, TimeUnit.SECONDS));
+            }
+            int totalCount = threadCount * idCountPerThread;
+            Assertions.assertEquals(totalCount, ids.size());
+            Assertions.assertEquals(1L, Collections.min(ids));
+            Assertions.assertEquals((long) totalCount, Collections.max(ids));
+            Assertions.assertEquals(totalCount / 50, sequence.queryCount.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Simulates a database sequence whose increment is the allocation size
+     */
+    private static class Sequence implements Supplier<Object> {
+
+        final AtomicLong nextValue;
+
+        final long increment;
+
+        final AtomicInteger queryCount = new AtomicInteger();
+
+        Sequence(long startValue, long increment) {
+            this.nextValue = new AtomicLong(startValue);
+            this.increment = increment;
+        }
+
+        @Override
+        public Object get() {
+            queryCount.incrementAndGet();
+            return nextValue.getAndAdd(increment);
+        }
+    }
+}
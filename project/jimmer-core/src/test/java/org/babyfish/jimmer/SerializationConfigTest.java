@@ -0,0 +1,65 @@
+package org.babyfish.jimmer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.babyfish.jimmer.jackson.ImmutableModule;
+import org.babyfish.jimmer.model.Book;
+import org.babyfish.jimmer.model.BookDraft;
+import org.babyfish.jimmer.model.TimeData;
+import org.babyfish.jimmer.model.TimeDataDraft;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+public class SerializationConfigTest {
+
+    @Test
+    public void testViews() throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new ImmutableModule());
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setName("SQL in Action").setPrice(49);
+        });
+        String json = "{\"name\":\"SQL in Action\",\"price\":49}";
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(json, mapper.writerWithView(PublicView.class).writeValueAsString(book));
+            Assertions.assertEquals(json, mapper.writeValueAsString(book));
+            Assertions.assertEquals(json, mapper.writerWithView(InternalView.class).writeValueAsString(book));
+        }
+    }
+
+    @Test
+    public void testSwitchConfigs() throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new ImmutableModule());
+        TimeData timeData = TimeDataDraft.$.produce(draft -> {
+            draft.setTime7(Date.from(Instant.parse("2022-09-13T15:49:34Z")));
+        });
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(
+                    "{\"time7\":1663084174000}",
+                    mapper.writeValueAsString(timeData)
+            );
+            Assertions.assertEquals(
+                    "{\"time7\":\"2022-09-13T15:49:34.000+00:00\"}",
+                    mapper
+                            .writer()
+                            .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                            .writeValueAsString(timeData)
+            );
+            Assertions.assertEquals(
+                    "{\n  \"time7\" : 1663084174000\n}",
+                    mapper
+                            .writer()
+                            .with(SerializationFeature.INDENT_OUTPUT)
+                            .writeValueAsString(timeData)
+                            .replace("\r\n", "\n")
+            );
+        }
+    }
+
+    private interface PublicView {}
+
+    private interface InternalView extends PublicView {}
+}
@@ -160,4 +160,21 @@ public class TreeNodeTest {
                 ).toString()
         );
     }
+
+    @Test
+    public void testFieldNamePrecedesJsonAlias() throws JsonProcessingException {
+        Assertions.assertEquals(
+                "{\"name\":\"Root\",\"childNodes\":[{\"name\":\"Drink\"}]}",
+                new ObjectMapper().registerModule(new ImmutableModule()).readValue(
+                        "{" +
+                                "\"children\":[{\"name\":\"Food\"}]," +
+                                "\"unknown\":{\"name\":\"Unknown\",\"values\":[1,2]}," +
+                                "\"childNodes\":[{\"name\":\"Drink\"}]," +
+                                "\"all-child-nodes\":[{\"name\":\"Fanta\"}]," +
+                                "\"name\":\"Root\"" +
+                                "}",
+                        TreeNode.class
+                ).toString()
+        );
+    }
 }
@@ -28,4 +28,7 @@ public interface TimeData {
 
     @JsonFormat(pattern = "yyyy/MM/dd")
     LocalDate time6();
+
+    // No format, depends on `SerializationFeature.WRITE_DATES_AS_TIMESTAMPS`
+    Date time7();
 }
@@ -47,7 +47,7 @@ class ImmutableProcessor(
         }
 
         return try {
-            val ctx = Context(resolver)
+            val ctx = Context(resolver, environment.options["jimmer.bitmaskStates"] == "true")
             val classDeclarationMultiMap = findModelMap(ctx)
             generateJimmerTypes(resolver, ctx, classDeclarationMultiMap)
 
@@ -20,6 +20,8 @@ internal const val IMPLEMENTOR = "Implementor"
 internal const val IMPL = "Impl"
 internal const val DRAFT_IMPL = "DraftImpl"
 internal const val DRAFT_FIELD_EMAIL_PATTERN = "__email_pattern"
+internal const val HASH_CODE_CACHE = "__hashCodeCache"
+internal const val SHALLOW_HASH_CODE_CACHE = "__shallowHashCodeCache"
 internal const val PROPS = "Props"
 internal const val FETCHER = "Fetcher"
 internal const val FETCHER_DSL = "FetcherDsl"
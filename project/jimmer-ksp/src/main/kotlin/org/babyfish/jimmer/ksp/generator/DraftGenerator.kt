@@ -79,7 +79,7 @@ class DraftGenerator(
                             addFun(prop)
                         }
                     }
-                    ProducerGenerator(type, this).generate()
+                    ProducerGenerator(ctx, type, this).generate()
                     MapStructGenerator(type, this).generate()
                 }
                 .build()
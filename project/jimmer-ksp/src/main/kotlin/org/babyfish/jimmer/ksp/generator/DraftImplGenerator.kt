@@ -12,6 +12,7 @@ import kotlin.reflect.KClass
 
 class DraftImplGenerator(
     private val type: ImmutableType,
+    private val stateFields: StateFields,
     private val parent: TypeSpec.Builder
 ) {
     fun generate() {
@@ -25,7 +26,7 @@ class DraftImplGenerator(
                 .primaryConstructor(
                     FunSpec
                         .constructorBuilder()
-                        .addParameter("ctx", DRAFT_CONTEXT_CLASS_NAME)
+                        .addParameter("ctx", DRAFT_CONTEXT_CLASS_NAME.copy(nullable = true))
                         .addParameter("base", type.className.copy(nullable = true))
                         .build()
                 )
@@ -57,7 +58,7 @@ class DraftImplGenerator(
     private fun TypeSpec.Builder.addFields() {
         addProperty(
             PropertySpec
-                .builder("__ctx", DRAFT_CONTEXT_CLASS_NAME)
+                .builder("__ctx", DRAFT_CONTEXT_CLASS_NAME.copy(nullable = true))
                 .addModifiers(KModifier.PRIVATE)
                 .initializer("ctx")
                 .build()
@@ -128,7 +129,7 @@ class DraftImplGenerator(
                 .builder("hashCode")
                 .returns(INT)
                 .addModifiers(KModifier.OVERRIDE)
-                .addStatement("return %L.hashCode()", UNMODIFIED)
+                .addStatement("return %L.__computeHashCode(false)", UNMODIFIED)
                 .build()
         )
         addFunction(
@@ -137,7 +138,7 @@ class DraftImplGenerator(
                 .addParameter("shallow", BOOLEAN)
                 .returns(INT)
                 .addModifiers(KModifier.OVERRIDE)
-                .addStatement("return %L.__hashCode(shallow)", UNMODIFIED)
+                .addStatement("return %L.__computeHashCode(shallow)", UNMODIFIED)
                 .build()
         )
     }
@@ -181,14 +182,14 @@ class DraftImplGenerator(
                                     addCode("return %L.%L", MODIFIED, prop.name)
                                 prop.isList || prop.isScalarList ->
                                     addCode(
-                                        "return __ctx.toDraftList(%L.%L, %T::class.java, %L)",
+                                        "return __draftContext().toDraftList(%L.%L, %T::class.java, %L)",
                                         UNMODIFIED,
                                         prop.name,
                                         prop.targetTypeName(),
                                         prop.isAssociation(false)
                                     )
                                 prop.isReference ->
-                                    addCode("return __ctx.toDraftObject(%L.%L)", UNMODIFIED, prop.name)
+                                    addCode("return __draftContext().toDraftObject(%L.%L)", UNMODIFIED, prop.name)
                                 else ->
                                     addCode("return %L.%L", UNMODIFIED, prop.name)
                             }
@@ -242,8 +243,8 @@ class DraftImplGenerator(
                                                         prop.name
                                                     )
                                                 }
-                                                prop.loadedFieldName?.let {
-                                                    addStatement("__tmpModified.%L = true", it)
+                                                if (prop.loadedFieldName !== null) {
+                                                    addStatement("%L", stateFields.setLoaded("__tmpModified", prop, true))
                                                 }
                                             }
                                         }
@@ -338,6 +339,8 @@ class DraftImplGenerator(
                                         addStatement("__unload(%L)", prop.baseProp!!.id)
                                     prop.isKotlinFormula ->
                                         addStatement("{}")
+                                    prop.loadedFieldName !== null && stateFields.isBitmask ->
+                                        add("%L\n.let { %L }", MODIFIED, stateFields.setLoaded("it", prop, false))
                                     prop.loadedFieldName !== null ->
                                         add("%L\n.%L = false", MODIFIED, prop.loadedFieldName)
                                     else -> add("%L\n.%L = null", MODIFIED, prop.valueFieldName)
@@ -412,7 +415,11 @@ class DraftImplGenerator(
                                 for (prop in type.propsOrderById) {
                                     if (prop.visibleFieldName != null) {
                                         appender.addCase(prop)
-                                        add("%L\n.%L = visible\n", MODIFIED, prop.visibleFieldName)
+                                        if (stateFields.isBitmask) {
+                                            add("%L\n.let { %L }\n", MODIFIED, stateFields.setVisible("it", prop, "visible"))
+                                        } else {
+                                            add("%L\n.%L = visible\n", MODIFIED, prop.visibleFieldName)
+                                        }
                                     }
                                 }
                                 add("else -> throw IllegalArgumentException(\n")
@@ -449,7 +456,10 @@ class DraftImplGenerator(
                 .builder("__draftContext")
                 .returns(DRAFT_CONTEXT_CLASS_NAME)
                 .addModifiers(KModifier.OVERRIDE)
-                .addCode("return __ctx")
+                .addCode(
+                    "return __ctx ?: throw IllegalStateException(%S)",
+                    "The draft created by `Internal.build` has no draft context"
+                )
                 .build()
         )
     }
@@ -474,6 +484,8 @@ class DraftImplGenerator(
                             if (type.properties.values.any {
                                     it.valueFieldName !== null && (it.isAssociation(false) || it.isList)
                             }) {
+                                add("// Draft without context is created by `Internal.build`, its values are not drafts\n")
+                                beginControlFlow("if (__ctx !== null)")
                                 beginControlFlow("if (__tmpModified === null)")
                                 for (prop in type.properties.values) {
                                     if (prop.valueFieldName !== null &&
@@ -524,6 +536,7 @@ class DraftImplGenerator(
                                     }
                                 }
                                 endControlFlow()
+                                endControlFlow()
                             }
                             beginControlFlow(
                                 "if (base !== null && (__tmpModified === null || \n\t%T.equals(base, __tmpModified, true)))",
@@ -8,6 +8,7 @@ import kotlin.reflect.KClass
 
 class ImplGenerator(
     private val type: ImmutableType,
+    private val stateFields: StateFields,
     private val parent: TypeSpec.Builder
 ) {
     fun generate() {
@@ -18,6 +19,10 @@ class ImplGenerator(
                 .superclass(type.draftClassName(PRODUCER, IMPLEMENTOR))
                 .addSuperinterface(CLONEABLE_CLASS_NAME)
                 .apply {
+                    addHashCodeCacheFields()
+                    if (stateFields.isBitmask) {
+                        stateFields.addMaskFields(this)
+                    }
                     for (prop in type.properties.values) {
                         addFields(prop)
                     }
@@ -29,9 +34,12 @@ class ImplGenerator(
                     addIsLoadedFun(String::class)
                     addIsVisibleFun(Int::class)
                     addIsVisibleFun(String::class)
+                    addCachedHashCodeFun(true)
+                    addCachedHashCodeFun(false)
                     addHashCodeFun(true)
                     addHashCodeFun(false)
                     addParameterizedHashCode()
+                    addParameterizedComputeHashCode()
                     addEqualsFun(true)
                     addEqualsFun(false)
                     addParameterizedEquals()
@@ -73,6 +81,9 @@ class ImplGenerator(
                     .build()
             )
         }
+        if (stateFields.isBitmask) {
+            return
+        }
         prop.loadedFieldName?.let {
             addProperty(
                 PropertySpec
@@ -142,7 +153,7 @@ class ImplGenerator(
                                             }
                                             beginControlFlow(
                                                 when {
-                                                    prop.loadedFieldName !== null -> "if (!${prop.loadedFieldName})"
+                                                    prop.loadedFieldName !== null -> "if (${stateFields.unloaded(prop)})"
                                                     else -> "if (${prop.valueFieldName} === null)"
                                                 }
                                             )
@@ -171,7 +182,11 @@ class ImplGenerator(
                 .builder("clone")
                 .addModifiers(KModifier.OVERRIDE)
                 .returns(type.draftClassName(PRODUCER, IMPL))
-                .addStatement("return super.clone() as %T", type.draftClassName(PRODUCER, IMPL))
+                .addStatement("val clone = super.clone() as %T", type.draftClassName(PRODUCER, IMPL))
+                .addComment("The clone is modified by draft, its hash code must be calculated again")
+                .addStatement("clone.%L = 0", HASH_CODE_CACHE)
+                .addStatement("clone.%L = 0", SHALLOW_HASH_CODE_CACHE)
+                .addStatement("return clone")
                 .build()
         )
     }
@@ -237,7 +252,9 @@ class ImplGenerator(
                                         unindent()
                                     }
                                     else -> {
-                                        val cond = prop.loadedFieldName ?: "${prop.valueFieldName} !== null"
+                                        val cond = prop.loadedFieldName
+                                            ?.let { stateFields.loaded(prop) }
+                                            ?: "${prop.valueFieldName} !== null"
                                         addStatement("%L", cond)
                                     }
                                 }
@@ -271,7 +288,7 @@ class ImplGenerator(
                                         appender.addCase(prop)
                                         addStatement(
                                             "%L",
-                                            prop.visibleFieldName
+                                            stateFields.visible(prop)
                                         )
                                     }
                                 }
@@ -287,7 +304,22 @@ class ImplGenerator(
         )
     }
 
-    private fun TypeSpec.Builder.addHashCodeFun(shallow: Boolean) {
+    private fun TypeSpec.Builder.addHashCodeCacheFields() {
+        for (name in listOf(HASH_CODE_CACHE, SHALLOW_HASH_CODE_CACHE)) {
+            addProperty(
+                PropertySpec
+                    .builder(name, INT)
+                    .addModifiers(KModifier.PRIVATE)
+                    .addAnnotation(Transient::class)
+                    .initializer("0")
+                    .mutable()
+                    .build()
+            )
+        }
+    }
+
+    private fun TypeSpec.Builder.addCachedHashCodeFun(shallow: Boolean) {
+        val cacheName = if (shallow) SHALLOW_HASH_CODE_CACHE else HASH_CODE_CACHE
         addFunction(
             FunSpec
                 .builder(if (shallow) "__shallowHashCode" else "hashCode")
@@ -297,21 +329,46 @@ class ImplGenerator(
                     }
                 }
                 .returns(INT)
+                .addStatement("var hash = %L", cacheName)
+                .beginControlFlow("if (hash == 0)")
+                .addStatement("hash = %L()", if (shallow) "__computeShallowHashCode" else "__computeHashCode")
+                .addStatement("%L = hash", cacheName)
+                .endControlFlow()
+                .addStatement("return hash")
+                .build()
+        )
+    }
+
+    private fun TypeSpec.Builder.addHashCodeFun(shallow: Boolean) {
+        addFunction(
+            FunSpec
+                .builder(if (shallow) "__computeShallowHashCode" else "__computeHashCode")
+                .addModifiers(KModifier.PRIVATE)
+                .returns(INT)
                 .addCode(
                     CodeBlock
                         .builder()
                         .apply {
                             addStatement("var hash = 1")
+                            if (stateFields.isBitmask) {
+                                for (visibleMaskName in stateFields.visibleMaskNames) {
+                                    addStatement("hash = 31 * hash + %L.hashCode()", visibleMaskName)
+                                }
+                            }
                             for (prop in type.properties.values) {
                                 if (prop.visibleFieldName !== null) {
-                                    addStatement("hash = 31 * hash + %L.hashCode()", prop.visibleFieldName)
+                                    if (!stateFields.isBitmask) {
+                                        addStatement("hash = 31 * hash + %L.hashCode()", prop.visibleFieldName)
+                                    }
                                     if (prop.valueFieldName === null) {
                                         continue
                                     }
                                 }
                                 beginControlFlow(
                                     "if (%L)",
-                                    prop.loadedFieldName ?: "${prop.valueFieldName} !== null"
+                                    prop.loadedFieldName
+                                        ?.let { stateFields.loaded(prop) }
+                                        ?: "${prop.valueFieldName} !== null"
                                 )
                                 add("hash = 31 * hash + ")
                                 if (shallow && prop.isAssociation(false)) {
@@ -349,6 +406,18 @@ class ImplGenerator(
         )
     }
 
+    private fun TypeSpec.Builder.addParameterizedComputeHashCode() {
+        addFunction(
+            FunSpec
+                .builder("__computeHashCode")
+                .addParameter("shallow", BOOLEAN)
+                .returns(INT)
+                .addModifiers(KModifier.INTERNAL)
+                .addStatement("return if (shallow) __computeShallowHashCode() else __computeHashCode()")
+                .build()
+        )
+    }
+
     private fun TypeSpec.Builder.addEqualsFun(shallow: Boolean) {
         addFunction(
             FunSpec
@@ -368,11 +437,18 @@ class ImplGenerator(
                             beginControlFlow("if (__other === null)")
                             addStatement("return false")
                             endControlFlow()
+                            if (stateFields.isBitmask) {
+                                addMaskEquals()
+                            }
                             for (prop in type.properties.values) {
                                 if (prop.visibleFieldName != null) {
                                     beginControlFlow(
-                                        "if (%L != __other.__isVisible(%L))",
-                                        prop.visibleFieldName,
+                                        if (stateFields.isBitmask) {
+                                            "if ((%L) != __other.__isVisible(%L))"
+                                        } else {
+                                            "if (%L != __other.__isVisible(%L))"
+                                        },
+                                        stateFields.visible(prop),
                                         prop.id
                                     )
                                     addStatement("return false")
@@ -382,7 +458,9 @@ class ImplGenerator(
                                     }
                                 }
                                 val localLoadedName = "__${prop.name}Loaded"
-                                val objLoadedName = prop.loadedFieldName ?: "${prop.valueFieldName} !== null"
+                                val objLoadedName = prop.loadedFieldName
+                                    ?.let { stateFields.loaded(prop) }
+                                    ?: "${prop.valueFieldName} !== null"
                                 add("val %L = \n", localLoadedName)
                                 addStatement("    this.%L", objLoadedName)
                                 beginControlFlow(
@@ -420,6 +498,22 @@ class ImplGenerator(
         )
     }
 
+    private fun CodeBlock.Builder.addMaskEquals() {
+        val maskNames = stateFields.visibleMaskNames + stateFields.loadedMaskNames
+        if (maskNames.isEmpty()) {
+            return
+        }
+        add("// Different masks of visibility or loaded state, quick rejection\n")
+        beginControlFlow("if (__other is %T)", type.draftClassName(PRODUCER, IMPL))
+        beginControlFlow(
+            "if (%L)",
+            maskNames.joinToString(" || ") { "$it != __other.$it" }
+        )
+        addStatement("return false")
+        endControlFlow()
+        endControlFlow()
+    }
+
     private fun TypeSpec.Builder.addParameterizedEquals() {
         addFunction(
             FunSpec
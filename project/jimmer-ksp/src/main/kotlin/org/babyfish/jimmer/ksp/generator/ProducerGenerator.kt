@@ -3,14 +3,18 @@ package org.babyfish.jimmer.ksp.generator
 import com.squareup.kotlinpoet.*
 import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
 import org.babyfish.jimmer.Formula
+import org.babyfish.jimmer.ksp.meta.Context
 import org.babyfish.jimmer.ksp.meta.ImmutableProp
 import org.babyfish.jimmer.ksp.meta.ImmutableType
 import org.babyfish.jimmer.sql.*
 
 class ProducerGenerator(
+    private val ctx: Context,
     private val type: ImmutableType,
     private val parent: TypeSpec.Builder
 ) {
+    private val stateFields = StateFields(type, ctx.isBitmaskStates)
+
     fun generate() {
         parent.addType(
             TypeSpec
@@ -20,8 +24,8 @@ class ProducerGenerator(
                     addProduceFun()
                     addSlots()
                     ImplementorGenerator(type, this).generate()
-                    ImplGenerator(type, this).generate()
-                    DraftImplGenerator(type, this).generate()
+                    ImplGenerator(type, stateFields, this).generate()
+                    DraftImplGenerator(type, stateFields, this).generate()
                 }
                 .build()
         )
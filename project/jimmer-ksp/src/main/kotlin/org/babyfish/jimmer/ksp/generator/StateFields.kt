@@ -0,0 +1,168 @@
+package org.babyfish.jimmer.ksp.generator
+
+import com.squareup.kotlinpoet.INT
+import com.squareup.kotlinpoet.KModifier
+import com.squareup.kotlinpoet.LONG
+import com.squareup.kotlinpoet.PropertySpec
+import com.squareup.kotlinpoet.TypeSpec
+import org.babyfish.jimmer.ksp.meta.ImmutableProp
+import org.babyfish.jimmer.ksp.meta.ImmutableType
+
+/**
+ * Decides how the loaded state and the visibility of properties
+ * are stored in the generated `Impl` class.
+ *
+ * - By default, each property has its own boolean fields
+ * - If the ksp option `jimmer.bitmaskStates` is true,
+ * the states of all properties are packed into `Int` or `Long` masks,
+ * the bit of property is indexed by its id
+ *
+ * All the expressions returned by this class are fragments of kotlin source code
+ * which can be used by the other generators directly.
+ */
+class StateFields(
+    private val type: ImmutableType,
+    val isBitmask: Boolean
+) {
+    // Property ids start from 1
+    private val bitCount = type.properties.size + 1
+
+    private val isLongWord = bitCount > 32
+
+    private val bitsPerWord = if (isLongWord) 64 else 32
+
+    private val wordCount = (bitCount + bitsPerWord - 1) / bitsPerWord
+
+    val visibleMaskNames: List<String> =
+        maskNames(VISIBLE_MASK) { it.visibleFieldName !== null }
+
+    val loadedMaskNames: List<String> =
+        maskNames(LOADED_MASK) { it.loadedFieldName !== null }
+
+    /**
+     * Add the mask fields, only used by bitmask mode.
+     */
+    fun addMaskFields(typeBuilder: TypeSpec.Builder) {
+        for (i in 0 until wordCount) {
+            val props = type.propsOrderById.filter { it.id / bitsPerWord == i }
+            if (props.any { it.visibleFieldName !== null }) {
+                var initializer = 0L
+                for (prop in props) {
+                    if (prop.visibleFieldName !== null && !prop.isKotlinFormula && prop.idViewBaseProp == null) {
+                        initializer = initializer or (1L shl (prop.id % bitsPerWord))
+                    }
+                }
+                typeBuilder.addProperty(
+                    PropertySpec
+                        .builder("$VISIBLE_MASK$i", if (isLongWord) LONG else INT)
+                        .addModifiers(KModifier.INTERNAL)
+                        .initializer(literal(initializer))
+                        .mutable()
+                        .build()
+                )
+            }
+            if (props.any { it.loadedFieldName !== null }) {
+                typeBuilder.addProperty(
+                    PropertySpec
+                        .builder("$LOADED_MASK$i", if (isLongWord) LONG else INT)
+                        .addModifiers(KModifier.INTERNAL)
+                        .initializer(literal(0L))
+                        .mutable()
+                        .build()
+                )
+            }
+        }
+    }
+
+    /**
+     * The expression to test whether the property with loaded state is loaded
+     */
+    fun loaded(prop: ImmutableProp): String =
+        if (isBitmask) {
+            "${mask(LOADED_MASK, prop)}.and(${bit(prop)}) != ${literal(0L)}"
+        } else {
+            prop.loadedFieldName!!
+        }
+
+    /**
+     * The expression to test whether the property with loaded state is unloaded
+     */
+    fun unloaded(prop: ImmutableProp): String =
+        if (isBitmask) {
+            "${mask(LOADED_MASK, prop)}.and(${bit(prop)}) == ${literal(0L)}"
+        } else {
+            "!${prop.loadedFieldName}"
+        }
+
+    /**
+     * The statement to change the loaded state of the property with loaded state,
+     * `owner` must be a simple expression which can be evaluated more than once.
+     */
+    fun setLoaded(owner: String, prop: ImmutableProp, loaded: Boolean): String =
+        if (isBitmask) {
+            val field = "$owner.${mask(LOADED_MASK, prop)}"
+            if (loaded) {
+                "$field = $field.or(${bit(prop)})"
+            } else {
+                "$field = $field.and(${bit(prop)}.inv())"
+            }
+        } else {
+            "$owner.${prop.loadedFieldName} = $loaded"
+        }
+
+    /**
+     * The expression to test whether the property whose visibility is controllable is visible
+     */
+    fun visible(prop: ImmutableProp): String =
+        if (isBitmask) {
+            "${mask(VISIBLE_MASK, prop)}.and(${bit(prop)}) != ${literal(0L)}"
+        } else {
+            prop.visibleFieldName!!
+        }
+
+    /**
+     * The statement to change the visibility of the property whose visibility is controllable,
+     * `owner` must be a simple expression which can be evaluated more than once.
+     */
+    fun setVisible(owner: String, prop: ImmutableProp, visibleExpr: String): String =
+        if (isBitmask) {
+            val field = "$owner.${mask(VISIBLE_MASK, prop)}"
+            "$field = if ($visibleExpr) $field.or(${bit(prop)}) else $field.and(${bit(prop)}.inv())"
+        } else {
+            "$owner.${prop.visibleFieldName} = $visibleExpr"
+        }
+
+    private fun maskNames(prefix: String, predicate: (ImmutableProp) -> Boolean): List<String> =
+        type.propsOrderById
+            .filter(predicate)
+            .map { it.id / bitsPerWord }
+            .distinct()
+            .sorted()
+            .map { "$prefix$it" }
+
+    private fun mask(prefix: String, prop: ImmutableProp): String =
+        "$prefix${prop.id / bitsPerWord}"
+
+    private fun bit(prop: ImmutableProp): String =
+        literal(1L shl (prop.id % bitsPerWord))
+
+    /*
+     * Kotlin does not accept hexadecimal literals which overflow the signed type,
+     * so the sign bit is appended by `.or(MIN_VALUE)`
+     */
+    private fun literal(value: Long): String {
+        val signBit = if (isLongWord) Long.MIN_VALUE else 1L shl 31
+        val suffix = if (isLongWord) "L" else ""
+        val rest = "0x${java.lang.Long.toHexString(value and signBit.inv() and (if (isLongWord) -1L else 0xFFFFFFFFL))}$suffix"
+        return if ((value and signBit) != 0L) {
+            "$rest.or(${if (isLongWord) "Long" else "Int"}.MIN_VALUE)"
+        } else {
+            rest
+        }
+    }
+
+    companion object {
+        const val LOADED_MASK = "__loadedMask"
+        const val VISIBLE_MASK = "__visibleMask"
+    }
+}
@@ -14,7 +14,8 @@ import org.babyfish.jimmer.sql.MappedSuperclass
 import kotlin.reflect.KClass
 
 class Context(
-    val resolver: Resolver
+    val resolver: Resolver,
+    val isBitmaskStates: Boolean
 ) {
     val intType: KSType = resolver.builtIns.intType
 
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.spring.cache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueCodecFactory;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,17 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
         this.operations = operations;
     }
 
+    public RedisHashBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            Duration duration,
+            ValueCodecFactory codecFactory
+    ) {
+        super(objectMapper, type, null, duration, 30, codecFactory);
+        this.operations = operations;
+    }
+
     public RedisHashBinder(
             RedisOperations<String, byte[]> operations,
             ObjectMapper objectMapper,
@@ -42,6 +54,17 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
         this.operations = operations;
     }
 
+    public RedisHashBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableProp prop,
+            Duration duration,
+            ValueCodecFactory codecFactory
+    ) {
+        super(objectMapper, null, prop, duration, 30, codecFactory);
+        this.operations = operations;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected List<byte[]> read(Collection<String> keys, String hashKey) {
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.spring.cache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueCodecFactory;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,17 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         this.operations = operations;
     }
 
+    public RedisValueBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            Duration duration,
+            ValueCodecFactory codecFactory
+    ) {
+        super(objectMapper, type, null, duration, 30, codecFactory);
+        this.operations = operations;
+    }
+
     public RedisValueBinder(
             RedisOperations<String, byte[]> operations,
             ObjectMapper objectMapper,
@@ -40,6 +52,17 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         this.operations = operations;
     }
 
+    public RedisValueBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableProp prop,
+            Duration duration,
+            ValueCodecFactory codecFactory
+    ) {
+        super(objectMapper, null, prop, duration, 30, codecFactory);
+        this.operations = operations;
+    }
+
     @Override
     protected List<byte[]> read(Collection<String> keys) {
         return operations.opsForValue().multiGet(keys);
@@ -50,6 +50,8 @@ public class JimmerProperties {
 
     private final Collection<String> executorContextPrefixes;
 
+    private final double executorContextSamplingRate;
+
     @NotNull
     private final String microServiceName;
 
@@ -72,6 +74,7 @@ public class JimmerProperties {
             @Nullable Integer offsetOptimizingThreshold,
             @Nullable Boolean isForeignKeyEnabledByDefault,
             @Nullable Collection<String> executorContextPrefixes,
+            @Nullable Double executorContextSamplingRate,
             @Nullable String microServiceName,
             @Nullable Client client,
             @Nullable Map<String, Client> clients
@@ -163,6 +166,10 @@ public class JimmerProperties {
                         isForeignKeyEnabledByDefault :
                         true;
         this.executorContextPrefixes = executorContextPrefixes;
+        this.executorContextSamplingRate =
+                executorContextSamplingRate != null ?
+                        executorContextSamplingRate :
+                        1.0;
         this.microServiceName =
                 microServiceName != null ?
                         microServiceName :
@@ -284,6 +291,17 @@ public class JimmerProperties {
         return executorContextPrefixes;
     }
 
+    /**
+     * The probability that the business call frame of an executed SQL statement is captured,
+     * it is only used when `executorContextPrefixes` is specified.
+     *
+     * The default value is 1. A smaller value can be used to keep this feature enabled
+     * in production because the cost of stack walking is only paid by the sampled statements.
+     */
+    public double getExecutorContextSamplingRate() {
+        return executorContextSamplingRate;
+    }
+
     @NotNull
     public String getMicroServiceName() {
         return microServiceName;
@@ -307,6 +325,7 @@ public class JimmerProperties {
                 ", defaultListBatchSize=" + defaultListBatchSize +
                 ", offsetOptimizingThreshold=" + offsetOptimizingThreshold +
                 ", executorContextPrefixes=" + executorContextPrefixes +
+                ", executorContextSamplingRate=" + executorContextSamplingRate +
                 ", microServiceName='" + microServiceName + '\'' +
                 ", client=" + client +
                 ", clients=" + clients +
@@ -238,6 +238,7 @@ public class SqlClientConfig {
         builder.setOffsetOptimizingThreshold(properties.getOffsetOptimizingThreshold());
         builder.setForeignKeyEnabledByDefault(properties.isForeignKeyEnabledByDefault());
         builder.setExecutorContextPrefixes(properties.getExecutorContextPrefixes());
+        builder.setExecutorContextSamplingRate(properties.getExecutorContextSamplingRate());
         if (properties.isShowSql()) {
             builder.setExecutor(Executor.log(executor));
         } else {
@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.core.annotation.AliasFor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
@@ -219,5 +220,23 @@ public interface JRepository<E, ID> extends PagingAndSortingRepository<E, ID> {
     interface Pager {
 
         <T> Page<T> execute(ConfigurableRootQuery<?, T> query);
+
+        /**
+         * Query a slice without counting the total row count,
+         * one more row is queried to know whether there is a next slice.
+         */
+        <T> Slice<T> executeSlice(ConfigurableRootQuery<?, T> query);
+
+        /**
+         * Query a slice by keyset pagination without counting the total row count,
+         * see {@link ConfigurableRootQuery#seekAfter(List)}.
+         *
+         * <p>The rows are located by the sort key values instead of the offset,
+         * so the page index of this pager is only the metadata of the returned slice.</p>
+         *
+         * @param lastSortKeyValues The sort key values of the last row of the previous slice,
+         *                          null or empty list means the first slice.
+         */
+        <T> Slice<T> executeSlice(ConfigurableRootQuery<?, T> query, List<?> lastSortKeyValues);
     }
 }
@@ -14,6 +14,7 @@ import org.babyfish.jimmer.sql.kt.ast.query.KConfigurableRootQuery
 import org.springframework.core.annotation.AliasFor
 import org.springframework.data.domain.Page
 import org.springframework.data.domain.Pageable
+import org.springframework.data.domain.Slice
 import org.springframework.data.domain.Sort
 import org.springframework.data.repository.NoRepositoryBean
 import org.springframework.data.repository.PagingAndSortingRepository
@@ -165,5 +166,23 @@ interface KRepository<E: Any, ID: Any> : PagingAndSortingRepository<E, ID> {
     interface Pager {
 
         fun <T> execute(query: KConfigurableRootQuery<*, T>): Page<T>
+
+        /**
+         * Query a slice without counting the total row count,
+         * one more row is queried to know whether there is a next slice.
+         */
+        fun <T> executeSlice(query: KConfigurableRootQuery<*, T>): Slice<T>
+
+        /**
+         * Query a slice by keyset pagination without counting the total row count,
+         * see [KConfigurableRootQuery.seekAfter].
+         *
+         * The rows are located by the sort key values instead of the offset,
+         * so the page index of this pager is only the metadata of the returned slice.
+         *
+         * @param lastSortKeyValues The sort key values of the last row of the previous slice,
+         * null or empty list means the first slice.
+         */
+        fun <T> executeSlice(query: KConfigurableRootQuery<*, T>, lastSortKeyValues: List<*>?): Slice<T>
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.spring.repository;
 
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -24,4 +25,12 @@ public final class SpringConnectionManager implements ConnectionManager {
             DataSourceUtils.releaseConnection(con, dataSource);
         }
     }
+
+    /**
+     * Whether a connection of the data source has been bound to the current thread,
+     * for example, by a transaction. Other threads cannot use that connection.
+     */
+    public boolean isConnectionBound() {
+        return TransactionSynchronizationManager.hasResource(dataSource);
+    }
 }
@@ -372,23 +372,57 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
             if (offset > Integer.MAX_VALUE - pageSize) {
                 throw new IllegalArgumentException("offset is too big");
             }
-            int total = query.count();
-            List<T> content =
-                    query
-                            .limit(pageSize, offset)
-                            .execute();
+            return Utils.toPage(
+                    ((ConfigurableRootQueryImplementor<?, ?>) query).getSqlClient(),
+                    pageable(query),
+                    () -> query.limit(pageSize, offset).execute(),
+                    query::count
+            );
+        }
+
+        @Override
+        public <T> Slice<T> executeSlice(ConfigurableRootQuery<?, T> query) {
+            if (pageSize == 0) {
+                return new SliceImpl<>(query.execute());
+            }
+            int offset = pageIndex * pageSize;
+            if (offset > Integer.MAX_VALUE - pageSize - 1) {
+                throw new IllegalArgumentException("offset is too big");
+            }
+            return slice(query.limit(pageSize + 1, offset), query);
+        }
+
+        @Override
+        public <T> Slice<T> executeSlice(ConfigurableRootQuery<?, T> query, List<?> lastSortKeyValues) {
+            ConfigurableRootQuery<?, T> seekQuery = query.seekAfter(lastSortKeyValues);
+            if (pageSize == 0) {
+                return new SliceImpl<>(seekQuery.execute());
+            }
+            if (pageSize == Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("pageSize is too big");
+            }
+            return slice(seekQuery.limit(pageSize + 1), query);
+        }
+
+        private <T> Slice<T> slice(ConfigurableRootQuery<?, T> limitedQuery, ConfigurableRootQuery<?, T> query) {
+            List<T> rows = limitedQuery.execute();
+            boolean hasNext = rows.size() > pageSize;
+            return new SliceImpl<>(
+                    hasNext ? rows.subList(0, pageSize) : rows,
+                    pageable(query),
+                    hasNext
+            );
+        }
+
+        private Pageable pageable(ConfigurableRootQuery<?, ?> query) {
             ConfigurableRootQueryImplementor<?, ?> queryImplementor = (ConfigurableRootQueryImplementor<?, ?>) query;
-            return new PageImpl<>(
-                    content,
-                    PageRequest.of(
-                            pageIndex,
-                            pageSize,
-                            Utils.toSort(
-                                    queryImplementor.getOrders(),
-                                    queryImplementor.getSqlClient().getMetadataStrategy()
-                            )
-                    ),
-                    total
+            return PageRequest.of(
+                    pageIndex,
+                    pageSize,
+                    Utils.toSort(
+                            queryImplementor.getOrders(),
+                            queryImplementor.getSqlClient().getMetadataStrategy()
+                    )
             );
         }
     }
@@ -181,22 +181,57 @@ open class KRepositoryImpl<E: Any, ID: Any> (
             }
             val offset = pageIndex * pageSize
             require(offset <= Int.MAX_VALUE - pageSize) { "offset is too big" }
-            val total = query.count()
-            val content = query
-                .limit(pageSize, offset)
-                .execute()
+            return Utils.toPage(
+                (query as KConfigurableRootQueryImplementor<*, *>).javaSqlClient,
+                pageable(query),
+                { query.limit(pageSize, offset).execute() },
+                { query.count().toLong() }
+            )
+        }
+
+        override fun <T> executeSlice(query: KConfigurableRootQuery<*, T>): Slice<T> {
+            if (pageSize == 0) {
+                return SliceImpl(query.execute())
+            }
+            val offset = pageIndex * pageSize
+            require(offset <= Int.MAX_VALUE - pageSize - 1) { "offset is too big" }
+            return slice(query.limit(pageSize + 1, offset), query)
+        }
+
+        override fun <T> executeSlice(
+            query: KConfigurableRootQuery<*, T>,
+            lastSortKeyValues: List<*>?
+        ): Slice<T> {
+            val seekQuery = query.seekAfter(lastSortKeyValues)
+            if (pageSize == 0) {
+                return SliceImpl(seekQuery.execute())
+            }
+            require(pageSize < Int.MAX_VALUE) { "pageSize is too big" }
+            return slice(seekQuery.limit(pageSize + 1), query)
+        }
+
+        private fun <T> slice(
+            limitedQuery: KConfigurableRootQuery<*, T>,
+            query: KConfigurableRootQuery<*, T>
+        ): Slice<T> {
+            val rows = limitedQuery.execute()
+            val hasNext = rows.size > pageSize
+            return SliceImpl(
+                if (hasNext) rows.subList(0, pageSize) else rows,
+                pageable(query),
+                hasNext
+            )
+        }
+
+        private fun pageable(query: KConfigurableRootQuery<*, *>): Pageable {
             val queryImplementor = query as KConfigurableRootQueryImplementor<*, *>
-            return PageImpl(
-                content,
-                PageRequest.of(
-                    pageIndex,
-                    pageSize,
-                    Utils.toSort(
-                        queryImplementor.javaOrders,
-                        queryImplementor.javaSqlClient.metadataStrategy
-                    )
-                ),
-                total.toLong()
+            return PageRequest.of(
+                pageIndex,
+                pageSize,
+                Utils.toSort(
+                    queryImplementor.javaOrders,
+                    queryImplementor.javaSqlClient.metadataStrategy
+                )
             )
         }
     }
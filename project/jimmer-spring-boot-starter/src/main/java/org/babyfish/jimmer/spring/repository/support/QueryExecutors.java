@@ -85,9 +85,13 @@ public class QueryExecutors {
                     }
                     if (returnType == Page.class) {
                         if (pageable != null) {
-                            int rowCount = query.count();
-                            List<Object> entities = query.limit(pageable.getPageSize(), (int) pageable.getOffset()).execute();
-                            return new PageImpl<>(entities, pageable, rowCount);
+                            ConfigurableRootQuery<?, Object> finalQuery = query;
+                            return Utils.toPage(
+                                    sqlClient,
+                                    pageable,
+                                    () -> finalQuery.limit(pageable.getPageSize(), (int) pageable.getOffset()).execute(),
+                                    finalQuery::count
+                            );
                         }
                         return new PageImpl<>(query.execute());
                     }
@@ -15,12 +15,21 @@ import org.babyfish.jimmer.sql.meta.EmbeddedColumns;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 public class Utils {
 
@@ -67,6 +76,64 @@ public class Utils {
         return implementor;
     }
 
+    /**
+     * Create the page by the data query and the count query.
+     *
+     * <p>The count query is skipped if the total row count can be inferred from
+     * the data of the page, that is, the page is not full and it is the first page
+     * or not empty. If {@link JSqlClientImplementor#getPagingCountExecutor()} is specified,
+     * the count query is executed concurrently with the data query by it, unless the current
+     * thread is in a transaction or has a bound connection, because the count query of another
+     * thread cannot see the uncommitted changes.</p>
+     */
+    public static <T> Page<T> toPage(
+            JSqlClientImplementor sqlClient,
+            Pageable pageable,
+            Supplier<List<T>> contentSupplier,
+            LongSupplier totalSupplier
+    ) {
+        Executor countExecutor = sqlClient.getPagingCountExecutor();
+        if (countExecutor == null || isTransactionBound(sqlClient)) {
+            return PageableExecutionUtils.getPage(contentSupplier.get(), pageable, totalSupplier);
+        }
+        CompletableFuture<Long> totalFuture =
+                CompletableFuture.supplyAsync(totalSupplier::getAsLong, countExecutor);
+        List<T> content;
+        try {
+            content = contentSupplier.get();
+        } catch (RuntimeException | Error ex) {
+            totalFuture.cancel(false);
+            throw ex;
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            try {
+                return totalFuture.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw ex;
+            }
+        });
+    }
+
+    private static boolean isTransactionBound(JSqlClientImplementor sqlClient) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return true;
+        }
+        return isConnectionBound(sqlClient.getConnectionManager()) ||
+                isConnectionBound(sqlClient.getSlaveConnectionManager(false));
+    }
+
+    private static boolean isConnectionBound(ConnectionManager connectionManager) {
+        return connectionManager instanceof SpringConnectionManager &&
+                ((SpringConnectionManager) connectionManager).isConnectionBound();
+    }
+
     public static Sort toSort(List<Order> orders, MetadataStrategy strategy) {
         if (orders == null || orders.isEmpty()) {
             return Sort.unsorted();
@@ -0,0 +1,196 @@
+package org.babyfish.jimmer.spring.support;
+
+import org.babyfish.jimmer.spring.datasource.DataSources;
+import org.babyfish.jimmer.spring.repository.SpringConnectionManager;
+import org.babyfish.jimmer.spring.repository.support.Utils;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class PagingTest {
+
+    private static final DataSource DATA_SOURCE = DataSources.create(null);
+
+    private static final ExecutorService COUNT_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    @AfterAll
+    public static void afterAll() {
+        COUNT_EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void testFirstPageIsNotFull() {
+        AtomicInteger countQueryCount = new AtomicInteger();
+        Page<String> page = Utils.toPage(
+                sqlClient(null),
+                PageRequest.of(0, 5),
+                () -> Arrays.asList("a", "b", "c"),
+                () -> {
+                    countQueryCount.incrementAndGet();
+                    return 3;
+                }
+        );
+        Assertions.assertEquals(3, page.getTotalElements());
+        Assertions.assertEquals(0, countQueryCount.get());
+    }
+
+    @Test
+    public void testLaterPageIsNotFull() {
+        AtomicInteger countQueryCount = new AtomicInteger();
+        Page<String> page = Utils.toPage(
+                sqlClient(null),
+                PageRequest.of(2, 5),
+                () -> Arrays.asList("k", "l"),
+                () -> {
+                    countQueryCount.incrementAndGet();
+                    return 12;
+                }
+        );
+        Assertions.assertEquals(12, page.getTotalElements());
+        Assertions.assertEquals(0, countQueryCount.get());
+    }
+
+    @Test
+    public void testLaterPageIsEmpty() {
+        AtomicInteger countQueryCount = new AtomicInteger();
+        Page<String> page = Utils.toPage(
+                sqlClient(null),
+                PageRequest.of(2, 5),
+                Collections::emptyList,
+                () -> {
+                    countQueryCount.incrementAndGet();
+                    return 7;
+                }
+        );
+        Assertions.assertEquals(7, page.getTotalElements());
+        Assertions.assertEquals(1, countQueryCount.get());
+    }
+
+    @Test
+    public void testPageIsFull() {
+        AtomicInteger countQueryCount = new AtomicInteger();
+        Page<String> page = Utils.toPage(
+                sqlClient(null),
+                PageRequest.of(0, 2),
+                () -> Arrays.asList("a", "b"),
+                () -> {
+                    countQueryCount.incrementAndGet();
+                    return 7;
+                }
+        );
+        Assertions.assertEquals(7, page.getTotalElements());
+        Assertions.assertEquals(4, page.getTotalPages());
+        Assertions.assertEquals(1, countQueryCount.get());
+    }
+
+    @Test
+    public void testConcurrentCount() {
+        CountDownLatch countQueryStarted = new CountDownLatch(1);
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+        Page<String> page = Utils.toPage(
+                sqlClient(COUNT_EXECUTOR),
+                PageRequest.of(0, 2),
+                () -> {
+                    // The data query can only finish if the count query is running at the same time
+                    await(countQueryStarted);
+                    return Arrays.asList("a", "b");
+                },
+                () -> {
+                    countThread.set(Thread.currentThread());
+                    countQueryStarted.countDown();
+                    return 7;
+                }
+        );
+        Assertions.assertEquals(7, page.getTotalElements());
+        Assertions.assertNotSame(Thread.currentThread(), countThread.get());
+    }
+
+    @Test
+    public void testConcurrentCountFailure() {
+        IllegalStateException ex = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> Utils.toPage(
+                        sqlClient(COUNT_EXECUTOR),
+                        PageRequest.of(0, 2),
+                        () -> Arrays.asList("a", "b"),
+                        () -> {
+                            throw new IllegalStateException("count failed");
+                        }
+                )
+        );
+        Assertions.assertEquals("count failed", ex.getMessage());
+    }
+
+    @Test
+    public void testSequentialCountInTransaction() {
+        JSqlClientImplementor sqlClient = sqlClient(COUNT_EXECUTOR);
+        Page<String> page = new TransactionTemplate(new JdbcTransactionManager(DATA_SOURCE)).execute(status ->
+                Utils.toPage(
+                        sqlClient,
+                        PageRequest.of(0, 2),
+                        () -> Arrays.asList("a", "b"),
+                        () -> {
+                            Assertions.assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+                            return 7;
+                        }
+                )
+        );
+        Assertions.assertNotNull(page);
+        Assertions.assertEquals(7, page.getTotalElements());
+    }
+
+    @Test
+    public void testSequentialCountWithBoundConnection() throws Exception {
+        JSqlClientImplementor sqlClient = sqlClient(COUNT_EXECUTOR);
+        Thread currentThread = Thread.currentThread();
+        try (Connection con = DATA_SOURCE.getConnection()) {
+            TransactionSynchronizationManager.bindResource(DATA_SOURCE, new ConnectionHolder(con));
+            try {
+                Page<String> page = Utils.toPage(
+                        sqlClient,
+                        PageRequest.of(0, 2),
+                        () -> Arrays.asList("a", "b"),
+                        () -> {
+                            Assertions.assertSame(currentThread, Thread.currentThread());
+                            return 7;
+                        }
+                );
+                Assertions.assertEquals(7, page.getTotalElements());
+            } finally {
+                TransactionSynchronizationManager.unbindResource(DATA_SOURCE);
+            }
+        }
+    }
+
+    private static JSqlClientImplementor sqlClient(Executor countExecutor) {
+        return (JSqlClientImplementor) JSqlClient
+                .newBuilder()
+                .setConnectionManager(new SpringConnectionManager(DATA_SOURCE))
+                .setPagingCountExecutor(countExecutor)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS), "The count query is not started");
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -11,6 +11,15 @@ interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
             .execute(con)[0]
             .toInt()
 
+    /**
+     * Estimate the row count by the statistics of database instead of counting the rows,
+     * it is much cheaper than [count] for large tables but the result is not accurate.
+     *
+     * If [org.babyfish.jimmer.sql.dialect.Dialect.getApproximateCountSql]
+     * is not supported by the dialect, the exact count is returned.
+     */
+    fun approximateCount(con: Connection? = null): Int
+
     @NewChain
     fun <X> reselect(
         block: KMutableRootQuery<E>.() -> KConfigurableRootQuery<E, X>
@@ -22,9 +31,36 @@ interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
     @NewChain
     fun limit(limit: Int, offset: Int = 0): KConfigurableRootQuery<E, R>
 
+    /**
+     * Keyset(seek) pagination, only the rows after the row whose sort key values
+     * are [sortKeyValues] are queried. It is usually used with [limit].
+     *
+     * - The sort keys are the expressions of the order by clause of this query,
+     * ascending and descending orders can be mixed
+     * - The last sort key should be unique, such as id, otherwise the rows
+     * with the same sort key values as the specified row may be skipped
+     * - The sort key values cannot be null, so the sort keys cannot be
+     * nullable properties, properties of outer joined tables or use explicit
+     * null orders, otherwise [IllegalStateException] is thrown
+     *
+     * @param sortKeyValues The sort key values of the last row of the previous page,
+     * null or empty list means the first page.
+     */
+    @NewChain
+    fun seekAfter(sortKeyValues: List<*>?): KConfigurableRootQuery<E, R>
+
     @NewChain
     fun withoutSortingAndPaging(): KConfigurableRootQuery<E, R>
 
     @NewChain
     fun forUpdate(forUpdate: Boolean = true): KConfigurableRootQuery<E, R>
+
+    @NewChain
+    fun fetchSize(fetchSize: Int): KConfigurableRootQuery<E, R>
+
+    @NewChain
+    fun queryTimeout(seconds: Int): KConfigurableRootQuery<E, R>
+
+    @NewChain
+    fun maxRows(maxRows: Int): KConfigurableRootQuery<E, R>
 }
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.kt.ast.query
 import org.babyfish.jimmer.sql.kt.ast.KExecutable
 import org.babyfish.jimmer.sql.runtime.ExecutionException
 import java.sql.Connection
+import java.util.stream.Stream
 
 interface KTypedRootQuery<R> : KExecutable<List<R>> {
 
@@ -39,4 +40,18 @@ interface KTypedRootQuery<R> : KExecutable<List<R>> {
         batchSize: Int = 0,
         block: (R) -> Unit
     )
+
+    /**
+     * Execute the query by a forward-only cursor and return a lazy stream,
+     * the stream must be closed, the connection must be kept open until
+     * the stream is closed.
+     *
+     * For Postgres, the stream should be used inside a transaction,
+     * because the driver reads the whole result set into memory
+     * when the connection is in auto-commit mode.
+     */
+    fun stream(
+        con: Connection,
+        batchSize: Int = 0
+    ): Stream<R>
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import org.babyfish.jimmer.sql.ast.table.Table
 import org.babyfish.jimmer.sql.kt.ast.query.KConfigurableRootQuery
 import org.babyfish.jimmer.sql.kt.ast.query.KMutableRootQuery
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor
+import java.sql.Connection
 import java.util.function.BiFunction
 
 internal class KConfigurableRootQueryImpl<E: Any, R>(
@@ -32,15 +33,30 @@ internal class KConfigurableRootQueryImpl<E: Any, R>(
     override fun distinct(): KConfigurableRootQuery<E, R> =
         KConfigurableRootQueryImpl(javaQuery.distinct())
 
+    override fun approximateCount(con: Connection?): Int =
+        javaQuery.approximateCount(con)
+
     override fun limit(limit: Int, offset: Int): KConfigurableRootQuery<E, R> =
         KConfigurableRootQueryImpl(javaQuery.limit(limit, offset))
 
+    override fun seekAfter(sortKeyValues: List<*>?): KConfigurableRootQuery<E, R> =
+        KConfigurableRootQueryImpl(javaQuery.seekAfter(sortKeyValues))
+
     override fun withoutSortingAndPaging(): KConfigurableRootQuery<E, R> =
         KConfigurableRootQueryImpl(javaQuery.withoutSortingAndPaging())
 
     override fun forUpdate(forUpdate: Boolean): KConfigurableRootQuery<E, R> =
         KConfigurableRootQueryImpl(javaQuery.forUpdate(forUpdate))
 
+    override fun fetchSize(fetchSize: Int): KConfigurableRootQuery<E, R> =
+        KConfigurableRootQueryImpl(javaQuery.fetchSize(fetchSize))
+
+    override fun queryTimeout(seconds: Int): KConfigurableRootQuery<E, R> =
+        KConfigurableRootQueryImpl(javaQuery.queryTimeout(seconds))
+
+    override fun maxRows(maxRows: Int): KConfigurableRootQuery<E, R> =
+        KConfigurableRootQueryImpl(javaQuery.maxRows(maxRows))
+
     override val javaOrders: List<Order>
         get() = (javaQuery as ConfigurableRootQueryImplementor<*, *>).orders
 
@@ -242,6 +242,91 @@ class KSqlClientDsl internal constructor(
         javaBuilder.setOffsetOptimizingThreshold(threshold)
     }
 
+    /**
+     * The max number of rows that save commands send to the database
+     * by one JDBC batch, the default value is 1(JDBC batch is disabled)
+     */
+    fun setJdbcBatchSize(size: Int) {
+        javaBuilder.setJdbcBatchSize(size)
+    }
+
+    /**
+     * Merge the queued insert statements of save commands into
+     * multi-row insert statements, the default value is false
+     */
+    fun setMultiRowInsertEnabled(enabled: Boolean) {
+        javaBuilder.setMultiRowInsertEnabled(enabled)
+    }
+
+    /**
+     * Save the objects of upsert mode by native upsert statements
+     * of the database, the default value is false
+     */
+    fun setNativeUpsertEnabled(enabled: Boolean) {
+        javaBuilder.setNativeUpsertEnabled(enabled)
+    }
+
+    /**
+     * The max number of id pairs of the middle table that are
+     * inserted or deleted by one statement, the default value is 512
+     */
+    fun setMiddleTableBatchSize(size: Int) {
+        javaBuilder.setMiddleTableBatchSize(size)
+    }
+
+    /**
+     * Load the independent associations of object fetchers in parallel
+     * by this executor, the default value is null(parallel loading is disabled).
+     * It is not used when the connection is in a transaction which is not read-only, and associations
+     * with filters or transient resolvers are always loaded by the current thread
+     */
+    fun setParallelFetchingExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setParallelFetchingExecutor(executor)
+    }
+
+    /**
+     * Pad the `in(...)` list of collection to the next power of 2
+     * by repeating the last value, the default value is false
+     */
+    fun setInListPaddingEnabled(enabled: Boolean) {
+        javaBuilder.setInListPaddingEnabled(enabled)
+    }
+
+    /**
+     * Render the `in(...)` list of collection as `= any(?)` with
+     * one array parameter if the dialect supports it, the default value is false
+     */
+    fun setInListToAnyEqualityEnabled(enabled: Boolean) {
+        javaBuilder.setInListToAnyEqualityEnabled(enabled)
+    }
+
+    fun setDefaultFetchSize(size: Int) {
+        javaBuilder.setDefaultFetchSize(size)
+    }
+
+    fun setDefaultQueryTimeout(seconds: Int) {
+        javaBuilder.setDefaultQueryTimeout(seconds)
+    }
+
+    fun setDefaultMaxRows(maxRows: Int) {
+        javaBuilder.setDefaultMaxRows(maxRows)
+    }
+
+    fun setExecutorContextSamplingRate(rate: Double) {
+        javaBuilder.setExecutorContextSamplingRate(rate)
+    }
+
+    /**
+     * Run the count query of paging concurrently with the data query
+     * by this executor, the default value is null(count query is executed
+     * after the data query and skipped if the total can be inferred).
+     * It is not used if a transaction is active or a connection has been
+     * bound to the current thread.
+     */
+    fun setPagingCountExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setPagingCountExecutor(executor)
+    }
+
     fun setMicroServiceName(microServiceName: String) {
         javaBuilder.setMicroServiceName(microServiceName)
     }
@@ -31,6 +31,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public interface JSqlClient extends SubQueryProvider {
@@ -185,6 +186,10 @@ public interface JSqlClient extends SubQueryProvider {
 
         int DEFAULT_LIST_BATCH_SIZE = 16;
 
+        int DEFAULT_JDBC_BATCH_SIZE = 1;
+
+        int DEFAULT_MIDDLE_TABLE_BATCH_SIZE = 512;
+
         @OldChain
         Builder setConnectionManager(ConnectionManager connectionManager);
 
@@ -195,7 +200,7 @@ public interface JSqlClient extends SubQueryProvider {
         Builder setDialect(Dialect dialect);
 
         @OldChain
-        Builder setExecutor(Executor executor);
+        Builder setExecutor(org.babyfish.jimmer.sql.runtime.Executor executor);
 
         /**
          * If this option is configured, when jimmer calls back
@@ -277,6 +282,216 @@ public interface JSqlClient extends SubQueryProvider {
         @OldChain
         Builder setOffsetOptimizingThreshold(int threshold);
 
+        /**
+         * The max number of rows that save commands send to the database
+         * by one JDBC batch(`PreparedStatement.addBatch/executeBatch`).
+         *
+         * <p>Insert and update statements with the same SQL shape are queued
+         * and flushed together, the queued rows are always flushed before
+         * any other statement of the save command is executed.
+         * The default value is 1, which means JDBC batch is disabled.</p>
+         *
+         * <p>Note: The optimistic lock of versioned objects is checked by
+         * the affected row count of each row, so their update statements are
+         * not executed by JDBC batch if the JDBC driver cannot report it,
+         * see {@link Dialect#isBatchUpdateCountSupported()}. If the driver still
+         * returns `Statement.SUCCESS_NO_INFO` for them, an exception is raised.
+         * For other rows, `Statement.SUCCESS_NO_INFO` is treated as 1.</p>
+         *
+         * @return An integer which is greater than 0
+         */
+        @OldChain
+        Builder setJdbcBatchSize(int size);
+
+        /**
+         * Whether the queued insert statements of save commands are merged into
+         * one statement with multiple rows, such as
+         * <pre>{@code
+         * insert into T(C1, C2) values(?, ?), (?, ?), (?, ?)
+         * }</pre>
+         * rather than being executed by JDBC batch.
+         *
+         * <p>It only takes effect when {@link #setJdbcBatchSize(int)} is greater
+         * than 1 and {@link Dialect#isMultiInsertionSupported()} is true.
+         * The rows of one statement are limited by both the jdbc batch size
+         * and {@link Dialect#getMaxVariableCount()}.</p>
+         *
+         * <p>The default value is false.</p>
+         */
+        @OldChain
+        Builder setMultiRowInsertEnabled(boolean enabled);
+
+        /**
+         * Whether the objects saved by {@link org.babyfish.jimmer.sql.ast.mutation.SaveMode#UPSERT}
+         * are saved by one native upsert statement of the database
+         * (insert ... on conflict, insert ... on duplicate key update, merge ...),
+         * rather than a query to find the existing row followed by an insert or update statement.
+         *
+         * <p>It only takes effect when {@link Dialect#isUpsertSupported()} is true,
+         * and the saved object</p>
+         * <ul>
+         *     <li>has id, or has all the key properties and
+         *     {@link Dialect#isUpsertByKeySupported(Class)} is true</li>
+         *     <li>has no version property and no draft interceptor</li>
+         *     <li>does not need triggers</li>
+         * </ul>
+         *
+         * <p>Note: If the object is saved by key properties, the database
+         * must have the unique constraint of the key columns. For MySQL,
+         * `on duplicate key update` is triggered by any unique constraint,
+         * so the table should not have other unique constraints.</p>
+         *
+         * <p>The default value is false.</p>
+         */
+        @OldChain
+        Builder setNativeUpsertEnabled(boolean enabled);
+
+        /**
+         * The max number of id pairs of the middle table that are
+         * inserted or deleted by one statement, such as
+         * <pre>{@code
+         * insert into T(SOURCE_ID, TARGET_ID) values(?, ?), (?, ?), (?, ?)
+         * delete from T where (SOURCE_ID, TARGET_ID) in ((?, ?), (?, ?), (?, ?))
+         * }</pre>
+         *
+         * <p>More pairs are split into several statements, the rows of one statement
+         * are also limited by {@link Dialect#getMaxVariableCount()} and
+         * {@link Dialect#getMaxInListSize()}. The default value is 512.</p>
+         *
+         * @return An integer which is greater than 0
+         */
+        @OldChain
+        Builder setMiddleTableBatchSize(int size);
+
+        /**
+         * The executor used to load the associations of object fetchers in parallel.
+         *
+         * <p>By default, the associations of fetched objects are loaded one by one
+         * by the connection of the query. If this executor is specified, the
+         * independent associations of the same level are loaded concurrently,
+         * each of them uses a connection of {@link #setConnectionManager(ConnectionManager)}.
+         * The loaded data are merged into the result by the current thread,
+         * so the result is same with sequential loading.</p>
+         *
+         * <p>Only the associations whose child objects will not be fetched deeply
+         * are loaded in parallel. Transient properties with resolvers, associations
+         * whose target types have global filters and associations with field filters
+         * are always loaded by the current thread, because these user code may
+         * depend on thread-local state such as the current tenant.</p>
+         *
+         * <p>Note: The parallel loading does not use the connection of the query,
+         * so it is disabled if the connection of the query is not in auto-commit mode,
+         * that is, inside a transaction, otherwise the uncommitted changes of
+         * that transaction could not be seen. Read-only transactions
+         * (`Connection.isReadOnly()` is true) are not affected because they
+         * have no uncommitted changes, but the other connections do not share
+         * their snapshot of repeatable read isolation.
+         * If the executor rejects the parallel loading,
+         * the associations are loaded by the current thread.
+         * On Java 21 or later, `Executors.newVirtualThreadPerTaskExecutor()`
+         * is recommended.</p>
+         *
+         * <p>The default value is null, which means parallel loading is disabled.</p>
+         */
+        @OldChain
+        Builder setParallelFetchingExecutor(Executor executor);
+
+        /**
+         * Whether the `in(...)` list of collection is padded to the next power of 2
+         * by repeating the last value, for example
+         * <pre>{@code
+         * where ID in (?, ?, ?, ?) -- 3 values: 1, 2, 3, 3
+         * }</pre>
+         *
+         * <p>The number of SQL shapes is reduced, so that the prepared statement
+         * caches of JDBC drivers and databases are used more efficiently.
+         * The padded list never exceeds {@link Dialect#getMaxInListSize()}.</p>
+         *
+         * <p>The default value is false.</p>
+         */
+        @OldChain
+        Builder setInListPaddingEnabled(boolean enabled);
+
+        /**
+         * Whether the `in(...)` list of collection is rendered as
+         * the equality with any element of one array parameter, for example
+         * <pre>{@code
+         * where ID = any(?)
+         * }</pre>
+         *
+         * <p>The SQL does not change with the size of collection.
+         * It only takes effect when {@link Dialect#isAnyEqualityOfArraySupported()}
+         * is true and all the values have the same type, tuples are never
+         * rendered as array. It has higher priority than
+         * {@link #setInListPaddingEnabled(boolean)}.</p>
+         *
+         * <p>The default value is false.</p>
+         */
+        @OldChain
+        Builder setInListToAnyEqualityEnabled(boolean enabled);
+
+        /**
+         * The default value of `PreparedStatement.setFetchSize` for queries,
+         * it can be overridden by {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#fetchSize(int)}.
+         *
+         * <p>Some drivers, for example, the Postgres driver, buffer the
+         * whole result set in memory unless the fetch size is specified.</p>
+         *
+         * <p>The default value is 0, which means the driver default is used.</p>
+         */
+        @OldChain
+        Builder setDefaultFetchSize(int size);
+
+        /**
+         * The default value of `PreparedStatement.setQueryTimeout` in seconds,
+         * it can be overridden by {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#queryTimeout(int)}.
+         *
+         * <p>The default value is 0, which means there is no limit.</p>
+         */
+        @OldChain
+        Builder setDefaultQueryTimeout(int seconds);
+
+        /**
+         * The default value of `PreparedStatement.setMaxRows` for queries,
+         * it can be overridden by {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#maxRows(int)}.
+         *
+         * <p>It only affects the statements whose purpose is
+         * {@link org.babyfish.jimmer.sql.runtime.ExecutionPurpose#QUERY},
+         * the statements which load associations are never truncated.</p>
+         *
+         * <p>The default value is 0, which means there is no limit.</p>
+         */
+        @OldChain
+        Builder setDefaultMaxRows(int maxRows);
+
+        /**
+         * The probability that the business related call site of an executed statement is captured,
+         * it is only used when {@link #setExecutorContextPrefixes(Collection)} is specified.
+         *
+         * <p>The default value is 1, which means the call sites of all statements are captured.
+         * A smaller value can be used to keep the call-site attribution on in production
+         * because the cost of stack walking is only paid by the sampled statements.</p>
+         */
+        @OldChain
+        Builder setExecutorContextSamplingRate(double rate);
+
+        /**
+         * The executor to run the count query of paging concurrently with the data query,
+         * it is used by the paging of spring data repositories.
+         *
+         * <p>The concurrent count query needs another connection, which cannot see
+         * the uncommitted changes of the current transaction. So the count query
+         * is still executed by the current thread if a transaction is active or
+         * a connection has been bound to the current thread.</p>
+         *
+         * <p>The default value is null, which means the count query is executed
+         * after the data query by the current thread, and it is skipped if the total
+         * row count can be inferred from the data of the page, for example,
+         * the data of the last page is less than the page size.</p>
+         */
+        @OldChain
+        Builder setPagingCountExecutor(Executor executor);
+
         /**
          * Under normal circumstances, users do not need to set the entity manager.
          *
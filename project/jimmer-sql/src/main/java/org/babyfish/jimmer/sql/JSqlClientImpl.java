@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.impl.util.LRUCache;
 import org.babyfish.jimmer.lang.OldChain;
 import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.sql.ast.impl.mutation.MutableDeleteImpl;
@@ -45,17 +46,22 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.Type;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 class JSqlClientImpl implements JSqlClientImplementor {
 
+    private static final int DERIVED_CLIENT_CACHE_SIZE = 64;
+
     private final ConnectionManager connectionManager;
 
     private final ConnectionManager slaveConnectionManager;
 
     private final Dialect dialect;
 
-    private final Executor executor;
+    private final org.babyfish.jimmer.sql.runtime.Executor executor;
 
     private final List<String> executorContextPrefixes;
 
@@ -71,6 +77,30 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final int offsetOptimizingThreshold;
 
+    private final int jdbcBatchSize;
+
+    private final boolean multiRowInsertEnabled;
+
+    private final boolean nativeUpsertEnabled;
+
+    private final int middleTableBatchSize;
+
+    private final Executor parallelFetchingExecutor;
+
+    private final boolean inListPaddingEnabled;
+
+    private final boolean inListToAnyEqualityEnabled;
+
+    private final int defaultFetchSize;
+
+    private final int defaultQueryTimeout;
+
+    private final int defaultMaxRows;
+
+    private final double executorContextSamplingRate;
+
+    private final Executor pagingCountExecutor;
+
     private final EntitiesImpl entities;
 
     private final EntityManager entityManager;
@@ -95,6 +125,19 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final MicroServiceExchange microServiceExchange;
 
+    private final LRUCache<DerivedKey, JSqlClientImpl> derivedClientCache;
+
+    /*
+     * The sql client created by the builder, it is not in `derivedClientCache`
+     * so that the derived sql clients can always switch back to it
+     */
+    private final JSqlClientImpl root;
+
+    /*
+     * Shared by the root sql client and all the sql clients derived from it
+     */
+    private final ConcurrentMap<String, SequenceIdGenerator.Pool> sequenceIdPoolMap;
+
     private final Loaders loaders = new LoadersImpl(this);
 
     private final ReaderManager readerManager = new ReaderManager(this);
@@ -103,7 +146,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
             ConnectionManager connectionManager,
             ConnectionManager slaveConnectionManager,
             Dialect dialect,
-            Executor executor,
+            org.babyfish.jimmer.sql.runtime.Executor executor,
             List<String> executorContextPrefixes,
             SqlFormatter sqlFormatter,
             Map<Class<?>, IdGenerator> idGeneratorMap,
@@ -111,6 +154,18 @@ class JSqlClientImpl implements JSqlClientImplementor {
             int defaultBatchSize,
             int defaultListBatchSize,
             int offsetOptimizingThreshold,
+            int jdbcBatchSize,
+            boolean multiRowInsertEnabled,
+            boolean nativeUpsertEnabled,
+            int middleTableBatchSize,
+            Executor parallelFetchingExecutor,
+            boolean inListPaddingEnabled,
+            boolean inListToAnyEqualityEnabled,
+            int defaultFetchSize,
+            int defaultQueryTimeout,
+            int defaultMaxRows,
+            double executorContextSamplingRate,
+            Executor pagingCountExecutor,
             EntitiesImpl entities,
             EntityManager entityManager,
             Caches caches,
@@ -122,7 +177,9 @@ class JSqlClientImpl implements JSqlClientImplementor {
             TransientResolverManager transientResolverManager,
             DraftInterceptorManager draftInterceptorManager,
             String microServiceName,
-            MicroServiceExchange microServiceExchange
+            MicroServiceExchange microServiceExchange,
+            LRUCache<DerivedKey, JSqlClientImpl> derivedClientCache,
+            JSqlClientImpl root
     ) {
         this.connectionManager =
                 connectionManager != null ?
@@ -144,6 +201,18 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.defaultBatchSize = defaultBatchSize;
         this.defaultListBatchSize = defaultListBatchSize;
         this.offsetOptimizingThreshold = offsetOptimizingThreshold;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.multiRowInsertEnabled = multiRowInsertEnabled;
+        this.nativeUpsertEnabled = nativeUpsertEnabled;
+        this.middleTableBatchSize = middleTableBatchSize;
+        this.parallelFetchingExecutor = parallelFetchingExecutor;
+        this.inListPaddingEnabled = inListPaddingEnabled;
+        this.inListToAnyEqualityEnabled = inListToAnyEqualityEnabled;
+        this.defaultFetchSize = defaultFetchSize;
+        this.defaultQueryTimeout = defaultQueryTimeout;
+        this.defaultMaxRows = defaultMaxRows;
+        this.executorContextSamplingRate = executorContextSamplingRate;
+        this.pagingCountExecutor = pagingCountExecutor;
         this.entities =
                 entities != null ?
                         entities.forSqlClient(this) :
@@ -162,6 +231,12 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.draftInterceptorManager = draftInterceptorManager;
         this.microServiceName = microServiceName;
         this.microServiceExchange = microServiceExchange;
+        this.derivedClientCache = derivedClientCache;
+        this.root = root != null ? root : this;
+        this.sequenceIdPoolMap =
+                root != null ?
+                        root.sequenceIdPoolMap :
+                        new ConcurrentHashMap<>();
     }
 
     @Override
@@ -184,7 +259,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
     }
 
     @Override
-    public Executor getExecutor() {
+    public org.babyfish.jimmer.sql.runtime.Executor getExecutor() {
         return executor;
     }
 
@@ -227,6 +302,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return userIdGenerator;
     }
 
+    @Override
+    public SequenceIdGenerator.Pool getSequenceIdPool(String sequenceName) {
+        return sequenceIdPoolMap.computeIfAbsent(sequenceName, it -> new SequenceIdGenerator.Pool());
+    }
+
     @Override
     public int getDefaultBatchSize() {
         return defaultBatchSize;
@@ -242,6 +322,66 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return offsetOptimizingThreshold;
     }
 
+    @Override
+    public int getJdbcBatchSize() {
+        return jdbcBatchSize;
+    }
+
+    @Override
+    public boolean isMultiRowInsertEnabled() {
+        return multiRowInsertEnabled;
+    }
+
+    @Override
+    public boolean isNativeUpsertEnabled() {
+        return nativeUpsertEnabled;
+    }
+
+    @Override
+    public int getMiddleTableBatchSize() {
+        return middleTableBatchSize;
+    }
+
+    @Override
+    public Executor getParallelFetchingExecutor() {
+        return parallelFetchingExecutor;
+    }
+
+    @Override
+    public boolean isInListPaddingEnabled() {
+        return inListPaddingEnabled;
+    }
+
+    @Override
+    public boolean isInListToAnyEqualityEnabled() {
+        return inListToAnyEqualityEnabled;
+    }
+
+    @Override
+    public int getDefaultFetchSize() {
+        return defaultFetchSize;
+    }
+
+    @Override
+    public int getDefaultQueryTimeout() {
+        return defaultQueryTimeout;
+    }
+
+    @Override
+    public int getDefaultMaxRows() {
+        return defaultMaxRows;
+    }
+
+    @Override
+    public double getExecutorContextSamplingRate() {
+        return executorContextSamplingRate;
+    }
+
+    @Override
+    public Executor getPagingCountExecutor() {
+        return pagingCountExecutor;
+    }
+
     @Override
     public <T extends TableProxy<?>> MutableRootQuery<T> createQuery(T table) {
         if (table instanceof TableEx<?>) {
@@ -379,30 +519,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
         }
         CacheDisableConfig cfg = new CacheDisableConfig();
         block.accept(cfg);
-        return new JSqlClientImpl(
-                connectionManager,
+        return derive(
                 slaveConnectionManager,
-                dialect,
-                executor,
-                executorContextPrefixes,
-                sqlFormatter,
-                idGeneratorMap,
-                scalarProviderManager,
-                defaultBatchSize,
-                defaultListBatchSize,
-                offsetOptimizingThreshold,
-                entities,
-                entityManager,
                 new CachesImpl((CachesImpl) caches, cfg),
-                triggers,
-                transactionTriggers,
-                metadataStrategy,
-                binLog,
-                filterManager,
-                transientResolverManager,
-                draftInterceptorManager,
-                microServiceName,
-                microServiceExchange
+                filterManager
         );
     }
 
@@ -416,30 +536,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
         if (cfg.getFilterManager() == filterManager) {
             return this;
         }
-        return new JSqlClientImpl(
-                connectionManager,
+        return derive(
                 slaveConnectionManager,
-                dialect,
-                executor,
-                executorContextPrefixes,
-                sqlFormatter,
-                idGeneratorMap,
-                scalarProviderManager,
-                defaultBatchSize,
-                defaultListBatchSize,
-                offsetOptimizingThreshold,
-                entities,
-                entityManager,
                 caches,
-                triggers,
-                transactionTriggers,
-                metadataStrategy,
-                binLog,
-                cfg.getFilterManager(),
-                transientResolverManager,
-                draftInterceptorManager,
-                microServiceName,
-                microServiceExchange
+                cfg.getFilterManager()
         );
     }
 
@@ -448,30 +548,72 @@ class JSqlClientImpl implements JSqlClientImplementor {
         if (slaveConnectionManager == null) {
             return this;
         }
-        return new JSqlClientImpl(
-                connectionManager,
+        return derive(
                 null,
-                dialect,
-                executor,
-                executorContextPrefixes,
-                sqlFormatter,
-                idGeneratorMap,
-                scalarProviderManager,
-                defaultBatchSize,
-                defaultListBatchSize,
-                offsetOptimizingThreshold,
-                entities,
-                entityManager,
                 caches,
-                triggers,
-                transactionTriggers,
-                metadataStrategy,
-                binLog,
-                filterManager,
-                transientResolverManager,
-                draftInterceptorManager,
-                microServiceName,
-                microServiceExchange
+                filterManager
+        );
+    }
+
+    /*
+     * Derived sql clients are interned by their effective configuration,
+     * so that the sql clients derived by the same configuration again and again
+     * (for example, filters toggled for each http request) share the warmed-up
+     * caches of `FilterManager`, `ReaderManager` and so on.
+     */
+    private JSqlClientImplementor derive(
+            ConnectionManager slaveConnectionManager,
+            Caches caches,
+            FilterManager filterManager
+    ) {
+        DerivedKey key = new DerivedKey(slaveConnectionManager, caches, filterManager);
+        if (key.equals(new DerivedKey(this.slaveConnectionManager, this.caches, this.filterManager))) {
+            return this;
+        }
+        if (key.equals(new DerivedKey(root.slaveConnectionManager, root.caches, root.filterManager))) {
+            return root;
+        }
+        return derivedClientCache.get(
+                key,
+                it -> new JSqlClientImpl(
+                        connectionManager,
+                        slaveConnectionManager,
+                        dialect,
+                        executor,
+                        executorContextPrefixes,
+                        sqlFormatter,
+                        idGeneratorMap,
+                        scalarProviderManager,
+                        defaultBatchSize,
+                        defaultListBatchSize,
+                        offsetOptimizingThreshold,
+                        jdbcBatchSize,
+                        multiRowInsertEnabled,
+                        nativeUpsertEnabled,
+                        middleTableBatchSize,
+                        parallelFetchingExecutor,
+                        inListPaddingEnabled,
+                        inListToAnyEqualityEnabled,
+                        defaultFetchSize,
+                        defaultQueryTimeout,
+                        defaultMaxRows,
+                        executorContextSamplingRate,
+                        pagingCountExecutor,
+                        entities,
+                        entityManager,
+                        caches,
+                        triggers,
+                        transactionTriggers,
+                        metadataStrategy,
+                        binLog,
+                        filterManager,
+                        transientResolverManager,
+                        draftInterceptorManager,
+                        microServiceName,
+                        microServiceExchange,
+                        derivedClientCache,
+                        root
+                )
         );
     }
 
@@ -520,6 +662,43 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return microServiceExchange;
     }
 
+    private static class DerivedKey {
+
+        private final ConnectionManager slaveConnectionManager;
+
+        private final Object cacheDisablingKey;
+
+        private final FilterManager filterManager;
+
+        DerivedKey(
+                ConnectionManager slaveConnectionManager,
+                Caches caches,
+                FilterManager filterManager
+        ) {
+            this.slaveConnectionManager = slaveConnectionManager;
+            this.cacheDisablingKey = ((CachesImpl) caches).getDisablingKey();
+            this.filterManager = filterManager;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(slaveConnectionManager);
+            result = 31 * result + cacheDisablingKey.hashCode();
+            result = 31 * result + System.identityHashCode(filterManager);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DerivedKey other = (DerivedKey) o;
+            return slaveConnectionManager == other.slaveConnectionManager &&
+                    cacheDisablingKey.equals(other.cacheDisablingKey) &&
+                    filterManager == other.filterManager;
+        }
+    }
+
     public static class BuilderImpl implements JSqlClient.Builder {
 
         private static final Logger LOGGER = LoggerFactory.getLogger(BuilderImpl.class);
@@ -530,7 +709,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private Dialect dialect = DefaultDialect.INSTANCE;
 
-        private Executor executor;
+        private org.babyfish.jimmer.sql.runtime.Executor executor;
 
         private List<String> executorContextPrefixes;
 
@@ -554,6 +733,30 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private int offsetOptimizingThreshold = Integer.MAX_VALUE;
 
+        private int jdbcBatchSize = DEFAULT_JDBC_BATCH_SIZE;
+
+        private boolean multiRowInsertEnabled;
+
+        private boolean nativeUpsertEnabled;
+
+        private int middleTableBatchSize = DEFAULT_MIDDLE_TABLE_BATCH_SIZE;
+
+        private Executor parallelFetchingExecutor;
+
+        private boolean inListPaddingEnabled;
+
+        private boolean inListToAnyEqualityEnabled;
+
+        private int defaultFetchSize;
+
+        private int defaultQueryTimeout;
+
+        private int defaultMaxRows;
+
+        private double executorContextSamplingRate = 1.0;
+
+        private Executor pagingCountExecutor;
+
         private EntityManager userEntityManager;
 
         private EntityManager defaultEntityManager;
@@ -615,7 +818,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         @Override
         @OldChain
-        public JSqlClient.Builder setExecutor(Executor executor) {
+        public JSqlClient.Builder setExecutor(org.babyfish.jimmer.sql.runtime.Executor executor) {
             this.executor = executor;
             return this;
         }
@@ -818,6 +1021,108 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public Builder setJdbcBatchSize(int size) {
+            if (size < 1) {
+                throw new IllegalStateException("size cannot be less than 1");
+            }
+            jdbcBatchSize = size;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setMultiRowInsertEnabled(boolean enabled) {
+            multiRowInsertEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setNativeUpsertEnabled(boolean enabled) {
+            nativeUpsertEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setMiddleTableBatchSize(int size) {
+            if (size < 1) {
+                throw new IllegalStateException("size cannot be less than 1");
+            }
+            middleTableBatchSize = size;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setParallelFetchingExecutor(Executor executor) {
+            parallelFetchingExecutor = executor;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setInListPaddingEnabled(boolean enabled) {
+            inListPaddingEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setInListToAnyEqualityEnabled(boolean enabled) {
+            inListToAnyEqualityEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setDefaultFetchSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("size cannot be negative");
+            }
+            defaultFetchSize = size;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setDefaultQueryTimeout(int seconds) {
+            if (seconds < 0) {
+                throw new IllegalArgumentException("seconds cannot be negative");
+            }
+            defaultQueryTimeout = seconds;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setDefaultMaxRows(int maxRows) {
+            if (maxRows < 0) {
+                throw new IllegalArgumentException("maxRows cannot be negative");
+            }
+            defaultMaxRows = maxRows;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setExecutorContextSamplingRate(double rate) {
+            if (!(rate > 0 && rate <= 1)) {
+                throw new IllegalArgumentException("rate must be greater than 0 and not greater than 1");
+            }
+            executorContextSamplingRate = rate;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setPagingCountExecutor(Executor executor) {
+            pagingCountExecutor = executor;
+            return this;
+        }
+
         @Override
         @OldChain
         public Builder setEntityManager(EntityManager entityManager) {
@@ -1044,6 +1349,18 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     defaultBatchSize,
                     defaultListBatchSize,
                     offsetOptimizingThreshold,
+                    jdbcBatchSize,
+                    multiRowInsertEnabled,
+                    nativeUpsertEnabled,
+                    middleTableBatchSize,
+                    parallelFetchingExecutor,
+                    inListPaddingEnabled,
+                    inListToAnyEqualityEnabled,
+                    defaultFetchSize,
+                    defaultQueryTimeout,
+                    defaultMaxRows,
+                    executorContextSamplingRate,
+                    pagingCountExecutor,
                     null,
                     entityManager(),
                     caches,
@@ -1055,7 +1372,9 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     transientResolverManager,
                     new DraftInterceptorManager(interceptors),
                     microServiceName,
-                    microServiceExchange
+                    microServiceExchange,
+                    new LRUCache<>(DERIVED_CLIENT_CACHE_SIZE),
+                    null
             );
             filterManager.initialize(sqlClient);
             binLogParser.initialize(sqlClient, binLogObjectMapper);
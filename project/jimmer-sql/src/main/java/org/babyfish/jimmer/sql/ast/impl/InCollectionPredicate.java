@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.PropExpression;
+import org.babyfish.jimmer.sql.ast.impl.util.InLists;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.ScalarProvider;
@@ -43,16 +44,17 @@ class InCollectionPredicate extends AbstractPredicate {
             builder.sql(negative ? "1 = 1" : "1 = 0");
         } else {
             renderChild((Ast) expression, builder);
-            builder.sql(negative ? " not in " : " in ").enter(SqlBuilder.ScopeType.LIST);
             Collection<?> convertedValues = this.convertedValues;
             if (convertedValues == null) {
                 convertedValues = Literals.convert(values, expression, builder.getAstContext().getSqlClient());
                 this.convertedValues = convertedValues;
             }
-            for (Object value : convertedValues) {
-                builder.separator().variable(value);
-            }
-            builder.leave();
+            InLists.render(
+                    negative,
+                    convertedValues,
+                    ((ExpressionImplementor<?>) expression).getType(),
+                    builder
+            );
         }
     }
 
@@ -0,0 +1,144 @@
+package org.babyfish.jimmer.sql.ast.impl;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JoinType;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.query.NullOrderMode;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
+
+import java.util.List;
+
+/**
+ * Creates the predicate of keyset(seek) pagination.
+ *
+ * <p>For the orders `a asc, b desc, c asc` and the sort key values
+ * `(x, y, z)` of the last row of the previous page, the predicate is</p>
+ * <pre>{@code
+ * a >= x and (
+ *     a > x or
+ *     a = x and b < y or
+ *     a = x and b = y and c > z
+ * )}</pre>
+ * <p>The expanded form supports mixed ascending and descending orders
+ * and all databases, the redundant leading predicate `a >= x` lets
+ * the database scan the index of `a` from `x` directly.</p>
+ *
+ * <p>Null values cannot be compared by this predicate, so the query
+ * cannot be sorted by nullable properties, by properties of outer joined
+ * tables, or with explicit null orders.</p>
+ */
+public class SeekPredicates {
+
+    private SeekPredicates() {}
+
+    public static Predicate of(List<Order> orders, List<?> sortKeyValues) {
+        if (orders.isEmpty()) {
+            throw new IllegalStateException(
+                    "Keyset pagination requires the query to be sorted"
+            );
+        }
+        if (sortKeyValues.size() != orders.size()) {
+            throw new IllegalArgumentException(
+                    "The query is sorted by " +
+                            orders.size() +
+                            " expression(s), but " +
+                            sortKeyValues.size() +
+                            " sort key value(s) are specified"
+            );
+        }
+        for (Order order : orders) {
+            validateOrder(order);
+        }
+        for (Object value : sortKeyValues) {
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "The sort key value of keyset pagination cannot be null"
+                );
+            }
+        }
+        int size = orders.size();
+        Predicate[] branches = new Predicate[size];
+        for (int i = 0; i < size; i++) {
+            Predicate[] predicates = new Predicate[i + 1];
+            for (int ii = 0; ii < i; ii++) {
+                predicates[ii] = new ComparisonPredicate.Eq(
+                        orders.get(ii).getExpression(),
+                        Literals.any(sortKeyValues.get(ii))
+                );
+            }
+            predicates[i] = after(orders.get(i), sortKeyValues.get(i), false);
+            branches[i] = i == 0 ? predicates[0] : Predicate.and(predicates);
+        }
+        Predicate predicate = Predicate.or(branches);
+        if (size == 1) {
+            return predicate;
+        }
+        return Predicate.and(
+                after(orders.get(0), sortKeyValues.get(0), true),
+                predicate
+        );
+    }
+
+    private static void validateOrder(Order order) {
+        if (order.getNullOrderMode() != NullOrderMode.UNSPECIFIED) {
+            throw new IllegalStateException(
+                    "Keyset pagination does not support the null order mode \"" +
+                            order.getNullOrderMode() +
+                            "\" of sort expression"
+            );
+        }
+        Expression<?> expression = order.getExpression();
+        if (!(expression instanceof PropExpressionImplementor<?>)) {
+            return;
+        }
+        PropExpressionImplementor<?> propExpr = (PropExpressionImplementor<?>) expression;
+        ImmutableProp prop = propExpr.getProp();
+        if (prop.isNullable()) {
+            throw new IllegalStateException(
+                    "Keyset pagination cannot be sorted by the nullable property \"" +
+                            prop +
+                            "\""
+            );
+        }
+        for (Table<?> table = propExpr.getTable(); table != null; ) {
+            Table<?> parent;
+            JoinType joinType;
+            if (table instanceof TableProxy<?>) {
+                parent = ((TableProxy<?>) table).__parent();
+                joinType = ((TableProxy<?>) table).__joinType();
+            } else if (table instanceof TableImplementor<?>) {
+                parent = ((TableImplementor<?>) table).getParent();
+                joinType = ((TableImplementor<?>) table).getJoinType();
+            } else {
+                break;
+            }
+            if (parent != null && joinType != JoinType.INNER) {
+                throw new IllegalStateException(
+                        "Keyset pagination cannot be sorted by the property \"" +
+                                prop +
+                                "\" of outer joined table"
+                );
+            }
+            table = parent;
+        }
+    }
+
+    private static Predicate after(Order order, Object value, boolean inclusive) {
+        Expression<?> expression = order.getExpression();
+        Expression<?> literal = Literals.any(value);
+        if (order.getOrderMode() == OrderMode.ASC) {
+            return inclusive ?
+                    new ComparisonPredicate.Ge(expression, literal) :
+                    new ComparisonPredicate.Gt(expression, literal);
+        }
+        return inclusive ?
+                new ComparisonPredicate.Le(expression, literal) :
+                new ComparisonPredicate.Lt(expression, literal);
+    }
+}
@@ -89,9 +89,11 @@ public class BatchEntitySaveCommandImpl<E>
                 ((ImmutableSpi) entities.iterator().next()).__type(),
                 entities,
                 list -> {
+                    saver.prefetch(type, list);
                     for (Object o : list) {
                         oldSimpleResults.add(saver.save((E)o));
                     }
+                    saver.flushBatch();
                 }
         );
         saver.submitTrigger();
@@ -7,6 +7,7 @@ import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.meta.MiddleTable;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.meta.Storage;
 import org.babyfish.jimmer.sql.runtime.*;
 
@@ -134,77 +135,71 @@ class MiddleTableOperator {
         if (!reader.isReadable()) {
             return new TupleReader(Collections.emptyList());
         }
-        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
-        builder
-                .enter(SqlBuilder.ScopeType.SELECT)
-                .definition(middleTable.getColumnDefinition())
-                .separator()
-                .definition(middleTable.getTargetColumnDefinition())
-                .leave()
-                .from()
-                .sql(middleTable.getTableName())
-                .enter(SqlBuilder.ScopeType.WHERE)
-                .enter(SqlBuilder.ScopeType.TUPLE)
-                .definition(middleTable.getColumnDefinition())
-                .separator()
-                .definition(middleTable.getTargetColumnDefinition())
-                .leave()
-                .sql(" in ").enter(SqlBuilder.ScopeType.LIST);
-        while (reader.read()) {
-            builder.separator();
+        List<Tuple2<Object, Object>> pairs = readPairs(reader);
+        List<Tuple2<Object, Object>> tuples = new ArrayList<>();
+        for (List<Tuple2<Object, Object>> chunk : Saver.chunks(pairs, pairBatchSize())) {
+            SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
             builder
-                    .enter(SqlBuilder.ScopeType.TUPLE)
-                    .variable(reader.sourceId())
+                    .enter(SqlBuilder.ScopeType.SELECT)
+                    .definition(middleTable.getColumnDefinition())
                     .separator()
-                    .variable(reader.targetId())
-                    .leave();
+                    .definition(middleTable.getTargetColumnDefinition())
+                    .leave()
+                    .from()
+                    .sql(middleTable.getTableName())
+                    .enter(SqlBuilder.ScopeType.WHERE);
+            appendPairsIn(builder, chunk);
+            builder.leave();
+            Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
+            tuples.addAll(
+                    Selectors.select(
+                            sqlClient,
+                            con,
+                            sqlResult.get_1(),
+                            sqlResult.get_2(),
+                            sqlResult.get_3(),
+                            Arrays.asList(sourceIdExpression, targetIdExpression),
+                            ExecutionPurpose.MUTATE
+                    )
+            );
         }
-        builder.leave().leave();
-
-        reader.reset();
-
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
-        List<Tuple2<Object, Object>> tuples = Selectors.select(
-                sqlClient,
-                con,
-                sqlResult.get_1(),
-                sqlResult.get_2(),
-                sqlResult.get_3(),
-                Arrays.asList(sourceIdExpression, targetIdExpression),
-                ExecutionPurpose.MUTATE
-        );
         return new TupleReader(tuples);
     }
 
     IdPairReader getIdPairReader(Collection<Object> sourceIds) {
-        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
-        builder
-                .enter(SqlBuilder.ScopeType.SELECT)
-                .definition(middleTable.getColumnDefinition())
-                .separator()
-                .definition(middleTable.getTargetColumnDefinition())
-                .leave()
-                .from()
-                .sql(middleTable.getTableName())
-                .enter(SqlBuilder.ScopeType.WHERE)
-                .definition(null, middleTable.getColumnDefinition(), true)
-                .sql(" in ")
-                .enter(SqlBuilder.ScopeType.LIST);
-        for (Object sourceId : sourceIds) {
-            builder.separator().variable(sourceId);
+        List<Tuple2<Object, Object>> tuples = new ArrayList<>();
+        for (List<Object> chunk : Saver.chunks(new ArrayList<>(sourceIds), idBatchSize())) {
+            SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+            builder
+                    .enter(SqlBuilder.ScopeType.SELECT)
+                    .definition(middleTable.getColumnDefinition())
+                    .separator()
+                    .definition(middleTable.getTargetColumnDefinition())
+                    .leave()
+                    .from()
+                    .sql(middleTable.getTableName())
+                    .enter(SqlBuilder.ScopeType.WHERE)
+                    .definition(null, middleTable.getColumnDefinition(), true)
+                    .sql(" in ")
+                    .enter(SqlBuilder.ScopeType.LIST);
+            for (Object sourceId : chunk) {
+                builder.separator().variable(sourceId);
+            }
+            builder.leave().leave();
+
+            Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
+            tuples.addAll(
+                    Selectors.select(
+                            sqlClient,
+                            con,
+                            sqlResult.get_1(),
+                            sqlResult.get_2(),
+                            sqlResult.get_3(),
+                            Arrays.asList(sourceIdExpression, targetIdExpression),
+                            ExecutionPurpose.MUTATE
+                    )
+            );
         }
-        builder.leave().leave();
-
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
-        List<Tuple2<Object, Object>> tuples = Selectors.select(
-                sqlClient,
-                con,
-                sqlResult.get_1(),
-                sqlResult.get_2(),
-                sqlResult.get_3(),
-                Arrays.asList(sourceIdExpression, targetIdExpression),
-                ExecutionPurpose.MUTATE
-        );
         return new TupleReader(tuples);
     }
 
@@ -228,6 +223,14 @@ class MiddleTableOperator {
 
         tryPrepareEvent(true, reader);
 
+        int rowCount = 0;
+        for (List<Tuple2<Object, Object>> chunk : Saver.chunks(readPairs(reader), pairBatchSize())) {
+            rowCount += add(chunk);
+        }
+        return rowCount;
+    }
+
+    private int add(List<Tuple2<Object, Object>> pairs) {
         SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
         builder
                 .sql("insert into ")
@@ -239,13 +242,13 @@ class MiddleTableOperator {
                 .leave();
         if (sqlClient.getDialect().isMultiInsertionSupported()) {
             builder.enter(SqlBuilder.ScopeType.VALUES);
-            while (reader.read()) {
+            for (Tuple2<Object, Object> pair : pairs) {
                 builder
                         .separator()
                         .enter(SqlBuilder.ScopeType.TUPLE)
-                        .variable(reader.sourceId())
+                        .variable(pair.get_1())
                         .separator()
-                        .variable(reader.targetId())
+                        .variable(pair.get_2())
                         .leave();
             }
             builder.leave();
@@ -256,13 +259,13 @@ class MiddleTableOperator {
                 fromConstant = " from " + fromConstant;
             }
             builder.enter("?union all?");
-            while (reader.read()) {
+            for (Tuple2<Object, Object> pair : pairs) {
                 builder
                         .separator()
                         .enter(SqlBuilder.ScopeType.SELECT)
-                        .variable(reader.sourceId())
+                        .variable(pair.get_1())
                         .separator()
-                        .variable(reader.targetId())
+                        .variable(pair.get_2())
                         .leave();
                 if (fromConstant != null) {
                     builder.sql(fromConstant);
@@ -270,19 +273,7 @@ class MiddleTableOperator {
             }
             builder.leave();
         }
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
-        return sqlClient.getExecutor().execute(
-                new Executor.Args<>(
-                        sqlClient,
-                        con,
-                        sqlResult.get_1(),
-                        sqlResult.get_2(),
-                        sqlResult.get_3(),
-                        ExecutionPurpose.MUTATE,
-                        null,
-                        PreparedStatement::executeUpdate
-                )
-        );
+        return execute(builder, ExecutionPurpose.MUTATE);
     }
 
     int remove(Object sourceId, Collection<Object> targetIds) {
@@ -313,11 +304,59 @@ class MiddleTableOperator {
 
         tryPrepareEvent(false, reader);
 
-        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        int rowCount = 0;
+        for (List<Tuple2<Object, Object>> chunk : Saver.chunks(readPairs(reader), pairBatchSize())) {
+            SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+            builder
+                    .sql("delete from ")
+                    .sql(middleTable.getTableName())
+                    .enter(SqlBuilder.ScopeType.WHERE);
+            appendPairsIn(builder, chunk);
+            builder.leave();
+            rowCount += execute(builder, ExecutionPurpose.MUTATE);
+        }
+        return rowCount;
+    }
+
+    int setTargetIds(Object sourceId, Collection<Object> targetIds) {
+
+        Set<Object> oldTargetIds = new LinkedHashSet<>(getTargetIds(sourceId));
+
+        Set<Object> addingTargetIds = new LinkedHashSet<>(targetIds);
+        addingTargetIds.removeAll(oldTargetIds);
+
+        Set<Object> removingTargetIds = new LinkedHashSet<>(oldTargetIds);
+        removingTargetIds.removeAll(targetIds);
+
+        return remove(sourceId, removingTargetIds) + addTargetIds(sourceId, addingTargetIds);
+    }
+
+    public int removeBySourceIds(Collection<Object> sourceIds) {
+        if (trigger != null) {
+            IdPairReader reader = getIdPairReader(sourceIds);
+            return remove(reader);
+        }
+        int rowCount = 0;
+        for (List<Object> chunk : Saver.chunks(new ArrayList<>(sourceIds), idBatchSize())) {
+            SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+            builder
+                    .sql("delete from ")
+                    .sql(middleTable.getTableName())
+                    .enter(SqlBuilder.ScopeType.WHERE)
+                    .definition(null, middleTable.getColumnDefinition(), true)
+                    .sql(" in ")
+                    .enter(SqlBuilder.ScopeType.LIST);
+            for (Object id : chunk) {
+                builder.separator().variable(id);
+            }
+            builder.leave().leave();
+            rowCount += execute(builder, ExecutionPurpose.DELETE);
+        }
+        return rowCount;
+    }
+
+    private void appendPairsIn(SqlBuilder builder, List<Tuple2<Object, Object>> pairs) {
         builder
-                .sql("delete from ")
-                .sql(middleTable.getTableName())
-                .enter(SqlBuilder.ScopeType.WHERE)
                 .enter(SqlBuilder.ScopeType.TUPLE)
                 .definition(middleTable.getColumnDefinition())
                 .separator()
@@ -325,17 +364,19 @@ class MiddleTableOperator {
                 .leave()
                 .sql(" in ")
                 .enter(SqlBuilder.ScopeType.LIST);
-        while (reader.read()) {
+        for (Tuple2<Object, Object> pair : pairs) {
             builder
                     .separator()
                     .enter(SqlBuilder.ScopeType.TUPLE)
-                    .variable(reader.sourceId())
+                    .variable(pair.get_1())
                     .separator()
-                    .variable(reader.targetId())
+                    .variable(pair.get_2())
                     .leave();
         }
-        builder.leave().leave();
+        builder.leave();
+    }
 
+    private int execute(SqlBuilder builder, ExecutionPurpose purpose) {
         Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
         return sqlClient.getExecutor().execute(
                 new Executor.Args<>(
@@ -344,59 +385,45 @@ class MiddleTableOperator {
                         sqlResult.get_1(),
                         sqlResult.get_2(),
                         sqlResult.get_3(),
-                        ExecutionPurpose.MUTATE,
+                        purpose,
                         null,
                         PreparedStatement::executeUpdate
                 )
         );
     }
 
-    int setTargetIds(Object sourceId, Collection<Object> targetIds) {
-
-        Set<Object> oldTargetIds = new LinkedHashSet<>(getTargetIds(sourceId));
-
-        Set<Object> addingTargetIds = new LinkedHashSet<>(targetIds);
-        addingTargetIds.removeAll(oldTargetIds);
-
-        Set<Object> removingTargetIds = new LinkedHashSet<>(oldTargetIds);
-        removingTargetIds.removeAll(targetIds);
+    /**
+     * The max pair count of one statement, each pair uses 2 variables
+     */
+    private int pairBatchSize() {
+        Dialect dialect = sqlClient.getDialect();
+        return Math.max(
+                Math.min(
+                        sqlClient.getMiddleTableBatchSize(),
+                        Math.min(dialect.getMaxVariableCount() / 2, dialect.getMaxInListSize())
+                ),
+                1
+        );
+    }
 
-        return remove(sourceId, removingTargetIds) + addTargetIds(sourceId, addingTargetIds);
+    private int idBatchSize() {
+        Dialect dialect = sqlClient.getDialect();
+        return Math.max(
+                Math.min(
+                        sqlClient.getMiddleTableBatchSize(),
+                        Math.min(dialect.getMaxVariableCount(), dialect.getMaxInListSize())
+                ),
+                1
+        );
     }
 
-    public int removeBySourceIds(Collection<Object> sourceIds) {
-        if (trigger != null) {
-            IdPairReader reader = getIdPairReader(sourceIds);
-            return remove(reader);
-        }
-        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
-        builder
-                .sql("delete from ")
-                .sql(middleTable.getTableName())
-                .enter(SqlBuilder.ScopeType.WHERE)
-                .definition(null, middleTable.getColumnDefinition(), true)
-                .sql(" in ")
-                .enter(SqlBuilder.ScopeType.LIST);
-        for (Object id : sourceIds) {
-            builder.separator().variable(id);
+    private static List<Tuple2<Object, Object>> readPairs(IdPairReader reader) {
+        List<Tuple2<Object, Object>> pairs = new ArrayList<>();
+        while (reader.read()) {
+            pairs.add(new Tuple2<>(reader.sourceId(), reader.targetId()));
         }
-        builder.leave().leave();
-
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
-        return sqlClient
-                .getExecutor()
-                .execute(
-                        new Executor.Args<>(
-                                sqlClient,
-                                con,
-                                sqlResult.get_1(),
-                                sqlResult.get_2(),
-                                sqlResult.get_3(),
-                                ExecutionPurpose.DELETE,
-                                null,
-                                PreparedStatement::executeUpdate
-                        )
-                );
+        reader.reset();
+        return pairs;
     }
 
     private void tryPrepareEvent(boolean insert, IdPairReader reader) {
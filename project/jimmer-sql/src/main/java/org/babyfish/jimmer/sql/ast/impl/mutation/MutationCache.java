@@ -27,6 +27,10 @@ class MutationCache {
 
     private final IdentityHashMap<Object, Object> savedMap = new IdentityHashMap<>();
 
+    private final Set<TypedId> absentIds = new HashSet<>();
+
+    private final Set<TypedKey> absentKeys = new HashSet<>();
+
     public MutationCache(JSqlClientImplementor sqlClient, boolean pessimisticLockRequired) {
         this.sqlClientWithoutCache = sqlClient.caches(CacheDisableConfig::disableAll);
         this.pessimisticLockRequired = pessimisticLockRequired;
@@ -49,6 +53,67 @@ class MutationCache {
         return keyObjMap.get(key);
     }
 
+    /**
+     * Whether the object has been known to be nonexistent in database,
+     * see {@link #markAbsent(TypedId)} and {@link #markAbsent(TypedKey)}
+     */
+    public boolean isAbsent(ImmutableSpi example) {
+        ImmutableType type = example.__type();
+        int idPropId = type.getIdProp().getId();
+        if (example.__isLoaded(idPropId)) {
+            Object id = example.__get(idPropId);
+            if (id != null) {
+                return !absentIds.isEmpty() && absentIds.contains(new TypedId(type, id));
+            }
+        }
+        if (absentKeys.isEmpty()) {
+            return false;
+        }
+        Set<ImmutableProp> keyProps = keyProps(type);
+        if (keyProps == null || keyProps.isEmpty()) {
+            return false;
+        }
+        TypedKey key = TypedKey.normalizedOf(example, keyProps);
+        return key != null && absentKeys.contains(key);
+    }
+
+    public void markAbsent(TypedId id) {
+        absentIds.add(id);
+    }
+
+    /**
+     * @param key The key created by {@link TypedKey#normalizedOf(ImmutableSpi, Collection)}
+     */
+    public void markAbsent(TypedKey key) {
+        absentKeys.add(key);
+    }
+
+    /**
+     * Forget that the id and key of the object are absent,
+     * it must be called as soon as the object is queued to be inserted,
+     * because {@link #save(ImmutableSpi, boolean)} is not called until
+     * the queued statement is executed.
+     */
+    public void clearAbsent(ImmutableSpi spi) {
+        ImmutableType type = spi.__type();
+        int idPropId = type.getIdProp().getId();
+        if (!absentIds.isEmpty() && spi.__isLoaded(idPropId)) {
+            Object id = spi.__get(idPropId);
+            if (id != null) {
+                absentIds.remove(new TypedId(type, id));
+            }
+        }
+        if (!absentKeys.isEmpty()) {
+            Set<ImmutableProp> keyProps = keyProps(type);
+            if (keyProps != null && !keyProps.isEmpty()) {
+                TypedKey key = TypedKey.normalizedOf(spi, keyProps);
+                if (key != null) {
+                    absentKeys.remove(key);
+                }
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public List<ImmutableSpi> loadByIds(ImmutableType type, Collection<Object> ids, Connection con) {
         if (!(ids instanceof Set<?>)) {
@@ -116,12 +181,19 @@ class MutationCache {
 
         TypedId typedId = new TypedId(type, spi.__get(idProp.getId()));
         idObjMap.put(typedId, spi);
+        absentIds.remove(typedId);
 
         if (keyProps != null && !keyProps.isEmpty()) {
             TypedKey key = TypedKey.of(spi, keyProps, false);
             if (key != null) {
                 keyObjMap.put(key, spi);
             }
+            if (!absentKeys.isEmpty()) {
+                TypedKey normalizedKey = TypedKey.normalizedOf(spi, keyProps);
+                if (normalizedKey != null) {
+                    absentKeys.remove(normalizedKey);
+                }
+            }
         }
 
         if (forUserSave) {
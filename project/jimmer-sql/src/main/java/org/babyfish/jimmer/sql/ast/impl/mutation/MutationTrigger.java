@@ -4,6 +4,7 @@ import org.babyfish.jimmer.ImmutableObjects;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.runtime.DraftContext;
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.cache.CacheInvalidationBuffer;
 import org.babyfish.jimmer.sql.event.Triggers;
 
 import java.sql.Connection;
@@ -46,19 +47,22 @@ class MutationTrigger {
     public void submit(JSqlClient sqlClient, Connection con) {
         if (!changedList.isEmpty()) {
             Triggers triggers = sqlClient.getTriggers(true);
-            for (ChangedData changedData : this.changedList) {
-                if (changedData instanceof EntityChangedData) {
-                    EntityChangedData data = (EntityChangedData) changedData;
-                    triggers.fireEntityTableChange(data.oldEntity, ImmutableObjects.toLonely(data.newEntity), con);
-                } else {
-                    AssociationChangedData data = (AssociationChangedData) changedData;
-                    if (data.detachedTargetId == null) {
-                        triggers.fireMiddleTableInsert(data.prop, data.sourceId, data.attachedTargetId, con);
+            // The keys of caches deleted by all the events are deleted together
+            CacheInvalidationBuffer.execute(() -> {
+                for (ChangedData changedData : this.changedList) {
+                    if (changedData instanceof EntityChangedData) {
+                        EntityChangedData data = (EntityChangedData) changedData;
+                        triggers.fireEntityTableChange(data.oldEntity, ImmutableObjects.toLonely(data.newEntity), con);
                     } else {
-                        triggers.fireMiddleTableDelete(data.prop, data.sourceId, data.detachedTargetId, con);
+                        AssociationChangedData data = (AssociationChangedData) changedData;
+                        if (data.detachedTargetId == null) {
+                            triggers.fireMiddleTableInsert(data.prop, data.sourceId, data.attachedTargetId, con);
+                        } else {
+                            triggers.fireMiddleTableDelete(data.prop, data.sourceId, data.detachedTargetId, con);
+                        }
                     }
                 }
-            }
+            });
         }
     }
 
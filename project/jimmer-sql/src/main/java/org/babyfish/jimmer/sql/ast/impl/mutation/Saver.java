@@ -10,15 +10,16 @@ import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.*;
 import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.PropExpression;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
+import org.babyfish.jimmer.sql.ast.query.MutableRootQuery;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
 import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
 import org.babyfish.jimmer.sql.ast.mutation.SimpleSaveResult;
 import org.babyfish.jimmer.sql.ast.table.Table;
-import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
-import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.ast.tuple.*;
 import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.dialect.OracleDialect;
 import org.babyfish.jimmer.sql.dialect.PostgresDialect;
@@ -29,6 +30,7 @@ import org.babyfish.jimmer.sql.runtime.*;
 
 import java.sql.*;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 class Saver {
 
@@ -38,6 +40,10 @@ class Saver {
 
     private final SaverCache cache;
 
+    private final StatementBatcher batcher;
+
+    private final boolean batchFlushImmediately;
+
     private final MutationTrigger trigger;
 
     private final boolean triggerSubmitImmediately;
@@ -67,6 +73,8 @@ class Saver {
         this.data = data;
         this.con = con;
         this.cache = cache;
+        this.batcher = StatementBatcher.of(data.getSqlClient(), con);
+        this.batchFlushImmediately = triggerSubmitImmediately;
         this.trigger = data.getTriggers() != null ? new MutationTrigger() : null;
         this.triggerSubmitImmediately = triggerSubmitImmediately && this.trigger != null;
         this.affectedRowCountMap = affectedRowCountMap;
@@ -77,6 +85,8 @@ class Saver {
         this.data = data;
         this.con = base.con;
         this.cache = base.cache;
+        this.batcher = base.batcher;
+        this.batchFlushImmediately = false;
         this.trigger = base.trigger;
         this.triggerSubmitImmediately = this.trigger != null;
         this.affectedRowCountMap = base.affectedRowCountMap;
@@ -91,6 +101,9 @@ class Saver {
                 entity,
                 draft -> {
                     saveImpl((DraftSpi) draft);
+                    if (batchFlushImmediately) {
+                        flushBatch();
+                    }
                 },
                 trigger == null ? null : trigger::prepareSubmit
         );
@@ -100,6 +113,16 @@ class Saver {
         return new SimpleSaveResult<>(affectedRowCountMap, entity, newEntity);
     }
 
+    /**
+     * Execute the queued batch statements, this must be called
+     * before the drafts are resolved.
+     */
+    public void flushBatch() {
+        if (batcher != null) {
+            batcher.flush();
+        }
+    }
+
     public void submitTrigger() {
         if (trigger != null && !triggerSubmitted) {
             trigger.submit(data.getSqlClient(), con);
@@ -123,6 +146,10 @@ class Saver {
                     prop.isColumnDefinition() == forParent &&
                     currentDraftSpi.__isLoaded(prop.getId())
             ) {
+                if (!forParent) {
+                    // The id of current object and its row are required by the associations
+                    flushBatch();
+                }
                 ImmutableType targetType = prop.getTargetType();
                 if (prop.isRemote() && prop.getMappedBy() != null) {
                     throw new SaveException(
@@ -318,6 +345,7 @@ class Saver {
                 illegalTargetIds.remove(target.__get(targetIdPropId));
             }
         } else {
+            flushBatch();
             List<Object> existingTargetIds = Queries
                     .createQuery(
                             data.getSqlClient(),
@@ -353,12 +381,17 @@ class Saver {
             Saver associatedSaver = new Saver(this, associatedData, prop);
             associatedSaver.saveImpl(associatedDraftSpi);
         }
-        return associatedDraftSpi.__get(associatedDraftSpi.__type().getIdProp().getId());
+        int idPropId = associatedDraftSpi.__type().getIdProp().getId();
+        if (!associatedDraftSpi.__isLoaded(idPropId)) {
+            // The generated id is still pending in the batch
+            flushBatch();
+        }
+        return associatedDraftSpi.__get(idPropId);
     }
 
     private ObjectType saveSelf(DraftSpi draftSpi) {
 
-        if (cache.isSaved(draftSpi)) {
+        if (cache.isSaved(draftSpi) || (batcher != null && batcher.isPending(draftSpi))) {
             return ObjectType.EXISTING;
         }
 
@@ -377,6 +410,11 @@ class Saver {
             return ObjectType.EXISTING;
         }
 
+        if (data.getMode() == SaveMode.UPSERT && upsert(draftSpi)) {
+            // Native upsert statement cannot tell whether the row is inserted or updated
+            return ObjectType.UNKNOWN;
+        }
+
         ImmutableSpi existingSpi = find(draftSpi);
         if (existingSpi != null) {
             boolean updated;
@@ -425,6 +463,108 @@ class Saver {
         return ObjectType.NEW;
     }
 
+    /**
+     * Save the object by one native upsert statement of the database.
+     *
+     * @return false if native upsert cannot be used for this object,
+     * the caller must find the existing object and decide to insert or update.
+     */
+    private boolean upsert(DraftSpi draftSpi) {
+
+        JSqlClientImplementor sqlClient = data.getSqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        ImmutableType type = draftSpi.__type();
+        if (!sqlClient.isNativeUpsertEnabled() ||
+                !dialect.isUpsertSupported() ||
+                trigger != null ||
+                type.getVersionProp() != null ||
+                sqlClient.getDraftInterceptor(type) != null) {
+            return false;
+        }
+
+        ImmutableProp prop = path.getProp();
+        boolean requiresKey = prop != null && !data.isAppendOnly(prop);
+        try {
+            if (cache.find(draftSpi, requiresKey) != null) {
+                return false;
+            }
+        } catch (IllegalArgumentException ex) {
+            throw new SaveException(SaveErrorCode.NO_KEY_PROPS, path, ex.getMessage());
+        }
+        Collection<ImmutableProp> conflictProps = actualKeyProps(draftSpi, requiresKey);
+        if (conflictProps == null || conflictProps.isEmpty()) {
+            return false;
+        }
+        ImmutableProp idProp = type.getIdProp();
+        boolean idReturningRequired = !conflictProps.contains(idProp);
+        IdGenerator idGenerator = sqlClient.getIdGenerator(type.getJavaClass());
+        if (idReturningRequired &&
+                (idGenerator == null || !dialect.isUpsertByKeySupported(idProp.getElementClass()))) {
+            return false;
+        }
+
+        // Only restores the logical deleted property, there is no draft interceptor
+        callInterceptor(draftSpi, true);
+
+        MetadataStrategy strategy = sqlClient.getMetadataStrategy();
+        boolean hasUpdatedProps = false;
+        for (ImmutableProp columnProp : type.getProps().values()) {
+            if (columnProp.isColumnDefinition() && draftSpi.__isLoaded(columnProp.getId())) {
+                if (!(columnProp.getStorage(strategy) instanceof SingleColumn)) {
+                    return false;
+                }
+                if (!columnProp.isId() && !conflictProps.contains(columnProp)) {
+                    hasUpdatedProps = true;
+                }
+            }
+        }
+        if (idReturningRequired) {
+            // The id cannot be returned by "do nothing" of postgres
+            if (!hasUpdatedProps) {
+                return false;
+            }
+            for (ImmutableProp keyProp : conflictProps) {
+                if (!draftSpi.__isLoaded(keyProp.getId())) {
+                    return false;
+                }
+            }
+        }
+
+        if (idReturningRequired) {
+            generateId(draftSpi, idGenerator);
+        }
+        List<ImmutableProp> props = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        collectColumnValues(draftSpi, props, values);
+        boolean identityIdOverridden =
+                draftSpi.__isLoaded(idProp.getId()) &&
+                        idGenerator instanceof IdentityIdGenerator;
+
+        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        dialect.upsert(
+                new UpsertContextImpl(
+                        builder,
+                        type,
+                        props,
+                        values,
+                        conflictProps,
+                        idReturningRequired,
+                        identityIdOverridden
+                )
+        );
+        execute(
+                draftSpi,
+                builder.build(),
+                idReturningRequired,
+                null,
+                null,
+                (rowCount, generatedId) -> {
+                    upserted(draftSpi, rowCount, idReturningRequired, generatedId);
+                }
+        );
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     private void insert(DraftSpi draftSpi) {
 
@@ -436,54 +576,7 @@ class Saver {
                 draftSpi.__get(type.getIdProp().getId()) :
                 null;
         if (id == null) {
-            if (idGenerator == null) {
-                throw new SaveException(
-                        SaveErrorCode.NO_ID_GENERATOR,
-                        path,
-                        "Cannot save \"" +
-                                type + "\" " +
-                                "without id because id generator is not specified"
-                );
-            } else if (idGenerator instanceof SequenceIdGenerator) {
-                String sql = data.getSqlClient().getDialect().getSelectIdFromSequenceSql(
-                        ((SequenceIdGenerator)idGenerator).getSequenceName()
-                );
-                id = data.getSqlClient().getExecutor().execute(
-                        new Executor.Args<>(
-                                data.getSqlClient(),
-                                con,
-                                sql,
-                                Collections.emptyList(),
-                                data.getSqlClient().getSqlFormatter().isPretty() ? Collections.emptyList() : null,
-                                ExecutionPurpose.MUTATE,
-                                null,
-                                stmt -> {
-                                    try (ResultSet rs = stmt.executeQuery()) {
-                                        rs.next();
-                                        return rs.getObject(1);
-                                    }
-                                }
-                        )
-                );
-                setDraftId(draftSpi, id);
-            } else if (idGenerator instanceof UserIdGenerator) {
-                id = ((UserIdGenerator<?>)idGenerator).generate(type.getJavaClass());
-                setDraftId(draftSpi, id);
-            } else if (!(idGenerator instanceof IdentityIdGenerator)) {
-                throw new SaveException(
-                        SaveErrorCode.ILLEGAL_ID_GENERATOR,
-                        path,
-                        "Illegal id generator type: \"" +
-                                idGenerator.getClass().getName() +
-                                "\", id generator must be sub type of \"" +
-                                SequenceIdGenerator.class.getName() +
-                                "\", \"" +
-                                IdentityIdGenerator.class.getName() +
-                                "\" or \"" +
-                                UserIdGenerator.class.getName() +
-                                "\""
-                );
-            }
+            id = generateId(draftSpi, idGenerator);
         }
         if (type.getVersionProp() != null && !draftSpi.__isLoaded(type.getVersionProp().getId())) {
             draftSpi.__set(type.getVersionProp().getId(), 0);
@@ -491,6 +584,110 @@ class Saver {
 
         List<ImmutableProp> props = new ArrayList<>();
         List<Object> values = new ArrayList<>();
+        collectColumnValues(draftSpi, props, values);
+        if (props.isEmpty()) {
+            throw new SaveException(
+                    SaveErrorCode.NO_NON_ID_PROPS,
+                    path,
+                    "Cannot insert \"" +
+                            type +
+                            "\" without any properties"
+            );
+        }
+        boolean overrideIdentity = id != null && idGenerator instanceof IdentityIdGenerator;
+        boolean generateKeys = id == null;
+        Dialect dialect = data.getSqlClient().getDialect();
+        if (generateKeys && dialect instanceof OracleDialect) {
+            throw new ExecutionException(
+                    "\"" +
+                            IdentityIdGenerator.class.getName() +
+                            "\" is not supported by Oracle"
+            );
+        }
+
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = renderInsert(
+                type,
+                props,
+                Collections.singletonList(values),
+                overrideIdentity,
+                generateKeys
+        );
+        execute(
+                draftSpi,
+                sqlResult,
+                generateKeys,
+                values,
+                valuesList -> renderInsert(type, props, valuesList, overrideIdentity, generateKeys),
+                (rowCount, generatedId) -> {
+                    inserted(draftSpi, rowCount, generateKeys, generatedId);
+                }
+        );
+    }
+
+    private Object generateId(DraftSpi draftSpi, IdGenerator idGenerator) {
+        ImmutableType type = draftSpi.__type();
+        Object id = null;
+        if (idGenerator == null) {
+            throw new SaveException(
+                    SaveErrorCode.NO_ID_GENERATOR,
+                    path,
+                    "Cannot save \"" +
+                            type + "\" " +
+                            "without id because id generator is not specified"
+            );
+        } else if (idGenerator instanceof SequenceIdGenerator) {
+            SequenceIdGenerator sequenceIdGenerator = (SequenceIdGenerator) idGenerator;
+            id = sequenceIdGenerator.next(
+                    data.getSqlClient().getSequenceIdPool(sequenceIdGenerator.getSequenceName()),
+                    () -> selectIdFromSequence(sequenceIdGenerator)
+            );
+            setDraftId(draftSpi, id);
+        } else if (idGenerator instanceof UserIdGenerator) {
+            id = ((UserIdGenerator<?>)idGenerator).generate(type.getJavaClass());
+            setDraftId(draftSpi, id);
+        } else if (!(idGenerator instanceof IdentityIdGenerator)) {
+            throw new SaveException(
+                    SaveErrorCode.ILLEGAL_ID_GENERATOR,
+                    path,
+                    "Illegal id generator type: \"" +
+                            idGenerator.getClass().getName() +
+                            "\", id generator must be sub type of \"" +
+                            SequenceIdGenerator.class.getName() +
+                            "\", \"" +
+                            IdentityIdGenerator.class.getName() +
+                            "\" or \"" +
+                            UserIdGenerator.class.getName() +
+                            "\""
+            );
+        }
+        return id;
+    }
+
+    private Object selectIdFromSequence(SequenceIdGenerator sequenceIdGenerator) {
+        String sql = data.getSqlClient().getDialect().getSelectIdFromSequenceSql(
+                sequenceIdGenerator.getSequenceName()
+        );
+        return data.getSqlClient().getExecutor().execute(
+                new Executor.Args<>(
+                        data.getSqlClient(),
+                        con,
+                        sql,
+                        Collections.emptyList(),
+                        data.getSqlClient().getSqlFormatter().isPretty() ? Collections.emptyList() : null,
+                        ExecutionPurpose.MUTATE,
+                        null,
+                        stmt -> {
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                rs.next();
+                                return rs.getObject(1);
+                            }
+                        }
+                )
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectColumnValues(DraftSpi draftSpi, List<ImmutableProp> props, List<Object> values) {
         for (ImmutableProp prop : draftSpi.__type().getProps().values()) {
             if (prop.isColumnDefinition() && draftSpi.__isLoaded(prop.getId())) {
                 props.add(prop);
@@ -521,15 +718,69 @@ class Saver {
                 values.add(value);
             }
         }
-        if (props.isEmpty()) {
-            throw new SaveException(
-                    SaveErrorCode.NO_NON_ID_PROPS,
-                    path,
-                    "Cannot insert \"" +
-                            type +
-                            "\" without any properties"
+    }
+
+    private void execute(
+            DraftSpi draftSpi,
+            Tuple3<String, List<Object>, List<Integer>> sqlResult,
+            boolean generateKeys,
+            List<Object> values,
+            StatementBatcher.MultiRowRenderer renderer,
+            StatementBatcher.Callback callback
+    ) {
+        if (batcher != null &&
+                (!generateKeys || data.getSqlClient().getDialect().isBatchGeneratedKeysSupported())) {
+            // Another object with the same id or key must be looked up in database
+            // after this pending row is flushed, not be inserted again
+            cache.clearAbsent(draftSpi);
+            batcher.add(
+                    sqlResult.get_1(),
+                    sqlResult.get_2(),
+                    generateKeys,
+                    draftSpi,
+                    values,
+                    renderer,
+                    callback
             );
+            return;
         }
+        flushBatch();
+        Tuple2<Integer, Object> result = data.getSqlClient().getExecutor().execute(
+                new Executor.Args<>(
+                        data.getSqlClient(),
+                        con,
+                        sqlResult.get_1(),
+                        sqlResult.get_2(),
+                        sqlResult.get_3(),
+                        ExecutionPurpose.MUTATE,
+                        generateKeys ?
+                                (c, s) ->
+                                        c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS) :
+                                null,
+                        stmt -> {
+                            int updateCount = stmt.executeUpdate();
+                            Object generatedId = null;
+                            if (generateKeys) {
+                                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                                    if (rs.next()) {
+                                        generatedId = rs.getObject(1);
+                                    }
+                                }
+                            }
+                            return new Tuple2<>(updateCount, generatedId);
+                        }
+                )
+        );
+        callback.executed(result.get_1(), result.get_2());
+    }
+
+    private Tuple3<String, List<Object>, List<Integer>> renderInsert(
+            ImmutableType type,
+            List<ImmutableProp> props,
+            List<List<Object>> valuesList,
+            boolean overrideIdentity,
+            boolean generateKeys
+    ) {
         SqlBuilder builder = new SqlBuilder(new AstContext(data.getSqlClient()));
         MetadataStrategy strategy = data.getSqlClient().getMetadataStrategy();
         builder
@@ -540,76 +791,68 @@ class Saver {
             builder.separator().definition(prop.<ColumnDefinition>getStorage(strategy));
         }
         builder.leave();
-        if (id != null && idGenerator instanceof IdentityIdGenerator) {
+        if (overrideIdentity) {
             String overrideIdentityIdSql = data.getSqlClient().getDialect().getOverrideIdentityIdSql();
             if (overrideIdentityIdSql != null) {
                 builder.sql(" ").sql(overrideIdentityIdSql);
             }
         }
-        builder.enter(SqlBuilder.ScopeType.VALUES).enter(SqlBuilder.ScopeType.TUPLE);
-        int size = values.size();
-        for (int i = 0; i < size; i++) {
-            builder.separator();
-            Object value = values.get(i);
-            if (value != null) {
-                builder.variable(value);
-            } else {
-                builder.nullVariable(props.get(i));
+        builder.enter(SqlBuilder.ScopeType.VALUES);
+        for (List<Object> values : valuesList) {
+            builder.separator().enter(SqlBuilder.ScopeType.TUPLE);
+            int size = values.size();
+            for (int i = 0; i < size; i++) {
+                builder.separator();
+                Object value = values.get(i);
+                if (value != null) {
+                    builder.variable(value);
+                } else {
+                    builder.nullVariable(props.get(i));
+                }
             }
+            builder.leave();
+        }
+        builder.leave();
+        if (generateKeys && data.getSqlClient().getDialect() instanceof PostgresDialect) {
+            builder.sql(" returning ").sql(type.getIdProp().<SingleColumn>getStorage(strategy).getName());
         }
-        builder.leave().leave();
+        return builder.build();
+    }
 
-        boolean generateKeys = id == null;
+    private void inserted(DraftSpi draftSpi, int rowCount, boolean generateKeys, Object generatedId) {
+        addOutput(AffectedTable.of(draftSpi.__type()), rowCount);
         if (generateKeys) {
-            Dialect dialect = data.getSqlClient().getDialect();
-            if (dialect instanceof PostgresDialect) {
-                builder.sql(" returning ").sql(type.getIdProp().<SingleColumn>getStorage(strategy).getName());
-            } else if (dialect instanceof OracleDialect) {
-                throw new ExecutionException(
-                        "\"" +
-                                IdentityIdGenerator.class.getName() +
-                                "\" is not supported by Oracle"
+            if (generatedId == null) {
+                throw new SaveException(
+                        SaveErrorCode.ILLEGAL_GENERATED_ID,
+                        path,
+                        "Cannot get the generated id of \"" +
+                                draftSpi.__type() +
+                                "\" from the JDBC driver"
                 );
             }
+            setDraftId(draftSpi, generatedId);
         }
+        cache.save(draftSpi, true);
+    }
 
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
-        Object insertedResult = data.getSqlClient().getExecutor().execute(
-                new Executor.Args<>(
-                        data.getSqlClient(),
-                        con,
-                        sqlResult.get_1(),
-                        sqlResult.get_2(),
-                        sqlResult.get_3(),
-                        ExecutionPurpose.MUTATE,
-                        generateKeys ?
-                                (c, s) ->
-                                        c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS) :
-                                null,
-                        stmt -> {
-                            if (generateKeys) {
-                                int updateCount = stmt.executeUpdate();
-                                Object generatedId;
-                                try (ResultSet rs = stmt.getGeneratedKeys()) {
-                                    rs.next();
-                                    generatedId = rs.getObject(1);
-                                }
-                                return new Tuple2<>(updateCount, generatedId);
-                            }
-                            return stmt.executeUpdate();
-                        }
-                )
-        );
-        int rowCount = insertedResult instanceof Tuple2<?, ?> ?
-                ((Tuple2<Integer, ?>)insertedResult).get_1() :
-                (Integer)insertedResult;
-        addOutput(AffectedTable.of(type), rowCount);
-
-        if (insertedResult instanceof Tuple2<?, ?>) {
-            id = ((Tuple2<?, Object>)insertedResult).get_2();
-            setDraftId(draftSpi, id);
+    private void upserted(DraftSpi draftSpi, int rowCount, boolean idReturningRequired, Object generatedId) {
+        ImmutableType type = draftSpi.__type();
+        // MySQL reports 2 for the updated row
+        addOutput(AffectedTable.of(type), Math.min(rowCount, 1));
+        if (idReturningRequired) {
+            if (generatedId != null) {
+                setDraftId(draftSpi, generatedId);
+            } else if (!draftSpi.__isLoaded(type.getIdProp().getId())) {
+                throw new SaveException(
+                        SaveErrorCode.ILLEGAL_GENERATED_ID,
+                        path,
+                        "Cannot get the id of upserted \"" +
+                                type +
+                                "\" from the JDBC driver"
+                );
+            }
         }
-
         cache.save(draftSpi, true);
     }
 
@@ -716,6 +959,24 @@ class Saver {
         builder.leave();
 
         Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
+        // The optimistic lock is checked by the affected row count,
+        // so versioned rows are not batched if the driver cannot report it
+        if (batcher != null &&
+                (version == null || data.getSqlClient().getDialect().isBatchUpdateCountSupported())) {
+            Integer finalVersion = version;
+            batcher.add(
+                    sqlResult.get_1(),
+                    sqlResult.get_2(),
+                    false,
+                    version != null,
+                    draftSpi,
+                    (rowCount, generatedId) -> {
+                        updated(draftSpi, rowCount, finalVersion);
+                    }
+            );
+            return true;
+        }
+        flushBatch();
         int rowCount = data.getSqlClient().getExecutor().execute(
                 new Executor.Args<>(
                         data.getSqlClient(),
@@ -728,6 +989,12 @@ class Saver {
                         PreparedStatement::executeUpdate
                 )
         );
+        updated(draftSpi, rowCount, version);
+        return true;
+    }
+
+    private void updated(DraftSpi draftSpi, int rowCount, Integer version) {
+        ImmutableType type = draftSpi.__type();
         if (rowCount != 0) {
             addOutput(AffectedTable.of(type), rowCount);
             if (version != null) {
@@ -747,7 +1014,6 @@ class Saver {
                             "\""
             );
         }
-        return true;
     }
 
     @SuppressWarnings("unchecked")
@@ -788,6 +1054,9 @@ class Saver {
         if (cached != null) {
             return cached;
         }
+        if (cache.isAbsent(example)) {
+            return null;
+        }
 
         ImmutableType type = example.__type();
         Collection<ImmutableProp> actualKeyProps = actualKeyProps(example, requiresKey);
@@ -795,6 +1064,7 @@ class Saver {
             return null;
         }
 
+        flushBatch();
         List<ImmutableSpi> rows = Internal.requiresNewDraftContext(ctx -> {
             List<ImmutableSpi> list = Queries.createQuery(data.getSqlClient(), type, ExecutionPurpose.MUTATE, true, (q, table) -> {
                 for (ImmutableProp keyProp : actualKeyProps) {
@@ -848,6 +1118,211 @@ class Saver {
         return spi;
     }
 
+    /**
+     * Load the existing rows of the root objects of batch save command
+     * by ids or keys with a few `IN` queries, so that {@link #find(DraftSpi)}
+     * neither queries them one by one nor queries the objects which do not exist.
+     */
+    public void prefetch(ImmutableType type, Collection<?> entities) {
+        SaveMode mode = data.getMode();
+        JSqlClientImplementor sqlClient = data.getSqlClient();
+        if (mode == SaveMode.INSERT_ONLY || entities.size() < 2) {
+            return;
+        }
+        if (mode == SaveMode.UPSERT &&
+                trigger == null &&
+                sqlClient.isNativeUpsertEnabled() &&
+                sqlClient.getDialect().isUpsertSupported()) {
+            return;
+        }
+        MetadataStrategy strategy = sqlClient.getMetadataStrategy();
+        ImmutableProp idProp = type.getIdProp();
+        boolean idRequired =
+                (mode != SaveMode.UPDATE_ONLY || trigger != null) &&
+                idProp.getStorage(strategy) instanceof SingleColumn;
+        List<ImmutableProp> keyProps = new ArrayList<>();
+        Set<ImmutableProp> configuredKeyProps = data.getKeyProps(type);
+        if (configuredKeyProps != null && configuredKeyProps.size() <= 9) {
+            keyProps.addAll(configuredKeyProps);
+            for (ImmutableProp keyProp : keyProps) {
+                if (!(keyProp.getStorage(strategy) instanceof SingleColumn)) {
+                    keyProps.clear();
+                    break;
+                }
+            }
+        }
+        Set<Object> ids = new LinkedHashSet<>();
+        Set<TypedKey> keys = new LinkedHashSet<>();
+        for (Object entity : entities) {
+            ImmutableSpi spi = (ImmutableSpi) entity;
+            Object id = spi.__isLoaded(idProp.getId()) ? spi.__get(idProp.getId()) : null;
+            if (id != null) {
+                if (idRequired && cache.find(spi, false) == null) {
+                    ids.add(id);
+                }
+            } else if (!keyProps.isEmpty() && cache.find(spi, false) == null) {
+                TypedKey key = TypedKey.normalizedOf(spi, keyProps);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        }
+        Dialect dialect = sqlClient.getDialect();
+        if (!ids.isEmpty()) {
+            int chunkSize = Math.max(Math.min(dialect.getMaxVariableCount(), dialect.getMaxInListSize()), 1);
+            for (List<Object> chunk : chunks(new ArrayList<>(ids), chunkSize)) {
+                Set<Object> absentIds = new LinkedHashSet<>(chunk);
+                boolean unmatched = false;
+                for (ImmutableSpi row : prefetchRows(type, (q, table) -> {
+                    q.where(table.<Expression<Object>>get(idProp.getName()).in(chunk));
+                })) {
+                    unmatched |= !absentIds.remove(row.__get(idProp.getId()));
+                    cache.save(row, false);
+                }
+                // If the database compares values differently (for example, case-insensitive),
+                // nothing can be known to be absent
+                if (!unmatched) {
+                    for (Object absentId : absentIds) {
+                        cache.markAbsent(new TypedId(type, absentId));
+                    }
+                }
+            }
+        }
+        if (!keys.isEmpty()) {
+            int chunkSize = Math.max(
+                    Math.min(dialect.getMaxVariableCount() / keyProps.size(), dialect.getMaxInListSize()),
+                    1
+            );
+            for (List<TypedKey> chunk : chunks(new ArrayList<>(keys), chunkSize)) {
+                Map<TypedKey, List<ImmutableSpi>> rowMap = new LinkedHashMap<>();
+                for (ImmutableSpi row : prefetchRows(type, (q, table) -> {
+                    List<Expression<Object>> keyExpressions = new ArrayList<>(keyProps.size());
+                    for (ImmutableProp keyProp : keyProps) {
+                        if (keyProp.isReference(TargetLevel.ENTITY)) {
+                            keyExpressions.add(
+                                    table
+                                            .<Table<?>>join(keyProp.getName())
+                                            .get(keyProp.getTargetType().getIdProp().getName())
+                            );
+                        } else {
+                            keyExpressions.add(table.get(keyProp.getName()));
+                        }
+                    }
+                    q.where(keysIn(keyExpressions, chunk));
+                })) {
+                    rowMap
+                            .computeIfAbsent(TypedKey.normalizedOf(row, keyProps), it -> new ArrayList<>())
+                            .add(row);
+                }
+                boolean unmatched = !new HashSet<>(chunk).containsAll(rowMap.keySet());
+                for (TypedKey key : chunk) {
+                    List<ImmutableSpi> rows = rowMap.get(key);
+                    if (rows == null) {
+                        if (!unmatched) {
+                            cache.markAbsent(key);
+                        }
+                    } else if (rows.size() == 1) {
+                        cache.save(rows.get(0), false);
+                    }
+                    // Otherwise, let `find` report that the key is not unique
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ImmutableSpi> prefetchRows(
+            ImmutableType type,
+            BiConsumer<MutableRootQuery<Table<?>>, Table<?>> block
+    ) {
+        return Internal.requiresNewDraftContext(ctx -> {
+            List<ImmutableSpi> list = Queries.createQuery(data.getSqlClient(), type, ExecutionPurpose.MUTATE, true, (q, table) -> {
+                block.accept(q, table);
+                if (trigger != null) {
+                    return q.select((Table<ImmutableSpi>)table);
+                }
+                return q.select(
+                        ((Table<ImmutableSpi>)table).fetch(
+                                IdAndKeyFetchers.getFetcher(type)
+                        )
+                );
+            }).forUpdate(data.isPessimisticLockRequired()).execute(con);
+            return ctx.resolveList(list);
+        });
+    }
+
+    static <T> List<List<T>> chunks(List<T> list, int chunkSize) {
+        if (list.size() <= chunkSize) {
+            return Collections.singletonList(list);
+        }
+        List<List<T>> chunks = new ArrayList<>((list.size() + chunkSize - 1) / chunkSize);
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate keysIn(List<Expression<Object>> expressions, List<TypedKey> keys) {
+        List<Object> values = new ArrayList<>(keys.size());
+        if (expressions.size() == 1) {
+            for (TypedKey key : keys) {
+                values.add(key.get(0));
+            }
+            return expressions.get(0).in(values);
+        }
+        for (TypedKey key : keys) {
+            values.add(tuple(key));
+        }
+        return ((Expression<Object>) tupleExpression(expressions)).in(values);
+    }
+
+    private static Expression<?> tupleExpression(List<Expression<Object>> e) {
+        switch (e.size()) {
+            case 2:
+                return Expression.tuple(e.get(0), e.get(1));
+            case 3:
+                return Expression.tuple(e.get(0), e.get(1), e.get(2));
+            case 4:
+                return Expression.tuple(e.get(0), e.get(1), e.get(2), e.get(3));
+            case 5:
+                return Expression.tuple(e.get(0), e.get(1), e.get(2), e.get(3), e.get(4));
+            case 6:
+                return Expression.tuple(e.get(0), e.get(1), e.get(2), e.get(3), e.get(4), e.get(5));
+            case 7:
+                return Expression.tuple(e.get(0), e.get(1), e.get(2), e.get(3), e.get(4), e.get(5), e.get(6));
+            case 8:
+                return Expression.tuple(e.get(0), e.get(1), e.get(2), e.get(3), e.get(4), e.get(5), e.get(6), e.get(7));
+            case 9:
+                return Expression.tuple(e.get(0), e.get(1), e.get(2), e.get(3), e.get(4), e.get(5), e.get(6), e.get(7), e.get(8));
+            default:
+                throw new AssertionError("Internal bug: illegal tuple size " + e.size());
+        }
+    }
+
+    private static Object tuple(TypedKey k) {
+        switch (k.size()) {
+            case 2:
+                return new Tuple2<>(k.get(0), k.get(1));
+            case 3:
+                return new Tuple3<>(k.get(0), k.get(1), k.get(2));
+            case 4:
+                return new Tuple4<>(k.get(0), k.get(1), k.get(2), k.get(3));
+            case 5:
+                return new Tuple5<>(k.get(0), k.get(1), k.get(2), k.get(3), k.get(4));
+            case 6:
+                return new Tuple6<>(k.get(0), k.get(1), k.get(2), k.get(3), k.get(4), k.get(5));
+            case 7:
+                return new Tuple7<>(k.get(0), k.get(1), k.get(2), k.get(3), k.get(4), k.get(5), k.get(6));
+            case 8:
+                return new Tuple8<>(k.get(0), k.get(1), k.get(2), k.get(3), k.get(4), k.get(5), k.get(6), k.get(7));
+            case 9:
+                return new Tuple9<>(k.get(0), k.get(1), k.get(2), k.get(3), k.get(4), k.get(5), k.get(6), k.get(7), k.get(8));
+            default:
+                throw new AssertionError("Internal bug: illegal tuple size " + k.size());
+        }
+    }
+
     private Collection<ImmutableProp> actualKeyProps(ImmutableSpi spi, boolean requiresKey) {
 
         ImmutableType type = spi.__type();
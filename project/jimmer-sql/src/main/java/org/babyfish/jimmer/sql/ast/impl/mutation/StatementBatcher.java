@@ -0,0 +1,305 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Collects the insert/update statements of save command,
+ * the rows with the same SQL shape are executed by JDBC batch,
+ * or by multi-row insert statements if
+ * {@link JSqlClientImplementor#isMultiRowInsertEnabled()} is true
+ * and the dialect supports it.
+ *
+ * <p>The queued rows are never reordered: rows are grouped only when
+ * they are queued one after another, otherwise all the pending groups
+ * are flushed before the new row is queued. The owner of this object
+ * must call {@link #flush()} before executing any other statement.</p>
+ */
+class StatementBatcher {
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final Connection con;
+
+    private final int batchSize;
+
+    private final boolean multiRowInsert;
+
+    private final Map<Tuple2<String, Boolean>, Group> groupMap = new LinkedHashMap<>();
+
+    private final IdentityHashMap<ImmutableSpi, Object> pendingMap = new IdentityHashMap<>();
+
+    private Group lastGroup;
+
+    private StatementBatcher(JSqlClientImplementor sqlClient, Connection con, int batchSize) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+        this.batchSize = batchSize;
+        this.multiRowInsert =
+                sqlClient.isMultiRowInsertEnabled() &&
+                sqlClient.getDialect().isMultiInsertionSupported();
+    }
+
+    static StatementBatcher of(JSqlClientImplementor sqlClient, Connection con) {
+        int batchSize = sqlClient.getJdbcBatchSize();
+        if (batchSize <= 1) {
+            return null;
+        }
+        return new StatementBatcher(sqlClient, con, batchSize);
+    }
+
+    public boolean isPending(ImmutableSpi spi) {
+        return pendingMap.containsKey(spi);
+    }
+
+    /**
+     * @param rowCountRequired Whether the exact affected row count is required,
+     *                         for example, the optimistic lock is checked by it.
+     *                         If it is true and the JDBC driver returns
+     *                         `Statement.SUCCESS_NO_INFO`, an exception is raised
+     *                         instead of treating it as 1.
+     */
+    public void add(
+            String sql,
+            List<Object> variables,
+            boolean generateKeys,
+            boolean rowCountRequired,
+            ImmutableSpi spi,
+            Callback callback
+    ) {
+        add(sql, variables, generateKeys, rowCountRequired, spi, null, null, callback);
+    }
+
+    /**
+     * @param values The values of the row, they are used by the renderer
+     * @param renderer The renderer of multi-row insert statement,
+     *                 all the rows with same sql share the renderer of the first row.
+     */
+    public void add(
+            String sql,
+            List<Object> variables,
+            boolean generateKeys,
+            ImmutableSpi spi,
+            List<Object> values,
+            MultiRowRenderer renderer,
+            Callback callback
+    ) {
+        add(sql, variables, generateKeys, false, spi, values, renderer, callback);
+    }
+
+    private void add(
+            String sql,
+            List<Object> variables,
+            boolean generateKeys,
+            boolean rowCountRequired,
+            ImmutableSpi spi,
+            List<Object> values,
+            MultiRowRenderer renderer,
+            Callback callback
+    ) {
+        Tuple2<String, Boolean> key = new Tuple2<>(sql, generateKeys);
+        Group group = groupMap.get(key);
+        if (group != null && group != lastGroup) {
+            flush();
+            group = null;
+        }
+        if (group == null) {
+            group = new Group(sql, generateKeys, multiRowInsert ? renderer : null);
+            groupMap.put(key, group);
+            lastGroup = group;
+        }
+        group.rows.add(new Row(variables, values, rowCountRequired, callback));
+        pendingMap.put(spi, null);
+        if (group.rows.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (groupMap.isEmpty()) {
+            return;
+        }
+        List<Group> groups = new ArrayList<>(groupMap.values());
+        groupMap.clear();
+        pendingMap.clear();
+        lastGroup = null;
+        for (Group group : groups) {
+            group.execute();
+        }
+    }
+
+    interface Callback {
+
+        /**
+         * @param rowCount The affected row count of the row.
+         * @param generatedId The generated id if the group requires
+         *                    generated keys, otherwise null.
+         */
+        void executed(int rowCount, Object generatedId);
+    }
+
+    interface MultiRowRenderer {
+
+        /**
+         * @param valuesList The values of all rows
+         * @return The sql, variables and variable positions of the statement
+         */
+        Tuple3<String, List<Object>, List<Integer>> render(List<List<Object>> valuesList);
+    }
+
+    private class Group {
+
+        final String sql;
+
+        final boolean generateKeys;
+
+        final MultiRowRenderer renderer;
+
+        final List<Row> rows = new ArrayList<>();
+
+        Group(String sql, boolean generateKeys, MultiRowRenderer renderer) {
+            this.sql = sql;
+            this.generateKeys = generateKeys;
+            this.renderer = renderer;
+        }
+
+        void execute() {
+            if (renderer == null || rows.size() == 1) {
+                executeBatch(rows);
+                return;
+            }
+            int variableCount = Math.max(rows.get(0).variables.size(), 1);
+            int chunkSize = Math.max(
+                    sqlClient.getDialect().getMaxVariableCount() / variableCount,
+                    1
+            );
+            int size = rows.size();
+            for (int i = 0; i < size; i += chunkSize) {
+                List<Row> chunk = rows.subList(i, Math.min(i + chunkSize, size));
+                if (chunk.size() == 1) {
+                    executeBatch(chunk);
+                } else {
+                    executeMultiRow(chunk);
+                }
+            }
+        }
+
+        private void executeBatch(List<Row> rows) {
+            int size = rows.size();
+            List<List<Object>> variablesList = new ArrayList<>(size);
+            for (Row row : rows) {
+                variablesList.add(row.variables);
+            }
+            Object[] generatedIds = new Object[size];
+            int[] rowCounts = sqlClient.getExecutor().executeBatch(
+                    new Executor.BatchArgs<>(
+                            sqlClient,
+                            con,
+                            sql,
+                            variablesList,
+                            ExecutionPurpose.MUTATE,
+                            generateKeys ?
+                                    (c, s) ->
+                                            c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS) :
+                                    null,
+                            stmt -> {
+                                int[] counts = stmt.executeBatch();
+                                if (generateKeys) {
+                                    readGeneratedIds(stmt, generatedIds);
+                                }
+                                return counts;
+                            }
+                    )
+            );
+            for (int i = 0; i < size; i++) {
+                int rowCount = i < rowCounts.length ? rowCounts[i] : Statement.SUCCESS_NO_INFO;
+                if (rowCount == Statement.SUCCESS_NO_INFO) {
+                    if (rows.get(i).rowCountRequired) {
+                        throw new ExecutionException(
+                                "The JDBC driver does not return the affected row count of batch statement \"" +
+                                        sql +
+                                        "\", please make `" +
+                                        sqlClient.getDialect().getClass().getName() +
+                                        ".isBatchUpdateCountSupported()` return false"
+                        );
+                    }
+                    rowCount = 1;
+                }
+                rows.get(i).callback.executed(rowCount, generatedIds[i]);
+            }
+        }
+
+        private void executeMultiRow(List<Row> rows) {
+            int size = rows.size();
+            List<List<Object>> valuesList = new ArrayList<>(size);
+            for (Row row : rows) {
+                valuesList.add(row.values);
+            }
+            Tuple3<String, List<Object>, List<Integer>> sqlResult = renderer.render(valuesList);
+            Object[] generatedIds = new Object[size];
+            sqlClient.getExecutor().execute(
+                    new Executor.Args<>(
+                            sqlClient,
+                            con,
+                            sqlResult.get_1(),
+                            sqlResult.get_2(),
+                            sqlResult.get_3(),
+                            ExecutionPurpose.MUTATE,
+                            generateKeys ?
+                                    (c, s) ->
+                                            c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS) :
+                                    null,
+                            stmt -> {
+                                int count = stmt.executeUpdate();
+                                if (generateKeys) {
+                                    readGeneratedIds(stmt, generatedIds);
+                                }
+                                return count;
+                            }
+                    )
+            );
+            // Insertion of multiple rows either succeeds or fails as a whole,
+            // so that each row is counted as 1.
+            for (int i = 0; i < size; i++) {
+                rows.get(i).callback.executed(1, generatedIds[i]);
+            }
+        }
+    }
+
+    private static void readGeneratedIds(Statement stmt, Object[] generatedIds) throws SQLException {
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            for (int i = 0; i < generatedIds.length && rs.next(); i++) {
+                generatedIds[i] = rs.getObject(1);
+            }
+        }
+    }
+
+    private static class Row {
+
+        final List<Object> variables;
+
+        final List<Object> values;
+
+        final boolean rowCountRequired;
+
+        final Callback callback;
+
+        Row(List<Object> variables, List<Object> values, boolean rowCountRequired, Callback callback) {
+            this.variables = variables;
+            this.values = values;
+            this.rowCountRequired = rowCountRequired;
+            this.callback = callback;
+        }
+    }
+}
@@ -2,10 +2,12 @@ package org.babyfish.jimmer.sql.ast.impl.mutation;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Set;
 
 class TypedKey {
@@ -19,6 +21,14 @@ class TypedKey {
         this.arr = arr;
     }
 
+    public int size() {
+        return arr.length;
+    }
+
+    public Object get(int index) {
+        return arr[index];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -71,4 +81,35 @@ class TypedKey {
         }
         return new TypedKey(type, arr);
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a key whose reference properties are represented by
+     * the ids of associated objects, so that it can be compared with
+     * the key of the object loaded from database.
+     *
+     * @return null if any key property is unloaded or null
+     */
+    public static TypedKey normalizedOf(
+            ImmutableSpi spi,
+            Collection<ImmutableProp> keyProps
+    ) {
+        Object[] arr = new Object[keyProps.size()];
+        int index = 0;
+        for (ImmutableProp keyProp : keyProps) {
+            if (!spi.__isLoaded(keyProp.getId())) {
+                return null;
+            }
+            Object value = spi.__get(keyProp.getId());
+            if (value != null && keyProp.isReference(TargetLevel.ENTITY)) {
+                int targetIdPropId = keyProp.getTargetType().getIdProp().getId();
+                ImmutableSpi target = (ImmutableSpi) value;
+                value = target.__isLoaded(targetIdPropId) ? target.__get(targetIdPropId) : null;
+            }
+            if (value == null) {
+                return null;
+            }
+            arr[index++] = value;
+        }
+        return new TypedKey(spi.__type(), arr);
+    }
+}
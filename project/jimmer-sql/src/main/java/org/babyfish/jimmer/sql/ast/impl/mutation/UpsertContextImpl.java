@@ -0,0 +1,198 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.dialect.UpsertContext;
+import org.babyfish.jimmer.sql.meta.MetadataStrategy;
+import org.babyfish.jimmer.sql.meta.SingleColumn;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * All the properties must be mapped by single column.
+ */
+class UpsertContextImpl implements UpsertContext {
+
+    private final SqlBuilder builder;
+
+    private final ImmutableType type;
+
+    private final MetadataStrategy strategy;
+
+    private final List<ImmutableProp> props;
+
+    private final List<Object> values;
+
+    private final Collection<ImmutableProp> conflictProps;
+
+    private final List<ImmutableProp> updatedProps;
+
+    private final boolean idReturningRequired;
+
+    private final boolean identityIdOverridden;
+
+    UpsertContextImpl(
+            SqlBuilder builder,
+            ImmutableType type,
+            List<ImmutableProp> props,
+            List<Object> values,
+            Collection<ImmutableProp> conflictProps,
+            boolean idReturningRequired,
+            boolean identityIdOverridden
+    ) {
+        this.builder = builder;
+        this.type = type;
+        this.strategy = builder.getAstContext().getSqlClient().getMetadataStrategy();
+        this.props = props;
+        this.values = values;
+        this.conflictProps = conflictProps;
+        List<ImmutableProp> updatedProps = new ArrayList<>();
+        for (ImmutableProp prop : props) {
+            if (!prop.isId() && !conflictProps.contains(prop)) {
+                updatedProps.add(prop);
+            }
+        }
+        this.updatedProps = updatedProps;
+        this.idReturningRequired = idReturningRequired;
+        this.identityIdOverridden = identityIdOverridden;
+    }
+
+    @Override
+    public boolean isIdReturningRequired() {
+        return idReturningRequired;
+    }
+
+    @Override
+    public boolean isIdentityIdOverridden() {
+        return identityIdOverridden;
+    }
+
+    @Override
+    public boolean hasUpdatedColumns() {
+        return !updatedProps.isEmpty();
+    }
+
+    @Override
+    public UpsertContext sql(String sql) {
+        builder.sql(sql);
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendTableName() {
+        builder.sql(type.getTableName(strategy));
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendIdColumnName() {
+        builder.sql(columnName(type.getIdProp()));
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendInsertedColumns(String prefix) {
+        boolean addComma = false;
+        for (ImmutableProp prop : props) {
+            if (addComma) {
+                builder.sql(", ");
+            } else {
+                addComma = true;
+            }
+            builder.sql(prefix).sql(columnName(prop));
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendInsertingValues() {
+        int size = props.size();
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.sql(", ");
+            }
+            variable(i);
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendAliasedInsertingValues() {
+        int size = props.size();
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.sql(", ");
+            }
+            variable(i);
+            builder.sql(" ").sql(columnName(props.get(i)));
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendConflictColumns() {
+        boolean addComma = false;
+        for (ImmutableProp prop : conflictProps) {
+            if (addComma) {
+                builder.sql(", ");
+            } else {
+                addComma = true;
+            }
+            builder.sql(columnName(prop));
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendConflictCondition(String targetAlias, String sourceAlias) {
+        boolean addAnd = false;
+        for (ImmutableProp prop : conflictProps) {
+            if (addAnd) {
+                builder.sql(" and ");
+            } else {
+                addAnd = true;
+            }
+            String columnName = columnName(prop);
+            builder
+                    .sql(targetAlias)
+                    .sql(".")
+                    .sql(columnName)
+                    .sql(" = ")
+                    .sql(sourceAlias)
+                    .sql(".")
+                    .sql(columnName);
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendUpdatingAssignments(String prefix, String suffix) {
+        boolean addComma = false;
+        for (ImmutableProp prop : updatedProps) {
+            if (addComma) {
+                builder.sql(", ");
+            } else {
+                addComma = true;
+            }
+            String columnName = columnName(prop);
+            builder.sql(columnName).sql(" = ").sql(prefix).sql(columnName).sql(suffix);
+        }
+        return this;
+    }
+
+    private void variable(int index) {
+        Object value = values.get(index);
+        if (value != null) {
+            builder.variable(value);
+        } else {
+            builder.nullVariable(props.get(index));
+        }
+    }
+
+    private String columnName(ImmutableProp prop) {
+        return prop.<SingleColumn>getStorage(strategy).getName();
+    }
+}
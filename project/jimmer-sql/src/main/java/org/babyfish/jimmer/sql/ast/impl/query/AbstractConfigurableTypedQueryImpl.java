@@ -55,12 +55,17 @@ class AbstractConfigurableTypedQueryImpl implements TypedQueryImplementor {
         try {
             Selection<?> idOnlySelection = idOnlyPropExprByOffset();
             if (idOnlySelection != null) {
-                baseQuery.accept(visitor, Collections.singletonList(idOnlySelection), false);
+                baseQuery.accept(visitor, Collections.singletonList(idOnlySelection), false, data.getSeekPredicate());
             } else {
                 for (Selection<?> selection : data.getSelections()) {
                     Ast.from(selection, visitor.getAstContext()).accept(visitor);
                 }
-                baseQuery.accept(visitor, data.getOldSelections(), data.isWithoutSortingAndPaging());
+                baseQuery.accept(
+                        visitor,
+                        data.getOldSelections(),
+                        data.isWithoutSortingAndPaging(),
+                        data.getSeekPredicate()
+                );
             }
         } finally {
             astContext.popStatement();
@@ -141,7 +146,7 @@ class AbstractConfigurableTypedQueryImpl implements TypedQueryImplementor {
             }
         }
         builder.leave();
-        baseQuery.renderTo(builder, data.isWithoutSortingAndPaging());
+        baseQuery.renderTo(builder, data.isWithoutSortingAndPaging(), data.getSeekPredicate());
     }
 
     private PropExpressionImplementor<?> idOnlyPropExprByOffset() {
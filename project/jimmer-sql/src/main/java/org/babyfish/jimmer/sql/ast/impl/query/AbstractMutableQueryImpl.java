@@ -176,9 +176,10 @@ public abstract class AbstractMutableQueryImpl
     void accept(
             AstVisitor visitor,
             List<Selection<?>> overriddenSelections,
-            boolean withoutSortingAndPaging
+            boolean withoutSortingAndPaging,
+            Predicate seekPredicate
     ) {
-        Predicate predicate = getPredicate();
+        Predicate predicate = mergePredicate(seekPredicate);
         Predicate havingPredicate = havingPredicates.isEmpty() ? null : havingPredicates.get(0);
         if (groupByExpressions.isEmpty() && !havingPredicates.isEmpty()) {
             throw new IllegalStateException(
@@ -213,9 +214,9 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
-    void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging) {
+    void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging, Predicate seekPredicate) {
 
-        Predicate predicate = getPredicate();
+        Predicate predicate = mergePredicate(seekPredicate);
         Predicate havingPredicate = havingPredicates.isEmpty() ? null : havingPredicates.get(0);
 
         TableImplementor<?> tableImplementor = getTableImplementor();
@@ -262,6 +263,17 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
+    private Predicate mergePredicate(Predicate seekPredicate) {
+        Predicate predicate = getPredicate();
+        if (seekPredicate == null) {
+            return predicate;
+        }
+        if (predicate == null) {
+            return seekPredicate;
+        }
+        return Predicate.and(predicate, seekPredicate);
+    }
+
     protected boolean isGroupByClauseUsed() {
         return !this.groupByExpressions.isEmpty();
     }
@@ -5,20 +5,26 @@ import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
+import org.babyfish.jimmer.sql.ast.impl.SeekPredicates;
 import org.babyfish.jimmer.sql.ast.query.*;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Executor;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         extends AbstractConfigurableTypedQueryImpl
@@ -105,6 +111,24 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public ConfigurableRootQuery<T, R> seekAfter(List<?> sortKeyValues) {
+        TypedQueryData data = getData();
+        if (sortKeyValues == null || sortKeyValues.isEmpty()) {
+            if (data.getSeekPredicate() == null) {
+                return this;
+            }
+            return new ConfigurableRootQueryImpl<>(
+                    data.seek(null),
+                    getBaseQuery()
+            );
+        }
+        return new ConfigurableRootQueryImpl<>(
+                data.seek(SeekPredicates.of(getOrders(), sortKeyValues)),
+                getBaseQuery()
+        );
+    }
+
     @Override
     public ConfigurableRootQuery<T, R> withoutSortingAndPaging() {
         TypedQueryData data = getData();
@@ -129,6 +153,51 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public ConfigurableRootQuery<T, R> fetchSize(int fetchSize) {
+        TypedQueryData data = getData();
+        if (data.getFetchSize() == fetchSize) {
+            return this;
+        }
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("'fetchSize' can not be less than 0");
+        }
+        return new ConfigurableRootQueryImpl<>(
+                data.fetchSize(fetchSize),
+                getBaseQuery()
+        );
+    }
+
+    @Override
+    public ConfigurableRootQuery<T, R> queryTimeout(int seconds) {
+        TypedQueryData data = getData();
+        if (data.getQueryTimeout() == seconds) {
+            return this;
+        }
+        if (seconds < 0) {
+            throw new IllegalArgumentException("'seconds' can not be less than 0");
+        }
+        return new ConfigurableRootQueryImpl<>(
+                data.queryTimeout(seconds),
+                getBaseQuery()
+        );
+    }
+
+    @Override
+    public ConfigurableRootQuery<T, R> maxRows(int maxRows) {
+        TypedQueryData data = getData();
+        if (data.getMaxRows() == maxRows) {
+            return this;
+        }
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("'maxRows' can not be less than 0");
+        }
+        return new ConfigurableRootQueryImpl<>(
+                data.maxRows(maxRows),
+                getBaseQuery()
+        );
+    }
+
     @Override
     public List<R> execute() {
         return getBaseQuery()
@@ -162,10 +231,73 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
                 sqlResult.get_2(),
                 sqlResult.get_3(),
                 data.getSelections(),
-                getBaseQuery().getPurpose()
+                getBaseQuery().getPurpose(),
+                data.getFetchSize(),
+                data.getQueryTimeout(),
+                data.getMaxRows()
         );
     }
 
+    @Override
+    public int approximateCount(Connection con) {
+        ConfigurableRootQueryImpl<T, R> query = (ConfigurableRootQueryImpl<T, R>) withoutSortingAndPaging();
+        if (con != null) {
+            return query.approximateCountImpl(con);
+        }
+        return getBaseQuery()
+                .getSqlClient()
+                .getSlaveConnectionManager(getData().isForUpdate())
+                .execute(query::approximateCountImpl);
+    }
+
+    private int approximateCountImpl(Connection con) {
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        String sql = dialect.getApproximateCountSql(sqlResult.get_1());
+        if (sql == null) {
+            return count(con);
+        }
+        List<Integer> variablePositions = sqlResult.get_3();
+        if (variablePositions != null) {
+            int prefixLength = sql.length() - sqlResult.get_1().length();
+            List<Integer> shiftedPositions = new ArrayList<>(variablePositions.size());
+            for (int position : variablePositions) {
+                shiftedPositions.add(position + prefixLength);
+            }
+            variablePositions = shiftedPositions;
+        }
+        Object value = sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        sql,
+                        sqlResult.get_2(),
+                        variablePositions,
+                        getBaseQuery().getPurpose(),
+                        null,
+                        stmt -> {
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                return rs.next() ? rs.getObject(1) : null;
+                            }
+                        }
+                )
+        );
+        if (value == null) {
+            throw new ExecutionException("The approximate count sql \"" + sql + "\" returns nothing");
+        }
+        long count;
+        try {
+            count = dialect.getApproximateCount(value);
+        } catch (Exception ex) {
+            throw new ExecutionException(
+                    "Cannot read the approximate count from the result of \"" + sql + "\"",
+                    ex
+            );
+        }
+        return (int) Math.max(0, Math.min(count, Integer.MAX_VALUE));
+    }
+
     @Override
     public <X> List<X> map(Connection con, Function<R, X> mapper) {
         List<R> rows = execute(con);
@@ -194,6 +326,32 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         }
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int batchSize) {
+        if (con == null) {
+            throw new IllegalArgumentException("The connection of stream cannot be null");
+        }
+        TypedQueryData data = getData();
+        if (data.getLimit() == 0) {
+            return Stream.empty();
+        }
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                data.getSelections(),
+                getBaseQuery().getPurpose(),
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize(),
+                data.getFetchSize(),
+                data.getQueryTimeout(),
+                data.getMaxRows()
+        );
+    }
+
     private void forEachImpl(Connection con, int batchSize, Consumer<R> consumer) {
         JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
         Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
@@ -206,6 +364,9 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
                 getData().getSelections(),
                 getBaseQuery().getPurpose(),
                 batchSize,
+                getData().getFetchSize(),
+                getData().getQueryTimeout(),
+                getData().getMaxRows(),
                 consumer
         );
     }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, TypedQueryImplementor {
 
@@ -105,6 +106,27 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
         }
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int batchSize) {
+        if (con == null) {
+            throw new IllegalArgumentException("The connection of stream cannot be null");
+        }
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                selections,
+                ExecutionPurpose.QUERY,
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize(),
+                0,
+                0,
+                0
+        );
+    }
+
     private void forEachImpl(Connection con, int batchSize, Consumer<R> consumer) {
         Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
         Selectors.forEach(
@@ -116,6 +138,9 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
                 selections,
                 ExecutionPurpose.QUERY,
                 batchSize,
+                0,
+                0,
+                0,
                 consumer
         );
     }
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
@@ -31,6 +32,14 @@ class TypedQueryData {
 
     private final boolean forUpdate;
 
+    private final int fetchSize;
+
+    private final int queryTimeout;
+
+    private final int maxRows;
+
+    private final Predicate seekPredicate;
+
     private PropExpressionImplementor<?> idOnlyExpression;
 
     private boolean idOnlyExpressionResolved;
@@ -43,6 +52,10 @@ class TypedQueryData {
         offset = 0;
         withoutSortingAndPaging = false;
         forUpdate = false;
+        fetchSize = 0;
+        queryTimeout = 0;
+        maxRows = 0;
+        seekPredicate = null;
     }
 
     private TypedQueryData(
@@ -52,7 +65,11 @@ class TypedQueryData {
             int limit,
             int offset,
             boolean withoutSortingAndPaging,
-            boolean forUpdate
+            boolean forUpdate,
+            int fetchSize,
+            int queryTimeout,
+            int maxRows,
+            Predicate seekPredicate
     ) {
         this.selections = selections;
         this.oldSelections = oldSelections;
@@ -61,6 +78,10 @@ class TypedQueryData {
         this.offset = offset;
         this.withoutSortingAndPaging = withoutSortingAndPaging;
         this.forUpdate = forUpdate;
+        this.fetchSize = fetchSize;
+        this.queryTimeout = queryTimeout;
+        this.maxRows = maxRows;
+        this.seekPredicate = seekPredicate;
     }
 
     public List<Selection<?>> getSelections() {
@@ -91,6 +112,22 @@ class TypedQueryData {
         return forUpdate;
     }
 
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public int getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public Predicate getSeekPredicate() {
+        return seekPredicate;
+    }
+
     public TypedQueryData reselect(List<Selection<?>> selections) {
         return new TypedQueryData(
                 processSelections(selections),
@@ -99,7 +136,11 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
         );
     }
 
@@ -111,7 +152,11 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
         );
     }
 
@@ -123,7 +168,11 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
         );
     }
 
@@ -135,7 +184,11 @@ class TypedQueryData {
                 limit,
                 offset,
                 true,
-                forUpdate
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
         );
     }
 
@@ -147,7 +200,75 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                true
+                true,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
+        );
+    }
+
+    public TypedQueryData fetchSize(int fetchSize) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
+        );
+    }
+
+    public TypedQueryData queryTimeout(int queryTimeout) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
+        );
+    }
+
+    public TypedQueryData maxRows(int maxRows) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
+        );
+    }
+
+    public TypedQueryData seek(Predicate seekPredicate) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                forUpdate,
+                fetchSize,
+                queryTimeout,
+                maxRows,
+                seekPredicate
         );
     }
 
@@ -0,0 +1,116 @@
+package org.babyfish.jimmer.sql.ast.impl.util;
+
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * Renders the right operand of `in(...)` predicate whose values are collection,
+ * by the in-list strategy of the sql client.
+ */
+public class InLists {
+
+    private static final Set<Class<?>> ARRAY_ELEMENT_TYPES = new HashSet<>(
+            Arrays.asList(
+                    Short.class,
+                    Integer.class,
+                    Long.class,
+                    String.class,
+                    UUID.class
+            )
+    );
+
+    private InLists() {}
+
+    /**
+     * @param negative Render `not in` or `in`
+     * @param values The converted values, the collection cannot be empty
+     * @param nullType The type of null values
+     * @param builder The sql builder, the left operand has been rendered
+     */
+    public static void render(
+            boolean negative,
+            Collection<?> values,
+            Class<?> nullType,
+            SqlBuilder builder
+    ) {
+        JSqlClientImplementor sqlClient = builder.getAstContext().getSqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        if (sqlClient.isInListToAnyEqualityEnabled() && dialect.isAnyEqualityOfArraySupported()) {
+            Object array = toArray(values, sqlClient);
+            if (array != null) {
+                builder.sql(negative ? " <> all(" : " = any(").variable(array).sql(")");
+                return;
+            }
+        }
+        builder.sql(negative ? " not in " : " in ").enter(SqlBuilder.ScopeType.LIST);
+        Object lastValue = null;
+        for (Object value : values) {
+            builder.separator();
+            variable(value, nullType, builder);
+            lastValue = value;
+        }
+        if (sqlClient.isInListPaddingEnabled()) {
+            int size = values.size();
+            for (int i = paddedSize(size, dialect.getMaxInListSize()) - size; i > 0; --i) {
+                builder.separator();
+                variable(lastValue, nullType, builder);
+            }
+        }
+        builder.leave();
+    }
+
+    /**
+     * @return The next power of 2 which is not less than the size,
+     * but it never exceeds the max size.
+     */
+    public static int paddedSize(int size, int maxSize) {
+        if (size >= maxSize) {
+            return size;
+        }
+        int paddedSize = Integer.highestOneBit(size);
+        if (paddedSize < size) {
+            paddedSize <<= 1;
+        }
+        return paddedSize > 0 ? Math.min(paddedSize, maxSize) : size;
+    }
+
+    /**
+     * @return The typed array of values, or null if the values are not
+     * simple values of same type which can be bound as a JDBC array.
+     */
+    private static Object toArray(Collection<?> values, JSqlClientImplementor sqlClient) {
+        Class<?> elementType = null;
+        for (Object value : values) {
+            if (value == null) {
+                return null;
+            }
+            if (elementType == null) {
+                elementType = value.getClass();
+                if (!ARRAY_ELEMENT_TYPES.contains(elementType) ||
+                        sqlClient.getScalarProvider(elementType) != null) {
+                    return null;
+                }
+            } else if (value.getClass() != elementType) {
+                return null;
+            }
+        }
+        Object[] array = (Object[]) Array.newInstance(elementType, values.size());
+        int index = 0;
+        for (Object value : values) {
+            array[index++] = value;
+        }
+        return array;
+    }
+
+    private static void variable(Object value, Class<?> nullType, SqlBuilder builder) {
+        if (value != null) {
+            builder.variable(value);
+        } else {
+            builder.nullVariable(nullType);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.sql.ast.table.Table;
 
 import java.sql.Connection;
+import java.util.List;
 import java.util.function.BiFunction;
 
 public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQuery<R> {
@@ -20,6 +21,19 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
             .intValue();
     }
 
+    /**
+     * Estimate the row count by the statistics of database instead of counting the rows,
+     * it is much cheaper than {@link #count()} for large tables but the result is not accurate.
+     *
+     * <p>If {@link org.babyfish.jimmer.sql.dialect.Dialect#getApproximateCountSql(String)}
+     * is not supported by the dialect, the exact count is returned.</p>
+     */
+    default int approximateCount() {
+        return approximateCount(null);
+    }
+
+    int approximateCount(Connection con);
+
     default boolean exists() {
         return exists(null);
     }
@@ -44,6 +58,29 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
     @NewChain
     ConfigurableRootQuery<T, R> limit(int limit, int offset);
 
+    /**
+     * Keyset(seek) pagination, only the rows after the row whose sort key values
+     * are `sortKeyValues` are queried. It is usually used with {@link #limit(int)}.
+     *
+     * <ul>
+     *     <li>The sort keys are the expressions of the order by clause of this query,
+     *     ascending and descending orders can be mixed</li>
+     *     <li>The last sort key should be unique, such as id, otherwise the rows
+     *     with the same sort key values as the specified row may be skipped</li>
+     *     <li>The sort key values cannot be null, so the sort keys cannot be
+     *     nullable properties, properties of outer joined tables or use explicit
+     *     null orders, otherwise {@link IllegalStateException} is thrown</li>
+     * </ul>
+     *
+     * <p>Unlike the offset, the database does not need to scan and discard the rows
+     * of the previous pages, so a deep page is as cheap as the first page.</p>
+     *
+     * @param sortKeyValues The sort key values of the last row of the previous page,
+     *                      null or empty list means the first page.
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> seekAfter(List<?> sortKeyValues);
+
     @NewChain
     ConfigurableRootQuery<T, R> withoutSortingAndPaging();
 
@@ -54,4 +91,27 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
 
     @NewChain
     ConfigurableRootQuery<T, R> forUpdate(boolean forUpdate);
+
+    /**
+     * Override the default fetch size of sql client for this query,
+     * 0 means the default fetch size of sql client.
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> fetchSize(int fetchSize);
+
+    /**
+     * Override the default query timeout of sql client for this query,
+     * 0 means the default query timeout of sql client.
+     *
+     * @param seconds The query timeout in seconds
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> queryTimeout(int seconds);
+
+    /**
+     * Override the default max rows of sql client for this query,
+     * 0 means the default max rows of sql client.
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> maxRows(int maxRows);
 }
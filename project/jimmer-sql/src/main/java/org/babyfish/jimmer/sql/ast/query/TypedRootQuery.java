@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface TypedRootQuery<R> extends Executable<List<R>> {
 
@@ -84,4 +85,31 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
     }
 
     void forEach(Connection con, int batchSize, Consumer<R> consumer);
+
+    default Stream<R> stream(Connection con) {
+        return stream(con, -1);
+    }
+
+    /**
+     * Execute the query by a forward-only cursor and return a lazy stream.
+     *
+     * <p>Rows are read batch by batch, the associations of each batch
+     * are fetched before the rows of that batch are consumed, so that
+     * the memory usage does not grow with the size of result.</p>
+     *
+     * <p>The returned stream holds an open JDBC cursor, it must be closed,
+     * for example, by try-with-resources. It is closed automatically
+     * when it is exhausted. The connection cannot be null because it
+     * must be kept open until the stream is closed.</p>
+     *
+     * <p>Note: Postgres driver only reads rows by cursor when the connection
+     * is not in auto-commit mode, otherwise, it ignores the fetch size and reads
+     * the whole result set into memory. So the stream should be used inside
+     * a transaction for Postgres, a warning is logged if it is not.</p>
+     *
+     * @param con The connection which is used until the stream is closed
+     * @param batchSize The fetch size of JDBC cursor and the batch size of association fetching,
+     *                  the default batch size of sql client is used if it is not positive.
+     */
+    Stream<R> stream(@NotNull Connection con, int batchSize);
 }
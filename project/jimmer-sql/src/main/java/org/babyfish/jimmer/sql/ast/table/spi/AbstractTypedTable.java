@@ -316,6 +316,17 @@ public abstract class AbstractTypedTable<E> implements TableProxy<E> {
         return delayedOperation instanceof DelayInverseJoin<?>;
     }
 
+    @Override
+    public JoinType __joinType() {
+        if (raw != null) {
+            return raw.getJoinType();
+        }
+        if (delayedOperation != null) {
+            return delayedOperation.joinType();
+        }
+        return JoinType.INNER;
+    }
+
     @Override
     public TableImplementor<E> __unwrap() {
         return raw;
@@ -386,6 +397,8 @@ public abstract class AbstractTypedTable<E> implements TableProxy<E> {
 
         WeakJoinHandle weakJoinHandle();
 
+        JoinType joinType();
+
         ImmutableType targetType();
 
         TableImplementor<E> resolve(RootTableResolver ctx);
@@ -439,6 +452,11 @@ public abstract class AbstractTypedTable<E> implements TableProxy<E> {
             return weakJoinHandle;
         }
 
+        @Override
+        public JoinType joinType() {
+            return joinType;
+        }
+
         @Override
         public ImmutableType targetType() {
             if (treatedAs != null) {
@@ -493,6 +511,11 @@ public abstract class AbstractTypedTable<E> implements TableProxy<E> {
             return null;
         }
 
+        @Override
+        public JoinType joinType() {
+            return joinType;
+        }
+
         @Override
         public ImmutableType targetType() {
             return prop.getDeclaringType();
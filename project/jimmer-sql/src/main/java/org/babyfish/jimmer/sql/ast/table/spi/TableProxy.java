@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.ast.table.spi;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JoinType;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.RootTableResolver;
 import org.babyfish.jimmer.sql.ast.table.Table;
@@ -13,6 +14,8 @@ public interface TableProxy<E> extends Table<E> {
 
     boolean __isInverse();
 
+    JoinType __joinType();
+
     TableImplementor<E> __unwrap();
 
     TableImplementor<E> __resolve(RootTableResolver resolver);
@@ -149,6 +149,11 @@ public class UntypedJoinDisabledTableProxy<E> implements TableProxy<E> {
         return table.isInverse();
     }
 
+    @Override
+    public JoinType __joinType() {
+        return table.getJoinType();
+    }
+
     @Override
     public TableImplementor<E> __unwrap() {
         return table;
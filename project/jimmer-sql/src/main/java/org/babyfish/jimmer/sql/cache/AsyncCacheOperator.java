@@ -0,0 +1,404 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.lang.OldChain;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A cache operator which deletes cache keys by background worker threads,
+ * so that a slow remote cache does not slow down the thread which fires
+ * the trigger events, for example, the thread executing save commands
+ * or consuming binlog messages.
+ *
+ * <pre>{@code
+ * cfg.setCacheOperator(
+ *     AsyncCacheOperator.newBuilder().setWorkerCount(2).build()
+ * )
+ * }</pre>
+ *
+ * <p>Deleted keys are put into a bounded queue, each worker takes
+ * the queued keys, merges the keys of the same cache and deletes them
+ * by one `deleteAll`, failures are retried with exponential backoff.
+ * When the queue is full or the operator is closed, keys are deleted
+ * in the caller thread.</p>
+ *
+ * <p>Cache operator is not used by default, that means keys are deleted
+ * synchronously.</p>
+ */
+public class AsyncCacheOperator implements CacheOperator, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncCacheOperator.class);
+
+    private static final AtomicInteger OPERATOR_SEQUENCE = new AtomicInteger();
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000L;
+
+    private final CacheOperator delegate;
+
+    private final BlockingQueue<Task> queue;
+
+    private final int maxBatchSize;
+
+    private final int maxRetryCount;
+
+    private final long retryDelayMillis;
+
+    private final List<Thread> workers;
+
+    private final LongAdder retryCount = new LongAdder();
+
+    private final LongAdder failedKeyCount = new LongAdder();
+
+    private final LongAdder callerDeletedKeyCount = new LongAdder();
+
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean closed;
+
+    private AsyncCacheOperator(Builder builder) {
+        this.delegate = builder.delegate;
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxRetryCount = builder.maxRetryCount;
+        this.retryDelayMillis = builder.retryDelayMillis;
+        int operatorId = OPERATOR_SEQUENCE.incrementAndGet();
+        List<Thread> workers = new ArrayList<>(builder.workerCount);
+        for (int i = 0; i < builder.workerCount; i++) {
+            Thread worker = new Thread(
+                    this::work,
+                    "jimmer-cache-operator-" + operatorId + "-" + (i + 1)
+            );
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        this.workers = Collections.unmodifiableList(workers);
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public void delete(LocatedCache<Object, ?> cache, Object key, Object reason) {
+        deleteAll(cache, Collections.singleton(key), reason);
+    }
+
+    @Override
+    public void deleteAll(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (!offer(new Task(cache, keys, reason))) {
+            callerDeletedKeyCount.add(keys.size());
+            deleteWithRetry(cache, keys, reason);
+        }
+    }
+
+    private boolean offer(Task task) {
+        // The read lock makes sure that no task can be queued
+        // after `close` changes the `closed` flag
+        Lock lock = closeLock.readLock();
+        lock.lock();
+        try {
+            return !closed && queue.offer(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The count of queued tasks which are not taken by workers
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return How long the oldest queued task has been waited in milliseconds,
+     * 0 if the queue is empty
+     */
+    public long getLagMillis() {
+        Task task = queue.peek();
+        if (task == null) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.createdNanos);
+    }
+
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /**
+     * @return The count of keys which cannot be deleted after all retries
+     */
+    public long getFailedKeyCount() {
+        return failedKeyCount.sum();
+    }
+
+    /**
+     * @return The count of keys deleted by the caller thread
+     * because the queue was full or the operator was closed
+     */
+    public long getCallerDeletedKeyCount() {
+        return callerDeletedKeyCount.sum();
+    }
+
+    /**
+     * Stop accepting new tasks and wait for the workers to delete the queued keys,
+     * the keys still queued after the workers exit are deleted by the current thread
+     */
+    @Override
+    public void close() {
+        Lock lock = closeLock.writeLock();
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        Task task;
+        while ((task = queue.poll()) != null) {
+            callerDeletedKeyCount.add(task.keys.size());
+            deleteSafely(task.cache, task.keys, task.reason);
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Task first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (first == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            Map<Group, Set<Object>> keyMap = new LinkedHashMap<>();
+            int keyCount = first.add(keyMap);
+            Task task;
+            while (keyCount < maxBatchSize && (task = queue.poll()) != null) {
+                keyCount += task.add(keyMap);
+            }
+            for (Map.Entry<Group, Set<Object>> e : keyMap.entrySet()) {
+                Group group = e.getKey();
+                deleteSafely(group.cache, e.getValue(), group.reason);
+            }
+        }
+    }
+
+    private void deleteSafely(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+        try {
+            deleteWithRetry(cache, keys, reason);
+        } catch (Throwable ex) {
+            // Errors are not retried, but they must not kill the worker
+            failedKeyCount.add(keys.size());
+            LOGGER.error(
+                    "Failed to delete the keys {} of cache {}",
+                    keys,
+                    cache,
+                    ex
+            );
+        }
+    }
+
+    private void deleteWithRetry(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+        for (int retry = 0; ; retry++) {
+            try {
+                if (delegate != null) {
+                    delegate.deleteAll(cache, keys, reason);
+                } else {
+                    cache.deleteAll(keys, reason);
+                }
+                return;
+            } catch (RuntimeException ex) {
+                if (retry >= maxRetryCount) {
+                    failedKeyCount.add(keys.size());
+                    LOGGER.error(
+                            "Failed to delete the keys {} of cache {} after {} retries",
+                            keys,
+                            cache,
+                            retry,
+                            ex
+                    );
+                    return;
+                }
+                retryCount.increment();
+                long delay = Math.min(retryDelayMillis << Math.min(retry, 20), MAX_RETRY_DELAY_MILLIS);
+                LOGGER.warn(
+                        "Failed to delete the keys of cache {}, retry after {}ms",
+                        cache,
+                        delay,
+                        ex
+                );
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interruptedEx) {
+                    Thread.currentThread().interrupt();
+                    failedKeyCount.add(keys.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class Task {
+
+        final LocatedCache<Object, ?> cache;
+
+        final Collection<Object> keys;
+
+        final Object reason;
+
+        final long createdNanos = System.nanoTime();
+
+        Task(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+            this.cache = cache;
+            this.keys = keys;
+            this.reason = reason;
+        }
+
+        int add(Map<Group, Set<Object>> keyMap) {
+            keyMap
+                    .computeIfAbsent(new Group(cache, reason), it -> new LinkedHashSet<>())
+                    .addAll(keys);
+            return keys.size();
+        }
+    }
+
+    private static class Group {
+
+        final LocatedCache<Object, ?> cache;
+
+        final Object reason;
+
+        Group(LocatedCache<Object, ?> cache, Object reason) {
+            this.cache = cache;
+            this.reason = reason;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(cache) * 31 + Objects.hashCode(reason);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Group group = (Group) o;
+            return cache == group.cache && Objects.equals(reason, group.reason);
+        }
+    }
+
+    public static class Builder {
+
+        private CacheOperator delegate;
+
+        private int queueCapacity = 10_000;
+
+        private int workerCount = 1;
+
+        private int maxBatchSize = 512;
+
+        private int maxRetryCount = 3;
+
+        private long retryDelayMillis = 100;
+
+        Builder() {}
+
+        /**
+         * The operator used by workers to delete keys,
+         * if it is not specified, `LocatedCache.deleteAll` is used.
+         */
+        @OldChain
+        public Builder setDelegate(@Nullable CacheOperator delegate) {
+            if (delegate instanceof AsyncCacheOperator) {
+                throw new IllegalArgumentException("The delegate cannot be async cache operator");
+            }
+            this.delegate = delegate;
+            return this;
+        }
+
+        @OldChain
+        public Builder setQueueCapacity(int queueCapacity) {
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("queueCapacity cannot be less than 1");
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        @OldChain
+        public Builder setWorkerCount(int workerCount) {
+            if (workerCount < 1) {
+                throw new IllegalArgumentException("workerCount cannot be less than 1");
+            }
+            this.workerCount = workerCount;
+            return this;
+        }
+
+        /**
+         * The max count of keys taken from the queue by a worker at a time
+         */
+        @OldChain
+        public Builder setMaxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize cannot be less than 1");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        @OldChain
+        public Builder setMaxRetryCount(int maxRetryCount) {
+            if (maxRetryCount < 0) {
+                throw new IllegalArgumentException("maxRetryCount cannot be negative");
+            }
+            this.maxRetryCount = maxRetryCount;
+            return this;
+        }
+
+        /**
+         * The delay before the first retry, it is doubled for each subsequent retry
+         */
+        @OldChain
+        public Builder setRetryDelayMillis(long retryDelayMillis) {
+            if (retryDelayMillis < 0) {
+                throw new IllegalArgumentException("retryDelayMillis cannot be negative");
+            }
+            this.retryDelayMillis = retryDelayMillis;
+            return this;
+        }
+
+        public AsyncCacheOperator build() {
+            return new AsyncCacheOperator(this);
+        }
+    }
+}
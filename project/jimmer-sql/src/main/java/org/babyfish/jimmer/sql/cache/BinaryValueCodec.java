@@ -0,0 +1,769 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Compact binary codec driven by the metadata of immutable types.
+ *
+ * <p>The format is</p>
+ * <pre>
+ * header: magic(0xFE) version(1 byte) schemaHash(4 bytes)
+ * object: loadedBitmap nullBitmap value*
+ * </pre>
+ * <ul>
+ *     <li>Properties are identified by their index in the mutable properties
+ *     of the type instead of names, the loaded bitmap contains the loaded
+ *     and visible properties, the null bitmap contains the loaded properties
+ *     whose values are null, only the other loaded properties have values</li>
+ *     <li>Integral numbers are written as zigzag varints</li>
+ *     <li>Associated objects are written as nested objects</li>
+ *     <li>The values of the types which are not supported natively,
+ *     such as scalar lists, are written as length-prefixed json</li>
+ * </ul>
+ *
+ * <p>The schema hash is calculated by the properties of all the types
+ * which can be written, when the entity model is changed, the values
+ * written by the old model cannot be decoded and
+ * {@link IncompatibleValueException} is thrown, {@link ValueSerializer}
+ * treats these values as cache misses.</p>
+ *
+ * <p>Because the magic byte never starts a json document,
+ * {@link ValueSerializer} can read both binary and json values
+ * whichever codec is used to write, so the codec of a running
+ * system can be switched gradually.</p>
+ */
+public class BinaryValueCodec<T> implements ValueCodec<T> {
+
+    public static final int VERSION = 1;
+
+    private static final byte MAGIC = (byte) 0xFE;
+
+    private static final int HEADER_SIZE = 6;
+
+    private final ObjectMapper mapper;
+
+    private final Map<ImmutableType, TypeCodec> typeCodecMap = new HashMap<>();
+
+    private final Codec rootCodec;
+
+    private final int schemaHash;
+
+    public BinaryValueCodec(@NotNull ImmutableType type, @Nullable ObjectMapper mapper) {
+        this.mapper = JsonValueCodec.cloneMapper(mapper);
+        this.rootCodec = typeCodec(type);
+        this.schemaHash = schemaHash();
+    }
+
+    public BinaryValueCodec(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper) {
+        this.mapper = JsonValueCodec.cloneMapper(mapper);
+        if (prop.isAssociation(TargetLevel.ENTITY)) {
+            Class<?> targetIdClass = prop.getTargetType().getIdProp().getElementClass();
+            Codec idCodec = scalarCodec(targetIdClass, this.mapper.constructType(targetIdClass));
+            if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                this.rootCodec = new ListCodec(idCodec);
+            } else {
+                this.rootCodec = idCodec;
+            }
+        } else {
+            this.rootCodec = scalarCodec(
+                    prop.getElementClass(),
+                    this.mapper.constructType(prop.getElementClass())
+            );
+        }
+        this.schemaHash = rootCodec.toString().hashCode();
+    }
+
+    public static boolean isBinary(@NotNull byte[] bytes) {
+        return bytes.length >= HEADER_SIZE && bytes[0] == MAGIC;
+    }
+
+    @NotNull
+    @Override
+    public byte[] encode(@NotNull T value) {
+        Output out = new Output();
+        out.writeByte(MAGIC);
+        out.writeByte((byte) VERSION);
+        out.writeInt(schemaHash);
+        rootCodec.write(out, value);
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    @Override
+    public T decode(@NotNull byte[] bytes) {
+        if (!isBinary(bytes)) {
+            throw new SerializationException("The value is not written by binary value codec");
+        }
+        Input in = new Input(bytes);
+        in.readByte();
+        int version = in.readByte() & 0xFF;
+        if (version != VERSION) {
+            throw new IncompatibleValueException(
+                    "The binary value version " + version + " is not supported"
+            );
+        }
+        if (in.readInt() != schemaHash) {
+            throw new IncompatibleValueException(
+                    "The binary value is written by another version of the entity model"
+            );
+        }
+        return (T) rootCodec.read(in);
+    }
+
+    private TypeCodec typeCodec(ImmutableType type) {
+        TypeCodec typeCodec = typeCodecMap.get(type);
+        if (typeCodec == null) {
+            typeCodec = new TypeCodec(type);
+            typeCodecMap.put(type, typeCodec);
+            typeCodec.initialize(this);
+        }
+        return typeCodec;
+    }
+
+    private Codec propCodec(ImmutableProp prop) {
+        if (prop.isAssociation(TargetLevel.OBJECT)) {
+            TypeCodec targetCodec = typeCodec(prop.getTargetType());
+            if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                return new ListCodec(targetCodec);
+            }
+            return targetCodec;
+        }
+        JavaType jsonType = mapper.constructType(prop.getGenericType());
+        if (prop.isScalarList()) {
+            return new JsonCodec(mapper, jsonType);
+        }
+        return scalarCodec(prop.getElementClass(), jsonType);
+    }
+
+    private int schemaHash() {
+        StringBuilder builder = new StringBuilder();
+        List<TypeCodec> typeCodecs = new ArrayList<>(typeCodecMap.values());
+        typeCodecs.sort(Comparator.comparing(it -> it.type.toString()));
+        for (TypeCodec typeCodec : typeCodecs) {
+            typeCodec.appendSchema(builder);
+        }
+        return builder.toString().hashCode();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Codec scalarCodec(Class<?> type, JavaType jsonType) {
+        if (type == boolean.class || type == Boolean.class) {
+            return ScalarCodec.BOOLEAN;
+        }
+        if (type == byte.class || type == Byte.class) {
+            return ScalarCodec.BYTE;
+        }
+        if (type == short.class || type == Short.class) {
+            return ScalarCodec.SHORT;
+        }
+        if (type == int.class || type == Integer.class) {
+            return ScalarCodec.INT;
+        }
+        if (type == long.class || type == Long.class) {
+            return ScalarCodec.LONG;
+        }
+        if (type == char.class || type == Character.class) {
+            return ScalarCodec.CHAR;
+        }
+        if (type == float.class || type == Float.class) {
+            return ScalarCodec.FLOAT;
+        }
+        if (type == double.class || type == Double.class) {
+            return ScalarCodec.DOUBLE;
+        }
+        if (type == String.class) {
+            return ScalarCodec.STRING;
+        }
+        if (type == BigInteger.class) {
+            return ScalarCodec.BIG_INTEGER;
+        }
+        if (type == BigDecimal.class) {
+            return ScalarCodec.BIG_DECIMAL;
+        }
+        if (type == UUID.class) {
+            return ScalarCodec.UUID;
+        }
+        if (type == byte[].class) {
+            return ScalarCodec.BYTE_ARRAY;
+        }
+        if (type == java.util.Date.class) {
+            return ScalarCodec.DATE;
+        }
+        if (type == LocalDate.class) {
+            return ScalarCodec.LOCAL_DATE;
+        }
+        if (type == LocalTime.class) {
+            return ScalarCodec.LOCAL_TIME;
+        }
+        if (type == LocalDateTime.class) {
+            return ScalarCodec.LOCAL_DATE_TIME;
+        }
+        if (type == Instant.class) {
+            return ScalarCodec.INSTANT;
+        }
+        if (type.isEnum()) {
+            return new EnumCodec((Class<Enum>) type);
+        }
+        return new JsonCodec(mapper, jsonType);
+    }
+
+    private interface Codec {
+
+        void write(Output out, Object value);
+
+        Object read(Input in);
+    }
+
+    private static class TypeCodec implements Codec {
+
+        final ImmutableType type;
+
+        ImmutableProp[] props;
+
+        Codec[] propCodecs;
+
+        int bitmapSize;
+
+        TypeCodec(ImmutableType type) {
+            this.type = type;
+        }
+
+        void initialize(BinaryValueCodec<?> parent) {
+            List<ImmutableProp> props = new ArrayList<>();
+            for (ImmutableProp prop : type.getProps().values()) {
+                if (prop.isMutable()) {
+                    props.add(prop);
+                }
+            }
+            this.props = props.toArray(new ImmutableProp[0]);
+            this.bitmapSize = (this.props.length + 7) / 8;
+            Codec[] propCodecs = new Codec[this.props.length];
+            this.propCodecs = propCodecs;
+            for (int i = 0; i < propCodecs.length; i++) {
+                propCodecs[i] = parent.propCodec(this.props[i]);
+            }
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            ImmutableSpi spi = (ImmutableSpi) value;
+            if (spi.__type() != type) {
+                throw new SerializationException(
+                        "The object type \"" +
+                                spi.__type() +
+                                "\" does not match the expected type \"" +
+                                type +
+                                "\""
+                );
+            }
+            byte[] loadedBitmap = new byte[bitmapSize];
+            byte[] nullBitmap = new byte[bitmapSize];
+            Object[] values = new Object[props.length];
+            for (int i = 0; i < props.length; i++) {
+                int propId = props[i].getId();
+                if (spi.__isLoaded(propId) && spi.__isVisible(propId)) {
+                    loadedBitmap[i >> 3] |= (byte) (1 << (i & 7));
+                    Object propValue = spi.__get(propId);
+                    if (propValue == null) {
+                        nullBitmap[i >> 3] |= (byte) (1 << (i & 7));
+                    }
+                    values[i] = propValue;
+                }
+            }
+            out.writeRaw(loadedBitmap);
+            out.writeRaw(nullBitmap);
+            for (int i = 0; i < props.length; i++) {
+                if (values[i] != null) {
+                    propCodecs[i].write(out, values[i]);
+                }
+            }
+        }
+
+        @Override
+        public Object read(Input in) {
+            byte[] loadedBitmap = in.readRaw(bitmapSize);
+            byte[] nullBitmap = in.readRaw(bitmapSize);
+            return Internal.build(type, spi -> {
+                for (int i = 0; i < props.length; i++) {
+                    int mask = 1 << (i & 7);
+                    if ((loadedBitmap[i >> 3] & mask) != 0) {
+                        Object propValue = (nullBitmap[i >> 3] & mask) != 0 ?
+                                null :
+                                propCodecs[i].read(in);
+                        spi.__set(props[i].getId(), propValue);
+                    }
+                }
+            });
+        }
+
+        void appendSchema(StringBuilder builder) {
+            builder.append(type).append('{');
+            for (int i = 0; i < props.length; i++) {
+                ImmutableProp prop = props[i];
+                builder
+                        .append(prop.getName())
+                        .append(':')
+                        .append(prop.getElementClass().getName())
+                        .append(prop.isReferenceList(TargetLevel.OBJECT) || prop.isScalarList() ? "[]" : "")
+                        .append(propCodecs[i] instanceof TypeCodec || propCodecs[i] instanceof ListCodec ? "" : propCodecs[i])
+                        .append(';');
+            }
+            builder.append('}');
+        }
+
+        @Override
+        public String toString() {
+            return type.toString();
+        }
+    }
+
+    private static class ListCodec implements Codec {
+
+        private final Codec elementCodec;
+
+        ListCodec(Codec elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            List<?> list = (List<?>) value;
+            out.writeVarLong(list.size());
+            for (Object element : list) {
+                elementCodec.write(out, element);
+            }
+        }
+
+        @Override
+        public Object read(Input in) {
+            int size = (int) in.readVarLong();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(elementCodec.read(in));
+            }
+            return list;
+        }
+
+        @Override
+        public String toString() {
+            return "List<" + elementCodec + ">";
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static class EnumCodec implements Codec {
+
+        private final Class<Enum> enumClass;
+
+        EnumCodec(Class<Enum> enumClass) {
+            this.enumClass = enumClass;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            out.writeString(((Enum<?>) value).name());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object read(Input in) {
+            return Enum.valueOf(enumClass, in.readString());
+        }
+
+        @Override
+        public String toString() {
+            return "Enum<" + enumClass.getName() + ">";
+        }
+    }
+
+    private static class JsonCodec implements Codec {
+
+        private final ObjectMapper mapper;
+
+        private final JavaType type;
+
+        JsonCodec(ObjectMapper mapper, JavaType type) {
+            this.mapper = mapper;
+            this.type = type;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            try {
+                out.writeBytes(mapper.writerFor(type).writeValueAsBytes(value));
+            } catch (IOException ex) {
+                throw new SerializationException(ex);
+            }
+        }
+
+        @Override
+        public Object read(Input in) {
+            try {
+                return mapper.readValue(in.readBytes(), type);
+            } catch (IOException ex) {
+                throw new SerializationException(ex);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Json<" + type.toCanonical() + ">";
+        }
+    }
+
+    private enum ScalarCodec implements Codec {
+
+        BOOLEAN {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByte((byte) ((Boolean) value ? 1 : 0));
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readByte() != 0;
+            }
+        },
+        BYTE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByte((Byte) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readByte();
+            }
+        },
+        SHORT {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZag((Short) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return (short) in.readZigZag();
+            }
+        },
+        INT {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZag((Integer) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return (int) in.readZigZag();
+            }
+        },
+        LONG {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZag((Long) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readZigZag();
+            }
+        },
+        CHAR {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeVarLong((Character) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return (char) in.readVarLong();
+            }
+        },
+        FLOAT {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeInt(Float.floatToIntBits((Float) value));
+            }
+            @Override
+            public Object read(Input in) {
+                return Float.intBitsToFloat(in.readInt());
+            }
+        },
+        DOUBLE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeLong(Double.doubleToLongBits((Double) value));
+            }
+            @Override
+            public Object read(Input in) {
+                return Double.longBitsToDouble(in.readLong());
+            }
+        },
+        STRING {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeString((String) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readString();
+            }
+        },
+        BIG_INTEGER {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeBytes(((BigInteger) value).toByteArray());
+            }
+            @Override
+            public Object read(Input in) {
+                return new BigInteger(in.readBytes());
+            }
+        },
+        BIG_DECIMAL {
+            @Override
+            public void write(Output out, Object value) {
+                BigDecimal decimal = (BigDecimal) value;
+                out.writeZigZag(decimal.scale());
+                out.writeBytes(decimal.unscaledValue().toByteArray());
+            }
+            @Override
+            public Object read(Input in) {
+                int scale = (int) in.readZigZag();
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            }
+        },
+        UUID {
+            @Override
+            public void write(Output out, Object value) {
+                java.util.UUID uuid = (java.util.UUID) value;
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            }
+            @Override
+            public Object read(Input in) {
+                long mostSigBits = in.readLong();
+                return new java.util.UUID(mostSigBits, in.readLong());
+            }
+        },
+        BYTE_ARRAY {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeBytes((byte[]) value);
+            }
+            @Override
+            public Object read(Input in) {
+                return in.readBytes();
+            }
+        },
+        DATE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZag(((java.util.Date) value).getTime());
+            }
+            @Override
+            public Object read(Input in) {
+                return new java.util.Date(in.readZigZag());
+            }
+        },
+        LOCAL_DATE {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZag(((LocalDate) value).toEpochDay());
+            }
+            @Override
+            public Object read(Input in) {
+                return LocalDate.ofEpochDay(in.readZigZag());
+            }
+        },
+        LOCAL_TIME {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeVarLong(((LocalTime) value).toNanoOfDay());
+            }
+            @Override
+            public Object read(Input in) {
+                return LocalTime.ofNanoOfDay(in.readVarLong());
+            }
+        },
+        LOCAL_DATE_TIME {
+            @Override
+            public void write(Output out, Object value) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                out.writeZigZag(dateTime.toEpochSecond(ZoneOffset.UTC));
+                out.writeVarLong(dateTime.getNano());
+            }
+            @Override
+            public Object read(Input in) {
+                long epochSecond = in.readZigZag();
+                return LocalDateTime.ofEpochSecond(epochSecond, (int) in.readVarLong(), ZoneOffset.UTC);
+            }
+        },
+        INSTANT {
+            @Override
+            public void write(Output out, Object value) {
+                Instant instant = (Instant) value;
+                out.writeZigZag(instant.getEpochSecond());
+                out.writeVarLong(instant.getNano());
+            }
+            @Override
+            public Object read(Input in) {
+                long epochSecond = in.readZigZag();
+                return Instant.ofEpochSecond(epochSecond, in.readVarLong());
+            }
+        }
+    }
+
+    private static class Output {
+
+        private byte[] buf = new byte[64];
+
+        private int size;
+
+        void writeByte(byte b) {
+            ensureCapacity(1);
+            buf[size++] = b;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            buf[size++] = (byte) (value >>> 24);
+            buf[size++] = (byte) (value >>> 16);
+            buf[size++] = (byte) (value >>> 8);
+            buf[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeRaw(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            writeRaw(bytes);
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensureCapacity(int count) {
+            if (size + count > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, size + count));
+            }
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            require(1);
+            return buf[pos++];
+        }
+
+        int readInt() {
+            require(4);
+            return ((buf[pos++] & 0xFF) << 24) |
+                    ((buf[pos++] & 0xFF) << 16) |
+                    ((buf[pos++] & 0xFF) << 8) |
+                    (buf[pos++] & 0xFF);
+        }
+
+        long readLong() {
+            long high = readInt();
+            return (high << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint");
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        byte[] readRaw(int length) {
+            require(length);
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        byte[] readBytes() {
+            return readRaw((int) readVarLong());
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            require(length);
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        private void require(int count) {
+            if (count < 0 || pos + count > buf.length) {
+                throw new SerializationException("Unexpected end of binary value");
+            }
+        }
+    }
+
+    /**
+     * The binary value is written by another codec version or another entity model
+     */
+    public static class IncompatibleValueException extends SerializationException {
+
+        public IncompatibleValueException(String message) {
+            super(message);
+        }
+    }
+}
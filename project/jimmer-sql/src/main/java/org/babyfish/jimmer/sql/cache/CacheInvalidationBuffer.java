@@ -0,0 +1,126 @@
+package org.babyfish.jimmer.sql.cache;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Collects the cache keys which are deleted by the trigger listeners
+ * of caches in the current thread, and deletes them by one `deleteAll`
+ * per cache and reason when the outermost scope is finished.
+ *
+ * <p>Save commands and DML statements use this scope when they submit
+ * the changed data of transaction trigger. For BinLog trigger, the
+ * consumer of binlog messages can wrap a batch of messages by
+ * {@link #execute(Runnable)}; similarly, a whole transaction can be
+ * wrapped so that keys are deleted after all its commands are executed.
+ * Scopes can be nested, only the outermost one deletes the keys.</p>
+ *
+ * <p>If there is no scope, the keys are deleted immediately.</p>
+ */
+public final class CacheInvalidationBuffer {
+
+    private static final ThreadLocal<CacheInvalidationBuffer> BUFFER_LOCAL = new ThreadLocal<>();
+
+    private final Map<Target, Set<Object>> keyMap = new LinkedHashMap<>();
+
+    private CacheInvalidationBuffer() {}
+
+    public static void execute(Runnable block) {
+        execute(() -> {
+            block.run();
+            return null;
+        });
+    }
+
+    public static <R> R execute(Supplier<R> block) {
+        if (BUFFER_LOCAL.get() != null) {
+            return block.get();
+        }
+        CacheInvalidationBuffer buffer = new CacheInvalidationBuffer();
+        BUFFER_LOCAL.set(buffer);
+        R result;
+        try {
+            result = block.get();
+        } catch (RuntimeException | Error ex) {
+            // The keys collected before the failure must still be deleted
+            BUFFER_LOCAL.remove();
+            try {
+                buffer.flush();
+            } catch (RuntimeException | Error flushEx) {
+                ex.addSuppressed(flushEx);
+            }
+            throw ex;
+        }
+        BUFFER_LOCAL.remove();
+        buffer.flush();
+        return result;
+    }
+
+    /**
+     * @return Whether the key is collected by the buffer of current thread
+     */
+    static boolean add(CachesImpl caches, LocatedCache<Object, ?> cache, Object key, Object reason) {
+        CacheInvalidationBuffer buffer = BUFFER_LOCAL.get();
+        if (buffer == null) {
+            return false;
+        }
+        buffer
+                .keyMap
+                .computeIfAbsent(new Target(caches, cache, reason), it -> new LinkedHashSet<>())
+                .add(key);
+        return true;
+    }
+
+    private void flush() {
+        Throwable throwable = null;
+        for (Map.Entry<Target, Set<Object>> e : keyMap.entrySet()) {
+            Target target = e.getKey();
+            try {
+                target.caches.deleteAll(target.cache, e.getValue(), target.reason);
+            } catch (RuntimeException | Error ex) {
+                if (throwable == null) {
+                    throwable = ex;
+                }
+            }
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+    }
+
+    private static class Target {
+
+        final CachesImpl caches;
+
+        final LocatedCache<Object, ?> cache;
+
+        final Object reason;
+
+        Target(CachesImpl caches, LocatedCache<Object, ?> cache, Object reason) {
+            this.caches = caches;
+            this.cache = cache;
+            this.reason = reason;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(caches);
+            result = 31 * result + System.identityHashCode(cache);
+            result = 31 * result + Objects.hashCode(reason);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Target target = (Target) o;
+            return caches == target.caches &&
+                    cache == target.cache &&
+                    Objects.equals(reason, target.reason);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.babyfish.jimmer.sql.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the keys deleted by the trigger listeners of caches,
+ * see {@link CacheInvalidationBuffer}.
+ */
+public class CacheInvalidationStatistics {
+
+    private final LongAdder requestedKeyCount = new LongAdder();
+
+    private final LongAdder deletedKeyCount = new LongAdder();
+
+    private final LongAdder batchCount = new LongAdder();
+
+    CacheInvalidationStatistics() {}
+
+    /**
+     * @return The count of keys required by trigger events, including duplicated keys
+     */
+    public long getRequestedKeyCount() {
+        return requestedKeyCount.sum();
+    }
+
+    /**
+     * @return The count of keys which are really deleted
+     */
+    public long getDeletedKeyCount() {
+        return deletedKeyCount.sum();
+    }
+
+    /**
+     * @return The count of keys which are removed by deduplication,
+     * it is always 0 for the keys that are deleted immediately
+     */
+    public long getCoalescedKeyCount() {
+        return requestedKeyCount.sum() - deletedKeyCount.sum();
+    }
+
+    /**
+     * @return The count of `deleteAll` executed by {@link CacheInvalidationBuffer}
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    void requested() {
+        requestedKeyCount.increment();
+    }
+
+    void deleted(int keyCount, boolean batch) {
+        deletedKeyCount.add(keyCount);
+        if (batch) {
+            batchCount.increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationStatistics{" +
+                "requestedKeyCount=" + requestedKeyCount.sum() +
+                ", deletedKeyCount=" + deletedKeyCount.sum() +
+                ", batchCount=" + batchCount.sum() +
+                '}';
+    }
+}
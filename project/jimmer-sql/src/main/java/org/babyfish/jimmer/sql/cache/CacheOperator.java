@@ -1,7 +1,19 @@
 package org.babyfish.jimmer.sql.cache;
 
+import java.util.Collection;
+
 @FunctionalInterface
 public interface CacheOperator {
 
     void delete(LocatedCache<Object, ?> cache, Object key, Object reason);
+
+    /**
+     * Delete the keys collected by {@link CacheInvalidationBuffer},
+     * the default implementation deletes them one by one.
+     */
+    default void deleteAll(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+        for (Object key : keys) {
+            delete(cache, key, reason);
+        }
+    }
 }
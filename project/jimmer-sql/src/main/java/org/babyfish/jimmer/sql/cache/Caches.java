@@ -19,4 +19,6 @@ public interface Caches {
     <K, V> Cache<K, V> getPropertyCache(ImmutableProp prop);
 
     CacheAbandonedCallback getAbandonedCallback();
+
+    CacheInvalidationStatistics getInvalidationStatistics();
 }
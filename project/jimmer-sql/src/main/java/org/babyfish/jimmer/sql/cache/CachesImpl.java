@@ -28,6 +28,8 @@ public class CachesImpl implements Caches {
 
     private final Set<ImmutableProp> disabledProps;
 
+    private final CacheInvalidationStatistics invalidationStatistics;
+
     public CachesImpl(
             Triggers triggers,
             Map<ImmutableType, Cache<?, ?>> objectCacheMap,
@@ -50,6 +52,7 @@ public class CachesImpl implements Caches {
         this.propCacheMap = propCacheWrapperMap;
         this.operator = operator;
         this.abandonedCallback = abandonedCallback;
+        this.invalidationStatistics = new CacheInvalidationStatistics();
         this.disableAll = false;
         this.disabledTypes = Collections.emptySet();
         this.disabledProps = Collections.emptySet();
@@ -64,6 +67,7 @@ public class CachesImpl implements Caches {
         propCacheMap = base.propCacheMap;
         operator = base.operator;
         abandonedCallback = base.abandonedCallback;
+        invalidationStatistics = base.invalidationStatistics;
         disableAll = cfg.isDisableAll();
         disabledTypes = cfg.getDisabledTypes();
         disabledProps = cfg.getDisabledProps();
@@ -77,6 +81,14 @@ public class CachesImpl implements Caches {
         return Collections.unmodifiableMap(propCacheMap);
     }
 
+    /**
+     * The key of the disabled caches, the caches derived
+     * from the same base behave the same if their keys are equal.
+     */
+    public Object getDisablingKey() {
+        return Arrays.asList(disableAll, disabledTypes, disabledProps);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <K, V> LocatedCache<K, V> getObjectCache(ImmutableType type) {
@@ -106,6 +118,11 @@ public class CachesImpl implements Caches {
         return abandonedCallback;
     }
 
+    @Override
+    public CacheInvalidationStatistics getInvalidationStatistics() {
+        return invalidationStatistics;
+    }
+
     @SuppressWarnings("unchecked")
     private LocatedCacheImpl<?, ?> wrapObjectCache(
             Triggers triggers,
@@ -122,12 +139,7 @@ public class CachesImpl implements Caches {
         triggers.addEntityListener(type, e -> {
             ImmutableSpi oldEntity = (ImmutableSpi) e.getOldEntity();
             if (oldEntity != null) {
-                Object id = e.getId();
-                if (operator != null) {
-                    operator.delete(wrapper, id, e.getReason());
-                } else {
-                    wrapper.delete(id, e.getReason());
-                }
+                invalidate(wrapper, e.getId(), e.getReason());
             }
         });
         return wrapper;
@@ -151,17 +163,34 @@ public class CachesImpl implements Caches {
         );
         if (prop.isAssociation(TargetLevel.PERSISTENT)) {
             triggers.addAssociationListener(prop, e -> {
-                Object id = e.getSourceId();
-                if (operator != null) {
-                    operator.delete(wrapper, id, e.getReason());
-                } else {
-                    wrapper.delete(id, e.getReason());
-                }
+                invalidate(wrapper, e.getSourceId(), e.getReason());
             });
         }
         return wrapper;
     }
 
+    private void invalidate(LocatedCache<Object, ?> cache, Object key, Object reason) {
+        invalidationStatistics.requested();
+        if (CacheInvalidationBuffer.add(this, cache, key, reason)) {
+            return;
+        }
+        if (operator != null) {
+            operator.delete(cache, key, reason);
+        } else {
+            cache.delete(key, reason);
+        }
+        invalidationStatistics.deleted(1, false);
+    }
+
+    void deleteAll(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+        if (operator != null) {
+            operator.deleteAll(cache, keys, reason);
+        } else {
+            cache.deleteAll(keys, reason);
+        }
+        invalidationStatistics.deleted(keys.size(), true);
+    }
+
     public static Caches of(
             Triggers triggers,
             EntityManager entityManager,
@@ -0,0 +1,80 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.SimpleType;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.babyfish.jimmer.jackson.ImmutableModule;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+public class JsonValueCodec<T> implements ValueCodec<T> {
+
+    private final ObjectMapper mapper;
+
+    private final JavaType valueType;
+
+    public JsonValueCodec(@NotNull ImmutableType type, @Nullable ObjectMapper mapper) {
+        this.mapper = cloneMapper(mapper);
+        this.valueType = SimpleType.constructUnsafe(type.getJavaClass());
+    }
+
+    public JsonValueCodec(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper) {
+        this.mapper = cloneMapper(mapper);
+        if (prop.isAssociation(TargetLevel.ENTITY)) {
+            ImmutableProp targetIdProp = prop.getTargetType().getIdProp();
+            JavaType targetIdType = SimpleType.constructUnsafe(
+                    targetIdProp.getElementClass()
+            );
+            if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                this.valueType = CollectionType.construct(
+                        List.class,
+                        null,
+                        null,
+                        null,
+                        targetIdType
+                );
+            } else {
+                this.valueType = targetIdType;
+            }
+        } else {
+            this.valueType = SimpleType.constructUnsafe(prop.getElementClass());
+        }
+    }
+
+    @NotNull
+    @Override
+    public byte[] encode(@NotNull T value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    @NotNull
+    @Override
+    public T decode(@NotNull byte[] bytes) {
+        try {
+            return mapper.readValue(bytes, valueType);
+        } catch (IOException ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    static ObjectMapper cloneMapper(ObjectMapper mapper) {
+        ObjectMapper clonedMapper = mapper != null?
+            new ObjectMapper(mapper) {} :
+            new ObjectMapper().registerModule(new JavaTimeModule());
+        clonedMapper.registerModule(new ImmutableModule());
+        return clonedMapper;
+    }
+}
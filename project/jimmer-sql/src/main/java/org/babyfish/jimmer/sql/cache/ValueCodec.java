@@ -0,0 +1,22 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Converts the non-null values of remote caches to bytes and back.
+ *
+ * <p>Codecs are created by {@link ValueCodecFactory} and used by
+ * {@link ValueSerializer}, which handles null values, batches and
+ * the draft context of deserialized entity objects.</p>
+ *
+ * @see JsonValueCodec
+ * @see BinaryValueCodec
+ */
+public interface ValueCodec<T> {
+
+    @NotNull
+    byte[] encode(@NotNull T value);
+
+    @NotNull
+    T decode(@NotNull byte[] bytes);
+}
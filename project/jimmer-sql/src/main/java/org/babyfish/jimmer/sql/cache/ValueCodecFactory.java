@@ -0,0 +1,60 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Creates the {@link ValueCodec} of an object cache or a property cache,
+ * it can be specified for each remote binder.
+ */
+public interface ValueCodecFactory {
+
+    /**
+     * The default factory, values are serialized by jackson
+     */
+    ValueCodecFactory JSON = new ValueCodecFactory() {
+
+        @Override
+        public <T> ValueCodec<T> createObjectCodec(@NotNull ImmutableType type, @Nullable ObjectMapper mapper) {
+            return new JsonValueCodec<>(type, mapper);
+        }
+
+        @Override
+        public <T> ValueCodec<T> createPropCodec(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper) {
+            return new JsonValueCodec<>(prop, mapper);
+        }
+
+        @Override
+        public String toString() {
+            return "ValueCodecFactory.JSON";
+        }
+    };
+
+    /**
+     * Values are serialized by the compact binary format of {@link BinaryValueCodec}
+     */
+    ValueCodecFactory BINARY = new ValueCodecFactory() {
+
+        @Override
+        public <T> ValueCodec<T> createObjectCodec(@NotNull ImmutableType type, @Nullable ObjectMapper mapper) {
+            return new BinaryValueCodec<>(type, mapper);
+        }
+
+        @Override
+        public <T> ValueCodec<T> createPropCodec(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper) {
+            return new BinaryValueCodec<>(prop, mapper);
+        }
+
+        @Override
+        public String toString() {
+            return "ValueCodecFactory.BINARY";
+        }
+    };
+
+    <T> ValueCodec<T> createObjectCodec(@NotNull ImmutableType type, @Nullable ObjectMapper mapper);
+
+    <T> ValueCodec<T> createPropCodec(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper);
+}
@@ -1,20 +1,12 @@
 package org.babyfish.jimmer.sql.cache;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
-import com.fasterxml.jackson.databind.type.SimpleType;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.babyfish.jimmer.jackson.ImmutableModule;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
-import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.DraftContext;
 import org.babyfish.jimmer.runtime.Internal;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Function;
@@ -23,57 +15,88 @@ public class ValueSerializer<T> {
 
     private static final byte[] NULL_BYTES = "<null>".getBytes(StandardCharsets.UTF_8);
 
+    private final ImmutableType type;
+
+    private final ImmutableProp prop;
+
     private final ObjectMapper mapper;
 
-    private final JavaType valueType;
+    private final ValueCodec<T> codec;
+
+    private final ValueCodec<T> jsonCodec;
+
+    // Created when a binary value is read by a serializer using another codec
+    private volatile ValueCodec<T> binaryCodec;
 
     private final boolean requireNewDraftContext;
 
     public ValueSerializer(@NotNull ImmutableType type) {
-        this(type, null, null);
+        this(type, null, null, null);
     }
 
     public ValueSerializer(@NotNull ImmutableProp prop) {
-        this(null, prop, null);
+        this(null, prop, null, null);
     }
 
     public ValueSerializer(@NotNull ImmutableType type, ObjectMapper mapper) {
-        this(type, null, mapper);
+        this(type, null, mapper, null);
     }
 
     public ValueSerializer(@NotNull ImmutableProp prop, ObjectMapper mapper) {
-        this(null, prop, mapper);
+        this(null, prop, mapper, null);
     }
 
-    private ValueSerializer(ImmutableType type, ImmutableProp prop, ObjectMapper mapper) {
+    /**
+     * @param codecFactory The factory of the codec used to write values,
+     *                     if it is null, {@link ValueCodecFactory#JSON} is used.
+     *                     No matter what codec is used to write, values written by
+     *                     {@link JsonValueCodec} or {@link BinaryValueCodec} can always be read.
+     */
+    public ValueSerializer(
+            @NotNull ImmutableType type,
+            ObjectMapper mapper,
+            ValueCodecFactory codecFactory
+    ) {
+        this(type, null, mapper, codecFactory);
+    }
+
+    /**
+     * @param codecFactory The factory of the codec used to write values,
+     *                     if it is null, {@link ValueCodecFactory#JSON} is used.
+     *                     No matter what codec is used to write, values written by
+     *                     {@link JsonValueCodec} or {@link BinaryValueCodec} can always be read.
+     */
+    public ValueSerializer(
+            @NotNull ImmutableProp prop,
+            ObjectMapper mapper,
+            ValueCodecFactory codecFactory
+    ) {
+        this(null, prop, mapper, codecFactory);
+    }
+
+    private ValueSerializer(
+            ImmutableType type,
+            ImmutableProp prop,
+            ObjectMapper mapper,
+            ValueCodecFactory codecFactory
+    ) {
         if ((type == null) == (prop == null)) {
             throw new IllegalArgumentException("Internal bug: nullity of type and prop must be different");
         }
-        ObjectMapper clonedMapper = mapper != null?
-            new ObjectMapper(mapper) {} :
-            new ObjectMapper().registerModule(new JavaTimeModule());
-        clonedMapper.registerModule(new ImmutableModule());
-        this.mapper = clonedMapper;
-        if (prop == null) {
-            this.valueType = SimpleType.constructUnsafe(type.getJavaClass());
-        } else if (prop.isAssociation(TargetLevel.ENTITY)) {
-            ImmutableProp targetIdProp = prop.getTargetType().getIdProp();
-            JavaType targetIdType = SimpleType.constructUnsafe(
-                    targetIdProp.getElementClass()
-            );
-            if (prop.isReferenceList(TargetLevel.OBJECT)) {
-                this.valueType = CollectionType.construct(
-                        List.class,
-                        null,
-                        null,
-                        null,
-                        targetIdType
-                );
-            } else {
-                this.valueType = targetIdType;
-            }
+        this.type = type;
+        this.prop = prop;
+        this.mapper = mapper;
+        this.jsonCodec = prop == null ?
+                new JsonValueCodec<>(type, mapper) :
+                new JsonValueCodec<>(prop, mapper);
+        if (codecFactory == null || codecFactory == ValueCodecFactory.JSON) {
+            this.codec = jsonCodec;
+        } else if (codecFactory == ValueCodecFactory.BINARY) {
+            this.codec = binaryCodec();
+        } else if (prop == null) {
+            this.codec = codecFactory.createObjectCodec(type, mapper);
         } else {
-            this.valueType = SimpleType.constructUnsafe(prop.getElementClass());
+            this.codec = codecFactory.createPropCodec(prop, mapper);
         }
         this.requireNewDraftContext = type != null;
     }
@@ -83,11 +106,7 @@ public class ValueSerializer<T> {
         if (value == null) {
             return NULL_BYTES.clone();
         }
-        try {
-            return mapper.writeValueAsBytes(value);
-        } catch (JsonProcessingException ex) {
-            throw new SerializationException(ex);
-        }
+        return codec.encode(value);
     }
 
     @NotNull
@@ -108,11 +127,20 @@ public class ValueSerializer<T> {
         return serializedMap;
     }
 
+    /**
+     * @return The deserialized value, or null if the value is null or is
+     * written by another codec version or another entity model,
+     * so that it is treated as a cache miss and overwritten
+     */
     public T deserialize(byte[] value) {
-        if (!requireNewDraftContext) {
-            return deserializeImpl(value, null);
+        try {
+            if (!requireNewDraftContext) {
+                return deserializeImpl(value, null);
+            }
+            return Internal.requiresNewDraftContext(ctx -> deserializeImpl(value, ctx));
+        } catch (BinaryValueCodec.IncompatibleValueException ex) {
+            return null;
         }
-        return Internal.requiresNewDraftContext(ctx -> deserializeImpl(value, ctx));
     }
 
     @NotNull
@@ -120,12 +148,12 @@ public class ValueSerializer<T> {
         Map<K, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         if (!requireNewDraftContext) {
             for (Map.Entry<K, byte[]> e : map.entrySet()) {
-                deserializedMap.put(e.getKey(), deserializeImpl(e.getValue(), null));
+                putDeserialized(deserializedMap, e.getKey(), e.getValue(), null);
             }
         } else {
             Internal.requiresNewDraftContext(ctx -> {
                 for (Map.Entry<K, byte[]> e : map.entrySet()) {
-                    deserializedMap.put(e.getKey(), deserializeImpl(e.getValue(), ctx));
+                    putDeserialized(deserializedMap, e.getKey(), e.getValue(), ctx);
                 }
                 return null;
             });
@@ -138,12 +166,12 @@ public class ValueSerializer<T> {
         Map<K2, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
         if (!requireNewDraftContext) {
             for (Map.Entry<K1, byte[]> e : map.entrySet()) {
-                deserializedMap.put(keyMapper.apply(e.getKey()), deserializeImpl(e.getValue(), null));
+                putDeserialized(deserializedMap, keyMapper.apply(e.getKey()), e.getValue(), null);
             }
         } else {
             Internal.requiresNewDraftContext(ctx -> {
                 for (Map.Entry<K1, byte[]> e : map.entrySet()) {
-                    deserializedMap.put(keyMapper.apply(e.getKey()), deserializeImpl(e.getValue(), ctx));
+                    putDeserialized(deserializedMap, keyMapper.apply(e.getKey()), e.getValue(), ctx);
                 }
                 return null;
             });
@@ -161,7 +189,7 @@ public class ValueSerializer<T> {
                 K key = keyItr.next();
                 byte[] byteArr = byteArrItr.next();
                 if (byteArr != null) {
-                    deserializedMap.put(key, deserializeImpl(byteArr, null));
+                    putDeserialized(deserializedMap, key, byteArr, null);
                 }
             }
         } else {
@@ -172,7 +200,7 @@ public class ValueSerializer<T> {
                     K key = keyItr.next();
                     byte[] byteArr = byteArrItr.next();
                     if (byteArr != null) {
-                        deserializedMap.put(key, deserializeImpl(byteArr, ctx));
+                        putDeserialized(deserializedMap, key, byteArr, ctx);
                     }
                 }
                 return null;
@@ -181,16 +209,44 @@ public class ValueSerializer<T> {
         return deserializedMap;
     }
 
+    /**
+     * The values written by another codec version or another entity model
+     * are ignored, so that they are treated as cache misses and overwritten
+     */
+    private <K> void putDeserialized(Map<K, T> deserializedMap, K key, byte[] value, DraftContext ctx) {
+        T deserializedValue;
+        try {
+            deserializedValue = deserializeImpl(value, ctx);
+        } catch (BinaryValueCodec.IncompatibleValueException ex) {
+            return;
+        }
+        deserializedMap.put(key, deserializedValue);
+    }
+
     private T deserializeImpl(byte[] value, DraftContext ctx) {
         if (value == null || value.length == 0 || Arrays.equals(value, NULL_BYTES)) {
             return null;
         }
-        T deserializedValue;
-        try {
-            deserializedValue = mapper.readValue(value, valueType);
-        } catch (IOException ex) {
-            throw new SerializationException(ex);
+        ValueCodec<T> decoder;
+        if (BinaryValueCodec.isBinary(value)) {
+            decoder = binaryCodec();
+        } else if (codec instanceof BinaryValueCodec<?>) {
+            decoder = jsonCodec;
+        } else {
+            decoder = codec;
         }
+        T deserializedValue = decoder.decode(value);
         return ctx != null ? ctx.resolveObject(deserializedValue) : deserializedValue;
     }
+
+    private ValueCodec<T> binaryCodec() {
+        ValueCodec<T> binaryCodec = this.binaryCodec;
+        if (binaryCodec == null) {
+            binaryCodec = prop == null ?
+                    new BinaryValueCodec<>(type, mapper) :
+                    new BinaryValueCodec<>(prop, mapper);
+            this.binaryCodec = binaryCodec;
+        }
+        return binaryCodec;
+    }
 }
@@ -65,7 +65,10 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         LoadingNode(LoadingBinder<K, V> binder, Node<K, V> next) {
             this.binder = binder;
             this.next = next;
-            binder.initialize(next);
+            SingleFlight<K, V> singleFlight = new SingleFlight<>();
+            binder.initialize(
+                    keys -> singleFlight.loadAll(keys, Collections.emptySortedMap(), next::loadAll)
+            );
         }
 
         @NotNull
@@ -87,6 +90,8 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
 
         protected final Node<K, V> next;
 
+        protected final SingleFlight<K, V> singleFlight = new SingleFlight<>();
+
         protected SimpleNode(SimpleBinder<K, V> binder, Node<K, V> next) {
             this.binder = binder;
             this.next = next;
@@ -103,19 +108,25 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
                         missedKeys.add(key);
                     }
                 }
-                Map<K, V> mapFromNext = next.loadAll(missedKeys);
-                if (mapFromNext.size() < missedKeys.size()) {
-                    mapFromNext = new HashMap<>(mapFromNext);
-                    for (K missedKey : missedKeys) {
-                        if (!mapFromNext.containsKey(missedKey)) {
-                            mapFromNext.put(missedKey, null);
-                        }
+                map.putAll(
+                        singleFlight.loadAll(missedKeys, Collections.emptySortedMap(), this::loadMissedAll)
+                );
+            }
+            return map;
+        }
+
+        private Map<K, V> loadMissedAll(Collection<K> missedKeys) {
+            Map<K, V> mapFromNext = next.loadAll(missedKeys);
+            if (mapFromNext.size() < missedKeys.size()) {
+                mapFromNext = new HashMap<>(mapFromNext);
+                for (K missedKey : missedKeys) {
+                    if (!mapFromNext.containsKey(missedKey)) {
+                        mapFromNext.put(missedKey, null);
                     }
                 }
-                binder.setAll(mapFromNext);
-                map.putAll(mapFromNext);
             }
-            return map;
+            binder.setAll(mapFromNext);
+            return mapFromNext;
         }
 
         @Override
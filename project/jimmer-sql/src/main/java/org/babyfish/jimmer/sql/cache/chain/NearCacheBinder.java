@@ -0,0 +1,240 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.babyfish.jimmer.impl.util.Classes;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.spi.CacheInvalidationMessage;
+import org.babyfish.jimmer.sql.cache.spi.CacheInvalidationTransport;
+import org.babyfish.jimmer.sql.runtime.Converters;
+
+import java.util.*;
+
+/**
+ * Near cache binder which decorates a local binder (for example, a caffeine binder)
+ * so that the keys deleted on one node are deleted from the local caches of
+ * all the other nodes too.
+ *
+ * <pre>{@code
+ * new ChainCacheBuilder<>()
+ *     .add(new NearCacheBinder<>(new CaffeineBinder<>(512, Duration.ofHours(1)), transport, type))
+ *     .add(new RedisValueBinder<>(redisTemplate, objectMapper, type, Duration.ofDays(1)))
+ *     .build()
+ * }</pre>
+ *
+ * <p>When {@link #deleteAll(Collection, Object)} is called by the chain cache,
+ * the local binder is deleted and a {@link CacheInvalidationMessage} is published
+ * by the transport, other nodes delete the keys from their local binders
+ * after receiving it.</p>
+ *
+ * <p>Note: The invalidation is not versioned. If another node reads the old value
+ * from the next binder or the database before the message arrives, but stores it
+ * into its local binder after the message has been handled, that stale value
+ * stays in the local binder until it expires. So the expiration time of the local
+ * binder is the upper bound of staleness and should be kept short.</p>
+ *
+ * <p>The keys of received messages are converted to the id type of the entity
+ * when the binder is created by {@link ImmutableType} or {@link ImmutableProp},
+ * because a transport serializing messages as JSON may change their types,
+ * for example, from `Long` to `Integer`.</p>
+ */
+public class NearCacheBinder<K, V> implements LoadingBinder<K, V> {
+
+    private final LoadingBinder<K, V> localBinder;
+
+    private final Channel channel;
+
+    public NearCacheBinder(
+            LoadingBinder<K, V> localBinder,
+            CacheInvalidationTransport transport,
+            ImmutableType type
+    ) {
+        this(localBinder, transport, channelName(type), keyType(type));
+    }
+
+    public NearCacheBinder(
+            LoadingBinder<K, V> localBinder,
+            CacheInvalidationTransport transport,
+            ImmutableProp prop
+    ) {
+        this(localBinder, transport, channelName(prop), keyType(prop));
+    }
+
+    /**
+     * The keys of received messages are not converted,
+     * so the transport must keep their types.
+     */
+    public NearCacheBinder(
+            LoadingBinder<K, V> localBinder,
+            CacheInvalidationTransport transport,
+            String channel
+    ) {
+        this(localBinder, transport, channel, null);
+    }
+
+    /**
+     * @param keyType The type which the keys of received messages are converted to,
+     *                or null if they are not converted
+     */
+    public NearCacheBinder(
+            LoadingBinder<K, V> localBinder,
+            CacheInvalidationTransport transport,
+            String channel,
+            Class<?> keyType
+    ) {
+        this.localBinder = Objects.requireNonNull(localBinder, "localBinder cannot be null");
+        this.channel = new Channel(transport, channel, keyType);
+    }
+
+    @Override
+    public void initialize(CacheChain<K, V> chain) {
+        localBinder.initialize(chain);
+        channel.subscribe(localBinder::deleteAll);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        return localBinder.getAll(keys);
+    }
+
+    @Override
+    public void deleteAll(Collection<K> keys, Object reason) {
+        localBinder.deleteAll(keys, reason);
+        channel.publish(keys, reason);
+    }
+
+    public static class Parameterized<K, V> implements LoadingBinder.Parameterized<K, V> {
+
+        private final LoadingBinder.Parameterized<K, V> localBinder;
+
+        private final Channel channel;
+
+        public Parameterized(
+                LoadingBinder.Parameterized<K, V> localBinder,
+                CacheInvalidationTransport transport,
+                ImmutableType type
+        ) {
+            this(localBinder, transport, channelName(type), keyType(type));
+        }
+
+        public Parameterized(
+                LoadingBinder.Parameterized<K, V> localBinder,
+                CacheInvalidationTransport transport,
+                ImmutableProp prop
+        ) {
+            this(localBinder, transport, channelName(prop), keyType(prop));
+        }
+
+        public Parameterized(
+                LoadingBinder.Parameterized<K, V> localBinder,
+                CacheInvalidationTransport transport,
+                String channel
+        ) {
+            this(localBinder, transport, channel, null);
+        }
+
+        public Parameterized(
+                LoadingBinder.Parameterized<K, V> localBinder,
+                CacheInvalidationTransport transport,
+                String channel,
+                Class<?> keyType
+        ) {
+            this.localBinder = Objects.requireNonNull(localBinder, "localBinder cannot be null");
+            this.channel = new Channel(transport, channel, keyType);
+        }
+
+        @Override
+        public void initialize(CacheChain.Parameterized<K, V> chain) {
+            localBinder.initialize(chain);
+            channel.subscribe(localBinder::deleteAll);
+        }
+
+        @Override
+        public Map<K, V> getAll(Collection<K> keys, SortedMap<String, Object> parameterMap) {
+            return localBinder.getAll(keys, parameterMap);
+        }
+
+        @Override
+        public void deleteAll(Collection<K> keys, Object reason) {
+            localBinder.deleteAll(keys, reason);
+            channel.publish(keys, reason);
+        }
+    }
+
+    private static String channelName(ImmutableType type) {
+        return type.getJavaClass().getName();
+    }
+
+    private static String channelName(ImmutableProp prop) {
+        return prop.getDeclaringType().getJavaClass().getName() + '.' + prop.getName();
+    }
+
+    private static Class<?> keyType(ImmutableType type) {
+        return type.getIdProp().getElementClass();
+    }
+
+    // The association caches and calculated caches of a property use the ids of declaring type as keys
+    private static Class<?> keyType(ImmutableProp prop) {
+        return keyType(prop.getDeclaringType());
+    }
+
+    private interface LocalDeleter<K> {
+        void deleteAll(Collection<K> keys, Object reason);
+    }
+
+    private static class Channel {
+
+        private final CacheInvalidationTransport transport;
+
+        private final String name;
+
+        private final Class<?> keyType;
+
+        private final String sourceId = UUID.randomUUID().toString();
+
+        private boolean subscribed;
+
+        Channel(CacheInvalidationTransport transport, String name, Class<?> keyType) {
+            this.transport = Objects.requireNonNull(transport, "transport cannot be null");
+            this.name = Objects.requireNonNull(name, "channel cannot be null");
+            this.keyType = keyType != null ? Classes.boxTypeOf(keyType) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <K> void subscribe(LocalDeleter<K> localDeleter) {
+            if (subscribed) {
+                throw new IllegalStateException("The near cache binder has already been initialized");
+            }
+            transport.subscribe(name, message -> {
+                if (!sourceId.equals(message.getSourceId())) {
+                    localDeleter.deleteAll((Collection<K>) keys(message.getKeys()), message.getReason());
+                }
+            });
+            subscribed = true;
+        }
+
+        private Collection<?> keys(Collection<?> keys) {
+            if (keyType == null) {
+                return keys;
+            }
+            List<Object> convertedKeys = new ArrayList<>(keys.size());
+            for (Object key : keys) {
+                Object convertedKey = null;
+                if (key instanceof String && keyType == UUID.class) {
+                    convertedKey = UUID.fromString((String) key);
+                } else if (key != null && !keyType.isInstance(key)) {
+                    convertedKey = Converters.tryConvert(key, keyType);
+                }
+                convertedKeys.add(convertedKey != null ? convertedKey : key);
+            }
+            return convertedKeys;
+        }
+
+        void publish(Collection<?> keys, Object reason) {
+            if (!keys.isEmpty()) {
+                transport.publish(
+                        new CacheInvalidationMessage(name, sourceId, new ArrayList<>(keys), reason)
+                );
+            }
+        }
+    }
+}
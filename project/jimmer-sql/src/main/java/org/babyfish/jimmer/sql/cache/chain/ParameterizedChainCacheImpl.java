@@ -83,7 +83,14 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
         ParameterizedLoadingNode(LoadingBinder.Parameterized<K, V> binder, ParameterizedNode<K, V> next) {
             this.binder = binder;
             this.next = next;
-            binder.initialize(next);
+            SingleFlight<K, V> singleFlight = new SingleFlight<>();
+            binder.initialize(
+                    (keys, parameterMap) -> singleFlight.loadAll(
+                            keys,
+                            parameterMap,
+                            missedKeys -> next.loadAll(missedKeys, parameterMap)
+                    )
+            );
         }
 
         @NotNull
@@ -129,19 +136,34 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
                         missedKeys.add(key);
                     }
                 }
-                Map<K, V> mapFromNext = next.loadAll(missedKeys);
-                if (mapFromNext.size() < missedKeys.size()) {
-                    mapFromNext = new HashMap<>(mapFromNext);
-                    for (K missedKey : missedKeys) {
-                        if (!mapFromNext.containsKey(missedKey)) {
-                            mapFromNext.put(missedKey, null);
-                        }
+                map.putAll(
+                        singleFlight.loadAll(
+                                missedKeys,
+                                parameterMap,
+                                it -> loadMissedAll(it, parameterMap)
+                        )
+                );
+            }
+            return map;
+        }
+
+        private Map<K, V> loadMissedAll(
+                Collection<K> missedKeys,
+                SortedMap<String, Object> parameterMap
+        ) {
+            SimpleBinder.Parameterized<K, V> parameterizedBinder =
+                    (SimpleBinder.Parameterized<K, V>) binder;
+            Map<K, V> mapFromNext = next.loadAll(missedKeys);
+            if (mapFromNext.size() < missedKeys.size()) {
+                mapFromNext = new HashMap<>(mapFromNext);
+                for (K missedKey : missedKeys) {
+                    if (!mapFromNext.containsKey(missedKey)) {
+                        mapFromNext.put(missedKey, null);
                     }
                 }
-                parameterizedBinder.setAll(mapFromNext, parameterMap);
-                map.putAll(mapFromNext);
             }
-            return map;
+            parameterizedBinder.setAll(mapFromNext, parameterMap);
+            return mapFromNext;
         }
     }
 }
@@ -0,0 +1,118 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces the concurrent loading of the same keys in one JVM.
+ *
+ * <p>For each key, the first thread becomes the leader and loads it,
+ * other threads loading the same key wait for the result of the leader
+ * instead of loading it again, so that the expiration of a hot key
+ * does not cause a large number of requests to the next cache level
+ * and the database.</p>
+ *
+ * <p>If the current thread is already the leader of a key, the key is
+ * loaded directly to avoid waiting for itself.</p>
+ */
+class SingleFlight<K, V> {
+
+    private static final Object ABSENT = new Object();
+
+    private final ConcurrentMap<Tuple2<K, SortedMap<String, Object>>, Flight> flightMap =
+            new ConcurrentHashMap<>();
+
+    Map<K, V> loadAll(
+            Collection<K> keys,
+            SortedMap<String, Object> parameterMap,
+            Function<Collection<K>, Map<K, V>> loader
+    ) {
+        Thread currentThread = Thread.currentThread();
+        Map<K, Flight> ownFlightMap = new LinkedHashMap<>();
+        Set<K> reentrantKeys = null;
+        Map<K, Flight> otherFlightMap = null;
+        for (K key : keys) {
+            Flight flight = new Flight(currentThread);
+            Flight existingFlight = flightMap.putIfAbsent(new Tuple2<>(key, parameterMap), flight);
+            if (existingFlight == null) {
+                ownFlightMap.put(key, flight);
+            } else if (existingFlight.leader == currentThread) {
+                if (reentrantKeys == null) {
+                    reentrantKeys = new LinkedHashSet<>();
+                }
+                reentrantKeys.add(key);
+            } else {
+                if (otherFlightMap == null) {
+                    otherFlightMap = new LinkedHashMap<>();
+                }
+                otherFlightMap.put(key, existingFlight);
+            }
+        }
+        Map<K, V> map = new LinkedHashMap<>((keys.size() * 4 + 2) / 3);
+        if (!ownFlightMap.isEmpty() || reentrantKeys != null) {
+            Set<K> loadedKeys = new LinkedHashSet<>(ownFlightMap.keySet());
+            if (reentrantKeys != null) {
+                loadedKeys.addAll(reentrantKeys);
+            }
+            Map<K, V> loadedMap;
+            try {
+                loadedMap = loader.apply(loadedKeys);
+            } catch (RuntimeException | Error ex) {
+                for (Map.Entry<K, Flight> e : ownFlightMap.entrySet()) {
+                    flightMap.remove(new Tuple2<>(e.getKey(), parameterMap), e.getValue());
+                    e.getValue().future.completeExceptionally(ex);
+                }
+                throw ex;
+            }
+            for (Map.Entry<K, Flight> e : ownFlightMap.entrySet()) {
+                K key = e.getKey();
+                flightMap.remove(new Tuple2<>(key, parameterMap), e.getValue());
+                e.getValue().future.complete(loadedMap.containsKey(key) ? loadedMap.get(key) : ABSENT);
+            }
+            map.putAll(loadedMap);
+        }
+        if (otherFlightMap != null) {
+            for (Map.Entry<K, Flight> e : otherFlightMap.entrySet()) {
+                Object value = e.getValue().join();
+                if (value != ABSENT) {
+                    @SuppressWarnings("unchecked")
+                    V v = (V) value;
+                    map.put(e.getKey(), v);
+                }
+            }
+        }
+        return map;
+    }
+
+    private static class Flight {
+
+        final Thread leader;
+
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Flight(Thread leader) {
+            this.leader = leader;
+        }
+
+        Object join() {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw ex;
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.babyfish.jimmer.jackson.ImmutableModule;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueCodecFactory;
 import org.babyfish.jimmer.sql.cache.ValueSerializer;
 
 import java.time.Duration;
@@ -29,7 +30,8 @@ abstract class AbstractRemoteBinder<K, V> {
             ImmutableType type,
             ImmutableProp prop,
             Duration duration,
-            int randomPercent
+            int randomPercent,
+            ValueCodecFactory codecFactory
     ) {
         if (objectMapper != null) {
             if (!objectMapper.getRegisteredModuleIds().contains(ImmutableModule.class.getName())) {
@@ -56,9 +58,9 @@ abstract class AbstractRemoteBinder<K, V> {
         minMills = millis - randomPercent * millis / 100;
         maxMillis = millis + randomPercent * millis / 100;
         if (type != null) {
-            valueSerializer = new ValueSerializer<>(type, objectMapper);
+            valueSerializer = new ValueSerializer<>(type, objectMapper, codecFactory);
         } else {
-            valueSerializer = new ValueSerializer<>(prop, objectMapper);
+            valueSerializer = new ValueSerializer<>(prop, objectMapper, codecFactory);
         }
     }
 
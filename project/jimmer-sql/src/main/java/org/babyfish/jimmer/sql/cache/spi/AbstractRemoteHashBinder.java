@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.SerializationException;
+import org.babyfish.jimmer.sql.cache.ValueCodecFactory;
 import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
 
 import java.io.IOException;
@@ -22,7 +23,21 @@ public abstract class AbstractRemoteHashBinder<K, V>
             Duration duration,
             int randomPercent
     ) {
-        super(objectMapper, type, prop, duration, randomPercent);
+        super(objectMapper, type, prop, duration, randomPercent, null);
+    }
+
+    /**
+     * @param codecFactory The codec factory of values, {@link ValueCodecFactory#JSON} is used if it is null
+     */
+    protected AbstractRemoteHashBinder(
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            ImmutableProp prop,
+            Duration duration,
+            int randomPercent,
+            ValueCodecFactory codecFactory
+    ) {
+        super(objectMapper, type, prop, duration, randomPercent, codecFactory);
     }
 
     @Override
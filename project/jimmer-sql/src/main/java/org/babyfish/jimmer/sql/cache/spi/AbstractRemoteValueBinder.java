@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.cache.spi;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueCodecFactory;
 import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
 
 import java.time.Duration;
@@ -21,7 +22,21 @@ public abstract class AbstractRemoteValueBinder<K, V>
             Duration duration,
             int randomPercent
     ) {
-        super(objectMapper, type, prop, duration, randomPercent);
+        super(objectMapper, type, prop, duration, randomPercent, null);
+    }
+
+    /**
+     * @param codecFactory The codec factory of values, {@link ValueCodecFactory#JSON} is used if it is null
+     */
+    protected AbstractRemoteValueBinder(
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            ImmutableProp prop,
+            Duration duration,
+            int randomPercent,
+            ValueCodecFactory codecFactory
+    ) {
+        super(objectMapper, type, prop, duration, randomPercent, codecFactory);
     }
 
     @Override
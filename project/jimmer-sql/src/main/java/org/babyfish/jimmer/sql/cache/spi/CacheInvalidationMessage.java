@@ -0,0 +1,74 @@
+package org.babyfish.jimmer.sql.cache.spi;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * The message broadcast by {@link CacheInvalidationTransport}
+ * to tell other nodes that some keys of a cache have been deleted.
+ */
+public final class CacheInvalidationMessage {
+
+    private final String channel;
+
+    private final String sourceId;
+
+    private final Collection<?> keys;
+
+    private final Object reason;
+
+    public CacheInvalidationMessage(
+            @NotNull String channel,
+            @NotNull String sourceId,
+            @NotNull Collection<?> keys,
+            @Nullable Object reason
+    ) {
+        this.channel = Objects.requireNonNull(channel, "channel cannot be null");
+        this.sourceId = Objects.requireNonNull(sourceId, "sourceId cannot be null");
+        this.keys = Collections.unmodifiableCollection(
+                Objects.requireNonNull(keys, "keys cannot be null")
+        );
+        this.reason = reason;
+    }
+
+    /**
+     * The channel of the cache, it is same on all nodes
+     */
+    @NotNull
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * The id of the binder which published this message,
+     * it is used to ignore the messages published by itself
+     */
+    @NotNull
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    @NotNull
+    public Collection<?> getKeys() {
+        return keys;
+    }
+
+    @Nullable
+    public Object getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidationMessage{" +
+                "channel='" + channel + '\'' +
+                ", sourceId='" + sourceId + '\'' +
+                ", keys=" + keys +
+                ", reason=" + reason +
+                '}';
+    }
+}
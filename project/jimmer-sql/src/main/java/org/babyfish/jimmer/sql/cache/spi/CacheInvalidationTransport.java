@@ -0,0 +1,29 @@
+package org.babyfish.jimmer.sql.cache.spi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts the deleted keys of near caches between nodes,
+ * for example, by redis pub/sub or a message queue.
+ *
+ * <p>Implementations must deliver the message to the listeners
+ * of the same channel on all nodes, including the publishing node,
+ * the messages published by the current binder are ignored
+ * by the binder itself.</p>
+ *
+ * <p>The keys of delivered messages should keep their original types.
+ * If the keys are serialized by a format which loses their types, such as JSON,
+ * the near cache binders must be created by the entity type or property so that
+ * the keys are converted to the id type, or by a channel name with an explicit key type.</p>
+ *
+ * @see org.babyfish.jimmer.sql.cache.chain.NearCacheBinder
+ * @see LoopbackCacheInvalidationTransport
+ */
+public interface CacheInvalidationTransport {
+
+    void publish(@NotNull CacheInvalidationMessage message);
+
+    void subscribe(@NotNull String channel, @NotNull Consumer<CacheInvalidationMessage> listener);
+}
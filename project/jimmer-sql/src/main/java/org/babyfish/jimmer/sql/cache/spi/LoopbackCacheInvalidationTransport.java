@@ -0,0 +1,39 @@
+package org.babyfish.jimmer.sql.cache.spi;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM implementation of {@link CacheInvalidationTransport},
+ * messages are delivered to the listeners synchronously.
+ *
+ * <p>It is used by unit tests or applications which simulate
+ * several nodes in one JVM.</p>
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final Map<String, List<Consumer<CacheInvalidationMessage>>> listenerMap =
+            new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(@NotNull CacheInvalidationMessage message) {
+        List<Consumer<CacheInvalidationMessage>> listeners = listenerMap.get(message.getChannel());
+        if (listeners != null) {
+            for (Consumer<CacheInvalidationMessage> listener : listeners) {
+                listener.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(@NotNull String channel, @NotNull Consumer<CacheInvalidationMessage> listener) {
+        listenerMap
+                .computeIfAbsent(channel, it -> new CopyOnWriteArrayList<>())
+                .add(listener);
+    }
+}
@@ -33,9 +33,110 @@ public interface Dialect {
 
     default boolean isMultiInsertionSupported() { return true; }
 
+    /**
+     * Whether `PreparedStatement.getGeneratedKeys` returns the
+     * generated ids of all rows after `PreparedStatement.executeBatch`.
+     *
+     * <p>If it is false, the insert statements which require
+     * database generated ids are never executed by JDBC batch.</p>
+     */
+    default boolean isBatchGeneratedKeysSupported() { return false; }
+
+    /**
+     * Whether `PreparedStatement.executeBatch` returns the affected
+     * row count of each statement instead of `Statement.SUCCESS_NO_INFO`.
+     *
+     * <p>If it is false, the update statements of entities with
+     * version property are never executed by JDBC batch, because
+     * the optimistic lock is checked by the affected row count.</p>
+     */
+    default boolean isBatchUpdateCountSupported() { return true; }
+
+    /**
+     * The max number of JDBC parameters of one statement.
+     *
+     * <p>Multi-row statements are split into several statements
+     * so that none of them exceeds this limit,
+     * for example, SQL Server only accepts 2100 parameters.</p>
+     */
+    default int getMaxVariableCount() { return 32767; }
+
+    /**
+     * The max number of elements of `IN(...)` list,
+     * for example, Oracle only accepts 1000 elements.
+     */
+    default int getMaxInListSize() { return Integer.MAX_VALUE; }
+
+    /**
+     * Whether `expr = any(?)` with one array parameter is supported,
+     * it is used instead of `expr in(?, ?, ...)` if
+     * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setInListToAnyEqualityEnabled(boolean)}
+     * is enabled.
+     */
+    default boolean isAnyEqualityOfArraySupported() { return false; }
+
+    /**
+     * The JDBC fetch size of the forward-only statement
+     * used by {@link org.babyfish.jimmer.sql.ast.query.TypedRootQuery#stream(java.sql.Connection, int)}.
+     *
+     * <p>By default, it is the batch size of the stream, however,
+     * MySQL driver only streams rows when it is `Integer.MIN_VALUE`,
+     * and no other statement can be executed on the connection
+     * until that streaming result set is closed.</p>
+     *
+     * @param batchSize The batch size of the stream
+     * @param otherStatementsRequired Whether other statements are executed on the same
+     *                                connection while the cursor is open, for example,
+     *                                the selections contain object fetchers with associations
+     */
+    default int getCursorFetchSize(int batchSize, boolean otherStatementsRequired) { return batchSize; }
+
+    /**
+     * The sql to estimate the row count of a query by the statistics of database
+     * instead of counting the rows, for example, `explain` of Postgres.
+     *
+     * <p>The original sql must be the suffix of the returned sql so that
+     * the positions of its parameters are not changed, and the estimated count must be
+     * the first column of the first row, it is read by {@link #getApproximateCount(Object)}.</p>
+     *
+     * @param sql The sql of the query without sorting and paging
+     * @return The estimating sql or null if it is not supported,
+     * in which case the exact count is used.
+     */
+    @Nullable
+    default String getApproximateCountSql(String sql) { return null; }
+
+    /**
+     * Read the estimated row count from the value of the first column
+     * of the first row returned by {@link #getApproximateCountSql(String)}.
+     */
+    default long getApproximateCount(Object value) throws Exception {
+        return ((Number) value).longValue();
+    }
+
     @Nullable
     default String getConstantTableName() { return null; }
 
+    /**
+     * Whether {@link #upsert(UpsertContext)} is implemented by this dialect.
+     */
+    default boolean isUpsertSupported() { return false; }
+
+    /**
+     * Whether the upsert statement whose conflict columns are key columns
+     * can return the id of the inserted or updated row.
+     *
+     * <p>If it is false, only the objects with id can be saved by
+     * native upsert statement.</p>
+     *
+     * @param idType The type of id property
+     */
+    default boolean isUpsertByKeySupported(Class<?> idType) { return false; }
+
+    default void upsert(UpsertContext ctx) {
+        throw new ExecutionException("Upsert is not supported by '" + getClass().getName() + "'");
+    }
+
     default Class<?> getJsonBaseType() {
         return String.class;
     }
@@ -6,4 +6,33 @@ public class H2Dialect extends DefaultDialect {
     public String getSelectIdFromSequenceSql(String sequenceName) {
         return "select nextval('" + sequenceName + "')";
     }
+
+    @Override
+    public boolean isBatchGeneratedKeysSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isAnyEqualityOfArraySupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns("")
+                .sql(") key(")
+                .appendConflictColumns()
+                .sql(") values(")
+                .appendInsertingValues()
+                .sql(")");
+    }
 }
@@ -5,6 +5,23 @@ package org.babyfish.jimmer.sql.dialect;
  */
 public class MySqlDialect implements Dialect {
 
+    private final boolean upsertRowAliasSupported;
+
+    public MySqlDialect() {
+        this(false);
+    }
+
+    /**
+     * @param upsertRowAliasSupported Whether the server supports the row alias
+     *                                of `insert ... values(...) as new`, that is MySQL 8.0.19 or later.
+     *                                If it is true, the upsert statement refers to the inserting values by
+     *                                `new.COLUMN` rather than `values(COLUMN)` which is deprecated since MySQL 8.0.20.
+     *                                MariaDB and TiDB do not support it.
+     */
+    public MySqlDialect(boolean upsertRowAliasSupported) {
+        this.upsertRowAliasSupported = upsertRowAliasSupported;
+    }
+
     @Override
     public void paginate(PaginationContext ctx) {
         ctx
@@ -25,4 +42,81 @@ public class MySqlDialect implements Dialect {
     public boolean isDeletedAliasRequired() {
         return true;
     }
+
+    @Override
+    public boolean isBatchGeneratedKeysSupported() {
+        return true;
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 65535;
+    }
+
+    /**
+     * If other statements are executed while the cursor is open,
+     * `Integer.MIN_VALUE` cannot be used because the streaming result set
+     * locks the connection, the positive fetch size streams rows by server-side
+     * cursor when `useCursorFetch=true` is specified in the JDBC url,
+     * otherwise, the driver reads the whole result set into memory.
+     */
+    @Override
+    public int getCursorFetchSize(int batchSize, boolean otherStatementsRequired) {
+        return otherStatementsRequired ? batchSize : Integer.MIN_VALUE;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    /**
+     * The id is returned by `last_insert_id(ID)`,
+     * so that only numeric id is supported.
+     */
+    @Override
+    public boolean isUpsertByKeySupported(Class<?> idType) {
+        return idType == long.class || idType == int.class || Number.class.isAssignableFrom(idType);
+    }
+
+    /**
+     * Note: `on duplicate key update` is triggered by the conflict of any
+     * primary key or unique constraint, not only the conflict columns
+     * of {@link UpsertContext}. If the table has other unique constraints,
+     * the row violating them is updated instead of the row having the same id or key.
+     */
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("insert into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns("")
+                .sql(") values(")
+                .appendInsertingValues()
+                .sql(")");
+        if (upsertRowAliasSupported) {
+            ctx.sql(" as new");
+        }
+        ctx.sql(" on duplicate key update ");
+        if (ctx.hasUpdatedColumns()) {
+            if (upsertRowAliasSupported) {
+                ctx.appendUpdatingAssignments("new.", "");
+            } else {
+                ctx.appendUpdatingAssignments("values(", ")");
+            }
+            if (ctx.isIdReturningRequired()) {
+                ctx.sql(", ");
+            }
+        }
+        if (ctx.isIdReturningRequired()) {
+            ctx
+                    .appendIdColumnName()
+                    .sql(" = last_insert_id(")
+                    .appendIdColumnName()
+                    .sql(")");
+        } else if (!ctx.hasUpdatedColumns()) {
+            ctx.appendIdColumnName().sql(" = ").appendIdColumnName();
+        }
+    }
 }
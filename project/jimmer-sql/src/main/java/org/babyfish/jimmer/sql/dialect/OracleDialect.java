@@ -2,6 +2,8 @@ package org.babyfish.jimmer.sql.dialect;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Driver;
+
 public class OracleDialect implements Dialect {
 
     public static final String OPTIMIZE_CORE_ROW_NUMBER_ALIAS = "optimize_rn__";
@@ -54,13 +56,81 @@ public class OracleDialect implements Dialect {
         return false;
     }
 
+    /**
+     * Oracle JDBC drivers before 12c return `Statement.SUCCESS_NO_INFO`
+     * for each statement of batch, so it depends on the version of
+     * the driver in the class path.
+     */
+    @Override
+    public boolean isBatchUpdateCountSupported() {
+        return DriverVersion.BATCH_UPDATE_COUNT_SUPPORTED;
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 65535;
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return 1000;
+    }
+
     @Override
     public @Nullable String getConstantTableName() {
         return "dual";
     }
 
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql(" tb_1_ using(select ")
+                .appendAliasedInsertingValues()
+                .sql(" from dual) tb_2_ on(")
+                .appendConflictCondition("tb_1_", "tb_2_")
+                .sql(")");
+        if (ctx.hasUpdatedColumns()) {
+            ctx
+                    .sql(" when matched then update set ")
+                    .appendUpdatingAssignments("tb_2_.", "");
+        }
+        ctx
+                .sql(" when not matched then insert(")
+                .appendInsertedColumns("")
+                .sql(") values(")
+                .appendInsertedColumns("tb_2_.")
+                .sql(")");
+    }
+
     @Override
     public String toString() {
         return getClass().getName();
     }
+
+    private static class DriverVersion {
+
+        // If the driver cannot be loaded, assume it is an old one
+        static final boolean BATCH_UPDATE_COUNT_SUPPORTED;
+
+        static {
+            boolean supported;
+            try {
+                Driver driver = (Driver) Class
+                        .forName("oracle.jdbc.OracleDriver")
+                        .getConstructor()
+                        .newInstance();
+                supported = driver.getMajorVersion() >= 12;
+            } catch (Exception | LinkageError ex) {
+                supported = false;
+            }
+            BATCH_UPDATE_COUNT_SUPPORTED = supported;
+        }
+    }
 }
@@ -48,4 +48,62 @@ public class PostgresDialect extends DefaultDialect {
         }
         return Types.OTHER;
     }
+
+    @Override
+    public boolean isBatchGeneratedKeysSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isAnyEqualityOfArraySupported() {
+        return true;
+    }
+
+    @Override
+    public String getApproximateCountSql(String sql) {
+        return "explain (format json) " + sql;
+    }
+
+    @Override
+    public long getApproximateCount(Object value) throws Exception {
+        String plan = value instanceof PGobject ? ((PGobject) value).getValue() : (String) value;
+        return JsonUtils.OBJECT_MAPPER.readTree(plan).get(0).get("Plan").get("Plan Rows").asLong();
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isUpsertByKeySupported(Class<?> idType) {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("insert into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns("")
+                .sql(")");
+        if (ctx.isIdentityIdOverridden()) {
+            ctx.sql(" ").sql(getOverrideIdentityIdSql());
+        }
+        ctx
+                .sql(" values(")
+                .appendInsertingValues()
+                .sql(") on conflict(")
+                .appendConflictColumns()
+                .sql(")");
+        if (ctx.hasUpdatedColumns()) {
+            ctx.sql(" do update set ").appendUpdatingAssignments("excluded.", "");
+        } else {
+            ctx.sql(" do nothing");
+        }
+        if (ctx.isIdReturningRequired()) {
+            ctx.sql(" returning ").appendIdColumnName();
+        }
+    }
 }
@@ -1,15 +1,64 @@
 package org.babyfish.jimmer.sql.dialect;
 
-//public class SqlServerDialect implements Dialect {
-//
-//    @Override
-//    public void paginate(PaginationContext ctx) {
-//        ctx
-//                .origin()
-//                .sql(" offset ")
-//                .variable(ctx.getOffset())
-//                .sql(" rows fetch next ")
-//                .variable(ctx.getLimit())
-//                .sql(" rows only");
-//    }
-//}
+public class SqlServerDialect implements Dialect {
+
+    @Override
+    public void paginate(PaginationContext ctx) {
+        ctx
+                .origin()
+                .sql(" offset ")
+                .variable(ctx.getOffset())
+                .sql(" rows fetch next ")
+                .variable(ctx.getLimit())
+                .sql(" rows only");
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 2100;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    /**
+     * If the id of identity column is specified by user,
+     * the merge statement is wrapped by `set identity_insert ... on/off`.
+     */
+    @Override
+    public void upsert(UpsertContext ctx) {
+        if (ctx.isIdentityIdOverridden()) {
+            ctx.sql("set identity_insert ").appendTableName().sql(" on; ");
+        }
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql(" tb_1_ using(values(")
+                .appendInsertingValues()
+                .sql(")) tb_2_(")
+                .appendInsertedColumns("")
+                .sql(") on ")
+                .appendConflictCondition("tb_1_", "tb_2_");
+        if (ctx.hasUpdatedColumns()) {
+            ctx
+                    .sql(" when matched then update set ")
+                    .appendUpdatingAssignments("tb_2_.", "");
+        }
+        ctx
+                .sql(" when not matched then insert(")
+                .appendInsertedColumns("")
+                .sql(") values(")
+                .appendInsertedColumns("tb_2_.")
+                .sql(");");
+        if (ctx.isIdentityIdOverridden()) {
+            ctx.sql(" set identity_insert ").appendTableName().sql(" off;");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName();
+    }
+}
@@ -0,0 +1,66 @@
+package org.babyfish.jimmer.sql.dialect;
+
+/**
+ * The context used by {@link Dialect#upsert(UpsertContext)}
+ * to render the upsert statement of one row.
+ *
+ * <p>All the column lists are separated by ", ",
+ * and none of them is wrapped by parentheses.</p>
+ */
+public interface UpsertContext {
+
+    /**
+     * Whether the conflict columns are the key columns rather than id column.
+     * If it is true, the id of the inserted or updated row
+     * must be returned by `PreparedStatement.getGeneratedKeys`.
+     */
+    boolean isIdReturningRequired();
+
+    /**
+     * Whether the inserted id of identity column is specified by user,
+     * see {@link Dialect#getOverrideIdentityIdSql()}
+     */
+    boolean isIdentityIdOverridden();
+
+    /**
+     * Whether there are columns which can be updated when conflict occurs,
+     * id column and conflict columns are never updated.
+     */
+    boolean hasUpdatedColumns();
+
+    UpsertContext sql(String sql);
+
+    UpsertContext appendTableName();
+
+    UpsertContext appendIdColumnName();
+
+    /**
+     * Example: "prefixC1, prefixC2"
+     */
+    UpsertContext appendInsertedColumns(String prefix);
+
+    /**
+     * Example: "?, ?"
+     */
+    UpsertContext appendInsertingValues();
+
+    /**
+     * Example: "? C1, ? C2"
+     */
+    UpsertContext appendAliasedInsertingValues();
+
+    /**
+     * Example: "K1, K2"
+     */
+    UpsertContext appendConflictColumns();
+
+    /**
+     * Example: "targetAlias.K1 = sourceAlias.K1 and targetAlias.K2 = sourceAlias.K2"
+     */
+    UpsertContext appendConflictCondition(String targetAlias, String sourceAlias);
+
+    /**
+     * Example: "C3 = prefixC3suffix, C4 = prefixC4suffix"
+     */
+    UpsertContext appendUpdatingAssignments(String prefix, String suffix);
+}
@@ -5,13 +5,16 @@ import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 
 class FetcherContext {
@@ -91,7 +94,14 @@ class FetcherContext {
     }
 
     public void execute() {
+        Executor executor = sqlClient.getParallelFetchingExecutor();
+        if (executor != null && isInWritableTransaction()) {
+            executor = null;
+        }
         while (!taskMap.isEmpty()) {
+            if (executor != null && executeParallel(executor)) {
+                continue;
+            }
             Iterator<Map.Entry<Field, FetcherTask>> itr = taskMap.entrySet().iterator();
             Map.Entry<Field, FetcherTask> e = itr.next();
             if (e.getValue().execute()) {
@@ -99,4 +109,126 @@ class FetcherContext {
             }
         }
     }
+
+    /**
+     * The parallel loading uses other connections which cannot see
+     * the uncommitted changes of the transaction of current connection,
+     * so it is disabled if current connection is not in auto-commit mode,
+     * unless the connection is read-only so that there is no uncommitted change.
+     */
+    private boolean isInWritableTransaction() {
+        try {
+            return !con.getAutoCommit() && !con.isReadOnly();
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot determine whether the connection is in transaction",
+                    ex
+            );
+        }
+    }
+
+    /**
+     * Loads one batch of each parallelizable task concurrently,
+     * each load uses its own connection of the connection manager.
+     *
+     * <p>Only the data loading is executed by the executor, the fetching cache
+     * and the drafts are always accessed by current thread, and the loaded data
+     * are merged in the order of tasks, so that the result is same with
+     * sequential execution.</p>
+     *
+     * <p>If the executor rejects a load, the submitted loads which have not
+     * been started are cancelled, and all the loads which are not executed
+     * by the executor are executed by current thread.</p>
+     *
+     * @return false if there are less than 2 parallelizable tasks,
+     * the caller should execute tasks sequentially.
+     */
+    private boolean executeParallel(Executor executor) {
+        List<FetcherTask> tasks = new ArrayList<>();
+        Set<ImmutableProp> props = new HashSet<>();
+        for (FetcherTask task : taskMap.values()) {
+            // Tasks of same property may share cached data,
+            // don't load them in the same round
+            if (task.isParallelizable() && props.add(task.getField().getProp())) {
+                tasks.add(task);
+            }
+        }
+        if (tasks.size() < 2) {
+            return false;
+        }
+        List<FetcherTask.Batch> batches = new ArrayList<>(tasks.size());
+        for (FetcherTask task : tasks) {
+            batches.add(task.prepare());
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        boolean rejected = false;
+        for (int i = 0; i < tasks.size(); i++) {
+            FetcherTask task = tasks.get(i);
+            FetcherTask.Batch batch = batches.get(i);
+            if (batch == null || rejected) {
+                futures.add(null);
+            } else {
+                try {
+                    futures.add(
+                            CompletableFuture.runAsync(
+                                    () -> sqlClient.getConnectionManager().execute(con -> {
+                                        task.load(batch, con);
+                                        return null;
+                                    }),
+                                    executor
+                            )
+                    );
+                } catch (RejectedExecutionException ex) {
+                    rejected = true;
+                    futures.add(null);
+                }
+            }
+        }
+        if (rejected) {
+            // A cancelled future never runs its action, even if it has been queued by the executor
+            for (int i = 0; i < futures.size(); i++) {
+                CompletableFuture<Void> future = futures.get(i);
+                if (future != null && future.cancel(false)) {
+                    futures.set(i, null);
+                }
+            }
+        }
+        Throwable failure = null;
+        for (CompletableFuture<Void> future : futures) {
+            if (future != null) {
+                try {
+                    future.join();
+                } catch (CompletionException ex) {
+                    if (failure == null) {
+                        failure = ex.getCause() != null ? ex.getCause() : ex;
+                    }
+                }
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure.getMessage(), failure);
+        }
+        if (rejected) {
+            for (int i = 0; i < tasks.size(); i++) {
+                FetcherTask.Batch batch = batches.get(i);
+                if (batch != null && futures.get(i) == null) {
+                    tasks.get(i).load(batch, con);
+                }
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            FetcherTask.Batch batch = batches.get(i);
+            if (batch != null) {
+                tasks.get(i).complete(batch);
+            }
+        }
+        taskMap.values().removeIf(FetcherTask::isDone);
+        return true;
+    }
 }
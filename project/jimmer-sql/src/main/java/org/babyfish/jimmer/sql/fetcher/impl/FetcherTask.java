@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.fetcher.impl;
 
+import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.DraftContext;
 import org.babyfish.jimmer.runtime.DraftSpi;
@@ -20,6 +21,8 @@ class FetcherTask {
 
     private final JSqlClientImplementor sqlClient;
 
+    private final Connection con;
+
     private final Field field;
 
     private final int batchSize;
@@ -36,6 +39,7 @@ class FetcherTask {
     ) {
         this.cache = cache;
         this.sqlClient = sqlClient;
+        this.con = con;
         this.field = field;
         this.batchSize = determineBatchSize();
         this.dataLoader = new DataLoader(sqlClient, con, field);
@@ -62,8 +66,56 @@ class FetcherTask {
     }
 
     public boolean execute() {
+        Batch batch = prepare();
+        if (batch != null) {
+            load(batch, con);
+            complete(batch);
+        }
+        return pendingMap.isEmpty();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public boolean isDone() {
+        return pendingMap.isEmpty();
+    }
+
+    /**
+     * Whether the data loader of this task can be executed by another
+     * thread with another connection.
+     *
+     * <p>The child objects of the field must not be fetched recursively,
+     * because recursive fetching uses the fetcher context of current thread.
+     * Transient resolvers, global filters and field filters are user code
+     * which may depend on the thread-local state of current thread,
+     * for example, the tenant of a multi-tenant filter.</p>
+     */
+    public boolean isParallelizable() {
+        ImmutableProp prop = field.getProp();
+        if (prop.hasTransientResolver() ||
+                field.getFilter() != null ||
+                (prop.isAssociation(TargetLevel.ENTITY) && sqlClient.getFilters().getTargetFilter(prop) != null)
+        ) {
+            return false;
+        }
+        Fetcher<?> childFetcher = field.getChildFetcher();
+        return childFetcher == null || (
+                childFetcher.isSimpleFetcher() &&
+                !Fetchers.hasReferenceFilter(childFetcher.getImmutableType(), sqlClient)
+        );
+    }
+
+    /**
+     * Takes the next batch from the pending objects,
+     * the objects that can be resolved by the fetching cache are handled immediately.
+     *
+     * @return The batch which must be loaded, or null if there is nothing to load.
+     */
+    public Batch prepare() {
         if (pendingMap.isEmpty()) {
-            return true;
+            return null;
         }
         Map<Object, TaskData> handledMap;
         if (pendingMap.size() > batchSize) {
@@ -98,21 +150,35 @@ class FetcherTask {
                 handledEntryItr.remove();
             }
         }
-        if (!handledMap.isEmpty()) {
-            Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
-                    handledMap
-                            .values()
-                            .stream()
-                            .map(it -> it.getDrafts().get(0))
-                            .collect(Collectors.toList())
-            );
-            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
-                TaskData taskData = e.getValue();
-                Object value = loadedMap.get(taskData.getDrafts().get(0));
-                afterLoad(taskData, value, true);
-            }
+        if (handledMap.isEmpty()) {
+            return null;
+        }
+        return new Batch(handledMap);
+    }
+
+    /**
+     * Loads the batch, this method does not change the drafts and the fetching cache
+     * so that it can be executed by another thread.
+     */
+    public void load(Batch batch, Connection con) {
+        DataLoader dataLoader = con == this.con ?
+                this.dataLoader :
+                new DataLoader(sqlClient, con, field);
+        batch.loadedMap = dataLoader.load(
+                batch.handledMap
+                        .values()
+                        .stream()
+                        .map(it -> it.getDrafts().get(0))
+                        .collect(Collectors.toList())
+        );
+    }
+
+    public void complete(Batch batch) {
+        for (Map.Entry<Object, TaskData> e : batch.handledMap.entrySet()) {
+            TaskData taskData = e.getValue();
+            Object value = batch.loadedMap.get(taskData.getDrafts().get(0));
+            afterLoad(taskData, value, true);
         }
-        return pendingMap.isEmpty();
     }
 
     private boolean isLoaded(DraftSpi draft) {
@@ -236,4 +302,15 @@ class FetcherTask {
                     '}';
         }
     }
-}
\ No newline at end of file
+
+    static class Batch {
+
+        private final Map<Object, TaskData> handledMap;
+
+        private Map<ImmutableSpi, ?> loadedMap;
+
+        private Batch(Map<Object, TaskData> handledMap) {
+            this.handledMap = handledMap;
+        }
+    }
+}
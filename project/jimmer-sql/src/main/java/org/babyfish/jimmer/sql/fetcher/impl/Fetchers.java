@@ -33,7 +33,7 @@ public class Fetchers {
             if (selection instanceof FetcherSelection<?>) {
                 FetcherSelection<?> fetcherSelection = (FetcherSelection<?>) selection;
                 Fetcher<?> fetcher = fetcherSelection.getFetcher();
-                if (!fetcher.isSimpleFetcher() || hasReferenceFilter(fetcher.getImmutableType(), sqlClient)) {
+                if (isFetchingRequired(fetcher, sqlClient)) {
                     columnMap.put(i, new ArrayList<>());
                 }
             }
@@ -55,7 +55,7 @@ public class Fetchers {
             List<Object> fetchedList = e.getValue();
             FetcherSelection<?> selection = (FetcherSelection<?>) selections.get(columnIndex);
             Fetcher<?> fetcher = selection.getFetcher();
-            if (!fetcher.isSimpleFetcher() || hasReferenceFilter(fetcher.getImmutableType(), sqlClient)) {
+            if (isFetchingRequired(fetcher, sqlClient)) {
                 fetchedList = Internal.produceList(
                         selection.getFetcher().getImmutableType(),
                         fetchedList,
@@ -100,7 +100,28 @@ public class Fetchers {
         });
     }
 
-    private static boolean hasReferenceFilter(ImmutableType type, JSqlClientImplementor sqlClient) {
+    /**
+     * Whether {@link #fetch(JSqlClientImplementor, Connection, List, List)}
+     * executes other statements on the connection to load the rows of these selections.
+     */
+    public static boolean isFetchingRequired(
+            JSqlClientImplementor sqlClient,
+            List<Selection<?>> selections
+    ) {
+        for (Selection<?> selection : selections) {
+            if (selection instanceof FetcherSelection<?> &&
+                    isFetchingRequired(((FetcherSelection<?>) selection).getFetcher(), sqlClient)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFetchingRequired(Fetcher<?> fetcher, JSqlClientImplementor sqlClient) {
+        return !fetcher.isSimpleFetcher() || hasReferenceFilter(fetcher.getImmutableType(), sqlClient);
+    }
+
+    static boolean hasReferenceFilter(ImmutableType type, JSqlClientImplementor sqlClient) {
         for (ImmutableProp prop : type.getSelectableReferenceProps().values()) {
             if (sqlClient.getFilters().getTargetFilter(prop) != null) {
                 return true;
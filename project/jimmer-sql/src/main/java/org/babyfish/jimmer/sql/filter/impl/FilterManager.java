@@ -21,6 +21,7 @@ import org.babyfish.jimmer.sql.event.EntityEvent;
 import org.babyfish.jimmer.sql.filter.*;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.impl.util.LRUCache;
 import org.babyfish.jimmer.impl.util.StaticCache;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
@@ -50,8 +51,23 @@ public class FilterManager implements Filters {
 
     private final BuiltInFilters builtIns;
 
+    /*
+     * Shared by this filter manager and all the filter managers derived from it,
+     * derived filter managers are interned by their disabled filters
+     * so that their caches are reused when the same filters are enabled/disabled again.
+     */
+    private final LRUCache<Set<Filter<?>>, FilterManager> derivedCache;
+
+    /*
+     * The filter manager created by the builder, it is not in `derivedCache`
+     * so that the derived filter managers can always switch back to it
+     */
+    private final FilterManager root;
+
     private JSqlClientImplementor sqlClient;
 
+    private static final int DERIVED_CACHE_SIZE = 64;
+
     public FilterManager(
             BuiltInFilters builtIns,
             List<Filter<?>> filters,
@@ -65,6 +81,8 @@ public class FilterManager implements Filters {
                 this.allFilters.stream().filter(it -> it instanceof CacheableFilter<?>).collect(Collectors.toList()),
                 Collections.emptyList()
         );
+        this.derivedCache = new LRUCache<>(DERIVED_CACHE_SIZE);
+        this.root = this;
     }
 
     private FilterManager(
@@ -72,13 +90,17 @@ public class FilterManager implements Filters {
             Set<Filter<?>> filters,
             Set<Filter<?>> disabledFilters,
             Map<ImmutableType, List<Filter<Props>>> filterMap,
-            Map<ImmutableType, List<Filter<Props>>> allCacheableFilterMap
+            Map<ImmutableType, List<Filter<Props>>> allCacheableFilterMap,
+            LRUCache<Set<Filter<?>>, FilterManager> derivedCache,
+            FilterManager root
     ) {
         this.builtIns = builtIns;
         this.allFilters = filters;
         this.disabledFilters = disabledFilters;
         this.filterMap = filterMap;
         this.allCacheableFilterMap = allCacheableFilterMap;
+        this.derivedCache = derivedCache;
+        this.root = root;
     }
 
     @Override
@@ -157,13 +179,7 @@ public class FilterManager implements Filters {
         if (disabledSet.size() == disabledFilters.size()) {
             return this;
         }
-        return new FilterManager(
-                builtIns,
-                allFilters,
-                disabledSet,
-                filterMap(allFilters, disabledSet),
-                allCacheableFilterMap
-        );
+        return derive(disabledSet);
     }
 
     public FilterManager disable(Collection<Filter<?>> filters) {
@@ -174,13 +190,7 @@ public class FilterManager implements Filters {
         if (disabledSet.size() == disabledFilters.size()) {
             return this;
         }
-        return new FilterManager(
-                builtIns,
-                allFilters,
-                disabledSet,
-                filterMap(allFilters, disabledSet),
-                allCacheableFilterMap
-        );
+        return derive(disabledSet);
     }
 
     public FilterManager enableByTypes(Collection<Class<?>> filterTypes) {
@@ -233,6 +243,24 @@ public class FilterManager implements Filters {
         return disable(allFilters);
     }
 
+    private FilterManager derive(Set<Filter<?>> disabledSet) {
+        if (disabledSet.equals(root.disabledFilters)) {
+            return root;
+        }
+        return derivedCache.get(
+                Collections.unmodifiableSet(disabledSet),
+                it -> new FilterManager(
+                        builtIns,
+                        allFilters,
+                        it,
+                        filterMap(allFilters, it),
+                        allCacheableFilterMap,
+                        derivedCache,
+                        root
+                )
+        );
+    }
+
     public void initialize(JSqlClientImplementor sqlClient) {
         if (this.sqlClient != null) {
             throw new IllegalStateException("The filter manager has been initialized");
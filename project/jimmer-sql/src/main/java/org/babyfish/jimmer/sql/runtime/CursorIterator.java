@@ -0,0 +1,156 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The iterator of `Query.stream`, it reads the open cursor
+ * batch by batch, the children of each batch are fetched
+ * before the rows of that batch are returned.
+ */
+class CursorIterator<R> implements Iterator<R>, AutoCloseable {
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final Connection con;
+
+    private final List<Selection<?>> selections;
+
+    private final int batchSize;
+
+    private final long cursorId;
+
+    private final PreparedStatement statement;
+
+    private ResultSet resultSet;
+
+    private Reader<?> reader;
+
+    private final Reader.Col col = new Reader.Col();
+
+    private final List<R> rows;
+
+    private int index;
+
+    private boolean exhausted;
+
+    private boolean closed;
+
+    CursorIterator(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            List<Selection<?>> selections,
+            int batchSize,
+            long cursorId,
+            PreparedStatement statement
+    ) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+        this.selections = selections;
+        this.batchSize = batchSize;
+        this.cursorId = cursorId;
+        this.statement = statement;
+        this.rows = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (index < rows.size()) {
+            return true;
+        }
+        if (exhausted || closed) {
+            return false;
+        }
+        try {
+            readBatch();
+        } catch (RuntimeException | Error ex) {
+            close();
+            throw ex;
+        }
+        return index < rows.size();
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        R row = rows.get(index);
+        rows.set(index++, null);
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readBatch() {
+        rows.clear();
+        index = 0;
+        try {
+            if (resultSet == null) {
+                resultSet = statement.executeQuery();
+                reader = Readers.createReader(sqlClient, selections);
+            }
+            while (rows.size() < batchSize) {
+                if (!resultSet.next()) {
+                    exhausted = true;
+                    break;
+                }
+                rows.add((R) reader.read(resultSet, col));
+                col.reset();
+            }
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot read the cursor(" + cursorId + ")",
+                    ex
+            );
+        }
+        Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
+        try {
+            Fetchers.fetch(sqlClient, con, selections, rows);
+        } finally {
+            Cursors.setCurrentCursorId(oldCursorId);
+        }
+        if (exhausted) {
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        SQLException exception = null;
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            } catch (SQLException ex) {
+                exception = ex;
+            }
+        }
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            if (exception != null) {
+                exception.addSuppressed(ex);
+            } else {
+                exception = ex;
+            }
+        }
+        if (exception != null) {
+            throw new ExecutionException(
+                    "Cannot close the cursor(" + cursorId + ")",
+                    exception
+            );
+        }
+    }
+}
@@ -26,18 +26,8 @@ public class DefaultExecutor implements Executor {
                 args.statementFactory.preparedStatement(args.con, sql) :
                 args.con.prepareStatement(sql)
         ) {
-            int size = variables.size();
-            for (int index = 0; index < size; index++) {
-                Object variable = variables.get(index);
-                if (variable instanceof DbNull) {
-                    stmt.setNull(
-                            index + 1,
-                            toJdbcType(((DbNull)variable).getType(), dialect)
-                    );
-                } else {
-                    stmt.setObject(index + 1, variable);
-                }
-            }
+            setParameters(stmt, variables, dialect);
+            setOptions(stmt, args);
             return args.block.apply(stmt);
         } catch (SQLException ex) {
             throw new ExecutionException(
@@ -50,6 +40,96 @@ public class DefaultExecutor implements Executor {
         }
     }
 
+    @Override
+    public <R> R executeBatch(@NotNull BatchArgs<R> args) {
+        String sql = args.sql;
+        List<List<Object>> variablesList = args.variablesList;
+        Dialect dialect = args.sqlClient.getDialect();
+        try (PreparedStatement stmt = args.statementFactory != null ?
+                args.statementFactory.preparedStatement(args.con, sql) :
+                args.con.prepareStatement(sql)
+        ) {
+            int queryTimeout = args.sqlClient.getDefaultQueryTimeout();
+            if (queryTimeout != 0) {
+                stmt.setQueryTimeout(queryTimeout);
+            }
+            for (List<Object> variables : variablesList) {
+                setParameters(stmt, variables, dialect);
+                stmt.addBatch();
+            }
+            return args.block.apply(stmt);
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot execute SQL statement batch: " +
+                            sql +
+                            ", batch size: " +
+                            variablesList.size(),
+                    ex
+            );
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareCursor(@NotNull Args<?> args) {
+        String sql = args.sql;
+        List<Object> variables = args.variables;
+        PreparedStatement stmt = null;
+        try {
+            stmt = args.statementFactory != null ?
+                    args.statementFactory.preparedStatement(args.con, sql) :
+                    args.con.prepareStatement(sql);
+            setParameters(stmt, variables, args.sqlClient.getDialect());
+            setOptions(stmt, args);
+            return stmt;
+        } catch (SQLException ex) {
+            if (stmt != null) {
+                try {
+                    stmt.close();
+                } catch (SQLException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+            }
+            throw new ExecutionException(
+                    "Cannot prepare cursor of SQL statement: " +
+                            sql +
+                            ", variables: " +
+                            variables,
+                    ex
+            );
+        }
+    }
+
+    private void setOptions(PreparedStatement stmt, Args<?> args) throws SQLException {
+        if (args.fetchSize != 0) {
+            stmt.setFetchSize(args.fetchSize);
+        }
+        if (args.queryTimeout != 0) {
+            stmt.setQueryTimeout(args.queryTimeout);
+        }
+        if (args.maxRows != 0) {
+            stmt.setMaxRows(args.maxRows);
+        }
+    }
+
+    private void setParameters(
+            PreparedStatement stmt,
+            List<Object> variables,
+            Dialect dialect
+    ) throws SQLException {
+        int size = variables.size();
+        for (int index = 0; index < size; index++) {
+            Object variable = variables.get(index);
+            if (variable instanceof DbNull) {
+                stmt.setNull(
+                        index + 1,
+                        toJdbcType(((DbNull)variable).getType(), dialect)
+                );
+            } else {
+                stmt.setObject(index + 1, variable);
+            }
+        }
+    }
+
     private int toJdbcType(Class<?> type, Dialect dialect) {
         if (type == String.class) {
             return Types.VARCHAR;
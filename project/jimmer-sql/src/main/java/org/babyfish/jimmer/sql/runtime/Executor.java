@@ -12,7 +12,32 @@ public interface Executor {
     <R> R execute(@NotNull Args<R> args);
 
     /**
-     * This method will never be invoked unless the current operation is `Query.forEach`
+     * Execute one SQL statement with several groups of variables
+     * by `PreparedStatement.addBatch` and `PreparedStatement.executeBatch`.
+     *
+     * <p>This method is used by save commands when the `jdbcBatchSize`
+     * of sql client is greater than 1. The default implementation
+     * delegates to {@link DefaultExecutor}, override it if a customized
+     * executor needs to intercept batch statements too.</p>
+     */
+    default <R> R executeBatch(@NotNull BatchArgs<R> args) {
+        return DefaultExecutor.INSTANCE.executeBatch(args);
+    }
+
+    /**
+     * Create the statement of `Query.stream` and set its variables.
+     *
+     * <p>Unlike {@link #execute(Args)}, the returned statement is not closed
+     * by this method, it is closed when the stream is closed, and the
+     * `block` of args is ignored. The default implementation delegates
+     * to {@link DefaultExecutor}.</p>
+     */
+    default PreparedStatement prepareCursor(@NotNull Args<?> args) {
+        return DefaultExecutor.INSTANCE.prepareCursor(args);
+    }
+
+    /**
+     * This method will never be invoked unless the current operation is `Query.forEach` or `Query.stream`
      *
      * <p>For `Query.forEach`, SQL execution result log have to be printed after children fetching,
      * this method can give SQL logger a chance to print SQL before children fetching</p>
@@ -64,6 +89,21 @@ public interface Executor {
         @Nullable
         public final Long closingCursorId;
 
+        /**
+         * The value of `PreparedStatement.setFetchSize`, 0 means the driver default
+         */
+        public final int fetchSize;
+
+        /**
+         * The value of `PreparedStatement.setQueryTimeout` in seconds, 0 means no limit
+         */
+        public final int queryTimeout;
+
+        /**
+         * The value of `PreparedStatement.setMaxRows`, 0 means no limit
+         */
+        public final int maxRows;
+
         public Args(
                 JSqlClientImplementor sqlClient,
                 Connection con,
@@ -73,6 +113,72 @@ public interface Executor {
                 ExecutionPurpose purpose,
                 StatementFactory statementFactory,
                 SqlFunction<PreparedStatement, R> block
+        ) {
+            this(
+                    sqlClient,
+                    con,
+                    sql,
+                    variables,
+                    variablePositions,
+                    purpose,
+                    statementFactory,
+                    block,
+                    null,
+                    0,
+                    0,
+                    0
+            );
+        }
+
+        public Args(
+                JSqlClientImplementor sqlClient,
+                Connection con,
+                String sql,
+                List<Object> variables,
+                @Nullable List<Integer> variablePositions,
+                ExecutionPurpose purpose,
+                StatementFactory statementFactory,
+                SqlFunction<PreparedStatement, R> block,
+                long closingCursorId
+        ) {
+            this(
+                    sqlClient,
+                    con,
+                    sql,
+                    variables,
+                    variablePositions,
+                    purpose,
+                    statementFactory,
+                    block,
+                    (Long) closingCursorId,
+                    0,
+                    0,
+                    0
+            );
+        }
+
+        /**
+         * @param fetchSize The fetch size of statement,
+         *                  the default fetch size of sql client is used if it is 0
+         * @param queryTimeout The query timeout of statement in seconds,
+         *                     the default query timeout of sql client is used if it is 0
+         * @param maxRows The max rows of statement, the default max rows of
+         *                sql client is used if it is 0 and the purpose is
+         *                {@link ExecutionPurpose#QUERY}
+         */
+        public Args(
+                JSqlClientImplementor sqlClient,
+                Connection con,
+                String sql,
+                List<Object> variables,
+                @Nullable List<Integer> variablePositions,
+                ExecutionPurpose purpose,
+                StatementFactory statementFactory,
+                SqlFunction<PreparedStatement, R> block,
+                @Nullable Long closingCursorId,
+                int fetchSize,
+                int queryTimeout,
+                int maxRows
         ) {
             this.sqlClient = sqlClient;
             this.con = con;
@@ -83,30 +189,58 @@ public interface Executor {
             this.ctx = ExecutorContext.create(sqlClient);
             this.statementFactory = statementFactory;
             this.block = block;
-            this.closingCursorId = null;
+            this.closingCursorId = closingCursorId;
+            this.fetchSize = fetchSize != 0 ? fetchSize : sqlClient.getDefaultFetchSize();
+            this.queryTimeout = queryTimeout != 0 ? queryTimeout : sqlClient.getDefaultQueryTimeout();
+            this.maxRows = maxRows != 0 || purpose != ExecutionPurpose.QUERY ?
+                    maxRows :
+                    sqlClient.getDefaultMaxRows();
         }
+    }
 
-        public Args(
+    class BatchArgs<R> {
+
+        public final JSqlClientImplementor sqlClient;
+
+        public final Connection con;
+
+        public final String sql;
+
+        /**
+         * Each element is the variable list of one batch row
+         */
+        public final List<List<Object>> variablesList;
+
+        public final ExecutionPurpose purpose;
+
+        @Nullable
+        public final ExecutorContext ctx;
+
+        public final StatementFactory statementFactory;
+
+        /**
+         * This block is invoked after all the rows have been added,
+         * it should call `executeBatch` and read the generated keys if necessary
+         */
+        public final SqlFunction<PreparedStatement, R> block;
+
+        public BatchArgs(
                 JSqlClientImplementor sqlClient,
                 Connection con,
                 String sql,
-                List<Object> variables,
-                @Nullable List<Integer> variablePositions,
+                List<List<Object>> variablesList,
                 ExecutionPurpose purpose,
                 StatementFactory statementFactory,
-                SqlFunction<PreparedStatement, R> block,
-                long closingCursorId
+                SqlFunction<PreparedStatement, R> block
         ) {
             this.sqlClient = sqlClient;
             this.con = con;
             this.sql = sql;
-            this.variables = variables;
-            this.variablePositions = variablePositions;
+            this.variablesList = variablesList;
             this.purpose = purpose;
             this.ctx = ExecutorContext.create(sqlClient);
             this.statementFactory = statementFactory;
             this.block = block;
-            this.closingCursorId = closingCursorId;
         }
     }
 }
@@ -4,26 +4,45 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class ExecutorContext {
 
+    private static final Map<List<String>, ClassNameMatcher> MATCHER_MAP =
+            new ConcurrentHashMap<>();
+
     private final StackTraceElement primaryElement;
 
     private final List<StackTraceElement> matchedElements;
 
-    private final List<StackTraceElement> elements;
+    /*
+     * Java 9+: The `StackWalker.StackFrame`s of the call site,
+     * they are converted to `StackTraceElement`s only when `getElements()` is called.
+     * Java 8: Null, `elements` is known when the context is created.
+     */
+    private final List<?> frames;
+
+    private volatile List<StackTraceElement> elements;
 
     private ExecutorContext(
-            StackTraceElement primaryElement,
             List<StackTraceElement> matchedElements,
+            List<?> frames,
             List<StackTraceElement> elements
     ) {
-        this.primaryElement = primaryElement;
-        this.matchedElements = matchedElements;
+        this.primaryElement = matchedElements.get(0);
+        this.matchedElements = Collections.unmodifiableList(matchedElements);
+        this.frames = frames;
         this.elements = elements;
     }
 
@@ -34,6 +53,10 @@ public class ExecutorContext {
 
     @NotNull
     public List<StackTraceElement> getElements() {
+        List<StackTraceElement> elements = this.elements;
+        if (elements == null) {
+            this.elements = elements = StackWalking.toElements(frames);
+        }
         return elements;
     }
 
@@ -44,31 +67,187 @@ public class ExecutorContext {
 
     @Nullable
     public static ExecutorContext create(JSqlClient sqlClient) {
-        List<String> prefixes = ((JSqlClientImplementor)sqlClient).getExecutorContextPrefixes();
+        JSqlClientImplementor sqlClientImplementor = (JSqlClientImplementor) sqlClient;
+        List<String> prefixes = sqlClientImplementor.getExecutorContextPrefixes();
         if (prefixes == null) {
             return null;
         }
-        StackTraceElement[] elements = Thread.currentThread().getStackTrace();
-        List<StackTraceElement> matchedElements = new ArrayList<>();
-        for (StackTraceElement element : elements) {
-            if (element.getLineNumber() >= 0) {
+        double samplingRate = sqlClientImplementor.getExecutorContextSamplingRate();
+        if (samplingRate < 1 && ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return null;
+        }
+        ClassNameMatcher matcher = MATCHER_MAP.computeIfAbsent(prefixes, ClassNameMatcher::new);
+        return StackWalking.capture(matcher);
+    }
+
+    /*
+     * The result of prefix matching is cached by class name,
+     * so each frame only costs one hash lookup after warming up.
+     */
+    private static class ClassNameMatcher {
+
+        private static final int MAX_CACHE_SIZE = 8192;
+
+        private final List<String> prefixes;
+
+        private final Map<String, Boolean> cache = new ConcurrentHashMap<>();
+
+        ClassNameMatcher(List<String> prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        boolean matches(String className) {
+            Boolean matched = cache.get(className);
+            if (matched == null) {
+                matched = false;
                 for (String prefix : prefixes) {
-                    if (element.getClassName().startsWith(prefix)) {
-                        matchedElements.add(element);
+                    if (className.startsWith(prefix)) {
+                        matched = true;
                         break;
                     }
                 }
+                if (cache.size() < MAX_CACHE_SIZE) {
+                    cache.put(className, matched);
+                }
             }
+            return matched;
         }
-        if (matchedElements.isEmpty()) {
-            return null;
+    }
+
+    /*
+     * This library is compiled for Java 8, so `java.lang.StackWalker` is accessed by method handles.
+     *
+     * - Java 9+: The stack is walked once, only the matched frames
+     * are converted to `StackTraceElement` when the context is created
+     * - Java 8: Fall back to `Throwable.getStackTrace()`
+     *
+     * The frames of this class are excluded.
+     */
+    private static class StackWalking {
+
+        private static final Object WALKER;
+
+        private static final MethodHandle WALK;
+
+        private static final MethodHandle GET_CLASS_NAME;
+
+        private static final MethodHandle TO_STACK_TRACE_ELEMENT;
+
+        static {
+            Object walker = null;
+            MethodHandle walk = null;
+            MethodHandle getClassName = null;
+            MethodHandle toStackTraceElement = null;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+                Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+                walker = lookup
+                        .findStatic(walkerClass, "getInstance", MethodType.methodType(walkerClass))
+                        .invoke();
+                walk = lookup.findVirtual(
+                        walkerClass,
+                        "walk",
+                        MethodType.methodType(Object.class, Function.class)
+                );
+                getClassName = lookup.findVirtual(
+                        frameClass,
+                        "getClassName",
+                        MethodType.methodType(String.class)
+                );
+                toStackTraceElement = lookup.findVirtual(
+                        frameClass,
+                        "toStackTraceElement",
+                        MethodType.methodType(StackTraceElement.class)
+                );
+            } catch (Throwable ex) {
+                walker = null;
+            }
+            WALKER = walker;
+            WALK = walk;
+            GET_CLASS_NAME = getClassName;
+            TO_STACK_TRACE_ELEMENT = toStackTraceElement;
+        }
+
+        static ExecutorContext capture(ClassNameMatcher matcher) {
+            String selfClassName = StackWalking.class.getName();
+            List<StackTraceElement> matchedElements = new ArrayList<>();
+            if (WALKER == null) {
+                StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+                int offset = 0;
+                while (offset < stackTrace.length && stackTrace[offset].getClassName().equals(selfClassName)) {
+                    offset++;
+                }
+                List<StackTraceElement> elements = Arrays.asList(stackTrace).subList(offset, stackTrace.length);
+                for (StackTraceElement element : elements) {
+                    if (element.getLineNumber() >= 0 && matcher.matches(element.getClassName())) {
+                        matchedElements.add(element);
+                    }
+                }
+                if (matchedElements.isEmpty()) {
+                    return null;
+                }
+                return new ExecutorContext(matchedElements, null, Collections.unmodifiableList(elements));
+            }
+            Function<Stream<?>, List<Object>> collector = stream -> {
+                List<Object> frames = new ArrayList<>();
+                stream.forEach(frame -> {
+                    String className = className(frame);
+                    if (frames.isEmpty() && className.equals(selfClassName)) {
+                        return;
+                    }
+                    frames.add(frame);
+                    if (matcher.matches(className)) {
+                        StackTraceElement element = toElement(frame);
+                        if (element.getLineNumber() >= 0) {
+                            matchedElements.add(element);
+                        }
+                    }
+                });
+                return frames;
+            };
+            List<Object> frames;
+            try {
+                @SuppressWarnings("unchecked")
+                List<Object> walkedFrames = (List<Object>) WALK.invoke(WALKER, collector);
+                frames = walkedFrames;
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: unexpected exception of stack walking", ex);
+            }
+            if (matchedElements.isEmpty()) {
+                return null;
+            }
+            return new ExecutorContext(matchedElements, frames, null);
+        }
+
+        static List<StackTraceElement> toElements(List<?> frames) {
+            List<StackTraceElement> elements = new ArrayList<>(frames.size());
+            for (Object frame : frames) {
+                elements.add(toElement(frame));
+            }
+            return Collections.unmodifiableList(elements);
+        }
+
+        private static String className(Object frame) {
+            try {
+                return (String) GET_CLASS_NAME.invoke(frame);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: unexpected exception of stack walking", ex);
+            }
+        }
+
+        private static StackTraceElement toElement(Object frame) {
+            try {
+                return (StackTraceElement) TO_STACK_TRACE_ELEMENT.invoke(frame);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: unexpected exception of stack walking", ex);
+            }
         }
-        return new ExecutorContext(
-                matchedElements.get(0),
-                Collections.unmodifiableList(matchedElements),
-                Collections.unmodifiableList(
-                        Arrays.asList(elements)
-                )
-        );
     }
 }
@@ -5,6 +5,8 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLTimeoutException;
 import java.util.*;
 
 class ExecutorForLog implements Executor {
@@ -42,6 +44,22 @@ class ExecutorForLog implements Executor {
         return simpleLog(args);
     }
 
+    @Override
+    public <R> R executeBatch(@NotNull BatchArgs<R> args) {
+        if (!LOGGER.isInfoEnabled()) {
+            return raw.executeBatch(args);
+        }
+        if (args.sqlClient.getSqlFormatter().isPretty()) {
+            return prettyBatchLog(args);
+        }
+        return simpleBatchLog(args);
+    }
+
+    @Override
+    public PreparedStatement prepareCursor(@NotNull Args<?> args) {
+        return raw.prepareCursor(args);
+    }
+
     @Override
     public void openCursor(
             long cursorId,
@@ -80,7 +98,8 @@ class ExecutorForLog implements Executor {
                             ", variables: " +
                             variables +
                             ", purpose: " +
-                            args.purpose
+                            args.purpose +
+                            statementOptions(args)
             );
         } else {
             Logger logger = LoggerFactory.getLogger(ctx.getPrimaryElement().getClassName());
@@ -90,7 +109,8 @@ class ExecutorForLog implements Executor {
                             ", variables: " +
                             variables +
                             ", purpose: " +
-                            args.purpose
+                            args.purpose +
+                            statementOptions(args)
             );
             for (StackTraceElement element : ctx.getMatchedElements()) {
                 logger.info(
@@ -99,7 +119,19 @@ class ExecutorForLog implements Executor {
                 );
             }
         }
-        return raw.execute(args);
+        try {
+            return raw.execute(args);
+        } catch (RuntimeException ex) {
+            if (isTimeout(ex)) {
+                LOGGER.warn(
+                        "jimmer> query timeout(" +
+                                args.queryTimeout +
+                                "s) is exceeded, sql: " +
+                                args.sql
+                );
+            }
+            throw ex;
+        }
     }
 
     private <R> R prettyLog(Args<R> args) {
@@ -130,6 +162,7 @@ class ExecutorForLog implements Executor {
                     args.ctx,
                     args.sqlClient
             );
+            appendStatementOptions(builder, args);
         }
         appendPrettyResponse(
                 builder,
@@ -158,6 +191,86 @@ class ExecutorForLog implements Executor {
         return result;
     }
 
+    private <R> R simpleBatchLog(BatchArgs<R> args) {
+        ExecutorContext ctx = args.ctx;
+        Logger logger = ctx == null ?
+                LOGGER :
+                LoggerFactory.getLogger(ctx.getPrimaryElement().getClassName());
+        logger.info(
+                "jimmer> batch sql: " +
+                        args.sql +
+                        ", batch variables: " +
+                        args.variablesList +
+                        ", purpose: " +
+                        args.purpose
+        );
+        if (ctx != null) {
+            for (StackTraceElement element : ctx.getMatchedElements()) {
+                logger.info(
+                        "jimmer stacktrace-element)> {}",
+                        element
+                );
+            }
+        }
+        return raw.executeBatch(args);
+    }
+
+    private <R> R prettyBatchLog(BatchArgs<R> args) {
+        R result = null;
+        Throwable throwable = null;
+        long millis = System.currentTimeMillis();
+        try {
+            result = raw.executeBatch(args);
+        } catch (RuntimeException | Error ex) {
+            throwable = ex;
+        }
+        millis = System.currentTimeMillis() - millis;
+        int affectedRowCount = -1;
+        if (result instanceof int[]) {
+            affectedRowCount = 0;
+            for (int rowCount : (int[]) result) {
+                if (rowCount > 0) {
+                    affectedRowCount += rowCount;
+                }
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("Execute batch").append(REQUEST).append('\n');
+        appendPrettyRequest(
+                builder,
+                args.sql,
+                Collections.emptyList(),
+                null,
+                args.purpose,
+                args.ctx,
+                args.sqlClient
+        );
+        builder.append("Batch size: ").append(args.variablesList.size()).append('\n');
+        appendBatchVariables(
+                builder,
+                args.variablesList,
+                args.sqlClient.getSqlFormatter().getMaxVariableContentLength()
+        );
+        appendPrettyResponse(
+                builder,
+                affectedRowCount,
+                throwable,
+                millis
+        );
+        builder.append(RESPONSE).append("Execute batch");
+
+        LOGGER.info(builder.toString());
+
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+        return result;
+    }
+
     private void appendPrettyRequest(
             StringBuilder builder,
             String sql,
@@ -202,12 +315,55 @@ class ExecutorForLog implements Executor {
         }
         if (throwable == null) {
             builder.append("JDBC response status: success\n");
+        } else if (isTimeout(throwable)) {
+            builder.append("JDBC response status: timeout<").append(throwable.getClass().getName()).append(">\n");
         } else {
             builder.append("JDBC response status: failed<").append(throwable.getClass().getName()).append(">\n");
         }
         builder.append("Time cost: ").append(millis).append("ms\n");
     }
 
+    private static void appendStatementOptions(StringBuilder builder, Args<?> args) {
+        if (args.fetchSize != 0) {
+            builder.append("Fetch size: ").append(args.fetchSize).append('\n');
+        }
+        if (args.queryTimeout != 0) {
+            builder.append("Query timeout: ").append(args.queryTimeout).append("s\n");
+        }
+        if (args.maxRows != 0) {
+            builder.append("Max rows: ").append(args.maxRows).append('\n');
+        }
+    }
+
+    private static String statementOptions(Args<?> args) {
+        if (args.fetchSize == 0 && args.queryTimeout == 0 && args.maxRows == 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        if (args.fetchSize != 0) {
+            builder.append(", fetchSize: ").append(args.fetchSize);
+        }
+        if (args.queryTimeout != 0) {
+            builder.append(", queryTimeout: ").append(args.queryTimeout).append('s');
+        }
+        if (args.maxRows != 0) {
+            builder.append(", maxRows: ").append(args.maxRows);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isTimeout(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
     private static void appendSqlWithEmbeddedVariables(
             StringBuilder builder,
             String sql,
@@ -230,6 +386,27 @@ class ExecutorForLog implements Executor {
         }
     }
 
+    private static void appendBatchVariables(
+            StringBuilder builder,
+            List<List<Object>> variablesList,
+            int maxVariableContentLength
+    ) {
+        int rowIndex = 0;
+        for (List<Object> variables : variablesList) {
+            builder.append("Variables[").append(rowIndex++).append("]: ");
+            boolean addComma = false;
+            for (Object variable : variables) {
+                if (addComma) {
+                    builder.append(", ");
+                } else {
+                    addComma = true;
+                }
+                appendEmbeddedVariable(builder, variable, maxVariableContentLength);
+            }
+            builder.append('\n');
+        }
+    }
+
     private static void appendEmbeddedVariable(
             StringBuilder builder,
             Object variable,
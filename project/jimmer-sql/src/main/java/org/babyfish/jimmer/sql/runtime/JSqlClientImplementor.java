@@ -12,6 +12,7 @@ import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
+import org.babyfish.jimmer.sql.meta.SequenceIdGenerator;
 
 import java.util.List;
 import java.util.function.Consumer;
@@ -42,12 +43,42 @@ public interface JSqlClientImplementor extends JSqlClient {
 
     IdGenerator getIdGenerator(Class<?> entityType);
 
+    /**
+     * Get the pooled-lo allocation state of the sequence,
+     * it is shared by this sql client and the sql clients derived from it.
+     */
+    SequenceIdGenerator.Pool getSequenceIdPool(String sequenceName);
+
     int getDefaultBatchSize();
 
     int getDefaultListBatchSize();
 
     int getOffsetOptimizingThreshold();
 
+    int getJdbcBatchSize();
+
+    boolean isMultiRowInsertEnabled();
+
+    boolean isNativeUpsertEnabled();
+
+    int getMiddleTableBatchSize();
+
+    java.util.concurrent.Executor getParallelFetchingExecutor();
+
+    boolean isInListPaddingEnabled();
+
+    boolean isInListToAnyEqualityEnabled();
+
+    int getDefaultFetchSize();
+
+    int getDefaultQueryTimeout();
+
+    int getDefaultMaxRows();
+
+    double getExecutorContextSamplingRate();
+
+    java.util.concurrent.Executor getPagingCountExecutor();
+
     TriggerType getTriggerType();
 
     TransientResolver<?, ?> getResolver(ImmutableProp prop);
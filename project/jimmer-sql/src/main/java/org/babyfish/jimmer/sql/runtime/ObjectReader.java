@@ -2,7 +2,6 @@ package org.babyfish.jimmer.sql.runtime;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
-import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.Internal;
 
 import java.sql.ResultSet;
@@ -30,8 +29,7 @@ class ObjectReader implements Reader<Object> {
             col.add(nonIdReaders.size());
             return null;
         }
-        return Internal.produce(type, null, draft -> {
-            DraftSpi spi = (DraftSpi) draft;
+        return Internal.build(type, spi -> {
             spi.__set(type.getIdProp().getId(), id);
             for (Map.Entry<ImmutableProp, Reader<?>> e : nonIdReaders.entrySet()) {
                 ImmutableProp prop = e.getKey();
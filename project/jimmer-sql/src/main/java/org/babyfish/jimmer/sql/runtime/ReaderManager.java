@@ -1,7 +1,6 @@
 package org.babyfish.jimmer.sql.runtime;
 
 import org.babyfish.jimmer.meta.*;
-import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.association.Association;
 import org.babyfish.jimmer.sql.association.meta.AssociationType;
@@ -412,8 +411,8 @@ public class ReaderManager {
             if (fk == null) {
                 return null;
             }
-            return Internal.produce(targetType, null, draft -> {
-                ((DraftSpi) draft).__set(targetType.getIdProp().getId(), fk);
+            return Internal.build(targetType, spi -> {
+                spi.__set(targetType.getIdProp().getId(), fk);
             });
         }
     }
@@ -470,8 +469,7 @@ public class ReaderManager {
 
         @Override
         public Object read(ResultSet rs, Col col) throws SQLException {
-            Object embeddable = Internal.produce(targetType, null, draft -> {
-                DraftSpi spi = (DraftSpi) draft;
+            Object embeddable = Internal.build(targetType, spi -> {
                 for (Map.Entry<ImmutableProp, Reader<?>> e : readerMap.entrySet()) {
                     ImmutableProp prop = e.getKey();
                     Object value = e.getValue().read(rs, col);
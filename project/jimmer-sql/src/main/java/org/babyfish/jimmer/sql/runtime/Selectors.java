@@ -1,23 +1,34 @@
 package org.babyfish.jimmer.sql.runtime;
 
 import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Selectors {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Selectors.class);
+
     private static final AtomicLong CURSOR_ID_SEQUENCE = new AtomicLong();
 
+    private static volatile boolean autoCommitCursorWarned;
+
     private Selectors() {}
 
-    @SuppressWarnings("unchecked")
     public static <R> List<R> select(
             JSqlClientImplementor sqlClient,
             Connection con,
@@ -26,6 +37,38 @@ public class Selectors {
             @Nullable List<Integer> variablePositions,
             List<Selection<?>> selections,
             ExecutionPurpose purpose
+    ) {
+        return select(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                selections,
+                purpose,
+                0,
+                0,
+                0
+        );
+    }
+
+    /**
+     * @param fetchSize The fetch size of statement, 0 means the default fetch size of sql client
+     * @param queryTimeout The query timeout of statement in seconds, 0 means the default query timeout of sql client
+     * @param maxRows The max rows of statement, 0 means the default max rows of sql client
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> List<R> select(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int fetchSize,
+            int queryTimeout,
+            int maxRows
     ) {
         List<R> rows = sqlClient.getExecutor().execute(
                 new Executor.Args<>(
@@ -47,13 +90,48 @@ public class Selectors {
                                 }
                             }
                             return results;
-                        }
+                        },
+                        null,
+                        fetchSize,
+                        queryTimeout,
+                        maxRows
                 )
         );
         Fetchers.fetch(sqlClient, con, selections, rows);
         return rows;
     }
 
+    /**
+     * @deprecated Use the overload with fetch size, query timeout and max rows
+     */
+    @Deprecated
+    public static <R> void forEach(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int batchSize,
+            Consumer<R> consumer
+    ) {
+        forEach(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                selections,
+                purpose,
+                batchSize,
+                0,
+                0,
+                0,
+                consumer
+        );
+    }
+
     @SuppressWarnings("unchecked")
     public static <R> void forEach(
             JSqlClientImplementor sqlClient,
@@ -64,6 +142,9 @@ public class Selectors {
             List<Selection<?>> selections,
             ExecutionPurpose purpose,
             int batchSize,
+            int fetchSize,
+            int queryTimeout,
+            int maxRows,
             Consumer<R> consumer
     ) {
         Executor executor = sqlClient.getExecutor();
@@ -99,7 +180,10 @@ public class Selectors {
                     }
                     return null;
                 },
-                cursorId
+                cursorId,
+                fetchSize,
+                queryTimeout,
+                maxRows
         );
         executor.openCursor(cursorId, sql, variables, variablePositions, purpose, args.ctx, sqlClient);
         Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
@@ -109,4 +193,116 @@ public class Selectors {
             Cursors.setCurrentCursorId(oldCursorId);
         }
     }
+
+    /**
+     * @deprecated Use the overload with fetch size, query timeout and max rows
+     */
+    @Deprecated
+    public static <R> Stream<R> stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int batchSize
+    ) {
+        return stream(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                selections,
+                purpose,
+                batchSize,
+                0,
+                0,
+                0
+        );
+    }
+
+    /**
+     * Execute the query by a forward-only cursor and return a lazy stream,
+     * the cursor is closed when the stream is closed or exhausted.
+     */
+    public static <R> Stream<R> stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int batchSize,
+            int fetchSize,
+            int queryTimeout,
+            int maxRows
+    ) {
+        if (sqlClient.getDialect() instanceof PostgresDialect) {
+            warnAutoCommitCursor(con);
+        }
+        Executor executor = sqlClient.getExecutor();
+        int cursorFetchSize = sqlClient.getDialect().getCursorFetchSize(
+                fetchSize > 0 ? fetchSize : batchSize,
+                Fetchers.isFetchingRequired(sqlClient, selections)
+        );
+        long cursorId = CURSOR_ID_SEQUENCE.incrementAndGet();
+        Executor.Args<Void> args = new Executor.Args<>(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                purpose,
+                (c, s) -> c.prepareStatement(
+                        s,
+                        ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY
+                ),
+                null,
+                cursorId,
+                cursorFetchSize,
+                queryTimeout,
+                maxRows
+        );
+        executor.openCursor(cursorId, sql, variables, variablePositions, purpose, args.ctx, sqlClient);
+        CursorIterator<R> itr = new CursorIterator<>(
+                sqlClient,
+                con,
+                selections,
+                batchSize,
+                cursorId,
+                executor.prepareCursor(args)
+        );
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(itr, Spliterator.ORDERED), false)
+                .onClose(itr::close);
+    }
+
+    /**
+     * Postgres driver ignores the fetch size and reads the whole result set
+     * into memory if the connection is in auto-commit mode,
+     * warn it only once because it is a configuration problem of the application.
+     */
+    private static void warnAutoCommitCursor(Connection con) {
+        if (autoCommitCursorWarned) {
+            return;
+        }
+        boolean autoCommit;
+        try {
+            autoCommit = con.getAutoCommit();
+        } catch (SQLException ex) {
+            return;
+        }
+        if (autoCommit) {
+            autoCommitCursorWarned = true;
+            LOGGER.warn(
+                    "The query is streamed by a connection in auto-commit mode, " +
+                            "Postgres driver reads the whole result set into memory. " +
+                            "Please stream it inside a transaction."
+            );
+        }
+    }
 }
@@ -0,0 +1,168 @@
+package org.babyfish.jimmer.sql;
+
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.filter.Filter;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.inheritance.NamedEntity;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.function.Function;
+
+public class DerivedSqlClientTest extends AbstractTest {
+
+    @Test
+    public void testFilters() {
+        JSqlClient sqlClient = getSqlClient();
+        Filter<?> notDeletedFilter =
+                sqlClient.getFilters().builtIns().getDeclaredNotDeletedFilter(NamedEntity.class);
+        Filter<?> alreadyDeletedFilter =
+                sqlClient.getFilters().builtIns().getDeclaredAlreadyDeletedFilter(NamedEntity.class);
+
+        Assertions.assertSame(sqlClient, sqlClient.filters(it -> {}));
+
+        JSqlClient noFilterClient = sqlClient.filters(it -> {
+            it.disable(notDeletedFilter);
+        });
+        Assertions.assertNotSame(sqlClient, noFilterClient);
+        Assertions.assertSame(
+                noFilterClient,
+                sqlClient.filters(it -> {
+                    it.disable(notDeletedFilter);
+                })
+        );
+        Assertions.assertSame(noFilterClient.getFilters(), sqlClient.filters(it -> {
+            it.disable(notDeletedFilter);
+        }).getFilters());
+
+        JSqlClient deletedClient = sqlClient.filters(it -> {
+            it.enable(alreadyDeletedFilter);
+            it.disable(notDeletedFilter);
+        });
+        Assertions.assertNotSame(sqlClient, deletedClient);
+        Assertions.assertNotSame(noFilterClient, deletedClient);
+        Assertions.assertSame(
+                deletedClient,
+                noFilterClient.filters(it -> {
+                    it.enable(alreadyDeletedFilter);
+                })
+        );
+
+        // Switch back to the configuration of the root client
+        Assertions.assertSame(
+                sqlClient,
+                noFilterClient.filters(it -> {
+                    it.enable(notDeletedFilter);
+                })
+        );
+        Assertions.assertSame(
+                sqlClient,
+                deletedClient.filters(it -> {
+                    it.enable(notDeletedFilter);
+                    it.disable(alreadyDeletedFilter);
+                })
+        );
+    }
+
+    @Test
+    public void testCaches() {
+        JSqlClient sqlClient = getSqlClient();
+
+        Assertions.assertSame(sqlClient, sqlClient.caches(it -> {}));
+
+        JSqlClient noStoreCacheClient = sqlClient.caches(it -> {
+            it.disable(BookStore.class);
+        });
+        Assertions.assertNotSame(sqlClient, noStoreCacheClient);
+        Assertions.assertSame(
+                noStoreCacheClient,
+                sqlClient.caches(it -> {
+                    it.disable(BookStore.class);
+                })
+        );
+        Assertions.assertSame(
+                noStoreCacheClient,
+                noStoreCacheClient.caches(it -> {
+                    it.disable(BookStore.class);
+                })
+        );
+
+        JSqlClient noBookCacheClient = sqlClient.caches(it -> {
+            it.disable(Book.class);
+        });
+        JSqlClient noCacheClient = sqlClient.caches(it -> {
+            it.disableAll();
+        });
+        Assertions.assertNotSame(sqlClient, noBookCacheClient);
+        Assertions.assertNotSame(noStoreCacheClient, noBookCacheClient);
+        Assertions.assertNotSame(noStoreCacheClient, noCacheClient);
+        Assertions.assertNotSame(noBookCacheClient, noCacheClient);
+
+        // Switch back to the configuration of the root client
+        Assertions.assertSame(sqlClient, noCacheClient.caches(it -> {}));
+    }
+
+    @Test
+    public void testDisableSlaveConnectionManager() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setSlaveConnectionManager(
+                    new ConnectionManager() {
+                        @Override
+                        public <R> R execute(Function<Connection, R> block) {
+                            throw new UnsupportedOperationException();
+                        }
+                    }
+            );
+        });
+        JSqlClient masterOnlyClient = sqlClient.disableSlaveConnectionManager();
+        Assertions.assertNotSame(sqlClient, masterOnlyClient);
+        Assertions.assertSame(masterOnlyClient, sqlClient.disableSlaveConnectionManager());
+        Assertions.assertSame(masterOnlyClient, masterOnlyClient.disableSlaveConnectionManager());
+
+        JSqlClient noSlaveClient = getSqlClient();
+        Assertions.assertSame(noSlaveClient, noSlaveClient.disableSlaveConnectionManager());
+    }
+
+    @Test
+    public void testCombination() {
+        JSqlClient sqlClient = getSqlClient();
+        Filter<?> notDeletedFilter =
+                sqlClient.getFilters().builtIns().getDeclaredNotDeletedFilter(NamedEntity.class);
+
+        JSqlClient client1 = sqlClient
+                .filters(it -> {
+                    it.disable(notDeletedFilter);
+                })
+                .caches(it -> {
+                    it.disable(BookStore.class);
+                });
+        JSqlClient client2 = sqlClient
+                .caches(it -> {
+                    it.disable(BookStore.class);
+                })
+                .filters(it -> {
+                    it.disable(notDeletedFilter);
+                });
+        Assertions.assertSame(client1, client2);
+
+        Assertions.assertSame(
+                sqlClient.caches(it -> {
+                    it.disable(BookStore.class);
+                }),
+                client1.filters(it -> {
+                    it.enable(notDeletedFilter);
+                })
+        );
+        Assertions.assertSame(
+                sqlClient,
+                client1
+                        .filters(it -> {
+                            it.enable(notDeletedFilter);
+                        })
+                        .caches(it -> {})
+        );
+    }
+}
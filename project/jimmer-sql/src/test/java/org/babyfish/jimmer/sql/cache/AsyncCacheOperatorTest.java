@@ -0,0 +1,106 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.common.CacheImpl;
+import org.babyfish.jimmer.sql.model.Book;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class AsyncCacheOperatorTest {
+
+    @Test
+    public void testRetry() {
+        ImmutableType type = ImmutableType.get(Book.class);
+        LocatedCache<Object, ?> cache = LocatedCacheImpl.wrap(new CacheImpl<>(type), type);
+        Set<Object> deletedKeys = Collections.synchronizedSet(new TreeSet<>());
+        Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+        boolean[] failed = new boolean[1];
+        AsyncCacheOperator operator = AsyncCacheOperator
+                .newBuilder()
+                .setDelegate(
+                        new CacheOperator() {
+                            @Override
+                            public void delete(LocatedCache<Object, ?> cache, Object key, Object reason) {
+                                throw new AssertionError("Unexpected delete");
+                            }
+
+                            @Override
+                            public void deleteAll(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+                                threadNames.add(Thread.currentThread().getName());
+                                if (!failed[0]) {
+                                    failed[0] = true;
+                                    throw new IllegalStateException("Remote cache is unavailable");
+                                }
+                                deletedKeys.addAll(keys);
+                            }
+                        }
+                )
+                .setRetryDelayMillis(1)
+                .build();
+        operator.delete(cache, 1L, null);
+        operator.deleteAll(cache, Arrays.asList(2L, 3L), null);
+        operator.close();
+        Assertions.assertEquals(0, operator.getQueueDepth());
+        Assertions.assertEquals(0, operator.getLagMillis());
+        Assertions.assertEquals(1, operator.getRetryCount());
+        Assertions.assertEquals(0, operator.getFailedKeyCount());
+        Assertions.assertEquals(0, operator.getCallerDeletedKeyCount());
+        Assertions.assertEquals("[1, 2, 3]", deletedKeys.toString());
+        for (String threadName : threadNames) {
+            Assertions.assertTrue(threadName.startsWith("jimmer-cache-operator-"), threadName);
+        }
+    }
+
+    @Test
+    public void testErrorDoesNotKillWorker() {
+        ImmutableType type = ImmutableType.get(Book.class);
+        LocatedCache<Object, ?> cache = LocatedCacheImpl.wrap(new CacheImpl<>(type), type);
+        Set<Object> deletedKeys = Collections.synchronizedSet(new TreeSet<>());
+        Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+        AsyncCacheOperator operator = AsyncCacheOperator
+                .newBuilder()
+                .setDelegate(
+                        new CacheOperator() {
+                            @Override
+                            public void delete(LocatedCache<Object, ?> cache, Object key, Object reason) {
+                                throw new AssertionError("Unexpected delete");
+                            }
+
+                            @Override
+                            public void deleteAll(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+                                threadNames.add(Thread.currentThread().getName());
+                                if ("error".equals(reason)) {
+                                    throw new Error("Broken cache client");
+                                }
+                                deletedKeys.addAll(keys);
+                            }
+                        }
+                )
+                .setRetryDelayMillis(1)
+                .build();
+        operator.delete(cache, 1L, "error");
+        operator.deleteAll(cache, Arrays.asList(2L, 3L), "ok");
+        operator.close();
+        Assertions.assertEquals(0, operator.getQueueDepth());
+        Assertions.assertEquals(0, operator.getRetryCount());
+        Assertions.assertEquals(1, operator.getFailedKeyCount());
+        Assertions.assertEquals(0, operator.getCallerDeletedKeyCount());
+        Assertions.assertEquals("[2, 3]", deletedKeys.toString());
+        for (String threadName : threadNames) {
+            Assertions.assertTrue(threadName.startsWith("jimmer-cache-operator-"), threadName);
+        }
+    }
+
+    @Test
+    public void testCallerRunsAfterClose() {
+        ImmutableType type = ImmutableType.get(Book.class);
+        CacheImpl<Book> cacheImpl = new CacheImpl<>(type);
+        LocatedCache<Object, ?> cache = LocatedCacheImpl.wrap(cacheImpl, type);
+        AsyncCacheOperator operator = AsyncCacheOperator.newBuilder().build();
+        operator.close();
+        operator.deleteAll(cache, Arrays.asList(1L, 2L), null);
+        Assertions.assertEquals(2, operator.getCallerDeletedKeyCount());
+    }
+}
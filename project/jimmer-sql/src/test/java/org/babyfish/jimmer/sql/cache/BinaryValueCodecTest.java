@@ -0,0 +1,77 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class BinaryValueCodecTest {
+
+    @Test
+    public void testObject() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft
+                    .setId(graphQLInActionId3)
+                    .setName("GraphQL in Action")
+                    .setEdition(3)
+                    .setPrice(new BigDecimal("80.00"));
+            draft.applyStore(store -> store.setId(manningId).setName("MANNING").setWebsite(null));
+            draft.addIntoAuthors(author -> author.setId(sammerId).setFirstName("Samer").setGender(Gender.MALE));
+        });
+        ValueSerializer<Book> jsonSerializer = new ValueSerializer<>(ImmutableType.get(Book.class));
+        ValueSerializer<Book> binarySerializer = new ValueSerializer<>(
+                ImmutableType.get(Book.class),
+                null,
+                ValueCodecFactory.BINARY
+        );
+        byte[] jsonBytes = jsonSerializer.serialize(book);
+        byte[] binaryBytes = binarySerializer.serialize(book);
+        Assertions.assertTrue(BinaryValueCodec.isBinary(binaryBytes));
+        Assertions.assertTrue(binaryBytes.length < jsonBytes.length);
+        Assertions.assertEquals(book.toString(), binarySerializer.deserialize(binaryBytes).toString());
+
+        // Both serializers can read both formats
+        Assertions.assertEquals(book.toString(), jsonSerializer.deserialize(binaryBytes).toString());
+        Assertions.assertEquals(book.toString(), binarySerializer.deserialize(jsonBytes).toString());
+        Assertions.assertNull(binarySerializer.deserialize(binarySerializer.serialize(null)));
+    }
+
+    @Test
+    public void testAssociatedIds() {
+        ValueSerializer<List<UUID>> serializer = new ValueSerializer<>(
+                BookProps.AUTHORS.unwrap(),
+                null,
+                ValueCodecFactory.BINARY
+        );
+        List<UUID> ids = Arrays.asList(danId, sammerId);
+        Assertions.assertEquals(ids, serializer.deserialize(serializer.serialize(ids)));
+    }
+
+    @Test
+    public void testIncompatibleValue() {
+        ValueSerializer<Book> serializer = new ValueSerializer<>(
+                ImmutableType.get(Book.class),
+                null,
+                ValueCodecFactory.BINARY
+        );
+        byte[] bytes = serializer.serialize(
+                BookDraft.$.produce(draft -> draft.setId(graphQLInActionId3).setName("GraphQL in Action"))
+        );
+        bytes[2] ^= 1; // Change the schema hash
+        Map<String, Book> map = serializer.deserialize(
+                Collections.singletonList("key"),
+                Collections.singletonList(bytes)
+        );
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertNull(serializer.deserialize(bytes));
+    }
+}
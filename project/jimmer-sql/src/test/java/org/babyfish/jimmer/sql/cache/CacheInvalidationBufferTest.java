@@ -0,0 +1,120 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.common.CacheImpl;
+import org.babyfish.jimmer.sql.model.BookDraft;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class CacheInvalidationBufferTest extends AbstractTest {
+
+    private JSqlClient sqlClient;
+
+    private final List<String> deleteRecords = new ArrayList<>();
+
+    @BeforeEach
+    public void initialize() {
+        deleteRecords.clear();
+        sqlClient = getSqlClient(builder -> {
+            builder.setCaches(cfg ->
+                    cfg.setCacheFactory(
+                            new CacheFactory() {
+                                @Override
+                                public Cache<?, ?> createObjectCache(ImmutableType type) {
+                                    return new CacheImpl<>(type);
+                                }
+
+                                @Override
+                                public Cache<?, ?> createAssociatedIdCache(ImmutableProp prop) {
+                                    return new CacheImpl<>(prop);
+                                }
+
+                                @Override
+                                public Cache<?, List<?>> createAssociatedIdListCache(ImmutableProp prop) {
+                                    return new CacheImpl<>(prop);
+                                }
+                            }
+                    ).setCacheOperator(
+                            new CacheOperator() {
+                                @Override
+                                public void delete(LocatedCache<Object, ?> cache, Object key, Object reason) {
+                                    deleteRecords.add(name(cache) + "-" + key);
+                                    cache.delete(key, reason);
+                                }
+
+                                @Override
+                                public void deleteAll(LocatedCache<Object, ?> cache, Collection<Object> keys, Object reason) {
+                                    deleteRecords.add(name(cache) + "-" + keys);
+                                    cache.deleteAll(keys, reason);
+                                }
+                            }
+                    )
+            );
+        });
+    }
+
+    @Test
+    public void testImmediately() {
+        changeStore();
+        Assertions.assertEquals(
+                "[Book-" + graphQLInActionId3 +
+                        ", Book.store-" + graphQLInActionId3 +
+                        ", BookStore.books-" + oreillyId +
+                        ", BookStore.books-" + manningId +
+                        "]",
+                deleteRecords.toString()
+        );
+    }
+
+    @Test
+    public void testCoalesce() {
+        CacheInvalidationStatistics statistics = sqlClient.getCaches().getInvalidationStatistics();
+        CacheInvalidationBuffer.execute(() -> {
+            changeStore();
+            changeStore();
+            Assertions.assertTrue(deleteRecords.isEmpty());
+        });
+        Assertions.assertEquals(
+                "[Book-[" + graphQLInActionId3 +
+                        "], Book.store-[" + graphQLInActionId3 +
+                        "], BookStore.books-[" + oreillyId + ", " + manningId +
+                        "]]",
+                deleteRecords.toString()
+        );
+        Assertions.assertEquals(8, statistics.getRequestedKeyCount());
+        Assertions.assertEquals(4, statistics.getDeletedKeyCount());
+        Assertions.assertEquals(4, statistics.getCoalescedKeyCount());
+        Assertions.assertEquals(3, statistics.getBatchCount());
+    }
+
+    private void changeStore() {
+        sqlClient.getTriggers().fireEntityTableChange(
+                BookDraft.$.produce(book -> {
+                    book.setId(graphQLInActionId3).applyStore(store -> store.setId(oreillyId));
+                }),
+                BookDraft.$.produce(book -> {
+                    book.setId(graphQLInActionId3).applyStore(store -> store.setId(manningId));
+                }),
+                null
+        );
+    }
+
+    private static String name(LocatedCache<?, ?> cache) {
+        ImmutableType type = cache.getType();
+        ImmutableProp prop = cache.getProp();
+        if (type != null) {
+            return type.getJavaClass().getSimpleName();
+        }
+        return prop.getDeclaringType().getJavaClass().getSimpleName() + "." + prop.getName();
+    }
+}
@@ -0,0 +1,128 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.spi.CacheInvalidationMessage;
+import org.babyfish.jimmer.sql.cache.spi.CacheInvalidationTransport;
+import org.babyfish.jimmer.sql.cache.spi.LoopbackCacheInvalidationTransport;
+import org.babyfish.jimmer.sql.model.TreeNode;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+public class NearCacheBinderTest {
+
+    @Test
+    public void testFanOut() {
+        CacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+        MapBinder localBinder1 = new MapBinder();
+        MapBinder localBinder2 = new MapBinder();
+        NearCacheBinder<Long, String> binder1 = new NearCacheBinder<>(localBinder1, transport, "Book");
+        NearCacheBinder<Long, String> binder2 = new NearCacheBinder<>(localBinder2, transport, "Book");
+        NearCacheBinder<Long, String> otherBinder = new NearCacheBinder<>(new MapBinder(), transport, "Author");
+        binder1.initialize(MapBinder::load);
+        binder2.initialize(MapBinder::load);
+        otherBinder.initialize(MapBinder::load);
+
+        Assertions.assertEquals("{1=V1, 2=V2}", binder1.getAll(Arrays.asList(1L, 2L)).toString());
+        Assertions.assertEquals("{1=V1, 2=V2}", binder2.getAll(Arrays.asList(1L, 2L)).toString());
+
+        binder1.deleteAll(Collections.singleton(1L), null);
+        Assertions.assertEquals("[2]", localBinder1.map.keySet().toString());
+        Assertions.assertEquals("[2]", localBinder2.map.keySet().toString());
+        Assertions.assertEquals("[[1]]", localBinder1.deleteRecords.toString());
+        Assertions.assertEquals("[[1]]", localBinder2.deleteRecords.toString());
+    }
+
+    @Test
+    public void testKeyTypeOfLossyTransport() {
+        LoopbackCacheInvalidationTransport loopback = new LoopbackCacheInvalidationTransport();
+        // Like a JSON transport, small numbers are deserialized as `Integer`
+        CacheInvalidationTransport transport = new CacheInvalidationTransport() {
+            @Override
+            public void publish(@NotNull CacheInvalidationMessage message) {
+                List<Object> keys = new ArrayList<>();
+                for (Object key : message.getKeys()) {
+                    keys.add(((Number) key).intValue());
+                }
+                loopback.publish(
+                        new CacheInvalidationMessage(
+                                message.getChannel(),
+                                message.getSourceId(),
+                                keys,
+                                message.getReason()
+                        )
+                );
+            }
+            @Override
+            public void subscribe(@NotNull String channel, @NotNull Consumer<CacheInvalidationMessage> listener) {
+                loopback.subscribe(channel, listener);
+            }
+        };
+        ImmutableType type = ImmutableType.get(TreeNode.class);
+        MapBinder localBinder1 = new MapBinder();
+        MapBinder localBinder2 = new MapBinder();
+        NearCacheBinder<Long, String> binder1 = new NearCacheBinder<>(localBinder1, transport, type);
+        NearCacheBinder<Long, String> binder2 = new NearCacheBinder<>(localBinder2, transport, type);
+        binder1.initialize(MapBinder::load);
+        binder2.initialize(MapBinder::load);
+
+        binder1.getAll(Arrays.asList(1L, 2L));
+        binder2.getAll(Arrays.asList(1L, 2L));
+
+        binder1.deleteAll(Collections.singleton(1L), null);
+        Assertions.assertEquals("[2]", localBinder1.map.keySet().toString());
+        Assertions.assertEquals("[2]", localBinder2.map.keySet().toString());
+        Assertions.assertEquals(Long.class, localBinder2.deleteRecords.get(0).iterator().next().getClass());
+    }
+
+    private static class MapBinder implements LoadingBinder<Long, String> {
+
+        final Map<Long, String> map = new TreeMap<>();
+
+        final List<Collection<Long>> deleteRecords = new ArrayList<>();
+
+        private CacheChain<Long, String> chain;
+
+        @Override
+        public void initialize(CacheChain<Long, String> chain) {
+            this.chain = chain;
+        }
+
+        @Override
+        public Map<Long, String> getAll(Collection<Long> keys) {
+            Map<Long, String> resultMap = new LinkedHashMap<>();
+            Set<Long> missedKeys = new LinkedHashSet<>();
+            for (Long key : keys) {
+                String value = map.get(key);
+                if (value != null) {
+                    resultMap.put(key, value);
+                } else {
+                    missedKeys.add(key);
+                }
+            }
+            if (!missedKeys.isEmpty()) {
+                Map<Long, String> loadedMap = chain.loadAll(missedKeys);
+                map.putAll(loadedMap);
+                resultMap.putAll(loadedMap);
+            }
+            return resultMap;
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {
+            deleteRecords.add(new ArrayList<>(keys));
+            map.keySet().removeAll(keys);
+        }
+
+        static Map<Long, String> load(Collection<Long> keys) {
+            Map<Long, String> map = new LinkedHashMap<>();
+            for (Long key : keys) {
+                map.put(key, "V" + key);
+            }
+            return map;
+        }
+    }
+}
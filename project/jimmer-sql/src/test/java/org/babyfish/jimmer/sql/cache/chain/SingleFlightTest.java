@@ -0,0 +1,84 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SingleFlightTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testConcurrentMiss() throws InterruptedException {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        List<String> loadRecords = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch followerLoaded = new CountDownLatch(1);
+        CountDownLatch leaderReleased = new CountDownLatch(1);
+        Map<Long, String>[] results = new Map[2];
+        Thread leader = new Thread(() -> {
+            results[0] = singleFlight.loadAll(
+                    Arrays.asList(1L, 2L),
+                    Collections.emptySortedMap(),
+                    keys -> {
+                        loadRecords.add(keys.toString());
+                        leaderStarted.countDown();
+                        await(leaderReleased);
+                        return map(keys);
+                    }
+            );
+        });
+        Thread follower = new Thread(() -> {
+            results[1] = singleFlight.loadAll(
+                    Arrays.asList(2L, 3L),
+                    Collections.emptySortedMap(),
+                    keys -> {
+                        loadRecords.add(keys.toString());
+                        followerLoaded.countDown();
+                        return map(keys);
+                    }
+            );
+        });
+        leader.start();
+        await(leaderStarted);
+        follower.start();
+        await(followerLoaded);
+        leaderReleased.countDown();
+        leader.join();
+        follower.join();
+        Assertions.assertEquals("[[1, 2], [3]]", loadRecords.toString());
+        Assertions.assertEquals("{1=V1, 2=V2}", results[0].toString());
+        Assertions.assertEquals("{3=V3, 2=V2}", results[1].toString());
+    }
+
+    @Test
+    public void testDifferentParameters() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        SortedMap<String, Object> parameterMap = new TreeMap<>();
+        parameterMap.put("tenant", "a");
+        Map<Long, String> map = singleFlight.loadAll(
+                Collections.singleton(1L),
+                parameterMap,
+                keys -> singleFlight.loadAll(keys, Collections.emptySortedMap(), SingleFlightTest::map)
+        );
+        Assertions.assertEquals("{1=V1}", map.toString());
+    }
+
+    private static Map<Long, String> map(Collection<Long> keys) {
+        Map<Long, String> map = new LinkedHashMap<>();
+        for (Long key : keys) {
+            map.put(key, "V" + key);
+        }
+        return map;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -294,6 +294,30 @@ public abstract class AbstractMutationTest extends AbstractTest {
         public void variables(Consumer<List<Object>> block) {
             block.accept(execution.getVariables());
         }
+
+        public void batchVariables(int batchIndex, Object ... values) {
+            Assertions.assertNotNull(
+                    execution.getBatchVariables(),
+                    "statements[" + index + "] is not batch statement"
+            );
+            Assertions.assertEquals(
+                    Arrays.asList(values),
+                    execution.getBatchVariables().get(batchIndex),
+                    "statements[" + index + "].batchVariables[" + batchIndex + "]"
+            );
+        }
+
+        public void batchCount(int count) {
+            Assertions.assertNotNull(
+                    execution.getBatchVariables(),
+                    "statements[" + index + "] is not batch statement"
+            );
+            Assertions.assertEquals(
+                    count,
+                    execution.getBatchVariables().size(),
+                    "statements[" + index + "].batchCount"
+            );
+        }
     }
 
     protected static class ThrowableDSL {
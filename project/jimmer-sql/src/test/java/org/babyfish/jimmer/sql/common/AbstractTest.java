@@ -71,6 +71,18 @@ public class AbstractTest {
             executions.add(new Execution(args.sql, args.variables));
             return DefaultExecutor.INSTANCE.execute(args);
         }
+
+        @Override
+        public <R> R executeBatch(@NotNull BatchArgs<R> args) {
+            executions.add(new Execution(args.sql, null, args.variablesList));
+            return DefaultExecutor.INSTANCE.executeBatch(args);
+        }
+
+        @Override
+        public PreparedStatement prepareCursor(@NotNull Args<?> args) {
+            executions.add(new Execution(args.sql, args.variables));
+            return DefaultExecutor.INSTANCE.prepareCursor(args);
+        }
     }
 
     protected JSqlClient getSqlClient() {
@@ -123,9 +135,16 @@ public class AbstractTest {
 
         private List<Object> variables;
 
+        private List<List<Object>> batchVariables;
+
         Execution(String sql, List<Object> variables) {
+            this(sql, variables, null);
+        }
+
+        Execution(String sql, List<Object> variables, List<List<Object>> batchVariables) {
             this.sql = sql;
             this.variables = variables;
+            this.batchVariables = batchVariables;
         }
 
         public String getSql() {
@@ -135,6 +154,10 @@ public class AbstractTest {
         public List<Object> getVariables() {
             return variables;
         }
+
+        public List<List<Object>> getBatchVariables() {
+            return batchVariables;
+        }
     }
 
     public static void jdbc(SqlConsumer<Connection> block) {
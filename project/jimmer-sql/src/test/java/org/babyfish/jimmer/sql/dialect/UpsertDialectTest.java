@@ -0,0 +1,269 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class UpsertDialectTest {
+
+    @Test
+    public void testPostgresById() {
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                        "on conflict(ID) " +
+                        "do update set NAME = excluded.NAME, EDITION = excluded.EDITION, PRICE = excluded.PRICE",
+                upsert(new PostgresDialect(), byId())
+        );
+    }
+
+    @Test
+    public void testPostgresByKey() {
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                        "on conflict(NAME, EDITION) " +
+                        "do update set PRICE = excluded.PRICE " +
+                        "returning ID",
+                upsert(new PostgresDialect(), byKey())
+        );
+    }
+
+    @Test
+    public void testPostgresWithOverriddenIdentity() {
+        Context ctx = byId();
+        ctx.identityIdOverridden = true;
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) overriding system value values(?, ?, ?, ?) " +
+                        "on conflict(ID) " +
+                        "do update set NAME = excluded.NAME, EDITION = excluded.EDITION, PRICE = excluded.PRICE",
+                upsert(new PostgresDialect(), ctx)
+        );
+    }
+
+    @Test
+    public void testPostgresWithoutUpdatedColumns() {
+        Context ctx = byId();
+        ctx.updatedColumns = Collections.emptyList();
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                        "on conflict(ID) do nothing",
+                upsert(new PostgresDialect(), ctx)
+        );
+    }
+
+    @Test
+    public void testMySqlById() {
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                        "on duplicate key update " +
+                        "NAME = values(NAME), EDITION = values(EDITION), PRICE = values(PRICE)",
+                upsert(new MySqlDialect(), byId())
+        );
+    }
+
+    @Test
+    public void testMySqlByKey() {
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                        "on duplicate key update " +
+                        "PRICE = values(PRICE), ID = last_insert_id(ID)",
+                upsert(new MySqlDialect(), byKey())
+        );
+    }
+
+    @Test
+    public void testMySqlWithRowAlias() {
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) as new " +
+                        "on duplicate key update " +
+                        "NAME = new.NAME, EDITION = new.EDITION, PRICE = new.PRICE",
+                upsert(new MySqlDialect(true), byId())
+        );
+    }
+
+    @Test
+    public void testMySqlWithoutUpdatedColumns() {
+        Context ctx = byId();
+        ctx.updatedColumns = Collections.emptyList();
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                        "on duplicate key update ID = ID",
+                upsert(new MySqlDialect(), ctx)
+        );
+    }
+
+    @Test
+    public void testSqlServerById() {
+        Assertions.assertEquals(
+                "merge into BOOK tb_1_ " +
+                        "using(values(?, ?, ?, ?)) tb_2_(ID, NAME, EDITION, PRICE) " +
+                        "on tb_1_.ID = tb_2_.ID " +
+                        "when matched then update set " +
+                        "NAME = tb_2_.NAME, EDITION = tb_2_.EDITION, PRICE = tb_2_.PRICE " +
+                        "when not matched then insert(ID, NAME, EDITION, PRICE) " +
+                        "values(tb_2_.ID, tb_2_.NAME, tb_2_.EDITION, tb_2_.PRICE);",
+                upsert(new SqlServerDialect(), byId())
+        );
+    }
+
+    @Test
+    public void testSqlServerWithOverriddenIdentity() {
+        Context ctx = byId();
+        ctx.identityIdOverridden = true;
+        Assertions.assertEquals(
+                "set identity_insert BOOK on; " +
+                        "merge into BOOK tb_1_ " +
+                        "using(values(?, ?, ?, ?)) tb_2_(ID, NAME, EDITION, PRICE) " +
+                        "on tb_1_.ID = tb_2_.ID " +
+                        "when matched then update set " +
+                        "NAME = tb_2_.NAME, EDITION = tb_2_.EDITION, PRICE = tb_2_.PRICE " +
+                        "when not matched then insert(ID, NAME, EDITION, PRICE) " +
+                        "values(tb_2_.ID, tb_2_.NAME, tb_2_.EDITION, tb_2_.PRICE); " +
+                        "set identity_insert BOOK off;",
+                upsert(new SqlServerDialect(), ctx)
+        );
+    }
+
+    private static String upsert(Dialect dialect, Context ctx) {
+        dialect.upsert(ctx);
+        return ctx.builder.toString();
+    }
+
+    private static Context byId() {
+        return new Context(
+                Collections.singletonList("ID"),
+                Arrays.asList("NAME", "EDITION", "PRICE"),
+                false
+        );
+    }
+
+    private static Context byKey() {
+        return new Context(
+                Arrays.asList("NAME", "EDITION"),
+                Collections.singletonList("PRICE"),
+                true
+        );
+    }
+
+    private static class Context implements UpsertContext {
+
+        private static final List<String> COLUMNS = Arrays.asList("ID", "NAME", "EDITION", "PRICE");
+
+        final StringBuilder builder = new StringBuilder();
+
+        final List<String> conflictColumns;
+
+        List<String> updatedColumns;
+
+        final boolean idReturningRequired;
+
+        boolean identityIdOverridden;
+
+        Context(List<String> conflictColumns, List<String> updatedColumns, boolean idReturningRequired) {
+            this.conflictColumns = conflictColumns;
+            this.updatedColumns = updatedColumns;
+            this.idReturningRequired = idReturningRequired;
+        }
+
+        @Override
+        public boolean isIdReturningRequired() {
+            return idReturningRequired;
+        }
+
+        @Override
+        public boolean isIdentityIdOverridden() {
+            return identityIdOverridden;
+        }
+
+        @Override
+        public boolean hasUpdatedColumns() {
+            return !updatedColumns.isEmpty();
+        }
+
+        @Override
+        public UpsertContext sql(String sql) {
+            builder.append(sql);
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendTableName() {
+            builder.append("BOOK");
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendIdColumnName() {
+            builder.append("ID");
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendInsertedColumns(String prefix) {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i != 0) {
+                    builder.append(", ");
+                }
+                builder.append(prefix).append(COLUMNS.get(i));
+            }
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendInsertingValues() {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i != 0) {
+                    builder.append(", ");
+                }
+                builder.append("?");
+            }
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendAliasedInsertingValues() {
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i != 0) {
+                    builder.append(", ");
+                }
+                builder.append("? ").append(COLUMNS.get(i));
+            }
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendConflictColumns() {
+            builder.append(String.join(", ", conflictColumns));
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendConflictCondition(String targetAlias, String sourceAlias) {
+            for (int i = 0; i < conflictColumns.size(); i++) {
+                if (i != 0) {
+                    builder.append(" and ");
+                }
+                String column = conflictColumns.get(i);
+                builder
+                        .append(targetAlias).append('.').append(column)
+                        .append(" = ")
+                        .append(sourceAlias).append('.').append(column);
+            }
+            return this;
+        }
+
+        @Override
+        public UpsertContext appendUpdatingAssignments(String prefix, String suffix) {
+            for (int i = 0; i < updatedColumns.size(); i++) {
+                if (i != 0) {
+                    builder.append(", ");
+                }
+                String column = updatedColumns.get(i);
+                builder.append(column).append(" = ").append(prefix).append(column).append(suffix);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class ParallelTest extends AbstractTest {
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    @Test
+    public void testParallelFetching() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        AtomicInteger taskCount = new AtomicInteger();
+        Executor executor = command -> {
+            taskCount.incrementAndGet();
+            executorService.execute(command);
+        };
+        try {
+            List<Book> sequentialBooks = query(getSqlClient(this::configure), false, null);
+            List<Book> parallelBooks = query(
+                    getSqlClient(it -> configure(it.setParallelFetchingExecutor(executor))),
+                    false,
+                    null
+            );
+            Assertions.assertEquals(12, parallelBooks.size());
+            Assertions.assertEquals(sequentialBooks.toString(), parallelBooks.toString());
+            Assertions.assertTrue(taskCount.get() >= 2);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testFieldFilterIsNotParallel() {
+        AtomicInteger taskCount = new AtomicInteger();
+        Executor executor = command -> {
+            taskCount.incrementAndGet();
+            command.run();
+        };
+        List<Book> books = query(
+                getSqlClient(it -> configure(it.setParallelFetchingExecutor(executor))),
+                true,
+                null
+        );
+        Assertions.assertEquals(12, books.size());
+        Assertions.assertEquals(0, taskCount.get());
+    }
+
+    @Test
+    public void testTransactionIsNotParallel() {
+        AtomicInteger taskCount = new AtomicInteger();
+        Executor executor = command -> {
+            taskCount.incrementAndGet();
+            command.run();
+        };
+        JSqlClient sqlClient = getSqlClient(it -> configure(it.setParallelFetchingExecutor(executor)));
+        jdbc(null, true, con -> {
+            Assertions.assertEquals(12, query(sqlClient, false, con).size());
+        });
+        Assertions.assertEquals(0, taskCount.get());
+    }
+
+    @Test
+    public void testReadOnlyTransactionIsParallel() {
+        AtomicInteger taskCount = new AtomicInteger();
+        Executor executor = command -> {
+            taskCount.incrementAndGet();
+            command.run();
+        };
+        JSqlClient sqlClient = getSqlClient(it -> configure(it.setParallelFetchingExecutor(executor)));
+        jdbc(null, true, con -> {
+            // H2 only treats `setReadOnly` as a hint, `isReadOnly` returns the mode of database
+            Connection readOnlyCon = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class[] { Connection.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("isReadOnly")) {
+                            return true;
+                        }
+                        try {
+                            return method.invoke(con, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    }
+            );
+            Assertions.assertEquals(12, query(sqlClient, false, readOnlyCon).size());
+        });
+        Assertions.assertTrue(taskCount.get() >= 2);
+    }
+
+    @Test
+    public void testRejectedExecution() {
+        List<Runnable> queuedCommands = new ArrayList<>();
+        Executor executor = command -> {
+            if (!queuedCommands.isEmpty()) {
+                throw new RejectedExecutionException();
+            }
+            queuedCommands.add(command);
+        };
+        List<Book> sequentialBooks = query(getSqlClient(this::configure), false, null);
+        List<Book> books = query(
+                getSqlClient(it -> configure(it.setParallelFetchingExecutor(executor))),
+                false,
+                null
+        );
+        Assertions.assertEquals(sequentialBooks.toString(), books.toString());
+        Assertions.assertFalse(queuedCommands.isEmpty());
+        int connectionCount = this.connectionCount.get();
+        for (Runnable command : queuedCommands) {
+            command.run();
+        }
+        Assertions.assertEquals(connectionCount, this.connectionCount.get());
+    }
+
+    private void configure(JSqlClient.Builder builder) {
+        builder
+                .setExecutor(DefaultExecutor.INSTANCE)
+                .setConnectionManager(
+                        new ConnectionManager() {
+                            @Override
+                            public <R> R execute(Function<Connection, R> block) {
+                                connectionCount.incrementAndGet();
+                                try (Connection con = new Driver().connect(JDBC_URL, null)) {
+                                    return block.apply(con);
+                                } catch (SQLException ex) {
+                                    throw new ExecutionException(ex.getMessage(), ex);
+                                }
+                            }
+                        }
+                );
+    }
+
+    private static List<Book> query(JSqlClient sqlClient, boolean fieldFilter, Connection con) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name(), table.edition())
+                .select(
+                        table.fetch(
+                                BookFetcher.$
+                                        .allScalarFields()
+                                        .store(
+                                                BookStoreFetcher.$.name()
+                                        )
+                                        .authors(
+                                                AuthorFetcher.$.firstName().lastName(),
+                                                it -> {
+                                                    if (fieldFilter) {
+                                                        it.filter(args -> {
+                                                            args.orderBy(args.getTable().firstName());
+                                                        });
+                                                    }
+                                                }
+                                        )
+                        )
+                )
+                .execute(con);
+    }
+}
@@ -0,0 +1,20 @@
+package org.babyfish.jimmer.sql.model;
+
+import org.babyfish.jimmer.sql.Entity;
+import org.babyfish.jimmer.sql.GeneratedValue;
+import org.babyfish.jimmer.sql.GenerationType;
+import org.babyfish.jimmer.sql.Id;
+
+@Entity
+public interface Tag {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            sequenceName = "tag_id_seq",
+            allocationSize = 3
+    )
+    long id();
+
+    String name();
+}
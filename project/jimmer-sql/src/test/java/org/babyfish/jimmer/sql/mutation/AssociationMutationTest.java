@@ -96,6 +96,41 @@ public class AssociationMutationTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testDeleteByChunks() {
+        executeAndExpectRowCount(
+                getSqlClient(it -> it.setMiddleTableBatchSize(2))
+                        .getAssociations(BookProps.AUTHORS)
+                        .batchDeleteCommand(
+                                Arrays.asList(
+                                    new Tuple2<>(learningGraphQLId1, alexId),
+                                    new Tuple2<>(learningGraphQLId2, alexId),
+                                    new Tuple2<>(learningGraphQLId3, borisId)
+                                )
+                        ),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "delete from BOOK_AUTHOR_MAPPING " +
+                                        "where (BOOK_ID, AUTHOR_ID) in ((?, ?), (?, ?))"
+                        );
+                        it.variables(
+                                learningGraphQLId1, alexId,
+                                learningGraphQLId2, alexId
+                        );
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "delete from BOOK_AUTHOR_MAPPING " +
+                                        "where (BOOK_ID, AUTHOR_ID) in ((?, ?))"
+                        );
+                        it.variables(learningGraphQLId3, borisId);
+                    });
+                    ctx.rowCount(2);
+                }
+        );
+    }
+
     @Test
     public void testInverseInsertIgnore() {
         executeAndExpectRowCount(
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.mutation;
 
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import org.babyfish.jimmer.sql.common.NativeDatabases;
@@ -7,6 +8,8 @@ import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.meta.IdentityIdGenerator;
+import org.babyfish.jimmer.sql.meta.SequenceIdGenerator;
+import org.babyfish.jimmer.sql.model.TagDraft;
 import org.babyfish.jimmer.sql.model.TreeNode;
 import org.babyfish.jimmer.sql.model.TreeNodeDraft;
 import org.junit.jupiter.api.Test;
@@ -38,6 +41,81 @@ public class DatabaseAutoIdTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testPooledSequenceByH2() {
+        JSqlClient sqlClient = getSqlClient(
+                it -> it
+                        .setDialect(new H2Dialect())
+                        .setIdGenerator(
+                                TreeNode.class,
+                                new SequenceIdGenerator("tree_node_pooled_id_seq", 3)
+                        )
+        );
+        for (int i = 0; i < 5; i++) {
+            long id = 1000L + i;
+            boolean sequenceRequired = i % 3 == 0;
+            executeAndExpectResult(
+                    sqlClient.getEntities().saveCommand(
+                            TreeNodeDraft.$.produce(treeNode -> {
+                                treeNode.setName("Computer-" + id);
+                            })
+                    ).configure(it -> it.setMode(SaveMode.INSERT_ONLY)),
+                    ctx -> {
+                        if (sequenceRequired) {
+                            ctx.statement(it -> {
+                                it.sql("select nextval('tree_node_pooled_id_seq')");
+                            });
+                        }
+                        ctx.statement(it -> {
+                            it.sql("insert into TREE_NODE(NODE_ID, NAME) values(?, ?)");
+                            it.variables(id, "Computer-" + id);
+                        });
+                        ctx.entity(it -> {
+                            it.modified("{\"id\":" + id + ",\"name\":\"Computer-" + id + "\"}");
+                        });
+                    }
+            );
+        }
+    }
+
+    @Test
+    public void testPooledSequenceByAnnotation() {
+        JSqlClient sqlClient1 = getSqlClient(it -> it.setDialect(new H2Dialect()));
+        JSqlClient sqlClient2 = getSqlClient(it -> it.setDialect(new H2Dialect()));
+        JSqlClient derivedSqlClient1 = sqlClient1.caches(it -> it.disableAll());
+        // Each sql client allocates its own block, the derived sql client shares the block of its root
+        saveTag(sqlClient1, 1000L, true);
+        saveTag(sqlClient2, 1003L, true);
+        saveTag(derivedSqlClient1, 1001L, false);
+        saveTag(sqlClient2, 1004L, false);
+        saveTag(sqlClient1, 1002L, false);
+        saveTag(sqlClient1, 1006L, true);
+    }
+
+    private void saveTag(JSqlClient sqlClient, long id, boolean sequenceRequired) {
+        executeAndExpectResult(
+                sqlClient.getEntities().saveCommand(
+                        TagDraft.$.produce(tag -> {
+                            tag.setName("Tag-" + id);
+                        })
+                ).configure(it -> it.setMode(SaveMode.INSERT_ONLY)),
+                ctx -> {
+                    if (sequenceRequired) {
+                        ctx.statement(it -> {
+                            it.sql("select nextval('tag_id_seq')");
+                        });
+                    }
+                    ctx.statement(it -> {
+                        it.sql("insert into TAG(ID, NAME) values(?, ?)");
+                        it.variables(id, "Tag-" + id);
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":" + id + ",\"name\":\"Tag-" + id + "\"}");
+                    });
+                }
+        );
+    }
+
     @Test
     public void testSequenceByPostgres() {
 
@@ -7,10 +7,12 @@ import org.babyfish.jimmer.sql.ast.mutation.SimpleSaveResult;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.model.*;
 import org.babyfish.jimmer.sql.model.inheritance.Administrator;
 import org.babyfish.jimmer.sql.model.inheritance.AdministratorMetadata;
 import org.babyfish.jimmer.sql.model.inheritance.AdministratorMetadataDraft;
+import org.babyfish.jimmer.sql.meta.UserIdGenerator;
 import org.babyfish.jimmer.sql.runtime.DbNull;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.SaveErrorCode;
@@ -870,6 +872,319 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testBatchSaveWithPrefetch() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        executeAndExpectResult(
+                getSqlClient()
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setId(oreillyId);
+                                            store.setName("TURING");
+                                            store.setVersion(0);
+                                        }),
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setId(newId);
+                                            store.setName("MANNING");
+                                        })
+                                )
+                        ),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE tb_1_ where tb_1_.ID in (?, ?)"
+                        );
+                        it.variables(oreillyId, newId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE " +
+                                        "set NAME = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("TURING", oreillyId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)");
+                        it.variables(newId, "MANNING", 0);
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"TURING\",\"version\":1}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"MANNING\",\"version\":0}"
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testVersionedUpdateWithoutBatchUpdateCount() {
+        executeAndExpectResult(
+                getSqlClient(it -> {
+                    it.setDialect(
+                            new H2Dialect() {
+                                @Override
+                                public boolean isBatchUpdateCountSupported() {
+                                    return false;
+                                }
+                            }
+                    );
+                    it.setJdbcBatchSize(2);
+                })
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setId(oreillyId).setName("TURING").setVersion(0);
+                                        }),
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setId(manningId).setName("PACKT").setVersion(1);
+                                        })
+                                )
+                        )
+                        .configure(it -> it.setMode(SaveMode.UPDATE_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("update BOOK_STORE set NAME = ?, VERSION = VERSION + 1 where ID = ? and VERSION = ?");
+                        it.variables("TURING", oreillyId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK_STORE set NAME = ?, VERSION = VERSION + 1 where ID = ? and VERSION = ?");
+                        it.variables("PACKT", manningId, 1);
+                    });
+                    ctx.throwable(it -> {
+                        it.type(SaveException.class);
+                        it.detail(ex -> {
+                            Assertions.assertEquals(
+                                    SaveErrorCode.ILLEGAL_VERSION,
+                                    ((SaveException) ex).getCode()
+                            );
+                        });
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testBatchSaveDuplicatedIdByJdbcBatch() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        executeAndExpectResult(
+                getSqlClient(it -> it.setJdbcBatchSize(2))
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setId(newId);
+                                            store.setName("MANNING");
+                                        }),
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setId(newId);
+                                            store.setName("TURING");
+                                            store.setVersion(0);
+                                        })
+                                )
+                        ),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE tb_1_ where tb_1_.ID in (?)"
+                        );
+                        it.variables(newId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)");
+                        it.batchCount(1);
+                        it.batchVariables(0, newId, "MANNING", 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE tb_1_ where tb_1_.ID = ?"
+                        );
+                        it.variables(newId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE " +
+                                        "set NAME = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.batchCount(1);
+                        it.batchVariables(0, "TURING", newId, 0);
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"MANNING\",\"version\":0}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"version\":1}"
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testBatchInsertByJdbcBatch() {
+        setAutoIds(TreeNode.class, 100L, 101L, 102L);
+        executeAndExpectResult(
+                getSqlClient(it -> {
+                    UserIdGenerator idGenerator = this::autoId;
+                    it.setIdGenerator(idGenerator);
+                    it.setJdbcBatchSize(2);
+                })
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-1").setParent((TreeNode) null);
+                                        }),
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-2").setParent((TreeNode) null);
+                                        }),
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-3").setParent((TreeNode) null);
+                                        })
+                                )
+                        )
+                        .configure(it -> it.setMode(SaveMode.INSERT_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.batchCount(2);
+                        it.batchVariables(0, 100L, "batch-node-1", new DbNull(long.class));
+                        it.batchVariables(1, 101L, "batch-node-2", new DbNull(long.class));
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.batchCount(1);
+                        it.batchVariables(0, 102L, "batch-node-3", new DbNull(long.class));
+                    });
+                    ctx.totalRowCount(3);
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":100,\"name\":\"batch-node-1\",\"parent\":null}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":101,\"name\":\"batch-node-2\",\"parent\":null}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":102,\"name\":\"batch-node-3\",\"parent\":null}"
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testBatchInsertByMultiRowValues() {
+        setAutoIds(TreeNode.class, 100L, 101L, 102L);
+        executeAndExpectResult(
+                getSqlClient(it -> {
+                    UserIdGenerator idGenerator = this::autoId;
+                    it.setIdGenerator(idGenerator);
+                    it.setJdbcBatchSize(2);
+                    it.setMultiRowInsertEnabled(true);
+                })
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-1").setParent((TreeNode) null);
+                                        }),
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-2").setParent((TreeNode) null);
+                                        }),
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-3").setParent((TreeNode) null);
+                                        })
+                                )
+                        )
+                        .configure(it -> it.setMode(SaveMode.INSERT_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) " +
+                                        "values(?, ?, ?), (?, ?, ?)"
+                        );
+                        it.variables(
+                                100L, "batch-node-1", new DbNull(long.class),
+                                101L, "batch-node-2", new DbNull(long.class)
+                        );
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
+                        it.batchCount(1);
+                        it.batchVariables(0, 102L, "batch-node-3", new DbNull(long.class));
+                    });
+                    ctx.totalRowCount(3);
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":100,\"name\":\"batch-node-1\",\"parent\":null}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":101,\"name\":\"batch-node-2\",\"parent\":null}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":102,\"name\":\"batch-node-3\",\"parent\":null}"
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testUpsertByNativeStatement() {
+        executeAndExpectResult(
+                getSqlClient(it -> {
+                    it.setDialect(new H2Dialect());
+                    it.setNativeUpsertEnabled(true);
+                })
+                        .getEntities()
+                        .saveCommand(
+                                TreeNodeDraft.$.produce(node -> {
+                                    node.setId(1L).setName("Home2").setParent((TreeNode) null);
+                                })
+                        ),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "merge into TREE_NODE(NODE_ID, NAME, PARENT_ID) " +
+                                        "key(NODE_ID) values(?, ?, ?)"
+                        );
+                        it.variables(1L, "Home2", new DbNull(long.class));
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(TreeNode.class), 1);
+                    ctx.entity(it -> {
+                        it.original("{\"id\":1,\"name\":\"Home2\",\"parent\":null}");
+                        it.modified("{\"id\":1,\"name\":\"Home2\",\"parent\":null}");
+                    });
+                }
+        );
+    }
+
     @Test
     public void testSaveNullParent() {
         SaveException ex = Assertions.assertThrows(SaveException.class, () -> {
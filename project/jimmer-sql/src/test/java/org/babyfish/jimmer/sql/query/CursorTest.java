@@ -1,11 +1,15 @@
 package org.babyfish.jimmer.sql.query;
 
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CursorTest extends AbstractQueryTest {
 
@@ -152,4 +156,120 @@ public class CursorTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void stream() {
+        connectAndExpect(
+                con -> {
+                    List<Book> books;
+                    try (Stream<Book> stream = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+                        return q
+                                .where(book.edition().eq(3))
+                                .orderBy(book.name().asc())
+                                .select(
+                                        book.fetch(
+                                                BookFetcher.$.allScalarFields()
+                                                        .store(
+                                                                BookStoreFetcher.$.allScalarFields()
+                                                        )
+                                                        .authors(
+                                                                AuthorFetcher.$.allScalarFields()
+                                                        )
+                                        )
+                                );
+                    }).stream(con, 3)) {
+                        books = stream.collect(Collectors.toList());
+                    }
+                    Assertions.assertEquals("Effective TypeScript", books.get(0).name());
+                    Assertions.assertEquals("Programming TypeScript", books.get(3).name());
+                    Assertions.assertEquals("Boris", books.get(3).authors().get(0).firstName());
+                    return books;
+                },
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.EDITION = ? " +
+                                    "order by tb_1_.NAME asc"
+                    );
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                    "from BOOK_STORE tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    );
+                    ctx.statement(2).sql(
+                            "select tb_2_.BOOK_ID, tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME, tb_1_.GENDER " +
+                                    "from AUTHOR tb_1_ " +
+                                    "inner join BOOK_AUTHOR_MAPPING tb_2_ on tb_1_.ID = tb_2_.AUTHOR_ID " +
+                                    "where tb_2_.BOOK_ID in (?, ?, ?)"
+                    );
+                    ctx.statement(3).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                    "from BOOK_STORE tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    );
+                    ctx.statement(4).sql(
+                            "select tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME, tb_1_.GENDER " +
+                                    "from AUTHOR tb_1_ " +
+                                    "inner join BOOK_AUTHOR_MAPPING tb_2_ on tb_1_.ID = tb_2_.AUTHOR_ID " +
+                                    "where tb_2_.BOOK_ID = ?"
+                    );
+                    ctx.rows(4);
+                }
+        );
+    }
+
+    @Test
+    public void streamWithChildFetcherByMySqlDialect() {
+        connectAndExpect(
+                con -> {
+                    List<Book> books;
+                    try (Stream<Book> stream = getLambdaClient(
+                            it -> it.setDialect(new MySqlDialect())
+                    ).createQuery(BookTable.class, (q, book) -> {
+                        return q
+                                .where(book.edition().eq(3))
+                                .orderBy(book.name().asc())
+                                .select(
+                                        book.fetch(
+                                                BookFetcher.$.allScalarFields()
+                                                        .store(
+                                                                BookStoreFetcher.$.allScalarFields()
+                                                        )
+                                        )
+                                );
+                    }).stream(con, 2)) {
+                        books = stream.collect(Collectors.toList());
+                    }
+                    Assertions.assertEquals("MANNING", books.get(1).store().name());
+                    return books;
+                },
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.EDITION = ? " +
+                                    "order by tb_1_.NAME asc"
+                    );
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                    "from BOOK_STORE tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    );
+                    ctx.statement(2).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                    "from BOOK_STORE tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    );
+                    ctx.rows(4);
+                }
+        );
+    }
+
+    @Test
+    public void cursorFetchSizeOfMySqlDialect() {
+        MySqlDialect dialect = new MySqlDialect();
+        Assertions.assertEquals(Integer.MIN_VALUE, dialect.getCursorFetchSize(10, false));
+        Assertions.assertEquals(10, dialect.getCursorFetchSize(10, true));
+    }
 }
@@ -0,0 +1,64 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class InListTest extends AbstractQueryTest {
+
+    @Test
+    public void testPadding() {
+        BookTable book = BookTable.$;
+        executeAndExpect(
+                getSqlClient(it -> it.setInListPaddingEnabled(true))
+                        .createQuery(book)
+                        .where(
+                                book.name().in(
+                                        Arrays.asList("GraphQL in Action", "Learning GraphQL", "Effective TypeScript")
+                                )
+                        )
+                        .select(book.edition()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME in (?, ?, ?, ?)"
+                    );
+                    ctx.variables(
+                            "GraphQL in Action",
+                            "Learning GraphQL",
+                            "Effective TypeScript",
+                            "Effective TypeScript"
+                    );
+                    ctx.rows(rows -> Assertions.assertEquals(9, rows.size()));
+                }
+        );
+    }
+
+    @Test
+    public void testAnyEquality() {
+        BookTable book = BookTable.$;
+        executeAndExpect(
+                getSqlClient(it -> it.setDialect(new H2Dialect()).setInListToAnyEqualityEnabled(true))
+                        .createQuery(book)
+                        .where(
+                                book.name().in(
+                                        Arrays.asList("GraphQL in Action", "Learning GraphQL", "Effective TypeScript")
+                                )
+                        )
+                        .select(book.edition()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME = any(?)"
+                    );
+                    ctx.rows(rows -> Assertions.assertEquals(9, rows.size()));
+                }
+        );
+    }
+}
@@ -1,17 +1,27 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.JoinType;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.OracleDialect;
+import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.SqlFormatter;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 public class PagingTest extends AbstractQueryTest {
@@ -346,4 +356,93 @@ public class PagingTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void testApproximateCountWithoutDialectSupport() {
+
+        ConfigurableRootQuery<BookTable, Book> query = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.where(book.price().between(new BigDecimal(40), new BigDecimal(50)));
+            q.orderBy(book.name());
+            return q.select(book);
+        });
+
+        connectAndExpect(
+                query::approximateCount,
+                ctx -> {
+                    ctx.sql(
+                            "select count(tb_1_.ID) " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.PRICE between ? and ?"
+                    );
+                    ctx.variables(new BigDecimal(40), new BigDecimal(50));
+                    ctx.rows(Collections.singletonList(4));
+                }
+        );
+    }
+
+    @Test
+    public void testApproximateCountWithDialectSupport() {
+        List<Executor.Args<?>> argsList = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setDialect(
+                    new H2Dialect() {
+                        @Override
+                        public String getApproximateCountSql(String sql) {
+                            return "/* approximate */ " + sql;
+                        }
+                        @Override
+                        public long getApproximateCount(Object value) {
+                            return 42L;
+                        }
+                    }
+            );
+            it.setSqlFormatter(SqlFormatter.PRETTY);
+            it.setExecutor(
+                    new Executor() {
+                        @Override
+                        public <R> R execute(@NotNull Args<R> args) {
+                            argsList.add(args);
+                            return DefaultExecutor.INSTANCE.execute(args);
+                        }
+                    }
+            );
+        });
+        BookTable table = BookTable.$;
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient
+                .createQuery(table)
+                .where(table.price().between(new BigDecimal(40), new BigDecimal(50)))
+                .orderBy(table.name())
+                .select(table);
+        jdbc(con -> {
+            Assertions.assertEquals(42, query.approximateCount(con));
+        });
+        Assertions.assertEquals(1, argsList.size());
+        Executor.Args<?> args = argsList.get(0);
+        Assertions.assertTrue(args.sql.startsWith("/* approximate */ select"), args.sql);
+        Assertions.assertFalse(args.sql.contains("order by"), args.sql);
+        Assertions.assertEquals(Arrays.asList(new BigDecimal(40), new BigDecimal(50)), args.variables);
+        // The positions of the variables are shifted by the prefix of the approximate count sql
+        Assertions.assertEquals(2, args.variablePositions.size());
+        for (int position : args.variablePositions) {
+            Assertions.assertEquals('?', args.sql.charAt(position - 1));
+        }
+    }
+
+    @Test
+    public void testPostgresApproximateCount() throws Exception {
+        PostgresDialect dialect = new PostgresDialect();
+        Assertions.assertEquals(
+                "explain (format json) select 1",
+                dialect.getApproximateCountSql("select 1")
+        );
+        Assertions.assertEquals(
+                1234L,
+                dialect.getApproximateCount(
+                        "[{\"Plan\": {\"Node Type\": \"Seq Scan\", " +
+                                "\"Relation Name\": \"book\", " +
+                                "\"Plan Rows\": 1234, " +
+                                "\"Plan Width\": 60}}]"
+                )
+        );
+    }
 }
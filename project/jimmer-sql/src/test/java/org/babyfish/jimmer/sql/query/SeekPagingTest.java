@@ -0,0 +1,170 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JoinType;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class SeekPagingTest extends AbstractQueryTest {
+
+    @Test
+    public void testSeekWithMixedOrders() {
+        BookTable book = BookTable.$;
+        executeAndExpect(
+                getSqlClient()
+                        .createQuery(book)
+                        .orderBy(book.name().asc(), book.edition().desc())
+                        .select(book.name(), book.edition())
+                        .seekAfter(Arrays.asList("Learning GraphQL", 2))
+                        .limit(3),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME >= ? and (" +
+                                    "tb_1_.NAME > ? or " +
+                                    "tb_1_.NAME = ? and tb_1_.EDITION < ?" +
+                                    ") " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ?"
+                    );
+                    ctx.variables("Learning GraphQL", "Learning GraphQL", "Learning GraphQL", 2, 3);
+                    ctx.rows(
+                            Arrays.asList(
+                                    new Tuple2<>("Learning GraphQL", 1),
+                                    new Tuple2<>("Programming TypeScript", 3),
+                                    new Tuple2<>("Programming TypeScript", 2)
+                            )
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testFirstPage() {
+        BookTable book = BookTable.$;
+        executeAndExpect(
+                getSqlClient()
+                        .createQuery(book)
+                        .orderBy(book.name().asc(), book.edition().desc())
+                        .select(book.name(), book.edition())
+                        .seekAfter(Collections.emptyList())
+                        .limit(1),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ?"
+                    );
+                    ctx.rows(
+                            Collections.singletonList(
+                                    new Tuple2<>("Effective TypeScript", 3)
+                            )
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testIllegalSortKeyValues() {
+        BookTable book = BookTable.$;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            getSqlClient()
+                    .createQuery(book)
+                    .orderBy(book.name().asc(), book.edition().desc())
+                    .select(book)
+                    .seekAfter(Collections.singletonList("Learning GraphQL"));
+        });
+    }
+
+    @Test
+    public void testNullableSortProperty() {
+        BookStoreTable store = BookStoreTable.$;
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, () -> {
+            getSqlClient()
+                    .createQuery(store)
+                    .orderBy(store.website(), store.id())
+                    .select(store)
+                    .seekAfter(Arrays.asList("https://www.manning.com", manningId));
+        });
+        Assertions.assertEquals(
+                "Keyset pagination cannot be sorted by the nullable property " +
+                        "\"org.babyfish.jimmer.sql.model.BookStore.website\"",
+                ex.getMessage()
+        );
+    }
+
+    @Test
+    public void testExplicitNullOrder() {
+        BookTable book = BookTable.$;
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, () -> {
+            getSqlClient()
+                    .createQuery(book)
+                    .orderBy(book.name().asc().nullsLast(), book.edition().desc())
+                    .select(book)
+                    .seekAfter(Arrays.asList("Learning GraphQL", 2));
+        });
+        Assertions.assertEquals(
+                "Keyset pagination does not support the null order mode \"NULLS_LAST\" of sort expression",
+                ex.getMessage()
+        );
+    }
+
+    @Test
+    public void testOuterJoinedSortProperty() {
+        BookTable book = BookTable.$;
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, () -> {
+            getSqlClient()
+                    .createQuery(book)
+                    .orderBy(book.store(JoinType.LEFT).name(), book.id())
+                    .select(book)
+                    .seekAfter(Arrays.asList("MANNING", learningGraphQLId1));
+        });
+        Assertions.assertEquals(
+                "Keyset pagination cannot be sorted by the property " +
+                        "\"org.babyfish.jimmer.sql.model.BookStore.name\" of outer joined table",
+                ex.getMessage()
+        );
+    }
+
+    @Test
+    public void testInnerJoinedSortProperty() {
+        BookTable book = BookTable.$;
+        executeAndExpect(
+                getSqlClient()
+                        .createQuery(book)
+                        .orderBy(book.store().name(), book.name())
+                        .select(book.name())
+                        .seekAfter(Arrays.asList("O'REILLY", "Learning GraphQL")),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME " +
+                                    "from BOOK tb_1_ " +
+                                    "inner join BOOK_STORE tb_2_ on tb_1_.STORE_ID = tb_2_.ID " +
+                                    "where tb_2_.NAME >= ? and (" +
+                                    "tb_2_.NAME > ? or " +
+                                    "tb_2_.NAME = ? and tb_1_.NAME > ?" +
+                                    ") " +
+                                    "order by tb_2_.NAME asc, tb_1_.NAME asc"
+                    );
+                    ctx.variables("O'REILLY", "O'REILLY", "O'REILLY", "Learning GraphQL");
+                    ctx.rows(
+                            Arrays.asList(
+                                    "Programming TypeScript",
+                                    "Programming TypeScript",
+                                    "Programming TypeScript"
+                            )
+                    );
+                }
+        );
+    }
+}
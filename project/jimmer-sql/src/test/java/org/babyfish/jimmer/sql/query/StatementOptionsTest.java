@@ -0,0 +1,54 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StatementOptionsTest extends AbstractQueryTest {
+
+    @Test
+    public void testMaxRows() {
+        BookTable book = BookTable.$;
+        executeAndExpect(
+                getSqlClient()
+                        .createQuery(book)
+                        .orderBy(book.name(), book.edition())
+                        .select(book.name())
+                        .fetchSize(100)
+                        .queryTimeout(10)
+                        .maxRows(2),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc"
+                    );
+                    ctx.rows(rows -> {
+                        Assertions.assertEquals(2, rows.size());
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testDefaultMaxRows() {
+        BookTable book = BookTable.$;
+        executeAndExpect(
+                getSqlClient(it -> it.setDefaultMaxRows(3))
+                        .createQuery(book)
+                        .orderBy(book.name(), book.edition())
+                        .select(book.name()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc"
+                    );
+                    ctx.rows(rows -> {
+                        Assertions.assertEquals(3, rows.size());
+                    });
+                }
+        );
+    }
+}
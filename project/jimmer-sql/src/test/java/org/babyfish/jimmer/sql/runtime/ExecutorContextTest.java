@@ -0,0 +1,90 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class ExecutorContextTest extends AbstractTest {
+
+    @Test
+    public void testMatchedElements() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutorContextPrefixes(
+                    Collections.singletonList(ExecutorContextTest.class.getName())
+            );
+        });
+        ExecutorContext ctx = createContext(sqlClient);
+        Assertions.assertNotNull(ctx);
+        Assertions.assertEquals(2, ctx.getMatchedElements().size());
+        Assertions.assertSame(ctx.getMatchedElements().get(0), ctx.getPrimaryElement());
+        Assertions.assertEquals("createContext", ctx.getPrimaryElement().getMethodName());
+        Assertions.assertEquals("testMatchedElements", ctx.getMatchedElements().get(1).getMethodName());
+        for (StackTraceElement element : ctx.getMatchedElements()) {
+            Assertions.assertEquals(ExecutorContextTest.class.getName(), element.getClassName());
+        }
+    }
+
+    @Test
+    public void testElements() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutorContextPrefixes(
+                    Collections.singletonList(ExecutorContextTest.class.getName())
+            );
+        });
+        ExecutorContext ctx = createContext(sqlClient);
+        Assertions.assertNotNull(ctx);
+        Assertions.assertTrue(ctx.getElements().size() > ctx.getMatchedElements().size());
+        Assertions.assertEquals(ExecutorContext.class.getName(), ctx.getElements().get(0).getClassName());
+        Assertions.assertEquals("create", ctx.getElements().get(0).getMethodName());
+        Assertions.assertTrue(ctx.getElements().containsAll(ctx.getMatchedElements()));
+        Assertions.assertTrue(
+                ctx.getElements().stream().anyMatch(it -> it.getClassName().startsWith("org.junit."))
+        );
+        Assertions.assertSame(ctx.getElements(), ctx.getElements());
+    }
+
+    @Test
+    public void testUnmatchedPrefix() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutorContextPrefixes(Collections.singletonList("com.unknown."));
+        });
+        Assertions.assertNull(createContext(sqlClient));
+        Assertions.assertNull(createContext(getSqlClient()));
+    }
+
+    @Test
+    public void testSampling() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutorContextPrefixes(
+                    Collections.singletonList(ExecutorContextTest.class.getName())
+            );
+            it.setExecutorContextSamplingRate(0.5);
+        });
+        int sampledCount = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (createContext(sqlClient) != null) {
+                sampledCount++;
+            }
+        }
+        Assertions.assertTrue(sampledCount > 350 && sampledCount < 650, "sampledCount: " + sampledCount);
+    }
+
+    @Test
+    public void testIllegalSamplingRate() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> getSqlClient(it -> it.setExecutorContextSamplingRate(0))
+        );
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> getSqlClient(it -> it.setExecutorContextSamplingRate(1.5))
+        );
+    }
+
+    private static ExecutorContext createContext(JSqlClient sqlClient) {
+        return ExecutorContext.create(sqlClient);
+    }
+}
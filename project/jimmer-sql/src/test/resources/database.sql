@@ -29,6 +29,9 @@ drop table country if exists;
 drop table book_store if exists;
 drop table tree_node if exists;
 drop sequence tree_node_id_seq if exists;
+drop sequence tree_node_pooled_id_seq if exists;
+drop table tag if exists;
+drop sequence tag_id_seq if exists;
 drop table D if exists;
 drop table C if exists;
 drop table B if exists;
@@ -240,6 +243,7 @@ alter table tree_node
         foreign key(parent_id)
             references tree_node(node_id);
 create sequence tree_node_id_seq as bigint start with 100;
+create sequence tree_node_pooled_id_seq as bigint start with 1000 increment by 3;
 
 insert into tree_node(node_id, name, parent_id) values
     (1, 'Home', null),
@@ -268,6 +272,15 @@ insert into tree_node(node_id, name, parent_id) values
                     (24, 'Shirt', 22)
 ;
 
+create table tag(
+    id bigint not null,
+    name varchar(20) not null
+);
+alter table tag
+    add constraint pk_tag
+        primary key(id);
+create sequence tag_id_seq as bigint start with 1000 increment by 3;
+
 create table administrator(
     id bigint not null,
     name varchar(50) not null,
@@ -5,6 +5,7 @@ include("jimmer-apt")
 include("jimmer-sql")
 include("jimmer-core-kotlin")
 include("jimmer-ksp")
+include("jimmer-bitmask-states-test")
 include("jimmer-sql-kotlin")
 include("jimmer-client")
 include("jimmer-spring-boot-starter")